@@ -1,5 +1,8 @@
 // SPDX-License-Identifier: Apache-2.0
-plugins { id("org.hiero.gradle.module.library") }
+plugins {
+    id("org.hiero.gradle.module.library")
+    id("org.hiero.gradle.feature.benchmark")
+}
 
 description = "Commons module with logic that could be abstracted and reused."
 
@@ -13,3 +16,5 @@ testModuleInfo {
     requires("org.junit.jupiter.params")
     requires("org.assertj.core")
 }
+
+jmhModuleInfo { requires("jmh.core") }
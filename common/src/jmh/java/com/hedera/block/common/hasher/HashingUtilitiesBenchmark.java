@@ -0,0 +1,97 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.common.hasher;
+
+import static com.hedera.block.common.hasher.HashingUtilities.HASH_SIZE;
+
+import com.hedera.hapi.block.BlockItemUnparsed;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares hashing the items of a block by re-serializing each of them, as
+ * {@link HashingUtilities#getBlockHashes(List)} used to do, with the current
+ * implementation that feeds the existing payload bytes to the digest.
+ * <p>
+ * Run with {@code ./gradlew :common:jmh} and add {@code -prof gc} to the JMH
+ * arguments to also compare the allocation rate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class HashingUtilitiesBenchmark {
+    @Param({"1000"})
+    private int itemCount;
+
+    @Param({"64", "1024", "16384"})
+    private int payloadSize;
+
+    private List<BlockItemUnparsed> items;
+
+    @Setup
+    public void setUp() {
+        final SplittableRandom random = new SplittableRandom(42);
+        items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            final byte[] payload = new byte[payloadSize];
+            random.nextBytes(payload);
+            final BlockItemUnparsed.Builder builder = BlockItemUnparsed.newBuilder();
+            if (i % 2 == 0) {
+                builder.eventTransaction(Bytes.wrap(payload));
+            } else {
+                builder.transactionResult(Bytes.wrap(payload));
+            }
+            items.add(builder.build());
+        }
+    }
+
+    @Benchmark
+    public Hashes reserializeItems() {
+        // the previous implementation, kept here as the baseline
+        int numInputs = 0;
+        int numOutputs = 0;
+        for (final BlockItemUnparsed item : items) {
+            switch (item.item().kind()) {
+                case EVENT_HEADER, EVENT_TRANSACTION, ROUND_HEADER -> numInputs++;
+                case TRANSACTION_RESULT, TRANSACTION_OUTPUT, STATE_CHANGES, BLOCK_HEADER -> numOutputs++;
+                default -> {}
+            }
+        }
+        final ByteBuffer inputHashes = ByteBuffer.allocate(HASH_SIZE * numInputs);
+        final ByteBuffer outputHashes = ByteBuffer.allocate(HASH_SIZE * numOutputs);
+        final MessageDigest digest = HashingUtilities.sha384DigestOrThrow();
+        for (final BlockItemUnparsed item : items) {
+            switch (item.item().kind()) {
+                case EVENT_HEADER, EVENT_TRANSACTION, ROUND_HEADER -> inputHashes.put(
+                        digest.digest(BlockItemUnparsed.PROTOBUF.toBytes(item).toByteArray()));
+                case TRANSACTION_RESULT, TRANSACTION_OUTPUT, STATE_CHANGES, BLOCK_HEADER -> outputHashes.put(
+                        digest.digest(BlockItemUnparsed.PROTOBUF.toBytes(item).toByteArray()));
+                default -> {}
+            }
+        }
+        return new Hashes(inputHashes.flip(), outputHashes.flip());
+    }
+
+    @Benchmark
+    public Hashes hashPayloadsInPlace() {
+        return HashingUtilities.getBlockHashes(items);
+    }
+}
@@ -0,0 +1,73 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.common.hasher;
+
+import static com.hedera.block.common.hasher.StreamingTreeHasher.HASH_LENGTH;
+
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import java.nio.ByteBuffer;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the {@link StreamingTreeHasher} implementations on trees of pre-computed leaf hashes.
+ * <p>
+ * Run with {@code ./gradlew :common:jmh} and add {@code -prof gc} to the JMH arguments to also compare the
+ * allocation rate per tree.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class StreamingTreeHasherBenchmark {
+    @Param({"1000", "100000", "500000"})
+    private int numLeaves;
+
+    @Param({"32"})
+    private int batchSize;
+
+    private ByteBuffer leaves;
+
+    @Setup
+    public void setUp() {
+        final byte[] bytes = new byte[numLeaves * HASH_LENGTH];
+        new SplittableRandom(42).nextBytes(bytes);
+        leaves = ByteBuffer.wrap(bytes);
+    }
+
+    @Benchmark
+    public Bytes naive() {
+        return rootHashOf(new NaiveStreamingTreeHasher());
+    }
+
+    @Benchmark
+    public Bytes concurrent() {
+        return rootHashOf(new ConcurrentStreamingTreeHasher(ForkJoinPool.commonPool(), batchSize));
+    }
+
+    @Benchmark
+    public Bytes arena() {
+        return rootHashOf(new ArenaStreamingTreeHasher(ForkJoinPool.commonPool(), batchSize));
+    }
+
+    private Bytes rootHashOf(final StreamingTreeHasher hasher) {
+        final ByteBuffer source = leaves.duplicate();
+        while (source.hasRemaining()) {
+            hasher.addLeaf(source);
+        }
+        return hasher.rootHash().join();
+    }
+}
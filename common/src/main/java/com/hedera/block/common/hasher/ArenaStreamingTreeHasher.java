@@ -0,0 +1,354 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.common.hasher;
+
+import static com.hedera.block.common.hasher.HashingUtilities.noThrowSha384HashOf;
+import static java.util.Objects.requireNonNull;
+
+import com.hedera.block.common.utils.Preconditions;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.nio.ByteBuffer;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * A {@link StreamingTreeHasher} that computes the root hash of a perfect binary Merkle tree of {@link Bytes} leaves
+ * without allocating per leaf or per combination.
+ * <p>
+ * Leaf hashes are copied into chunks, preallocated {@code byte[]} arenas holding a power of two number of leaves.
+ * Once a chunk is full it is handed to the executor, which reduces it in place to the root of its subtree, reusing a
+ * digest per thread. Chunks are kept in a fixed ring so at most {@code maxChunksInFlight} are reduced concurrently;
+ * when the ring is exhausted, adding a leaf blocks until the oldest chunk is reduced. The subtree roots are folded, in
+ * order and on the calling thread, into a single arena holding at most one pending hash per tree height.
+ * <p>
+ * Apart from the arenas allocated on construction, the only allocations are those the executor makes to schedule one
+ * task per chunk, and the returned root hash.
+ * <p>
+ * This hasher does not support {@link #status()}.
+ * <p>
+ * <b>Important:</b> This class is not thread-safe, and client code must not make concurrent calls to
+ * {@link StreamingTreeHasher#addLeaf(ByteBuffer)} or {@link #rootHash()}.
+ */
+public class ArenaStreamingTreeHasher implements StreamingTreeHasher {
+    /**
+     * The default maximum number of chunks being reduced concurrently.
+     */
+    public static final int DEFAULT_MAX_CHUNKS_IN_FLIGHT = 8;
+
+    private static final ThreadLocal<MessageDigest> DIGESTS =
+            ThreadLocal.withInitial(HashingUtilities::sha384DigestOrThrow);
+    /**
+     * One more than the height of the tallest tree that can be built from {@link Integer#MAX_VALUE} leaves.
+     */
+    private static final int MAX_HEIGHTS = Integer.SIZE + 1;
+    /**
+     * The roots of the trees of empty leaves, by height, stored contiguously.
+     */
+    private static final byte[] EMPTY_HASHES = new byte[MAX_HEIGHTS * HASH_LENGTH];
+
+    static {
+        System.arraycopy(noThrowSha384HashOf(new byte[0]), 0, EMPTY_HASHES, 0, HASH_LENGTH);
+        for (int height = 1; height < MAX_HEIGHTS; height++) {
+            final int offset = height * HASH_LENGTH;
+            final byte[] below = new byte[HASH_LENGTH];
+            System.arraycopy(EMPTY_HASHES, offset - HASH_LENGTH, below, 0, HASH_LENGTH);
+            System.arraycopy(HashingUtilities.combine(below, below), 0, EMPTY_HASHES, offset, HASH_LENGTH);
+        }
+    }
+
+    /**
+     * The executor used to reduce full chunks.
+     */
+    private final Executor executor;
+    /**
+     * The number of leaves in a chunk, a power of two.
+     */
+    private final int leavesPerChunk;
+    /**
+     * The height of the subtree rooted at a full chunk.
+     */
+    private final int chunkHeight;
+    /**
+     * The ring of chunks; {@code chunks[tail]} is being filled and the chunks from {@code head} up to it are in flight.
+     */
+    private final Chunk[] chunks;
+    /**
+     * The pending subtree roots above the chunks, one slot per height, stored contiguously.
+     */
+    private final byte[] pendingRoots = new byte[MAX_HEIGHTS * HASH_LENGTH];
+    /**
+     * Scratch space for the hash being carried up while folding subtree roots.
+     */
+    private final byte[] carry = new byte[HASH_LENGTH];
+    /**
+     * The digest used by the calling thread.
+     */
+    private final MessageDigest digest = HashingUtilities.sha384DigestOrThrow();
+
+    /**
+     * A bit set of the heights with a pending subtree root.
+     */
+    private long pendingHeights;
+    private int head;
+    private int tail;
+    private int chunksInFlight;
+    /**
+     * The number of leaves added to the tree.
+     */
+    private int numLeaves;
+    /**
+     * Whether the tree has been finalized by requesting the root hash.
+     */
+    private boolean rootHashRequested = false;
+
+    /**
+     * Constructs a new {@link ArenaStreamingTreeHasher} with the given {@link Executor} and chunk size, reducing up to
+     * {@value #DEFAULT_MAX_CHUNKS_IN_FLIGHT} chunks concurrently.
+     *
+     * @param executor the executor used to reduce full chunks, its tasks never block
+     * @param leavesPerChunk the number of leaves in a chunk, must be a power of two
+     * @throws IllegalArgumentException if the chunk size is not a power of two
+     */
+    public ArenaStreamingTreeHasher(@NonNull final Executor executor, final int leavesPerChunk) {
+        this(executor, leavesPerChunk, DEFAULT_MAX_CHUNKS_IN_FLIGHT);
+    }
+
+    /**
+     * Constructs a new {@link ArenaStreamingTreeHasher}.
+     *
+     * @param executor the executor used to reduce full chunks, its tasks never block
+     * @param leavesPerChunk the number of leaves in a chunk, must be a power of two
+     * @param maxChunksInFlight the maximum number of chunks reduced concurrently, must be positive
+     * @throws IllegalArgumentException if the chunk size is not a power of two or the maximum number of chunks in
+     * flight is not positive
+     */
+    public ArenaStreamingTreeHasher(
+            @NonNull final Executor executor, final int leavesPerChunk, final int maxChunksInFlight) {
+        this.executor = requireNonNull(executor);
+        this.leavesPerChunk = Preconditions.requirePowerOfTwo(
+                Preconditions.requirePositive(leavesPerChunk), "Leaves per chunk must be a power of two");
+        this.chunkHeight = Integer.numberOfTrailingZeros(leavesPerChunk);
+        Preconditions.requirePositive(maxChunksInFlight, "Max chunks in flight must be positive");
+        // one more chunk than may be in flight, for the one being filled
+        this.chunks = new Chunk[maxChunksInFlight + 1];
+        for (int i = 0; i < chunks.length; i++) {
+            chunks[i] = new Chunk();
+        }
+    }
+
+    @Override
+    public void addLeaf(@NonNull final ByteBuffer hash) {
+        requireNonNull(hash);
+        if (rootHashRequested) {
+            throw new IllegalStateException("Cannot add leaves after requesting the root hash");
+        }
+        if (hash.remaining() < HASH_LENGTH) {
+            throw new IllegalArgumentException("Buffer has less than " + HASH_LENGTH + " bytes remaining");
+        }
+        final Chunk chunk = chunks[tail];
+        hash.get(chunk.arena, chunk.numHashes * HASH_LENGTH, HASH_LENGTH);
+        numLeaves++;
+        if (++chunk.numHashes == leavesPerChunk) {
+            dispatch(chunk);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Bytes> rootHash() {
+        rootHashRequested = true;
+        final int rootHeight = rootHeightFor(numLeaves);
+        final byte[] rootHash = new byte[HASH_LENGTH];
+        if (numLeaves == 0) {
+            System.arraycopy(EMPTY_HASHES, 0, rootHash, 0, HASH_LENGTH);
+        } else if (numLeaves < leavesPerChunk) {
+            // the whole tree fits in the chunk being filled, which was never dispatched
+            final Chunk chunk = chunks[tail];
+            reduce(digest, chunk.arena, chunk.numHashes, 0, rootHeight);
+            System.arraycopy(chunk.arena, 0, rootHash, 0, HASH_LENGTH);
+        } else {
+            final Chunk partial = chunks[tail];
+            if (partial.numHashes > 0) {
+                reduce(digest, partial.arena, partial.numHashes, 0, chunkHeight);
+                partial.numHashes = 0;
+                awaitAllChunks();
+                addRoot(partial.arena, 0, chunkHeight);
+            } else {
+                awaitAllChunks();
+            }
+            foldPendingRoots(rootHeight, rootHash);
+        }
+        return CompletableFuture.completedFuture(Bytes.wrap(rootHash));
+    }
+
+    /**
+     * Hands the given full chunk over to the executor and moves on to the next one in the ring, waiting for the
+     * oldest chunk in flight if the ring is exhausted.
+     */
+    private void dispatch(@NonNull final Chunk chunk) {
+        chunk.done = false;
+        chunksInFlight++;
+        executor.execute(chunk);
+        tail = (tail + 1) % chunks.length;
+        if (chunksInFlight == chunks.length - 1) {
+            awaitOldestChunk();
+        }
+        // opportunistically fold what is already reduced to keep the ring free
+        while (chunksInFlight > 0 && chunks[head].done) {
+            awaitOldestChunk();
+        }
+    }
+
+    private void awaitAllChunks() {
+        while (chunksInFlight > 0) {
+            awaitOldestChunk();
+        }
+    }
+
+    private void awaitOldestChunk() {
+        final Chunk chunk = chunks[head];
+        chunk.await();
+        addRoot(chunk.arena, 0, chunkHeight);
+        chunk.numHashes = 0;
+        head = (head + 1) % chunks.length;
+        chunksInFlight--;
+    }
+
+    /**
+     * Adds the root of a complete subtree of the given height to the pending roots, combining it with the pending
+     * roots to its left as long as there are any.
+     */
+    private void addRoot(@NonNull final byte[] source, final int offset, final int height) {
+        byte[] hash = source;
+        int hashOffset = offset;
+        int h = height;
+        while ((pendingHeights & (1L << h)) != 0) {
+            digest.update(pendingRoots, h * HASH_LENGTH, HASH_LENGTH);
+            digest.update(hash, hashOffset, HASH_LENGTH);
+            digestInto(digest, carry, 0);
+            pendingHeights &= ~(1L << h);
+            hash = carry;
+            hashOffset = 0;
+            h++;
+        }
+        System.arraycopy(hash, hashOffset, pendingRoots, h * HASH_LENGTH, HASH_LENGTH);
+        pendingHeights |= 1L << h;
+    }
+
+    /**
+     * Folds all pending roots into the root of the tree of the given height, padding with empty subtrees as needed.
+     */
+    private void foldPendingRoots(final int rootHeight, @NonNull final byte[] rootHash) {
+        boolean carrying = false;
+        for (int h = Long.numberOfTrailingZeros(pendingHeights); h < rootHeight; h++) {
+            final boolean pending = (pendingHeights & (1L << h)) != 0;
+            if (pending && carrying) {
+                digest.update(pendingRoots, h * HASH_LENGTH, HASH_LENGTH);
+                digest.update(carry, 0, HASH_LENGTH);
+            } else if (pending) {
+                digest.update(pendingRoots, h * HASH_LENGTH, HASH_LENGTH);
+                digest.update(EMPTY_HASHES, h * HASH_LENGTH, HASH_LENGTH);
+            } else if (carrying) {
+                digest.update(carry, 0, HASH_LENGTH);
+                digest.update(EMPTY_HASHES, h * HASH_LENGTH, HASH_LENGTH);
+            } else {
+                continue;
+            }
+            digestInto(digest, carry, 0);
+            carrying = true;
+        }
+        if (carrying) {
+            System.arraycopy(carry, 0, rootHash, 0, HASH_LENGTH);
+        } else {
+            System.arraycopy(pendingRoots, rootHeight * HASH_LENGTH, rootHash, 0, HASH_LENGTH);
+        }
+        pendingHeights = 0;
+    }
+
+    /**
+     * Reduces, in place, the given number of contiguous hashes at the given height to their root at the target
+     * height, padding with empty subtrees as needed. The root ends up at the start of the arena.
+     */
+    private static void reduce(
+            @NonNull final MessageDigest digest,
+            @NonNull final byte[] arena,
+            final int numHashes,
+            final int fromHeight,
+            final int toHeight) {
+        int remaining = numHashes;
+        for (int height = fromHeight; height < toHeight; height++) {
+            final int numParents = (remaining + 1) >>> 1;
+            for (int i = 0; i < numParents; i++) {
+                final int left = 2 * i;
+                digest.update(arena, left * HASH_LENGTH, HASH_LENGTH);
+                if (left + 1 < remaining) {
+                    digest.update(arena, (left + 1) * HASH_LENGTH, HASH_LENGTH);
+                } else {
+                    digest.update(EMPTY_HASHES, height * HASH_LENGTH, HASH_LENGTH);
+                }
+                // the children have been consumed, so the parent may overwrite them
+                digestInto(digest, arena, i * HASH_LENGTH);
+            }
+            remaining = numParents;
+        }
+    }
+
+    private static void digestInto(
+            @NonNull final MessageDigest digest, @NonNull final byte[] destination, final int offset) {
+        try {
+            digest.digest(destination, offset, HASH_LENGTH);
+        } catch (final DigestException fatal) {
+            throw new IllegalStateException(fatal);
+        }
+    }
+
+    private static int rootHeightFor(final int numLeaves) {
+        return numLeaves <= 1 ? 0 : Integer.SIZE - Integer.numberOfLeadingZeros(numLeaves - 1);
+    }
+
+    /**
+     * A chunk of leaf hashes, reduced in place to the root of its subtree when run.
+     */
+    private final class Chunk implements Runnable {
+        private final byte[] arena = new byte[leavesPerChunk * HASH_LENGTH];
+        private int numHashes;
+        private volatile boolean done = true;
+        private Throwable failure;
+
+        @Override
+        public void run() {
+            try {
+                reduce(DIGESTS.get(), arena, leavesPerChunk, 0, chunkHeight);
+            } catch (final Throwable t) {
+                failure = t;
+            } finally {
+                synchronized (this) {
+                    done = true;
+                    notifyAll();
+                }
+            }
+        }
+
+        private void await() {
+            if (!done) {
+                synchronized (this) {
+                    boolean interrupted = false;
+                    while (!done) {
+                        try {
+                            wait();
+                        } catch (final InterruptedException e) {
+                            interrupted = true;
+                        }
+                    }
+                    if (interrupted) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+            if (failure != null) {
+                throw new IllegalStateException("Failed to reduce a chunk of leaf hashes", failure);
+            }
+        }
+    }
+}
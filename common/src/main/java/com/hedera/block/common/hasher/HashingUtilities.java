@@ -1,16 +1,22 @@
 // SPDX-License-Identifier: Apache-2.0
 package com.hedera.block.common.hasher;
 
+import com.hedera.block.common.utils.Preconditions;
 import com.hedera.hapi.block.BlockItemUnparsed;
 import com.hedera.hapi.block.stream.BlockProof;
+import com.hedera.pbj.runtime.OneOf;
 import com.hedera.pbj.runtime.io.buffer.Bytes;
 import com.swirlds.common.crypto.DigestType;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.nio.ByteBuffer;
+import java.security.DigestException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 /**
  * Provides common utility methods for hashing and combining hashes.
@@ -25,6 +31,49 @@ public final class HashingUtilities {
      */
     public static final int HASH_SIZE = DigestType.SHA_384.digestLength();
 
+    /**
+     * The maximum length of the tag and length prefix of an encoded block item,
+     * two varints of at most five bytes each.
+     */
+    private static final int MAX_ITEM_PREFIX_LENGTH = 10;
+
+    /**
+     * The number of bits used by the wire type in a protobuf tag.
+     */
+    private static final int TAG_TYPE_BITS = 3;
+
+    /**
+     * The protobuf wire type of length delimited fields.
+     */
+    private static final int WIRE_TYPE_DELIMITED = 2;
+
+    /**
+     * The tree of the block hash a block item is a leaf of.
+     */
+    public enum Leaf {
+        /** The item is a leaf of the input tree. */
+        INPUT,
+        /** The item is a leaf of the output tree. */
+        OUTPUT,
+        /** The item is not a leaf of either tree, e.g. the block proof. */
+        NONE
+    }
+
+    /**
+     * Returns the tree of the block hash items of the given kind are leaves of.
+     *
+     * @param kind the kind of the block item
+     * @return the tree the item is a leaf of, or {@link Leaf#NONE}
+     */
+    @NonNull
+    public static Leaf leafOf(@NonNull final BlockItemUnparsed.ItemOneOfType kind) {
+        return switch (kind) {
+            case EVENT_HEADER, EVENT_TRANSACTION, ROUND_HEADER -> Leaf.INPUT;
+            case TRANSACTION_RESULT, TRANSACTION_OUTPUT, STATE_CHANGES, BLOCK_HEADER -> Leaf.OUTPUT;
+            default -> Leaf.NONE;
+        };
+    }
+
     /**
      * Returns the SHA-384 hash of the given bytes.
      * @param bytes the bytes to hash
@@ -89,6 +138,13 @@ public final class HashingUtilities {
 
     /**
      * Returns the Hashes (input and output) of a list of block items.
+     * <p>
+     * Each item is hashed exactly as it is encoded in a block, but without
+     * re-encoding it: the protobuf tag and length prefix of the single
+     * {@code oneof} field are computed and fed to the digest, followed by the
+     * item payload bytes, which are handed to the digest without copying. The
+     * resulting hashes are written directly into the returned buffers.
+     *
      * @param blockItems the block items
      * @return the Hashes of the block items
      */
@@ -98,30 +154,109 @@ public final class HashingUtilities {
         int itemSize = blockItems.size();
         for (int i = 0; i < itemSize; i++) {
             final BlockItemUnparsed item = blockItems.get(i);
-            final BlockItemUnparsed.ItemOneOfType kind = item.item().kind();
-            switch (kind) {
-                case EVENT_HEADER, EVENT_TRANSACTION, ROUND_HEADER -> numInputs++;
-                case TRANSACTION_RESULT, TRANSACTION_OUTPUT, STATE_CHANGES, BLOCK_HEADER -> numOutputs++;
+            switch (leafOf(item.item().kind())) {
+                case INPUT -> numInputs++;
+                case OUTPUT -> numOutputs++;
             }
         }
 
         final var inputHashes = ByteBuffer.allocate(HASH_SIZE * numInputs);
         final var outputHashes = ByteBuffer.allocate(HASH_SIZE * numOutputs);
         final var digest = sha384DigestOrThrow();
+        final byte[] prefixScratch = new byte[MAX_ITEM_PREFIX_LENGTH];
         for (int i = 0; i < itemSize; i++) {
             final BlockItemUnparsed item = blockItems.get(i);
-            final BlockItemUnparsed.ItemOneOfType kind = item.item().kind();
-            switch (kind) {
-                case EVENT_HEADER, EVENT_TRANSACTION, ROUND_HEADER -> inputHashes.put(
-                        digest.digest(BlockItemUnparsed.PROTOBUF.toBytes(item).toByteArray()));
-                case TRANSACTION_RESULT, TRANSACTION_OUTPUT, STATE_CHANGES, BLOCK_HEADER -> outputHashes.put(
-                        digest.digest(BlockItemUnparsed.PROTOBUF.toBytes(item).toByteArray()));
+            switch (leafOf(item.item().kind())) {
+                case INPUT -> digestItemInto(digest, item, prefixScratch, inputHashes);
+                case OUTPUT -> digestItemInto(digest, item, prefixScratch, outputHashes);
             }
         }
 
         return new Hashes(inputHashes.flip(), outputHashes.flip());
     }
 
+    /**
+     * Returns the Hashes (input and output) of a list of block items, hashing
+     * the items in parallel.
+     * <p>
+     * The items are split into contiguous index ranges of at most
+     * {@code itemsPerTask} items. Each range is hashed by a task on the given
+     * executor, except for the last one, which is hashed by the calling
+     * thread. Every item hash is written at the position the item would have
+     * in a sequential run, so the returned hashes are in item order and
+     * identical to those of {@link #getBlockHashes(List)}. Lists with no more
+     * than {@code itemsPerTask} items are hashed on the calling thread only.
+     *
+     * @param blockItems the block items
+     * @param executor the executor to hash the item ranges on, its tasks must
+     * not block on the calling thread
+     * @param itemsPerTask the maximum number of items hashed by a single task,
+     * must be positive
+     * @return the Hashes of the block items
+     */
+    public static Hashes getBlockHashes(
+            @NonNull final List<BlockItemUnparsed> blockItems,
+            @NonNull final Executor executor,
+            final int itemsPerTask) {
+        Objects.requireNonNull(executor);
+        Preconditions.requirePositive(itemsPerTask);
+        final int itemSize = blockItems.size();
+        if (itemSize <= itemsPerTask) {
+            return getBlockHashes(blockItems);
+        }
+
+        // resolve where each item hash goes before hashing anything, the
+        // ranges may then be hashed independently of each other
+        final int[] hashOffsets = new int[itemSize];
+        int numInputs = 0;
+        int numOutputs = 0;
+        for (int i = 0; i < itemSize; i++) {
+            hashOffsets[i] = switch (leafOf(blockItems.get(i).item().kind())) {
+                case INPUT -> HASH_SIZE * numInputs++;
+                case OUTPUT -> HASH_SIZE * numOutputs++;
+                case NONE -> -1;
+            };
+        }
+
+        final byte[] inputHashes = new byte[HASH_SIZE * numInputs];
+        final byte[] outputHashes = new byte[HASH_SIZE * numOutputs];
+        final int lastRangeStart = (itemSize - 1) / itemsPerTask * itemsPerTask;
+        final List<CompletableFuture<Void>> rangeTasks = new ArrayList<>(lastRangeStart / itemsPerTask);
+        for (int start = 0; start < lastRangeStart; start += itemsPerTask) {
+            final int rangeStart = start;
+            final int rangeEnd = start + itemsPerTask;
+            rangeTasks.add(CompletableFuture.runAsync(
+                    () -> hashRange(blockItems, hashOffsets, rangeStart, rangeEnd, inputHashes, outputHashes),
+                    executor));
+        }
+        hashRange(blockItems, hashOffsets, lastRangeStart, itemSize, inputHashes, outputHashes);
+        CompletableFuture.allOf(rangeTasks.toArray(CompletableFuture[]::new)).join();
+
+        return new Hashes(ByteBuffer.wrap(inputHashes), ByteBuffer.wrap(outputHashes));
+    }
+
+    /**
+     * Hashes the items in the index range [start, end) into the given input
+     * and output hash arrays, at the precomputed offsets.
+     */
+    private static void hashRange(
+            @NonNull final List<BlockItemUnparsed> blockItems,
+            @NonNull final int[] hashOffsets,
+            final int start,
+            final int end,
+            @NonNull final byte[] inputHashes,
+            @NonNull final byte[] outputHashes) {
+        final var digest = sha384DigestOrThrow();
+        final byte[] prefixScratch = new byte[MAX_ITEM_PREFIX_LENGTH];
+        for (int i = start; i < end; i++) {
+            final BlockItemUnparsed item = blockItems.get(i);
+            switch (leafOf(item.item().kind())) {
+                case INPUT -> digestItemInto(digest, item, prefixScratch, inputHashes, hashOffsets[i]);
+                case OUTPUT -> digestItemInto(digest, item, prefixScratch, outputHashes, hashOffsets[i]);
+            }
+        }
+    }
+
     /**
      * returns the ByteBuffer of the hash of the given block item.
      * @param blockItemUnparsed the block item
@@ -130,12 +265,115 @@ public final class HashingUtilities {
     public static ByteBuffer getBlockItemHash(@NonNull BlockItemUnparsed blockItemUnparsed) {
         final var digest = sha384DigestOrThrow();
         ByteBuffer buffer = ByteBuffer.allocate(HASH_SIZE);
-        buffer.put(digest.digest(
-                BlockItemUnparsed.PROTOBUF.toBytes(blockItemUnparsed).toByteArray()));
+        digestItemInto(digest, blockItemUnparsed, new byte[MAX_ITEM_PREFIX_LENGTH], buffer);
 
         return buffer.flip();
     }
 
+    /**
+     * Feeds the protobuf encoding of the given block item into the digest,
+     * and writes the resulting hash at the current position of the
+     * destination buffer, advancing it by {@link #HASH_SIZE}.
+     *
+     * @param digest the digest to use, it is reset once the hash is written
+     * @param item the block item to hash
+     * @param prefixScratch reusable scratch space for the tag and length
+     * prefix, at least {@link #MAX_ITEM_PREFIX_LENGTH} bytes long
+     * @param destination a heap buffer with at least {@link #HASH_SIZE}
+     * bytes remaining
+     */
+    private static void digestItemInto(
+            @NonNull final MessageDigest digest,
+            @NonNull final BlockItemUnparsed item,
+            @NonNull final byte[] prefixScratch,
+            @NonNull final ByteBuffer destination) {
+        final int position = destination.position();
+        digestItemInto(digest, item, prefixScratch, destination.array(), destination.arrayOffset() + position);
+        destination.position(position + HASH_SIZE);
+    }
+
+    /**
+     * Feeds the protobuf encoding of the given block item into the digest,
+     * and writes the resulting hash into the destination array at the given
+     * offset. The encoding is identical to
+     * {@code BlockItemUnparsed.PROTOBUF.toBytes(item)}: a set {@code oneof}
+     * field is always written as its tag, its length and its payload, while
+     * an unset item encodes to nothing.
+     *
+     * @param digest the digest to use, it is reset once the hash is written
+     * @param item the block item to hash
+     * @param prefixScratch reusable scratch space for the tag and length
+     * prefix, at least {@link #MAX_ITEM_PREFIX_LENGTH} bytes long
+     * @param destination the array to write the hash to
+     * @param offset the offset in the destination array to write the hash at
+     */
+    private static void digestItemInto(
+            @NonNull final MessageDigest digest,
+            @NonNull final BlockItemUnparsed item,
+            @NonNull final byte[] prefixScratch,
+            @NonNull final byte[] destination,
+            final int offset) {
+        final OneOf<BlockItemUnparsed.ItemOneOfType> oneOf = item.item();
+        if (oneOf.kind() != BlockItemUnparsed.ItemOneOfType.UNSET) {
+            final Bytes payload = oneOf.as();
+            final int tag = (oneOf.kind().protoOrdinal() << TAG_TYPE_BITS) | WIRE_TYPE_DELIMITED;
+            int prefixLength = writeVarInt(prefixScratch, 0, tag);
+            prefixLength = writeVarInt(prefixScratch, prefixLength, (int) payload.length());
+            digest.update(prefixScratch, 0, prefixLength);
+            payload.writeTo(digest);
+        }
+        try {
+            digest.digest(destination, offset, HASH_SIZE);
+        } catch (final DigestException fatal) {
+            throw new IllegalStateException(fatal);
+        }
+    }
+
+    /**
+     * Writes the given non-negative value as a protobuf varint.
+     *
+     * @param target the array to write to
+     * @param position the position to start writing at
+     * @param value the non-negative value to write
+     * @return the position right after the written varint
+     */
+    private static int writeVarInt(@NonNull final byte[] target, final int position, final int value) {
+        int pos = position;
+        int remaining = value;
+        while ((remaining & ~0x7F) != 0) {
+            target[pos++] = (byte) ((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+        target[pos++] = (byte) remaining;
+        return pos;
+    }
+
+    /**
+     * Computes the final block hash from the given block proof and tree hashers,
+     * once the root hashes of both tree hashers are available, without blocking
+     * the caller on them.
+     * @param blockProof the block proof
+     * @param inputTreeHasher the input tree hasher
+     * @param outputTreeHasher the output tree hasher
+     * @return a future that completes with the final block hash
+     */
+    public static CompletableFuture<Bytes> computeFinalBlockHashAsync(
+            @NonNull final BlockProof blockProof,
+            @NonNull final StreamingTreeHasher inputTreeHasher,
+            @NonNull final StreamingTreeHasher outputTreeHasher) {
+        Objects.requireNonNull(blockProof);
+        Objects.requireNonNull(inputTreeHasher);
+        Objects.requireNonNull(outputTreeHasher);
+
+        return inputTreeHasher
+                .rootHash()
+                .thenCombine(outputTreeHasher.rootHash(), (inputHash, outputHash) -> {
+                    final var leftParent = combine(blockProof.previousBlockRootHash(), inputHash);
+                    final var rightParent = combine(outputHash, blockProof.startOfBlockStateRootHash());
+                    return combine(leftParent, rightParent);
+                });
+    }
+
     /**
      * Computes the final block hash from the given block proof and tree hashers.
      * @param blockProof the block proof
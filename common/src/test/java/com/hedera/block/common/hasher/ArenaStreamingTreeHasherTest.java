@@ -0,0 +1,72 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.common.hasher;
+
+import static com.hedera.block.common.hasher.StreamingTreeHasher.HASH_LENGTH;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.ByteBuffer;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class ArenaStreamingTreeHasherTest {
+    private static final SplittableRandom RANDOM = new SplittableRandom();
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 2, 3, 5, 8, 32, 69, 100, 123, 234, 1024, 1025, 4321})
+    void testAddLeafAndRootHash(final int numLeaves) {
+        assertMatchesNaive(new ArenaStreamingTreeHasher(ForkJoinPool.commonPool(), 16), numLeaves);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"1, 1, 7", "2, 1, 9", "4, 1, 64", "4, 2, 65", "8, 3, 1000", "64, 1, 63", "64, 8, 129"})
+    void testChunkSizesAndChunksInFlight(final int leavesPerChunk, final int maxChunksInFlight, final int numLeaves) {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            assertMatchesNaive(
+                    new ArenaStreamingTreeHasher(executor, leavesPerChunk, maxChunksInFlight), numLeaves);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testAddLeafAfterRootHashRequested() {
+        final var subject = new ArenaStreamingTreeHasher(ForkJoinPool.commonPool(), 16);
+        final var leaf = ByteBuffer.allocate(HASH_LENGTH);
+        subject.addLeaf(leaf);
+        subject.rootHash();
+        assertThrows(IllegalStateException.class, () -> subject.addLeaf(ByteBuffer.allocate(HASH_LENGTH)));
+    }
+
+    @Test
+    void testAddLeafWithTooFewBytes() {
+        final var subject = new ArenaStreamingTreeHasher(ForkJoinPool.commonPool(), 16);
+        assertThrows(IllegalArgumentException.class, () -> subject.addLeaf(ByteBuffer.allocate(HASH_LENGTH - 1)));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {-2, 0, 3, 24})
+    void testRejectsChunkSizeNotPowerOfTwo(final int leavesPerChunk) {
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> new ArenaStreamingTreeHasher(ForkJoinPool.commonPool(), leavesPerChunk));
+    }
+
+    private static void assertMatchesNaive(final ArenaStreamingTreeHasher subject, final int numLeaves) {
+        final NaiveStreamingTreeHasher comparison = new NaiveStreamingTreeHasher();
+        for (int i = 0; i < numLeaves; i++) {
+            final var hash = new byte[HASH_LENGTH];
+            RANDOM.nextBytes(hash);
+            subject.addLeaf(ByteBuffer.wrap(hash));
+            comparison.addLeaf(ByteBuffer.wrap(hash));
+        }
+        assertEquals(comparison.rootHash().join(), subject.rootHash().join());
+    }
+}
@@ -0,0 +1,139 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.common.hasher;
+
+import static com.hedera.block.common.hasher.HashingUtilities.HASH_SIZE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.hedera.block.common.hasher.HashingUtilities.Leaf;
+import com.hedera.hapi.block.BlockItemUnparsed;
+import com.hedera.hapi.block.BlockItemUnparsed.ItemOneOfType;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class HashingUtilitiesTest {
+    private static final SplittableRandom RANDOM = new SplittableRandom();
+
+    /**
+     * This test aims to verify that the hash of a single item equals the hash
+     * of its full protobuf encoding, including payload sizes at the varint
+     * length boundaries of the length prefix.
+     */
+    /**
+     * This test aims to verify that items are mapped to the tree of the block
+     * hash they are leaves of, and that the block proof is not a leaf.
+     */
+    @Test
+    void testLeafOf() {
+        assertThat(HashingUtilities.leafOf(ItemOneOfType.EVENT_HEADER)).isEqualTo(Leaf.INPUT);
+        assertThat(HashingUtilities.leafOf(ItemOneOfType.EVENT_TRANSACTION)).isEqualTo(Leaf.INPUT);
+        assertThat(HashingUtilities.leafOf(ItemOneOfType.ROUND_HEADER)).isEqualTo(Leaf.INPUT);
+        assertThat(HashingUtilities.leafOf(ItemOneOfType.BLOCK_HEADER)).isEqualTo(Leaf.OUTPUT);
+        assertThat(HashingUtilities.leafOf(ItemOneOfType.TRANSACTION_RESULT)).isEqualTo(Leaf.OUTPUT);
+        assertThat(HashingUtilities.leafOf(ItemOneOfType.TRANSACTION_OUTPUT)).isEqualTo(Leaf.OUTPUT);
+        assertThat(HashingUtilities.leafOf(ItemOneOfType.STATE_CHANGES)).isEqualTo(Leaf.OUTPUT);
+        assertThat(HashingUtilities.leafOf(ItemOneOfType.BLOCK_PROOF)).isEqualTo(Leaf.NONE);
+        assertThat(HashingUtilities.leafOf(ItemOneOfType.RECORD_FILE)).isEqualTo(Leaf.NONE);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 127, 128, 16_383, 16_384, 2_097_152})
+    void testGetBlockItemHashMatchesEncodedItem(final int payloadSize) {
+        final BlockItemUnparsed item = BlockItemUnparsed.newBuilder()
+                .stateChanges(randomBytes(payloadSize))
+                .build();
+
+        final ByteBuffer actual = HashingUtilities.getBlockItemHash(item);
+
+        assertThat(actual).isEqualTo(hashOfEncoded(item));
+    }
+
+    /**
+     * This test aims to verify that the input and output hashes of a list of
+     * items equal the hashes of their full protobuf encodings, for every item
+     * kind that contributes to a tree.
+     */
+    @Test
+    void testGetBlockHashesMatchesEncodedItems() {
+        final List<BlockItemUnparsed> items = List.of(
+                BlockItemUnparsed.newBuilder().blockHeader(randomBytes(64)).build(),
+                BlockItemUnparsed.newBuilder().roundHeader(randomBytes(8)).build(),
+                BlockItemUnparsed.newBuilder().eventHeader(randomBytes(300)).build(),
+                BlockItemUnparsed.newBuilder().eventTransaction(randomBytes(0)).build(),
+                BlockItemUnparsed.newBuilder().transactionResult(randomBytes(130)).build(),
+                BlockItemUnparsed.newBuilder().transactionOutput(randomBytes(20_000)).build(),
+                BlockItemUnparsed.newBuilder().stateChanges(randomBytes(1)).build(),
+                BlockItemUnparsed.newBuilder().blockProof(randomBytes(96)).build());
+        final List<ByteBuffer> expectedInputs = new ArrayList<>();
+        final List<ByteBuffer> expectedOutputs = new ArrayList<>();
+        for (final BlockItemUnparsed item : items) {
+            switch (item.item().kind()) {
+                case EVENT_HEADER, EVENT_TRANSACTION, ROUND_HEADER -> expectedInputs.add(hashOfEncoded(item));
+                case TRANSACTION_RESULT, TRANSACTION_OUTPUT, STATE_CHANGES, BLOCK_HEADER -> expectedOutputs.add(
+                        hashOfEncoded(item));
+                default -> {}
+            }
+        }
+
+        final Hashes actual = HashingUtilities.getBlockHashes(items);
+
+        assertThat(actual.inputHashes().remaining()).isEqualTo(HASH_SIZE * expectedInputs.size());
+        assertThat(actual.outputHashes().remaining()).isEqualTo(HASH_SIZE * expectedOutputs.size());
+        for (final ByteBuffer expected : expectedInputs) {
+            assertThat(actual.inputHashes().slice(actual.inputHashes().position(), HASH_SIZE))
+                    .isEqualTo(expected);
+            actual.inputHashes().position(actual.inputHashes().position() + HASH_SIZE);
+        }
+        for (final ByteBuffer expected : expectedOutputs) {
+            assertThat(actual.outputHashes().slice(actual.outputHashes().position(), HASH_SIZE))
+                    .isEqualTo(expected);
+            actual.outputHashes().position(actual.outputHashes().position() + HASH_SIZE);
+        }
+    }
+
+    /**
+     * This test aims to verify that hashing the items in parallel index
+     * ranges produces the same hashes, in the same order, as hashing them
+     * sequentially, whether or not the items divide evenly into ranges.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 7, 64, 200})
+    void testParallelGetBlockHashesMatchesSequential(final int itemsPerTask) {
+        final List<BlockItemUnparsed> items = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            final Bytes payload = randomBytes(RANDOM.nextInt(512));
+            final BlockItemUnparsed.Builder builder =
+                    switch (i % 5) {
+                        case 0 -> BlockItemUnparsed.newBuilder().eventHeader(payload);
+                        case 1 -> BlockItemUnparsed.newBuilder().eventTransaction(payload);
+                        case 2 -> BlockItemUnparsed.newBuilder().transactionResult(payload);
+                        case 3 -> BlockItemUnparsed.newBuilder().stateChanges(payload);
+                        default -> BlockItemUnparsed.newBuilder().filteredItemHash(payload);
+                    };
+            items.add(builder.build());
+        }
+
+        final Hashes expected = HashingUtilities.getBlockHashes(items);
+        final Hashes actual = HashingUtilities.getBlockHashes(items, ForkJoinPool.commonPool(), itemsPerTask);
+
+        assertThat(actual.inputHashes()).isEqualTo(expected.inputHashes());
+        assertThat(actual.outputHashes()).isEqualTo(expected.outputHashes());
+    }
+
+    private static ByteBuffer hashOfEncoded(final BlockItemUnparsed item) {
+        final byte[] encoded = BlockItemUnparsed.PROTOBUF.toBytes(item).toByteArray();
+        return ByteBuffer.wrap(HashingUtilities.noThrowSha384HashOf(encoded));
+    }
+
+    private static Bytes randomBytes(final int size) {
+        final byte[] bytes = new byte[size];
+        RANDOM.nextBytes(bytes);
+        return Bytes.wrap(bytes);
+    }
+}
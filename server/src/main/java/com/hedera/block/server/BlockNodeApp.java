@@ -3,14 +3,26 @@ package com.hedera.block.server;
 
 import static com.hedera.block.server.Constants.PBJ_PROTOCOL_PROVIDER_CONFIG_NAME;
 import static java.lang.System.Logger;
+import static java.lang.System.Logger.Level.ERROR;
 import static java.lang.System.Logger.Level.INFO;
 import static java.util.Objects.requireNonNull;
 
+import com.hedera.block.server.ack.AckHandler;
 import com.hedera.block.server.config.logging.ConfigurationLogging;
+import com.hedera.block.server.events.LivenessWheel;
+import com.hedera.block.server.health.AdminService;
+import com.hedera.block.server.health.BlockFileService;
+import com.hedera.block.server.health.BlockTraceService;
 import com.hedera.block.server.health.HealthService;
+import com.hedera.block.server.mediator.LiveStreamMediator;
 import com.hedera.block.server.pbj.PbjBlockAccessService;
 import com.hedera.block.server.pbj.PbjBlockStreamService;
+import com.hedera.block.server.persistence.storage.path.BlockPathResolver;
+import com.hedera.block.server.persistence.storage.scrub.StorageScrubber;
+import com.hedera.block.server.service.AvailableBlockRange;
 import com.hedera.block.server.service.ServiceStatus;
+import com.hedera.block.server.verification.session.VerificationWorkerPool;
+import com.hedera.block.server.verification.signature.SignatureVerifier;
 import com.hedera.pbj.grpc.helidon.PbjRouting;
 import com.hedera.pbj.grpc.helidon.config.PbjConfig;
 import edu.umd.cs.findbugs.annotations.NonNull;
@@ -33,38 +45,79 @@ public class BlockNodeApp {
 
     private final ServiceStatus serviceStatus;
     private final HealthService healthService;
+    private final BlockTraceService blockTraceService;
+    private final AdminService adminService;
+    private final BlockFileService blockFileService;
     private final WebServerConfig.Builder webServerBuilder;
     private final PbjBlockStreamService pbjBlockStreamService;
     private final PbjBlockAccessService pbjBlockAccessService;
     private final ServerConfig serverConfig;
     private final ConfigurationLogging configurationLogging;
+    private final StorageScrubber storageScrubber;
+    private final AckHandler ackHandler;
+    private final BlockPathResolver blockPathResolver;
+    private final LivenessWheel livenessWheel;
+    private final LiveStreamMediator liveStreamMediator;
+    private final VerificationWorkerPool workerPool;
+    private final SignatureVerifier signatureVerifier;
 
     /**
      * Constructs a new BlockNodeApp with the specified dependencies.
      *
      * @param serviceStatus has the status of the service
      * @param healthService handles the health API requests
+     * @param blockTraceService handles the block trace API requests
+     * @param adminService handles the admin API requests
+     * @param blockFileService handles the block file download requests
      * @param pbjBlockStreamService defines the Block Stream services
-     * @param pbjBlockAccessService defines the Block Access services
+     * @param pbjBlockAccessService defines the Block Access services, stopped on shutdown
      * @param webServerBuilder used to build the web server and start it
      * @param serverConfig has the server configuration
+     * @param configurationLogging logs the configuration on start
+     * @param storageScrubber re-verifies stored blocks in the background
+     * @param ackHandler sends the block acknowledgements, stopped on shutdown
+     * @param blockPathResolver finds the blocks already stored on start
+     * @param livenessWheel expires the inactive producers and consumers, stopped on shutdown
+     * @param liveStreamMediator mediates the live stream, stopped on shutdown
+     * @param workerPool runs the block verification sessions, stopped on shutdown
+     * @param signatureVerifier verifies the block signatures, stopped on shutdown
      */
     @Inject
     public BlockNodeApp(
             @NonNull final ServiceStatus serviceStatus,
             @NonNull final HealthService healthService,
+            @NonNull final BlockTraceService blockTraceService,
+            @NonNull final AdminService adminService,
+            @NonNull final BlockFileService blockFileService,
             @NonNull final PbjBlockStreamService pbjBlockStreamService,
             @NonNull final PbjBlockAccessService pbjBlockAccessService,
             @NonNull final WebServerConfig.Builder webServerBuilder,
             @NonNull final ServerConfig serverConfig,
-            @NonNull final ConfigurationLogging configurationLogging) {
+            @NonNull final ConfigurationLogging configurationLogging,
+            @NonNull final StorageScrubber storageScrubber,
+            @NonNull final AckHandler ackHandler,
+            @NonNull final BlockPathResolver blockPathResolver,
+            @NonNull final LivenessWheel livenessWheel,
+            @NonNull final LiveStreamMediator liveStreamMediator,
+            @NonNull final VerificationWorkerPool workerPool,
+            @NonNull final SignatureVerifier signatureVerifier) {
         this.serviceStatus = requireNonNull(serviceStatus);
         this.healthService = requireNonNull(healthService);
+        this.blockTraceService = requireNonNull(blockTraceService);
+        this.adminService = requireNonNull(adminService);
+        this.blockFileService = requireNonNull(blockFileService);
         this.pbjBlockStreamService = requireNonNull(pbjBlockStreamService);
         this.pbjBlockAccessService = requireNonNull(pbjBlockAccessService);
         this.webServerBuilder = requireNonNull(webServerBuilder);
         this.serverConfig = requireNonNull(serverConfig);
         this.configurationLogging = requireNonNull(configurationLogging);
+        this.storageScrubber = requireNonNull(storageScrubber);
+        this.ackHandler = requireNonNull(ackHandler);
+        this.blockPathResolver = requireNonNull(blockPathResolver);
+        this.livenessWheel = requireNonNull(livenessWheel);
+        this.liveStreamMediator = requireNonNull(liveStreamMediator);
+        this.workerPool = requireNonNull(workerPool);
+        this.signatureVerifier = requireNonNull(signatureVerifier);
     }
 
     /**
@@ -77,8 +130,17 @@ public class BlockNodeApp {
         // Log the configuration
         configurationLogging.log();
 
-        final HttpRouting.Builder httpRouting =
-                HttpRouting.builder().register(healthService.getHealthRootPath(), healthService);
+        // Blocks stored before the start are available, blocks ACKed from now on extend the range
+        final AvailableBlockRange storedBlocks = blockPathResolver.findAvailableBlockRange();
+        if (!storedBlocks.isEmpty()) {
+            serviceStatus.addAvailableBlocks(storedBlocks.firstBlockNumber(), storedBlocks.lastBlockNumber());
+        }
+
+        final HttpRouting.Builder httpRouting = HttpRouting.builder()
+                .register(healthService.getHealthRootPath(), healthService)
+                .register(blockTraceService.getTraceRootPath(), blockTraceService)
+                .register(adminService.getAdminRootPath(), adminService)
+                .register(blockFileService.getDownloadRootPath(), blockFileService);
 
         final PbjRouting.Builder pbjRouting =
                 PbjRouting.builder().service(pbjBlockStreamService).service(pbjBlockAccessService);
@@ -111,5 +173,28 @@ public class BlockNodeApp {
 
         // Log the server status
         LOGGER.log(INFO, String.format("Block Node Server started at port: %d", webServer.port()));
+
+        // Start re-verifying stored blocks in the background
+        storageScrubber.start();
+    }
+
+    /**
+     * Stops the background work of the block node. Called when the JVM shuts down, once the web
+     * server no longer accepts requests.
+     */
+    public void stop() {
+        LOGGER.log(INFO, "Stopping Block Node Server");
+        ackHandler.shutdown();
+        pbjBlockAccessService.shutdown();
+        livenessWheel.stop();
+        liveStreamMediator.shutdown();
+        workerPool.shutdown();
+        signatureVerifier.shutdown();
+        try {
+            storageScrubber.stop();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.log(ERROR, "Interrupted while stopping the storage scrubber", e);
+        }
     }
 }
@@ -36,5 +36,8 @@ public final class Constants {
     /** Constant defining the compressed file extension */
     public static final String COMPRESSED_FILE_EXTENSION = ".zstd";
 
+    /** Constant defining the block checksum sidecar file extension */
+    public static final String CHECKSUM_FILE_EXTENSION = ".crc32c";
+
     private Constants() {}
 }
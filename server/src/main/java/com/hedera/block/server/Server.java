@@ -45,5 +45,8 @@ public class Server {
         // Use Dagger DI Component to start the BlockNodeApp with all wired dependencies
         final BlockNodeApp blockNodeApp = daggerComponent.getBlockNodeApp();
         blockNodeApp.start();
+
+        // Stop the background work of the block node on shutdown
+        Runtime.getRuntime().addShutdownHook(new Thread(blockNodeApp::stop, "block-node-shutdown"));
     }
 }
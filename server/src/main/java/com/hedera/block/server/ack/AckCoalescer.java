@@ -0,0 +1,101 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.ack;
+
+import com.hedera.block.common.utils.Preconditions;
+import com.hedera.block.server.notifier.Notifier;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces the acknowledgements of consecutive blocks into a single, cumulative one.
+ * <p>
+ * Blocks are acknowledged in strictly increasing order, so acknowledging a block also
+ * acknowledges every block before it. Each {@link #offer(long, Bytes)} replaces the pending
+ * acknowledgement with a higher block. Without linger, the offered block is acknowledged at once;
+ * otherwise the highest block offered is acknowledged once the linger has elapsed since the first
+ * block offered after the previous acknowledgement.
+ */
+public class AckCoalescer {
+    private final Notifier notifier;
+    private final long lingerMillis;
+    private final ScheduledExecutorService scheduler;
+
+    // guarded by this
+    private long pendingBlockNumber = -1;
+    private Bytes pendingBlockHash;
+
+    /**
+     * Constructor.
+     *
+     * @param notifier the notifier to send the acknowledgements with
+     * @param lingerMillis the time to wait for more blocks before acknowledging, 0 to acknowledge
+     * every offered block at once
+     */
+    public AckCoalescer(@NonNull final Notifier notifier, final long lingerMillis) {
+        this.notifier = Objects.requireNonNull(notifier);
+        this.lingerMillis = Preconditions.requireWhole(lingerMillis);
+        this.scheduler = lingerMillis == 0
+                ? null
+                : Executors.newSingleThreadScheduledExecutor(r -> {
+                    final Thread t = new Thread(r, "ack-coalescer");
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    /**
+     * Offers the highest block of a run of blocks ready to be acknowledged. Must be called by one
+     * thread at a time, in increasing block order.
+     *
+     * @param blockNumber the number of the highest ready block
+     * @param blockHash the hash of the highest ready block
+     */
+    public void offer(final long blockNumber, @NonNull final Bytes blockHash) {
+        Objects.requireNonNull(blockHash);
+        if (scheduler == null) {
+            notifier.sendAck(blockNumber, blockHash, false);
+            return;
+        }
+        final boolean schedule;
+        synchronized (this) {
+            schedule = pendingBlockHash == null;
+            pendingBlockNumber = blockNumber;
+            pendingBlockHash = blockHash;
+        }
+        if (schedule) {
+            try {
+                scheduler.schedule(this::flush, lingerMillis, TimeUnit.MILLISECONDS);
+            } catch (final RejectedExecutionException e) {
+                // shut down, the acknowledgement is not sent
+            }
+        }
+    }
+
+    /**
+     * This method stops the linger timer, the pending acknowledgement and any offered afterwards
+     * are not sent.
+     */
+    public void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void flush() {
+        final long blockNumber;
+        final Bytes blockHash;
+        synchronized (this) {
+            blockNumber = pendingBlockNumber;
+            blockHash = pendingBlockHash;
+            pendingBlockHash = null;
+        }
+        if (blockHash != null) {
+            notifier.sendAck(blockNumber, blockHash, false);
+        }
+    }
+}
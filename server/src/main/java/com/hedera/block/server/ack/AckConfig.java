@@ -0,0 +1,52 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.ack;
+
+import com.hedera.block.common.utils.Preconditions;
+import com.hedera.block.server.config.logging.Loggable;
+import com.swirlds.config.api.ConfigData;
+import com.swirlds.config.api.ConfigProperty;
+
+/**
+ * Use this configuration for the acknowledgement of blocks.
+ *
+ * @param windowSize the number of blocks, starting at the next block to
+ * acknowledge, whose persisted and verified state is tracked without
+ * allocation; must be a power of two
+ * @param mode whether every block is acknowledged, or only the highest block
+ * of each run of blocks ready together
+ * @param lingerMillis with {@link AckMode#COALESCED}, the time to wait after a
+ * block is ready for more blocks to become ready before acknowledging the
+ * highest one; 0 acknowledges each run of ready blocks at once
+ */
+@ConfigData("ack")
+public record AckConfig(
+        @Loggable @ConfigProperty(defaultValue = "1024") int windowSize,
+        @Loggable @ConfigProperty(defaultValue = "PER_BLOCK") AckMode mode,
+        @Loggable @ConfigProperty(defaultValue = "0") long lingerMillis) {
+
+    /**
+     * Validate the configuration.
+     *
+     * @throws IllegalArgumentException if any of the values is out of range
+     */
+    public AckConfig {
+        Preconditions.requirePowerOfTwo(windowSize, "[ACK_WINDOW_SIZE] value %d must be a positive power of two");
+        Preconditions.requireWhole(lingerMillis, "[ACK_LINGER_MILLIS] must not be negative");
+    }
+
+    /**
+     * How blocks are acknowledged to the producers.
+     */
+    public enum AckMode {
+        /**
+         * Every block is acknowledged with its own message.
+         */
+        PER_BLOCK,
+        /**
+         * Acknowledgements are cumulative: a single message acknowledges the
+         * highest block of a contiguous run of ready blocks, and with it every
+         * block before it.
+         */
+        COALESCED,
+    }
+}
@@ -26,4 +26,9 @@ public interface AckHandler {
      * Called by the Verification Service when we get a verification failure for the given blockNumber.
      */
     void blockVerificationFailed(long blockNumber);
+
+    /**
+     * Called when the server shuts down, to stop any background work of the handler.
+     */
+    void shutdown();
 }
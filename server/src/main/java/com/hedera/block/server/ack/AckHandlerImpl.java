@@ -1,8 +1,11 @@
 // SPDX-License-Identifier: Apache-2.0
 package com.hedera.block.server.ack;
 
+import com.hedera.block.common.utils.Preconditions;
 import com.hedera.block.server.block.BlockInfo;
 import com.hedera.block.server.metrics.BlockNodeMetricTypes;
+import com.hedera.block.server.metrics.BlockStage;
+import com.hedera.block.server.metrics.BlockTraceStage;
 import com.hedera.block.server.metrics.MetricsService;
 import com.hedera.block.server.notifier.Notifier;
 import com.hedera.block.server.persistence.storage.remove.BlockRemover;
@@ -13,6 +16,9 @@ import com.hedera.hapi.block.PublishStreamResponseCode;
 import com.hedera.pbj.runtime.io.buffer.Bytes;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
@@ -20,25 +26,84 @@ import javax.inject.Inject;
 
 /**
  * A simplified AckHandler that:
- *  Creates BlockInfo entries on demand when blockPersisted or blockVerified arrives.
+ *  Tracks the persisted and verified state of each block as blockPersisted or blockVerified arrives.
  *  If either skipPersistence or skipVerification is true, ignores all events entirely (no ACKs).
  *  Acks blocks only in strictly increasing order
  *    the ACK is delayed until it is that block's turn.
  *    consecutive ACKs for all blocks that are both persisted and verified.
+ * <p>
+ * The state of the blocks in a window starting at the next block to ACK is kept in a
+ * power-of-two ring, indexed by {@code blockNumber & mask}. A slot is a single {@code long}
+ * holding the block number and its persisted and verified bits, updated with a CAS, next to the
+ * hash of the block. The hash is written by the thread whose CAS claimed the write for the block,
+ * then published by setting the verified bit. Tracking a block in the window takes no lock and no
+ * allocation. The rare
+ * events for blocks beyond the window are parked in a map until the window reaches them.
+ * <p>
+ * Blocks are ACKed by a single thread at a time: the thread that finds no other thread ACK-ing
+ * drains every ready block, and keeps draining while other threads report events meanwhile.
+ * Either every drained block is ACKed, or only the highest block of each drained run, through an
+ * {@link AckCoalescer}, as ACKs are cumulative.
  */
 public class AckHandlerImpl implements AckHandler {
+    private static final int PERSISTED = 1;
+    private static final int VERIFIED = 2;
+    private static final int READY = PERSISTED | VERIFIED;
+    /**
+     * Set while the hash of a block is being written, a block cannot be ready meanwhile.
+     */
+    private static final int WRITING_HASH = 4;
+
+    private static final int STATE_BITS = 3;
+    /**
+     * The state of a slot that never held a block, no block number matches it.
+     */
+    private static final long EMPTY_SLOT = -1L;
+    /**
+     * Returned by {@link #orState} when the slot was left untouched, no slot state matches it.
+     */
+    private static final long NOT_UPDATED = -1L;
+
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle WORK_IN_PROGRESS;
+
+    static {
+        try {
+            WORK_IN_PROGRESS = MethodHandles.lookup()
+                    .findVarHandle(AckHandlerImpl.class, "workInProgress", int.class);
+        } catch (final ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     private final System.Logger LOGGER = System.getLogger(getClass().getName());
-    private final Map<Long, BlockInfo> blockInfo = new ConcurrentHashMap<>();
+    private final long[] slots;
+    private final Bytes[] blockHashes;
+    private final int mask;
+    private final Map<Long, ParkedBlock> parkedBlocks = new ConcurrentHashMap<>();
     private volatile long lastAcknowledgedBlockNumber = -1;
+    /**
+     * The number of ACK attempts requested since the draining thread last checked, only the
+     * thread that moves it away from zero drains.
+     */
+    @SuppressWarnings("unused") // accessed through WORK_IN_PROGRESS
+    private volatile int workInProgress;
+
     private final Notifier notifier;
     private final boolean skipAcknowledgement;
     private final ServiceStatus serviceStatus;
     private final BlockRemover blockRemover;
     private final MetricsService metricsService;
+    /**
+     * The coalescer of the ACKs, or null if every block is ACKed.
+     */
+    private final AckCoalescer ackCoalescer;
 
     /**
      * Constructor. If either skipPersistence or skipVerification is true,
      * we ignore all events (no ACKs ever sent).
+     *
+     * @param ackConfig the ack configuration, the window size and how blocks are ACKed
      */
     @Inject
     public AckHandlerImpl(
@@ -46,12 +111,31 @@ public class AckHandlerImpl implements AckHandler {
             final boolean skipAcknowledgement,
             @NonNull final ServiceStatus serviceStatus,
             @NonNull final BlockRemover blockRemover,
-            @NonNull final MetricsService metricsService) {
+            @NonNull final MetricsService metricsService,
+            @NonNull final AckConfig ackConfig) {
         this.notifier = Objects.requireNonNull(notifier);
         this.skipAcknowledgement = skipAcknowledgement;
         this.serviceStatus = Objects.requireNonNull(serviceStatus);
         this.blockRemover = Objects.requireNonNull(blockRemover);
         this.metricsService = metricsService;
+        final int windowSize = ackConfig.windowSize();
+        this.slots = new long[Preconditions.requirePowerOfTwo(windowSize)];
+        this.blockHashes = new Bytes[windowSize];
+        this.mask = windowSize - 1;
+        Arrays.fill(slots, EMPTY_SLOT);
+        this.ackCoalescer = ackConfig.mode() == AckConfig.AckMode.COALESCED
+                ? new AckCoalescer(notifier, ackConfig.lingerMillis())
+                : null;
+    }
+
+    /**
+     * Stops the linger timer of the coalesced ACKs, if any. The pending ACK is not sent.
+     */
+    @Override
+    public void shutdown() {
+        if (ackCoalescer != null) {
+            ackCoalescer.shutdown();
+        }
     }
 
     @Override
@@ -59,9 +143,8 @@ public class AckHandlerImpl implements AckHandler {
         Objects.requireNonNull(blockPersistenceResult);
         if (!skipAcknowledgement) {
             // @todo(545) handle other cases for the blockPersistenceResult
-            final BlockInfo info = blockInfo.computeIfAbsent(blockPersistenceResult.blockNumber(), BlockInfo::new);
             if (blockPersistenceResult.status() == BlockPersistenceStatus.SUCCESS) {
-                info.getBlockStatus().setPersisted();
+                track(blockPersistenceResult.blockNumber(), PERSISTED, null);
             }
             attemptAcks();
         }
@@ -79,9 +162,7 @@ public class AckHandlerImpl implements AckHandler {
             return;
         }
 
-        BlockInfo info = blockInfo.computeIfAbsent(blockNumber, BlockInfo::new);
-        info.setBlockHash(blockHash);
-        info.getBlockStatus().setVerified();
+        track(blockNumber, VERIFIED, Objects.requireNonNull(blockHash));
 
         attemptAcks();
     }
@@ -101,61 +182,201 @@ public class AckHandlerImpl implements AckHandler {
         }
     }
 
+    /**
+     * Records a state bit of a block, along with its hash if verified.
+     * <p>
+     * Blocks already ACKed are ignored. Blocks beyond the window are parked, then moved into the
+     * window by whichever of this thread or the draining thread sees the window reach them.
+     */
+    private void track(final long blockNumber, final int state, final Bytes blockHash) {
+        final long nextBlock = nextBlockToAck();
+        if (blockNumber < nextBlock) {
+            return;
+        }
+        if (blockNumber - nextBlock < slots.length) {
+            setState(blockNumber, state, blockHash);
+            return;
+        }
+
+        parkedBlocks.merge(blockNumber, new ParkedBlock(state, blockHash), ParkedBlock::merge);
+        // the window may have moved past the block before it was parked, and the draining
+        // thread may have missed it; whoever removes it moves it into the window
+        if (blockNumber - nextBlockToAck() < slots.length) {
+            unpark(blockNumber);
+        }
+    }
+
+    /**
+     * Sets the state bits of a block in the window, claiming its slot from the block ACKed a
+     * window earlier if needed.
+     * <p>
+     * The verified bit comes with the hash of the block. The hash is only written once a CAS of
+     * this thread has claimed the write for this block number, and is then published by the CAS
+     * that sets the verified bit. The block cannot be ready in between, so its slot cannot be
+     * claimed by a later block while the hash is written.
+     */
+    private void setState(final long blockNumber, final int state, final Bytes blockHash) {
+        final int index = (int) (blockNumber & mask);
+        if ((state & VERIFIED) == 0) {
+            traceIfReady(blockNumber, orState(blockNumber, index, state, 0));
+            return;
+        }
+
+        // a duplicate event for a block verified, or being verified, meanwhile is ignored
+        final int claimState = (state & ~VERIFIED) | WRITING_HASH;
+        if (orState(blockNumber, index, claimState, VERIFIED | WRITING_HASH) == NOT_UPDATED) {
+            return;
+        }
+        blockHashes[index] = Objects.requireNonNull(blockHash);
+        while (true) {
+            final long current = (long) SLOTS.getVolatile(slots, index);
+            final long updated = (current & ~WRITING_HASH) | VERIFIED;
+            if (SLOTS.compareAndSet(slots, index, current, updated)) {
+                traceIfReady(blockNumber, updated);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Sets state bits of a block in the window with a CAS, claiming its slot from the block ACKed
+     * a window earlier if needed.
+     *
+     * @param blockNumber the block number
+     * @param index the index of the slot of the block
+     * @param state the state bits to set
+     * @param unlessState the state bits that, if any is already set, leave the slot untouched
+     * @return the updated state of the slot, or {@link #NOT_UPDATED} if it was left untouched
+     */
+    private long orState(final long blockNumber, final int index, final int state, final int unlessState) {
+        while (true) {
+            final long current = (long) SLOTS.getVolatile(slots, index);
+            final long slotBlockNumber = current == EMPTY_SLOT ? Long.MIN_VALUE : current >>> STATE_BITS;
+            final long updated;
+            if (slotBlockNumber == blockNumber) {
+                if ((current & unlessState) != 0) {
+                    return NOT_UPDATED;
+                }
+                updated = current | state;
+            } else if (slotBlockNumber < blockNumber) {
+                // the slot holds a block already ACKed
+                updated = (blockNumber << STATE_BITS) | state;
+            } else {
+                // a duplicate event for a block ACKed meanwhile, its slot was claimed again
+                return NOT_UPDATED;
+            }
+            if (updated == current) {
+                return NOT_UPDATED;
+            }
+            if (SLOTS.compareAndSet(slots, index, current, updated)) {
+                return updated;
+            }
+        }
+    }
+
+    private void traceIfReady(final long blockNumber, final long slotState) {
+        if (slotState != NOT_UPDATED && (slotState & (READY | WRITING_HASH)) == READY) {
+            metricsService.traceEnter(blockNumber, BlockTraceStage.ACK_ORDERING);
+        }
+    }
+
+    private void unpark(final long blockNumber) {
+        final ParkedBlock parked = parkedBlocks.remove(blockNumber);
+        if (parked != null) {
+            setState(blockNumber, parked.state(), parked.blockHash());
+        }
+    }
+
+    private long nextBlockToAck() {
+        // @todo(147): once we have a way to get the last acknowledged block from the store we should use that
+        return Math.max(lastAcknowledgedBlockNumber, 0) + 1;
+    }
+
     /**
      * Attempt to ACK all blocks that are ready to be ACKed.
      * This method is called whenever a block is persisted or verified.
      * It ACKs all blocks in sequence that are both persisted and verified.
+     * <p>
+     * Blocks are verified in a pipeline, so verification results may arrive
+     * out of order and from several threads at once. Only the thread that
+     * finds no attempt in progress drains the ready blocks; every other
+     * attempt is counted, so the draining thread checks again for the blocks
+     * that became ready while it was ACK-ing the blocks before them.
      */
     private void attemptAcks() {
-        // Temporarily if lastAcknowledgedBlockNumber is -1, we get the first block in the map
+        if ((int) WORK_IN_PROGRESS.getAndAdd(this, 1) != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            drainReadyBlocks();
+            missed = (int) WORK_IN_PROGRESS.getAndAdd(this, -missed) - missed;
+        } while (missed != 0);
+    }
+
+    private void drainReadyBlocks() {
+        // Temporarily if lastAcknowledgedBlockNumber is -1, we start with block 1
         if (lastAcknowledgedBlockNumber == -1) {
-            // @todo(147): once we have a way to get the last acknowledged block from the store we should use that
             lastAcknowledgedBlockNumber = 0;
         }
 
+        final long firstToAck = lastAcknowledgedBlockNumber + 1;
+        long lastAcked = lastAcknowledgedBlockNumber;
+        Bytes lastAckedHash = null;
         // Keep ACK-ing starting from the next block in sequence
         while (true) {
-            long nextBlock = lastAcknowledgedBlockNumber + 1;
-            BlockInfo info = blockInfo.get(nextBlock);
-
-            if (info == null) {
-                // We have no info for the next expected block yet.
-                // => We can't ACK the "next" block. Stop.
+            final long nextBlock = lastAcked + 1;
+            final int index = (int) (nextBlock & mask);
+            if ((long) SLOTS.getVolatile(slots, index) != ((nextBlock << STATE_BITS) | READY)) {
+                // Not fully ready, or no info for the next expected block yet. Stop.
                 break;
             }
 
-            // Check if this block is fully ready
-            if (!info.getBlockStatus().isPersisted() || !info.getBlockStatus().isVerified()) {
-                // Not fully ready. Stop.
-                break;
+            final Bytes blockHash = blockHashes[index];
+            blockHashes[index] = null;
+            if (ackCoalescer == null) {
+                notifier.sendAck(nextBlock, blockHash, false);
             }
 
-            // Attempt to mark ACK sent (CAS-protected to avoid duplicates)
-            if (info.getBlockStatus().markAckSentIfNotAlready()) {
-                // We "won" the race; we do the actual ACK
-                notifier.sendAck(nextBlock, info.getBlockHash(), false);
-
-                // Update the service status
-                serviceStatus.setLatestAckedBlock(info);
-
-                // Remove from map if desired (so we don't waste memory)
-                blockInfo.remove(nextBlock);
-
-                // Update metrics and logging
-                metricsService.get(BlockNodeMetricTypes.Counter.AckedBlocked).increment();
-                LOGGER.log(System.Logger.Level.DEBUG, "ACKed block " + nextBlock);
+            // Update metrics and logging
+            metricsService.get(BlockNodeMetricTypes.Counter.AckedBlocked).increment();
+            metricsService.markBlockStage(nextBlock, BlockStage.ACKNOWLEDGED);
+            metricsService.traceExit(nextBlock, BlockTraceStage.ACK_ORDERING);
+            LOGGER.log(System.Logger.Level.DEBUG, "ACKed block " + nextBlock);
 
-                // Update last acknowledged
-                lastAcknowledgedBlockNumber = nextBlock;
-            } else {
-                // Someone else already ACKed this block.
-                // Stop, as we can't ACK the next block until this one is ACKed.
-                // Also, to unblock the other thread faster.
-                break;
+            // Update last acknowledged, which moves the window past the block
+            lastAcked = nextBlock;
+            lastAckedHash = blockHash;
+            lastAcknowledgedBlockNumber = lastAcked;
+            if (!parkedBlocks.isEmpty()) {
+                unpark(lastAcked + slots.length);
             }
             // Loop again in case the next block is also ready.
-            // This can ACK multiple consecutive blocks if they are all
-            // persisted & verified in order.
+        }
+
+        if (lastAckedHash != null) {
+            if (ackCoalescer != null) {
+                // a single, cumulative ACK for the whole run
+                ackCoalescer.offer(lastAcked, lastAckedHash);
+            }
+            // Update the service status once per drained run of blocks
+            final BlockInfo latestAckedBlock = new BlockInfo(lastAcked);
+            latestAckedBlock.setBlockHash(lastAckedHash);
+            latestAckedBlock.getBlockStatus().setPersisted();
+            latestAckedBlock.getBlockStatus().setVerified();
+            latestAckedBlock.getBlockStatus().markAckSentIfNotAlready();
+            serviceStatus.setLatestAckedBlock(latestAckedBlock);
+            // Acknowledged blocks are persisted and verified, so they can be served
+            serviceStatus.addAvailableBlocks(firstToAck, lastAcked);
+        }
+    }
+
+    /**
+     * The state bits and hash of a block beyond the window.
+     */
+    private record ParkedBlock(int state, Bytes blockHash) {
+        ParkedBlock merge(@NonNull final ParkedBlock other) {
+            return new ParkedBlock(state | other.state, blockHash != null ? blockHash : other.blockHash);
         }
     }
 }
@@ -24,6 +24,7 @@ public interface AckHandlerInjectionModule {
      * @param serviceStatus the {@link ServiceStatus} instance
      * @param blockRemover the {@link BlockRemover} instance
      * @param metricsService the {@link MetricsService} instance
+     * @param ackConfig the {@link AckConfig} instance
      * @return a {@link AckHandler} instance
      */
     @Provides
@@ -34,12 +35,18 @@ public interface AckHandlerInjectionModule {
             @NonNull final VerificationConfig verificationConfig,
             @NonNull final ServiceStatus serviceStatus,
             @NonNull final BlockRemover blockRemover,
-            @NonNull final MetricsService metricsService) {
+            @NonNull final MetricsService metricsService,
+            @NonNull final AckConfig ackConfig) {
 
         boolean skipPersistence = persistenceStorageConfig.type().equals(PersistenceStorageConfig.StorageType.NO_OP);
         boolean skipVerification = verificationConfig.type().equals(VerificationConfig.VerificationServiceType.NO_OP);
 
         return new AckHandlerImpl(
-                notifier, skipPersistence | skipVerification, serviceStatus, blockRemover, metricsService);
+                notifier,
+                skipPersistence | skipVerification,
+                serviceStatus,
+                blockRemover,
+                metricsService,
+                ackConfig);
     }
 }
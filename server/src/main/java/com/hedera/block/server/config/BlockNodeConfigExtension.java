@@ -3,13 +3,21 @@ package com.hedera.block.server.config;
 
 import com.google.auto.service.AutoService;
 import com.hedera.block.server.ServerConfig;
+import com.hedera.block.server.ack.AckConfig;
 import com.hedera.block.server.consumer.ConsumerConfig;
+import com.hedera.block.server.consumer.HistoricAdmissionConfig;
+import com.hedera.block.server.events.PayloadArenaConfig;
+import com.hedera.block.server.health.ReadinessConfig;
 import com.hedera.block.server.mediator.MediatorConfig;
 import com.hedera.block.server.notifier.NotifierConfig;
+import com.hedera.block.server.pbj.BlockRangeConfig;
 import com.hedera.block.server.persistence.storage.PersistenceStorageConfig;
+import com.hedera.block.server.persistence.storage.hashtree.HashTreeConfig;
+import com.hedera.block.server.persistence.storage.scrub.ScrubberConfig;
 import com.hedera.block.server.producer.ProducerConfig;
 import com.hedera.block.server.service.ServiceConfig;
 import com.hedera.block.server.verification.VerificationConfig;
+import com.hedera.block.server.verification.signature.SignatureConfig;
 import com.swirlds.common.metrics.config.MetricsConfig;
 import com.swirlds.common.metrics.platform.prometheus.PrometheusConfig;
 import com.swirlds.config.api.ConfigurationExtension;
@@ -43,6 +51,14 @@ public class BlockNodeConfigExtension implements ConfigurationExtension {
                 ConsumerConfig.class,
                 PersistenceStorageConfig.class,
                 ServerConfig.class,
-                VerificationConfig.class);
+                VerificationConfig.class,
+                ScrubberConfig.class,
+                SignatureConfig.class,
+                HashTreeConfig.class,
+                BlockRangeConfig.class,
+                HistoricAdmissionConfig.class,
+                ReadinessConfig.class,
+                PayloadArenaConfig.class,
+                AckConfig.class);
     }
 }
@@ -2,14 +2,22 @@
 package com.hedera.block.server.config;
 
 import com.hedera.block.server.ServerConfig;
+import com.hedera.block.server.ack.AckConfig;
 import com.hedera.block.server.config.logging.ConfigurationLogging;
 import com.hedera.block.server.config.logging.ConfigurationLoggingImpl;
 import com.hedera.block.server.consumer.ConsumerConfig;
+import com.hedera.block.server.consumer.HistoricAdmissionConfig;
+import com.hedera.block.server.events.PayloadArenaConfig;
+import com.hedera.block.server.health.ReadinessConfig;
 import com.hedera.block.server.mediator.MediatorConfig;
 import com.hedera.block.server.notifier.NotifierConfig;
+import com.hedera.block.server.pbj.BlockRangeConfig;
 import com.hedera.block.server.persistence.storage.PersistenceStorageConfig;
+import com.hedera.block.server.persistence.storage.hashtree.HashTreeConfig;
+import com.hedera.block.server.persistence.storage.scrub.ScrubberConfig;
 import com.hedera.block.server.producer.ProducerConfig;
 import com.hedera.block.server.verification.VerificationConfig;
+import com.hedera.block.server.verification.signature.SignatureConfig;
 import com.swirlds.common.metrics.config.MetricsConfig;
 import com.swirlds.common.metrics.platform.prometheus.PrometheusConfig;
 import com.swirlds.config.api.Configuration;
@@ -132,6 +140,102 @@ public interface ConfigInjectionModule {
         return configuration.getConfigData(VerificationConfig.class);
     }
 
+    /**
+     * Provides a scrubber configuration singleton using the configuration.
+     *
+     * @param configuration is the configuration singleton
+     * @return a scrubber configuration singleton
+     */
+    @Singleton
+    @Provides
+    static ScrubberConfig provideScrubberConfig(Configuration configuration) {
+        return configuration.getConfigData(ScrubberConfig.class);
+    }
+
+    /**
+     * Provides a signature configuration singleton using the configuration.
+     *
+     * @param configuration is the configuration singleton
+     * @return a signature configuration singleton
+     */
+    @Singleton
+    @Provides
+    static SignatureConfig provideSignatureConfig(Configuration configuration) {
+        return configuration.getConfigData(SignatureConfig.class);
+    }
+
+    /**
+     * Provides a hash tree configuration singleton using the configuration.
+     *
+     * @param configuration is the configuration singleton
+     * @return a hash tree configuration singleton
+     */
+    @Singleton
+    @Provides
+    static HashTreeConfig provideHashTreeConfig(Configuration configuration) {
+        return configuration.getConfigData(HashTreeConfig.class);
+    }
+
+    /**
+     * Provides an ack configuration singleton using the configuration.
+     *
+     * @param configuration is the configuration singleton
+     * @return an ack configuration singleton
+     */
+    @Singleton
+    @Provides
+    static AckConfig provideAckConfig(Configuration configuration) {
+        return configuration.getConfigData(AckConfig.class);
+    }
+
+    /**
+     * Provides a block range configuration singleton using the configuration.
+     *
+     * @param configuration is the configuration singleton
+     * @return a block range configuration singleton
+     */
+    @Singleton
+    @Provides
+    static BlockRangeConfig provideBlockRangeConfig(Configuration configuration) {
+        return configuration.getConfigData(BlockRangeConfig.class);
+    }
+
+    /**
+     * Provides a historic admission configuration singleton using the configuration.
+     *
+     * @param configuration is the configuration singleton
+     * @return a historic admission configuration singleton
+     */
+    @Singleton
+    @Provides
+    static HistoricAdmissionConfig provideHistoricAdmissionConfig(Configuration configuration) {
+        return configuration.getConfigData(HistoricAdmissionConfig.class);
+    }
+
+    /**
+     * Provides a readiness configuration singleton using the configuration.
+     *
+     * @param configuration is the configuration singleton
+     * @return a readiness configuration singleton
+     */
+    @Singleton
+    @Provides
+    static ReadinessConfig provideReadinessConfig(Configuration configuration) {
+        return configuration.getConfigData(ReadinessConfig.class);
+    }
+
+    /**
+     * Provides a payload arena configuration singleton using the configuration.
+     *
+     * @param configuration is the configuration singleton
+     * @return a payload arena configuration singleton
+     */
+    @Singleton
+    @Provides
+    static PayloadArenaConfig providePayloadArenaConfig(Configuration configuration) {
+        return configuration.getConfigData(PayloadArenaConfig.class);
+    }
+
     @Singleton
     @Provides
     static ConfigurationLogging provideConfigurationLogging(Configuration configuration) {
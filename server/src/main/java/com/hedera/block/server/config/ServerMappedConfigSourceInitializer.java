@@ -14,17 +14,54 @@ public final class ServerMappedConfigSourceInitializer {
     static final List<ConfigMapping> MAPPINGS = List.of(
             // Please add properties in alphabetical order
 
+            // Ack Config
+            new ConfigMapping("ack.lingerMillis", "ACK_LINGER_MILLIS"),
+            new ConfigMapping("ack.mode", "ACK_MODE"),
+            new ConfigMapping("ack.windowSize", "ACK_WINDOW_SIZE"),
+
+            // Block Range Config
+            new ConfigMapping("blockRange.maxBlocks", "BLOCK_RANGE_MAX_BLOCKS"),
+            new ConfigMapping("blockRange.maxBytes", "BLOCK_RANGE_MAX_BYTES"),
+            new ConfigMapping("blockRange.maxConcurrentRequests", "BLOCK_RANGE_MAX_CONCURRENT_REQUESTS"),
+            new ConfigMapping("blockRange.readParallelism", "BLOCK_RANGE_READ_PARALLELISM"),
+
             // Consumer Config
             new ConfigMapping("consumer.timeoutThresholdMillis", "CONSUMER_TIMEOUT_THRESHOLD_MILLIS"),
             new ConfigMapping("consumer.maxBlockItemBatchSize", "CONSUMER_MAX_BLOCK_ITEM_BATCH_SIZE"),
 
+            // Hash Tree Config
+            new ConfigMapping("hashTree.enabled", "HASH_TREE_ENABLED"),
+            new ConfigMapping("hashTree.rootPath", "HASH_TREE_ROOT_PATH"),
+
+            // Historic Admission Config
+            new ConfigMapping("historicAdmission.maxConcurrentStreams", "HISTORIC_ADMISSION_MAX_CONCURRENT_STREAMS"),
+            new ConfigMapping("historicAdmission.maxPauseMillis", "HISTORIC_ADMISSION_MAX_PAUSE_MILLIS"),
+            new ConfigMapping("historicAdmission.maxQueuedStreams", "HISTORIC_ADMISSION_MAX_QUEUED_STREAMS"),
+            new ConfigMapping("historicAdmission.maxQueueWaitMillis", "HISTORIC_ADMISSION_MAX_QUEUE_WAIT_MILLIS"),
+            new ConfigMapping(
+                    "historicAdmission.maxReadBytesPerSecond", "HISTORIC_ADMISSION_MAX_READ_BYTES_PER_SECOND"),
+            new ConfigMapping(
+                    "historicAdmission.maxRingBufferOccupancyPercent",
+                    "HISTORIC_ADMISSION_MAX_RING_BUFFER_OCCUPANCY_PERCENT"),
+            new ConfigMapping(
+                    "historicAdmission.maxVerificationQueueDepth", "HISTORIC_ADMISSION_MAX_VERIFICATION_QUEUE_DEPTH"),
+            new ConfigMapping("historicAdmission.maxWriterBacklog", "HISTORIC_ADMISSION_MAX_WRITER_BACKLOG"),
+
             // Mediator Config
+            new ConfigMapping("mediator.maxInFlightBytes", "MEDIATOR_MAX_IN_FLIGHT_BYTES"),
+            new ConfigMapping("mediator.relayCount", "MEDIATOR_RELAY_COUNT"),
+            new ConfigMapping("mediator.relayRingBufferSize", "MEDIATOR_RELAY_RING_BUFFER_SIZE"),
             new ConfigMapping("mediator.ringBufferSize", "MEDIATOR_RING_BUFFER_SIZE"),
             new ConfigMapping("mediator.type", "MEDIATOR_TYPE"),
 
             // Notifier Config
             new ConfigMapping("notifier.ringBufferSize", "NOTIFIER_RING_BUFFER_SIZE"),
 
+            // Payload Arena Config
+            new ConfigMapping("payloadArena.capacityBytes", "PAYLOAD_ARENA_CAPACITY_BYTES"),
+            new ConfigMapping("payloadArena.enabled", "PAYLOAD_ARENA_ENABLED"),
+            new ConfigMapping("payloadArena.pageSizeBytes", "PAYLOAD_ARENA_PAGE_SIZE_BYTES"),
+
             // Persistence Config
             new ConfigMapping("persistence.storage.archiveRootPath", "PERSISTENCE_STORAGE_ARCHIVE_ROOT_PATH"),
             new ConfigMapping("persistence.storage.compression", "PERSISTENCE_STORAGE_COMPRESSION"),
@@ -33,6 +70,7 @@ public final class ServerMappedConfigSourceInitializer {
             new ConfigMapping("persistence.storage.type", "PERSISTENCE_STORAGE_TYPE"),
             new ConfigMapping("persistence.storage.archiveEnabled", "PERSISTENCE_STORAGE_ARCHIVE_ENABLED"),
             new ConfigMapping("persistence.storage.archiveBatchSize", "PERSISTENCE_STORAGE_ARCHIVE_BATCH_SIZE"),
+            new ConfigMapping("persistence.storage.repairRootPath", "PERSISTENCE_STORAGE_REPAIR_ROOT_PATH"),
 
             // Producer Config
             new ConfigMapping("producer.type", "PRODUCER_TYPE"),
@@ -41,6 +79,29 @@ public final class ServerMappedConfigSourceInitializer {
             new ConfigMapping("prometheus.endpointEnabled", "PROMETHEUS_ENDPOINT_ENABLED"),
             new ConfigMapping("prometheus.endpointPortNumber", "PROMETHEUS_ENDPOINT_PORT_NUMBER"),
 
+            // Readiness Config
+            new ConfigMapping("readiness.maxAckLag", "READINESS_MAX_ACK_LAG"),
+            new ConfigMapping(
+                    "readiness.maxRingBufferOccupancyPercent", "READINESS_MAX_RING_BUFFER_OCCUPANCY_PERCENT"),
+            new ConfigMapping("readiness.maxVerificationQueueDepth", "READINESS_MAX_VERIFICATION_QUEUE_DEPTH"),
+            new ConfigMapping("readiness.maxWriterBacklog", "READINESS_MAX_WRITER_BACKLOG"),
+            new ConfigMapping("readiness.minDiskFreeBytes", "READINESS_MIN_DISK_FREE_BYTES"),
+            new ConfigMapping("readiness.recoveryPercent", "READINESS_RECOVERY_PERCENT"),
+
+            // Scrubber Config
+            new ConfigMapping("scrubber.cpuBudgetPercent", "SCRUBBER_CPU_BUDGET_PERCENT"),
+            new ConfigMapping("scrubber.cursorPath", "SCRUBBER_CURSOR_PATH"),
+            new ConfigMapping("scrubber.enabled", "SCRUBBER_ENABLED"),
+            new ConfigMapping("scrubber.maxBytesPerSecond", "SCRUBBER_MAX_BYTES_PER_SECOND"),
+            new ConfigMapping("scrubber.parallelism", "SCRUBBER_PARALLELISM"),
+            new ConfigMapping("scrubber.passIntervalSeconds", "SCRUBBER_PASS_INTERVAL_SECONDS"),
+
+            // Signature Config
+            new ConfigMapping("signature.algorithm", "SIGNATURE_ALGORITHM"),
+            new ConfigMapping("signature.ledgerPublicKeyPath", "SIGNATURE_LEDGER_PUBLIC_KEY_PATH"),
+            new ConfigMapping("signature.threads", "SIGNATURE_THREADS"),
+            new ConfigMapping("signature.type", "SIGNATURE_TYPE"),
+
             // Server Config
             new ConfigMapping("server.maxMessageSizeBytes", "SERVER_MAX_MESSAGE_SIZE_BYTES"),
             new ConfigMapping("server.socketSendBufferSizeBytes", "SERVER_SOCKET_SEND_BUFFER_SIZE_BYTES"),
@@ -52,8 +113,12 @@ public final class ServerMappedConfigSourceInitializer {
 
             // Verification Config
             new ConfigMapping("verification.hashCombineBatchSize", "VERIFICATION_HASH_COMBINE_BATCH_SIZE"),
+            new ConfigMapping("verification.hashLeafBatchSize", "VERIFICATION_HASH_LEAF_BATCH_SIZE"),
+            new ConfigMapping("verification.hashingThreads", "VERIFICATION_HASHING_THREADS"),
+            new ConfigMapping("verification.maxBlocksInFlight", "VERIFICATION_MAX_BLOCKS_IN_FLIGHT"),
             new ConfigMapping("verification.sessionType", "VERIFICATION_SESSION_TYPE"),
-            new ConfigMapping("verification.type", "VERIFICATION_TYPE"));
+            new ConfigMapping("verification.type", "VERIFICATION_TYPE"),
+            new ConfigMapping("verification.workerThreads", "VERIFICATION_WORKER_THREADS"));
 
     private ServerMappedConfigSourceInitializer() {}
 
@@ -7,6 +7,7 @@ import static java.lang.System.Logger.Level.ERROR;
 import com.hedera.block.server.consumer.Functions.ProcessOutboundEvent;
 import com.hedera.block.server.events.BlockNodeEventHandler;
 import com.hedera.block.server.events.ObjectEvent;
+import com.hedera.block.server.events.OffHeapBlockItems;
 import com.hedera.block.server.mediator.SubscriptionHandler;
 import com.hedera.hapi.block.BlockItemUnparsed;
 import edu.umd.cs.findbugs.annotations.NonNull;
@@ -57,7 +58,22 @@ class AsyncConsumerStreamResponseObserver implements BlockNodeEventHandler<Objec
     public void onEvent(@NonNull final ObjectEvent<List<BlockItemUnparsed>> event, final long l, final boolean b) {
 
         try {
-            completionService.submit(new ProcessOutboundEvent(event, l, b, nextBlockNodeEventHandler));
+            final List<BlockItemUnparsed> blockItems = event.get();
+            if (blockItems == null) {
+                return;
+            }
+            // The slot of the event is released, or reused, once this handler returns, so the
+            // consumer is sent a copy of the event, keeping its block items in the payload arena,
+            // if they are held by one, until they are sent
+            final List<BlockItemUnparsed> retainedItems = OffHeapBlockItems.retain(blockItems);
+            final ObjectEvent<List<BlockItemUnparsed>> outboundEvent = new ObjectEvent<>();
+            outboundEvent.set(retainedItems, event.itemCount(), event.byteCount());
+            try {
+                completionService.submit(new ProcessOutboundEvent(outboundEvent, l, b, nextBlockNodeEventHandler));
+            } catch (final RuntimeException e) {
+                OffHeapBlockItems.release(retainedItems);
+                throw e;
+            }
 
             // Non-blocking check - take() propagates
             // exceptions we rely on upstream to handle
@@ -75,18 +91,27 @@ class AsyncConsumerStreamResponseObserver implements BlockNodeEventHandler<Objec
                 // always be wrapped SocketExceptions from individual
                 // clients disconnecting from the server streaming
                 // service. This should be happening all the time.
-                subscriptionHandler.unsubscribe(this);
+                unsubscribeChain();
                 LOGGER.log(
                         DEBUG,
                         "UncheckedIOException caught from Pipeline instance. Unsubscribed consumer observer instance");
             } else {
-                subscriptionHandler.unsubscribe(this);
+                unsubscribeChain();
                 LOGGER.log(ERROR, "Exception caught from Pipeline instance. Unsubscribed consumer observer instance.");
                 LOGGER.log(ERROR, e.getMessage(), e);
             }
         }
     }
 
+    /**
+     * The live stream consumers are served through the relays of the ring buffer, so they can
+     * come and go without changing its gating sequences.
+     */
+    @Override
+    public boolean isRelayable() {
+        return true;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -94,4 +119,12 @@ class AsyncConsumerStreamResponseObserver implements BlockNodeEventHandler<Objec
     public void unsubscribe() {
         subscriptionHandler.unsubscribe(this);
     }
+
+    /**
+     * Unsubscribes through the next handler once the consumer is gone, so it stops tracking the
+     * liveness of the producer before unsubscribing this handler, linked back to it, in turn.
+     */
+    private void unsubscribeChain() {
+        nextBlockNodeEventHandler.unsubscribe();
+    }
 }
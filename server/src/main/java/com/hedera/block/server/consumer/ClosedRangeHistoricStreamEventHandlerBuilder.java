@@ -35,7 +35,50 @@ public final class ClosedRangeHistoricStreamEventHandlerBuilder {
             @NonNull final MetricsService metricsService,
             @NonNull final Configuration configuration) {
 
+        return build(
+                startBlockNumber,
+                endBlockNumber,
+                blockReader,
+                helidonConsumerObserver,
+                ItemKindFilter.ALL,
+                NoOpHistoricStreamAdmission.newInstance(),
+                metricsService,
+                configuration);
+    }
+
+    /**
+     * Create a new instance of a closed range historic stream event handler sending only some
+     * kinds of block items, admitted and paced by the given admission.
+     *
+     * @param startBlockNumber - the start of the requested range of blocks
+     * @param endBlockNumber - the end of the requested range of blocks
+     * @param blockReader - the block reader to query for blocks
+     * @param helidonConsumerObserver - the consumer observer used to send data to the consumer
+     * @param itemKindFilter - the kinds of block items to send to the consumer
+     * @param admission - the admission of historic streams, pacing the blocks read
+     * @param metricsService - the service responsible for handling metrics
+     * @param configuration - the configuration settings for the block node
+     * @return a new instance of a closed range historic stream event handler
+     */
+    @NonNull
+    public static Runnable build(
+            long startBlockNumber,
+            long endBlockNumber,
+            @NonNull final BlockReader<BlockUnparsed> blockReader,
+            @NonNull final Pipeline<? super SubscribeStreamResponseUnparsed> helidonConsumerObserver,
+            @NonNull final ItemKindFilter itemKindFilter,
+            @NonNull final HistoricStreamAdmission admission,
+            @NonNull final MetricsService metricsService,
+            @NonNull final Configuration configuration) {
+
         return new HistoricBlockStreamSupplier(
-                startBlockNumber, endBlockNumber, blockReader, helidonConsumerObserver, metricsService, configuration);
+                startBlockNumber,
+                endBlockNumber,
+                blockReader,
+                helidonConsumerObserver,
+                itemKindFilter,
+                admission,
+                metricsService,
+                configuration);
     }
 }
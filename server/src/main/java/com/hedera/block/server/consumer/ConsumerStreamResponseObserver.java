@@ -7,8 +7,9 @@ import static java.lang.System.Logger.Level.DEBUG;
 import static java.lang.System.Logger.Level.ERROR;
 
 import com.hedera.block.server.events.BlockNodeEventHandler;
-import com.hedera.block.server.events.LivenessCalculator;
+import com.hedera.block.server.events.LivenessWheel;
 import com.hedera.block.server.events.ObjectEvent;
+import com.hedera.block.server.events.OffHeapBlockItems;
 import com.hedera.block.server.metrics.BlockNodeMetricTypes;
 import com.hedera.block.server.metrics.MetricsService;
 import com.hedera.hapi.block.BlockItemSetUnparsed;
@@ -17,9 +18,7 @@ import com.hedera.hapi.block.SubscribeStreamResponseUnparsed;
 import com.hedera.hapi.block.stream.output.BlockHeader;
 import com.hedera.pbj.runtime.ParseException;
 import com.hedera.pbj.runtime.grpc.Pipeline;
-import com.swirlds.config.api.Configuration;
 import edu.umd.cs.findbugs.annotations.NonNull;
-import java.time.InstantSource;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -36,6 +35,7 @@ class ConsumerStreamResponseObserver implements BlockNodeEventHandler<ObjectEven
 
     private final MetricsService metricsService;
     private final Pipeline<? super SubscribeStreamResponseUnparsed> helidonConsumerObserver;
+    private final ItemKindFilter itemKindFilter;
     private BlockNodeEventHandler<ObjectEvent<List<BlockItemUnparsed>>> prevSubscriptionHandler;
 
     private final AtomicBoolean isResponsePermitted = new AtomicBoolean(true);
@@ -43,7 +43,7 @@ class ConsumerStreamResponseObserver implements BlockNodeEventHandler<ObjectEven
     private static final String PROTOCOL_VIOLATION_MESSAGE =
             "Protocol Violation. %s is OneOf type %s but %s is null.\n%s";
 
-    private final LivenessCalculator livenessCalculator;
+    private final LivenessWheel.Entry liveness;
 
     private boolean streamStarted = false;
 
@@ -52,33 +52,31 @@ class ConsumerStreamResponseObserver implements BlockNodeEventHandler<ObjectEven
      * SubscribeStreamResponse events from the Disruptor and passing them to the downstream consumer
      * via the subscribeStreamResponseObserver.
      *
-     * @param producerLivenessClock the clock to use to determine the producer liveness
+     * @param livenessWheel the wheel to unsubscribe the observer with once the producer has not been
+     *     active for the configured timeout threshold
      * @param helidonConsumerObserver the observer to use to send responses to the consumer
+     * @param itemKindFilter the kinds of block items to send to the consumer
      * @param metricsService - the service responsible for handling metrics
-     * @param configuration - the configuration settings for the block node
      */
     public ConsumerStreamResponseObserver(
-            @NonNull final InstantSource producerLivenessClock,
+            @NonNull final LivenessWheel livenessWheel,
             @NonNull final Pipeline<? super SubscribeStreamResponseUnparsed> helidonConsumerObserver,
-            @NonNull final MetricsService metricsService,
-            @NonNull final Configuration configuration) {
+            @NonNull final ItemKindFilter itemKindFilter,
+            @NonNull final MetricsService metricsService) {
 
-        this.livenessCalculator = new LivenessCalculator(
-                producerLivenessClock,
-                Objects.requireNonNull(configuration)
-                        .getConfigData(ConsumerConfig.class)
-                        .timeoutThresholdMillis());
+        this.liveness = livenessWheel.track(this::onLivenessExpired);
 
         this.metricsService = Objects.requireNonNull(metricsService);
         this.helidonConsumerObserver = helidonConsumerObserver;
+        this.itemKindFilter = Objects.requireNonNull(itemKindFilter);
     }
 
     /**
      * The onEvent method is invoked by the Disruptor when a new SubscribeStreamResponse is
-     * available. Before sending the response to the downstream consumer, the method checks the
-     * producer liveness and unsubscribes the observer if the producer activity is outside the
-     * configured timeout threshold. The method also ensures that the downstream subscriber has not
-     * cancelled or closed the stream before sending the response.
+     * available. Each event refreshes the producer liveness, the observer being unsubscribed by the
+     * liveness wheel once no event was received for the configured timeout threshold. The method
+     * also ensures that the downstream subscriber has not cancelled or closed the stream before
+     * sending the response.
      *
      * @param event the ObjectEvent containing the SubscribeStreamResponse
      * @param l the sequence number of the event
@@ -91,26 +89,27 @@ class ConsumerStreamResponseObserver implements BlockNodeEventHandler<ObjectEven
         // Only send the response if the consumer has not cancelled
         // or closed the stream.
         if (isResponsePermitted.get()) {
-            if (isTimeoutExpired()) {
-                unsubscribe();
-
-                // Notify the Helidon observer that we've
-                // stopped processing the stream
-                helidonConsumerObserver.onComplete();
-                LOGGER.log(DEBUG, "Producer liveness timeout. Unsubscribed ConsumerBlockItemObserver.");
-            } else {
-                // Refresh the producer liveness and pass the BlockItem to the downstream observer.
-                refreshLiveness();
-
-                final SubscribeStreamResponseUnparsed subscribeStreamResponse =
-                        SubscribeStreamResponseUnparsed.newBuilder()
-                                .blockItems(BlockItemSetUnparsed.newBuilder()
-                                        .blockItems(event.get())
-                                        .build())
-                                .build();
-
-                send(subscribeStreamResponse);
+            // Refresh the producer liveness and pass the BlockItem to the downstream observer.
+            liveness.refresh();
+
+            final List<BlockItemUnparsed> value = event.get();
+            if (value == null) {
+                return;
+            }
+            // The items held by the payload arena are parsed once, shared with the other stages
+            // reading the batch, as filtering and sending read them again
+            final List<BlockItemUnparsed> blockItems = itemKindFilter.filter(OffHeapBlockItems.onHeap(value));
+            if (blockItems.isEmpty()) {
+                return;
             }
+
+            final SubscribeStreamResponseUnparsed subscribeStreamResponse = SubscribeStreamResponseUnparsed.newBuilder()
+                    .blockItems(BlockItemSetUnparsed.newBuilder()
+                            .blockItems(blockItems)
+                            .build())
+                    .build();
+
+            send(subscribeStreamResponse);
         }
     }
 
@@ -119,16 +118,17 @@ class ConsumerStreamResponseObserver implements BlockNodeEventHandler<ObjectEven
      */
     @Override
     public boolean isTimeoutExpired() {
-        if (livenessCalculator != null) {
-            return livenessCalculator.isTimeoutExpired();
-        }
-
-        return false;
+        return liveness.isExpired();
     }
 
-    private void refreshLiveness() {
-        if (livenessCalculator != null) {
-            livenessCalculator.refresh();
+    private void onLivenessExpired() {
+        if (isResponsePermitted.compareAndSet(true, false)) {
+            unsubscribe();
+
+            // Notify the Helidon observer that we've
+            // stopped processing the stream
+            helidonConsumerObserver.onComplete();
+            LOGGER.log(DEBUG, "Producer liveness timeout. Unsubscribed ConsumerBlockItemObserver.");
         }
     }
 
@@ -171,10 +171,11 @@ class ConsumerStreamResponseObserver implements BlockNodeEventHandler<ObjectEven
     }
 
     /**
-     * {@inheritDoc}
+     * Stops tracking the liveness of the producer, then unsubscribes the chain of handlers.
      */
     @Override
     public void unsubscribe() {
+        liveness.cancel();
         if (prevSubscriptionHandler != null) {
             prevSubscriptionHandler.unsubscribe();
         }
@@ -3,6 +3,7 @@ package com.hedera.block.server.consumer;
 
 import com.hedera.block.server.events.BlockNodeEventHandler;
 import com.hedera.block.server.events.ObjectEvent;
+import com.hedera.block.server.events.OffHeapBlockItems;
 import com.hedera.hapi.block.BlockItemUnparsed;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.util.List;
@@ -17,7 +18,8 @@ final class Functions {
 
     /**
      * ProcessOutboundEvent is a Callable used to stream events asynchronously to
-     * a consumer.
+     * a consumer. It releases its reference to the block items of the event once
+     * they are sent.
      */
     static final class ProcessOutboundEvent implements Callable<Void> {
 
@@ -44,7 +46,15 @@ final class Functions {
          */
         @Override
         public Void call() throws Exception {
-            nextBlockNodeEventHandler.onEvent(event, l, b);
+            try {
+                nextBlockNodeEventHandler.onEvent(event, l, b);
+            } finally {
+                // The block items are sent, or will never be
+                final List<BlockItemUnparsed> blockItems = event.get();
+                if (blockItems != null) {
+                    OffHeapBlockItems.release(blockItems);
+                }
+            }
             return null;
         }
     }
@@ -0,0 +1,62 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.consumer;
+
+import com.hedera.block.common.utils.Preconditions;
+import com.hedera.block.server.config.logging.Loggable;
+import com.swirlds.config.api.ConfigData;
+import com.swirlds.config.api.ConfigProperty;
+
+/**
+ * Use this configuration for the admission of closed range historic streams and blockRange
+ * requests, which are held back to keep the live path within its latency budget.
+ *
+ * @param maxConcurrentStreams the maximum number of historic streams sending blocks at once
+ * @param maxQueuedStreams the maximum number of historic streams waiting for another to finish;
+ * more are refused at once
+ * @param maxQueueWaitMillis the maximum time a historic stream waits to be admitted, including the
+ * time the live path is degraded, before it is refused
+ * @param maxPauseMillis the maximum time an admitted historic stream is paused while the live path
+ * is degraded before it is stopped
+ * @param maxReadBytesPerSecond the maximum number of block bytes read per second by all the
+ * historic streams together, 0 for no limit
+ * @param maxRingBufferOccupancyPercent the percentage of the mediator ring buffer the most lagging
+ * subscriber may be behind before the live path is degraded
+ * @param maxWriterBacklog the number of block writers in flight above which the live path is
+ * degraded
+ * @param maxVerificationQueueDepth the number of verification sessions waiting for a worker above
+ * which the live path is degraded
+ */
+@ConfigData("historicAdmission")
+public record HistoricAdmissionConfig(
+        @Loggable @ConfigProperty(defaultValue = "16") int maxConcurrentStreams,
+        @Loggable @ConfigProperty(defaultValue = "256") int maxQueuedStreams,
+        @Loggable @ConfigProperty(defaultValue = "30_000") long maxQueueWaitMillis,
+        @Loggable @ConfigProperty(defaultValue = "60_000") long maxPauseMillis,
+        @Loggable @ConfigProperty(defaultValue = "268_435_456") long maxReadBytesPerSecond,
+        @Loggable @ConfigProperty(defaultValue = "25") int maxRingBufferOccupancyPercent,
+        @Loggable @ConfigProperty(defaultValue = "4") int maxWriterBacklog,
+        @Loggable @ConfigProperty(defaultValue = "64") int maxVerificationQueueDepth) {
+
+    /**
+     * Validate the configuration.
+     *
+     * @throws IllegalArgumentException if any of the values is out of range
+     */
+    public HistoricAdmissionConfig {
+        Preconditions.requirePositive(
+                maxConcurrentStreams, "[HISTORIC_ADMISSION_MAX_CONCURRENT_STREAMS] must be positive");
+        Preconditions.requireWhole(maxQueuedStreams, "[HISTORIC_ADMISSION_MAX_QUEUED_STREAMS] must be whole");
+        Preconditions.requireWhole(maxQueueWaitMillis, "[HISTORIC_ADMISSION_MAX_QUEUE_WAIT_MILLIS] must be whole");
+        Preconditions.requireWhole(maxPauseMillis, "[HISTORIC_ADMISSION_MAX_PAUSE_MILLIS] must be whole");
+        Preconditions.requireWhole(
+                maxReadBytesPerSecond, "[HISTORIC_ADMISSION_MAX_READ_BYTES_PER_SECOND] must be whole");
+        Preconditions.requireInRange(
+                maxRingBufferOccupancyPercent,
+                1,
+                100,
+                "[HISTORIC_ADMISSION_MAX_RING_BUFFER_OCCUPANCY_PERCENT] value %d is out of range [%d, %d]");
+        Preconditions.requireWhole(maxWriterBacklog, "[HISTORIC_ADMISSION_MAX_WRITER_BACKLOG] must be whole");
+        Preconditions.requireWhole(
+                maxVerificationQueueDepth, "[HISTORIC_ADMISSION_MAX_VERIFICATION_QUEUE_DEPTH] must be whole");
+    }
+}
@@ -5,6 +5,7 @@ import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Counter.Close
 import static com.hedera.block.server.pbj.PbjBlockStreamServiceProxy.READ_STREAM_NOT_AVAILABLE;
 import static com.hedera.block.server.pbj.PbjBlockStreamServiceProxy.READ_STREAM_SUCCESS_RESPONSE;
 import static java.lang.System.Logger.Level.ERROR;
+import static java.lang.System.Logger.Level.WARNING;
 
 import com.hedera.block.common.utils.ChunkUtils;
 import com.hedera.block.server.metrics.MetricsService;
@@ -32,6 +33,8 @@ class HistoricBlockStreamSupplier implements Runnable {
     private final BlockReader<BlockUnparsed> blockReader;
     private final int maxBlockItemBatchSize;
     private final Pipeline<? super SubscribeStreamResponseUnparsed> helidonConsumerObserver;
+    private final ItemKindFilter itemKindFilter;
+    private final HistoricStreamAdmission admission;
     private final MetricsService metricsService;
 
     /**
@@ -41,6 +44,8 @@ class HistoricBlockStreamSupplier implements Runnable {
      * @param endBlockNumber - the end of the requested range of blocks
      * @param blockReader - the block reader to query for blocks
      * @param helidonConsumerObserver - the consumer stream response observer to send the blocks
+     * @param itemKindFilter - the kinds of block items to send to the consumer
+     * @param admission - the admission of historic streams, pacing the blocks read
      * @param metricsService - the service responsible for handling metrics
      * @param configuration - the configuration settings for the block node
      */
@@ -49,6 +54,8 @@ class HistoricBlockStreamSupplier implements Runnable {
             long endBlockNumber,
             @NonNull final BlockReader<BlockUnparsed> blockReader,
             @NonNull final Pipeline<? super SubscribeStreamResponseUnparsed> helidonConsumerObserver,
+            @NonNull final ItemKindFilter itemKindFilter,
+            @NonNull final HistoricStreamAdmission admission,
             @NonNull final MetricsService metricsService,
             @NonNull final Configuration configuration) {
         this.startBlockNumber = startBlockNumber;
@@ -60,6 +67,8 @@ class HistoricBlockStreamSupplier implements Runnable {
                 Objects.requireNonNull(configuration).getConfigData(ConsumerConfig.class);
         this.maxBlockItemBatchSize = Objects.requireNonNull(consumerConfig).maxBlockItemBatchSize();
         this.helidonConsumerObserver = Objects.requireNonNull(helidonConsumerObserver);
+        this.itemKindFilter = Objects.requireNonNull(itemKindFilter);
+        this.admission = Objects.requireNonNull(admission);
     }
 
     /**
@@ -67,18 +76,37 @@ class HistoricBlockStreamSupplier implements Runnable {
      */
     @Override
     public void run() {
-        for (long i = startBlockNumber; i <= endBlockNumber; i++) {
-            try {
-                if (!send(i)) {
-                    LOGGER.log(ERROR, "Block was not found: " + i);
+        try {
+            if (!admission.enter()) {
+                LOGGER.log(WARNING, "Historic stream not admitted to protect the live path");
+                sendReadStreamNotAvailable();
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            sendReadStreamNotAvailable();
+            return;
+        }
+
+        try {
+            for (long i = startBlockNumber; i <= endBlockNumber; i++) {
+                try {
+                    if (!send(i)) {
+                        sendReadStreamNotAvailable();
+                        return;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    sendReadStreamNotAvailable();
+                    return;
+                } catch (Exception e) {
+                    LOGGER.log(ERROR, "Exception thrown attempting to send blocks: " + e.getMessage(), e);
                     sendReadStreamNotAvailable();
                     return;
                 }
-            } catch (Exception e) {
-                LOGGER.log(ERROR, "Exception thrown attempting to send blocks: " + e.getMessage(), e);
-                sendReadStreamNotAvailable();
-                return;
             }
+        } finally {
+            admission.exit();
         }
 
         // Send a success response to the client
@@ -88,13 +116,19 @@ class HistoricBlockStreamSupplier implements Runnable {
 
     private boolean send(final long currentIndex) throws Exception {
 
+        if (!admission.awaitRead()) {
+            LOGGER.log(WARNING, "Historic stream stopped to protect the live path at block: " + currentIndex);
+            return false;
+        }
         final Optional<BlockUnparsed> blockOpt = blockReader.read(currentIndex);
         if (blockOpt.isPresent()) {
+            admission.onRead(BlockUnparsed.PROTOBUF.measureRecord(blockOpt.get()));
             metricsService.get(ClosedRangeHistoricBlocksRetrieved).increment();
             List<List<BlockItemUnparsed>> blockItems =
-                    ChunkUtils.chunkify(blockOpt.get().blockItems(), maxBlockItemBatchSize);
+                    ChunkUtils.chunkify(itemKindFilter.filter(blockOpt.get().blockItems()), maxBlockItemBatchSize);
             sendInBatches(blockItems);
         } else {
+            LOGGER.log(ERROR, "Block was not found: " + currentIndex);
             return false;
         }
 
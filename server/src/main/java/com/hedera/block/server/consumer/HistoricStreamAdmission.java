@@ -0,0 +1,39 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.consumer;
+
+/**
+ * Use this interface to admit closed range historic streams and pace the blocks they read, so the
+ * historic streams never take the disk and CPU the live path needs.
+ *
+ * <p>A historic stream calls {@link #enter()} before reading its first block, {@link #awaitRead()}
+ * before reading each block, {@link #onRead(long)} once each block is read and {@link #exit()}
+ * once done, if it was admitted.
+ */
+public interface HistoricStreamAdmission {
+
+    /**
+     * Waits for the historic stream to be admitted.
+     *
+     * @return true if the stream was admitted, false if it is refused to protect the live path
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    boolean enter() throws InterruptedException;
+
+    /**
+     * Waits until the admitted historic stream may read its next block.
+     *
+     * @return true if the block may be read, false if the stream must stop to protect the live path
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    boolean awaitRead() throws InterruptedException;
+
+    /**
+     * Accounts for a block read by an admitted historic stream, so the following reads are paced.
+     *
+     * @param bytes the size of the block read from storage
+     */
+    void onRead(long bytes);
+
+    /** Releases the admission of a historic stream once it is done. */
+    void exit();
+}
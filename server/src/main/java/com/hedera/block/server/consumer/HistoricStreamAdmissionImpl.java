@@ -0,0 +1,194 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.consumer;
+
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Counter.HistoricStreamsShed;
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Gauge.HistoricStreamsActive;
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Gauge.HistoricStreamsQueued;
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Gauge.MediatorSubscriberLagWorst1;
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Gauge.PersistenceWriterBacklog;
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Gauge.VerificationQueueDepth;
+import static java.lang.System.Logger.Level.DEBUG;
+
+import com.hedera.block.server.mediator.MediatorConfig;
+import com.hedera.block.server.metrics.MetricsService;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.Objects;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admits closed range historic streams so they never delay the live path.
+ *
+ * <p>At most {@link HistoricAdmissionConfig#maxConcurrentStreams()} streams send blocks at once.
+ * The others wait, in the order they arrived, up to {@link
+ * HistoricAdmissionConfig#maxQueueWaitMillis()}, and are refused once {@link
+ * HistoricAdmissionConfig#maxQueuedStreams()} are already waiting.
+ *
+ * <p>The live path is degraded while the most lagging ring buffer subscriber, the block writers in
+ * flight or the verification sessions waiting for a worker are above their configured limits. No
+ * stream is admitted and the admitted streams are paused while it is degraded; a stream paused for
+ * longer than {@link HistoricAdmissionConfig#maxPauseMillis()} is stopped. The blocks read by all
+ * the streams together are paced to {@link HistoricAdmissionConfig#maxReadBytesPerSecond()}.
+ *
+ * <p>The streams run on virtual threads, so every wait is a timed park or sleep and no lock is
+ * held while waiting.
+ */
+public final class HistoricStreamAdmissionImpl implements HistoricStreamAdmission {
+    private static final System.Logger LOGGER = System.getLogger(HistoricStreamAdmissionImpl.class.getName());
+
+    // How often the live path is checked while a stream waits for it to recover
+    private static final long LIVE_PATH_CHECK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final MetricsService metricsService;
+    private final int maxConcurrentStreams;
+    private final int maxQueuedStreams;
+    private final long maxQueueWaitNanos;
+    private final long maxPauseNanos;
+    private final long maxReadBytesPerSecond;
+    private final long maxSubscriberLag;
+    private final int maxWriterBacklog;
+    private final int maxVerificationQueueDepth;
+
+    // Fair, so the waiting streams are admitted in the order they arrived
+    private final Semaphore permits;
+    private final AtomicInteger queued = new AtomicInteger();
+    // The time at which the bytes read so far will all be paid for at the configured rate
+    private final AtomicLong readBudgetEndNanos = new AtomicLong(System.nanoTime());
+
+    /**
+     * Create a new instance of HistoricStreamAdmissionImpl.
+     *
+     * @param admissionConfig - the limits of the historic streams
+     * @param mediatorConfig - the configuration of the ring buffer of the live path
+     * @param metricsService - the service providing the live path signals and recording admissions
+     */
+    public HistoricStreamAdmissionImpl(
+            @NonNull final HistoricAdmissionConfig admissionConfig,
+            @NonNull final MediatorConfig mediatorConfig,
+            @NonNull final MetricsService metricsService) {
+        Objects.requireNonNull(admissionConfig);
+        this.metricsService = Objects.requireNonNull(metricsService);
+        this.maxConcurrentStreams = admissionConfig.maxConcurrentStreams();
+        this.maxQueuedStreams = admissionConfig.maxQueuedStreams();
+        this.maxQueueWaitNanos = TimeUnit.MILLISECONDS.toNanos(admissionConfig.maxQueueWaitMillis());
+        this.maxPauseNanos = TimeUnit.MILLISECONDS.toNanos(admissionConfig.maxPauseMillis());
+        this.maxReadBytesPerSecond = admissionConfig.maxReadBytesPerSecond();
+        this.maxSubscriberLag = (long) Objects.requireNonNull(mediatorConfig).ringBufferSize()
+                * admissionConfig.maxRingBufferOccupancyPercent()
+                / 100;
+        this.maxWriterBacklog = admissionConfig.maxWriterBacklog();
+        this.maxVerificationQueueDepth = admissionConfig.maxVerificationQueueDepth();
+        this.permits = new Semaphore(maxConcurrentStreams, true);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean enter() throws InterruptedException {
+        final long deadline = System.nanoTime() + maxQueueWaitNanos;
+        // A timed acquire, unlike tryAcquire(), never takes a slot ahead of the waiting streams
+        if (!permits.tryAcquire(0, TimeUnit.NANOSECONDS)) {
+            if (queued.incrementAndGet() > maxQueuedStreams) {
+                queued.decrementAndGet();
+                return shed("the admission queue is full");
+            }
+            metricsService.get(HistoricStreamsQueued).set(queued.get());
+            try {
+                if (!permits.tryAcquire(maxQueueWaitNanos, TimeUnit.NANOSECONDS)) {
+                    return shed("no stream slot was freed in time");
+                }
+            } finally {
+                metricsService.get(HistoricStreamsQueued).set(queued.decrementAndGet());
+            }
+        }
+        final boolean livePathReady;
+        try {
+            livePathReady = awaitLivePath(deadline);
+        } catch (InterruptedException e) {
+            permits.release();
+            throw e;
+        }
+        if (!livePathReady) {
+            permits.release();
+            return shed("the live path did not recover in time");
+        }
+        updateActiveStreams();
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean awaitRead() throws InterruptedException {
+        if (!awaitLivePath(System.nanoTime() + maxPauseNanos)) {
+            return shed("the live path stayed degraded");
+        }
+        // Sleep until the blocks already read are paid for at the configured rate, without
+        // holding any lock
+        final long waitNanos = readBudgetEndNanos.get() - System.nanoTime();
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onRead(final long bytes) {
+        if (maxReadBytesPerSecond > 0 && bytes > 0) {
+            final long readNanos = (long) ((double) bytes * NANOS_PER_SECOND / maxReadBytesPerSecond);
+            final long now = System.nanoTime();
+            // Add the time to read the block at the configured rate after the reads already
+            // accounted for
+            readBudgetEndNanos.accumulateAndGet(readNanos, (budgetEnd, nanos) -> Math.max(budgetEnd, now) + nanos);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void exit() {
+        permits.release();
+        updateActiveStreams();
+    }
+
+    /**
+     * Returns whether the live path is degraded, in which case the historic streams must wait.
+     *
+     * @return true if any signal of the live path is above its limit
+     */
+    boolean isLivePathDegraded() {
+        return metricsService.get(MediatorSubscriberLagWorst1).get() > maxSubscriberLag
+                || metricsService.get(PersistenceWriterBacklog).get() > maxWriterBacklog
+                || metricsService.get(VerificationQueueDepth).get() > maxVerificationQueueDepth;
+    }
+
+    private boolean awaitLivePath(final long deadline) throws InterruptedException {
+        while (isLivePathDegraded()) {
+            final long remainingNanos = deadline - System.nanoTime();
+            if (remainingNanos <= 0) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.sleep(Math.min(remainingNanos, LIVE_PATH_CHECK_NANOS));
+        }
+        return true;
+    }
+
+    private boolean shed(@NonNull final String reason) {
+        LOGGER.log(DEBUG, "Historic stream shed, " + reason);
+        metricsService.get(HistoricStreamsShed).increment();
+        return false;
+    }
+
+    private void updateActiveStreams() {
+        metricsService.get(HistoricStreamsActive).set(maxConcurrentStreams - permits.availablePermits());
+    }
+}
@@ -0,0 +1,93 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.consumer;
+
+import com.hedera.hapi.block.BlockItemKind;
+import com.hedera.hapi.block.BlockItemUnparsed;
+import com.hedera.hapi.block.BlockItemUnparsed.ItemOneOfType;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Selects the kinds of block items sent to a subscriber. The kind of each item is read from the
+ * oneof of the unparsed item, so no payload is decoded.
+ *
+ * <p>A filter holds no items, so a batch is not kept alive after it is sent.
+ */
+public final class ItemKindFilter {
+    private static final int BLOCK_HEADER = 1 << ItemOneOfType.BLOCK_HEADER.protoOrdinal();
+    private static final int ALL_KINDS = allKinds();
+
+    /** The filter sending every item. */
+    public static final ItemKindFilter ALL = new ItemKindFilter(ALL_KINDS);
+
+    private final int kinds;
+
+    private ItemKindFilter(final int kinds) {
+        this.kinds = kinds;
+    }
+
+    /**
+     * Returns the filter sending the given kinds of items. The block header is always sent, so the
+     * subscriber can tell where each block begins.
+     *
+     * @param kinds the kinds of items to send, or an empty list to send every item
+     * @return the filter
+     */
+    @NonNull
+    public static ItemKindFilter of(@NonNull final List<BlockItemKind> kinds) {
+        int mask = 0;
+        for (final BlockItemKind kind : Objects.requireNonNull(kinds)) {
+            if (kind != BlockItemKind.BLOCK_ITEM_KIND_UNSPECIFIED) {
+                mask |= 1 << kind.protoOrdinal();
+            }
+        }
+        mask &= ALL_KINDS;
+        if (mask == 0) {
+            return ALL;
+        }
+        mask |= BLOCK_HEADER;
+        return mask == ALL_KINDS ? ALL : new ItemKindFilter(mask);
+    }
+
+    /**
+     * Returns whether the filter sends every item.
+     *
+     * @return true if no item is filtered out
+     */
+    public boolean isAll() {
+        return this == ALL;
+    }
+
+    /**
+     * Returns the items the filter sends.
+     *
+     * @param items the items to filter
+     * @return the items sent, in the order given
+     */
+    @NonNull
+    public List<BlockItemUnparsed> filter(@NonNull final List<BlockItemUnparsed> items) {
+        if (isAll()) {
+            return items;
+        }
+        final List<BlockItemUnparsed> filtered = new ArrayList<>(items.size());
+        for (final BlockItemUnparsed item : items) {
+            if ((kinds & (1 << item.item().kind().protoOrdinal())) != 0) {
+                filtered.add(item);
+            }
+        }
+        return Collections.unmodifiableList(filtered);
+    }
+
+    private static int allKinds() {
+        int mask = 0;
+        for (final ItemOneOfType kind : ItemOneOfType.values()) {
+            if (kind != ItemOneOfType.UNSET) {
+                mask |= 1 << kind.protoOrdinal();
+            }
+        }
+        return mask;
+    }
+}
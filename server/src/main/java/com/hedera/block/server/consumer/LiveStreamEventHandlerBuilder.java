@@ -2,15 +2,14 @@
 package com.hedera.block.server.consumer;
 
 import com.hedera.block.server.events.BlockNodeEventHandler;
+import com.hedera.block.server.events.LivenessWheel;
 import com.hedera.block.server.events.ObjectEvent;
 import com.hedera.block.server.mediator.SubscriptionHandler;
 import com.hedera.block.server.metrics.MetricsService;
 import com.hedera.hapi.block.BlockItemUnparsed;
 import com.hedera.hapi.block.SubscribeStreamResponseUnparsed;
 import com.hedera.pbj.runtime.grpc.Pipeline;
-import com.swirlds.config.api.Configuration;
 import edu.umd.cs.findbugs.annotations.NonNull;
-import java.time.InstantSource;
 import java.util.List;
 import java.util.concurrent.CompletionService;
 
@@ -21,15 +20,25 @@ import java.util.concurrent.CompletionService;
 public final class LiveStreamEventHandlerBuilder {
     public static BlockNodeEventHandler<ObjectEvent<List<BlockItemUnparsed>>> build(
             @NonNull final CompletionService<Void> completionService,
-            @NonNull final InstantSource producerLivenessClock,
+            @NonNull final LivenessWheel livenessWheel,
             @NonNull final SubscriptionHandler<List<BlockItemUnparsed>> subscriptionHandler,
             @NonNull final Pipeline<? super SubscribeStreamResponseUnparsed> observer,
-            @NonNull final MetricsService metricsService,
-            @NonNull final Configuration configuration) {
+            @NonNull final MetricsService metricsService) {
+        return build(
+                completionService, livenessWheel, subscriptionHandler, observer, ItemKindFilter.ALL, metricsService);
+    }
+
+    public static BlockNodeEventHandler<ObjectEvent<List<BlockItemUnparsed>>> build(
+            @NonNull final CompletionService<Void> completionService,
+            @NonNull final LivenessWheel livenessWheel,
+            @NonNull final SubscriptionHandler<List<BlockItemUnparsed>> subscriptionHandler,
+            @NonNull final Pipeline<? super SubscribeStreamResponseUnparsed> observer,
+            @NonNull final ItemKindFilter itemKindFilter,
+            @NonNull final MetricsService metricsService) {
 
         // Set the links forward through the chain
-        final var consumerStreamResponseObserver =
-                new ConsumerStreamResponseObserver(producerLivenessClock, observer, metricsService, configuration);
+        final var consumerStreamResponseObserver = new ConsumerStreamResponseObserver(
+                livenessWheel, observer, itemKindFilter, metricsService);
 
         final var asyncConsumerStreamResponseObserver = new AsyncConsumerStreamResponseObserver(
                 completionService, subscriptionHandler, consumerStreamResponseObserver);
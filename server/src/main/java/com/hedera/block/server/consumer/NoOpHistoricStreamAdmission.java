@@ -0,0 +1,49 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.consumer;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * A no-op historic stream admission, admitting every historic stream and never pacing its reads.
+ */
+public final class NoOpHistoricStreamAdmission implements HistoricStreamAdmission {
+    private NoOpHistoricStreamAdmission() {}
+
+    /**
+     * This method creates and returns a new instance of {@link NoOpHistoricStreamAdmission}.
+     *
+     * @return a new, fully initialized instance of {@link NoOpHistoricStreamAdmission}
+     */
+    @NonNull
+    public static NoOpHistoricStreamAdmission newInstance() {
+        return new NoOpHistoricStreamAdmission();
+    }
+
+    /**
+     * No-op admission, the stream is always admitted.
+     */
+    @Override
+    public boolean enter() {
+        return true;
+    }
+
+    /**
+     * No-op pacing, the block may always be read at once.
+     */
+    @Override
+    public boolean awaitRead() {
+        return true;
+    }
+
+    /**
+     * No-op accounting.
+     */
+    @Override
+    public void onRead(final long bytes) {}
+
+    /**
+     * No-op release.
+     */
+    @Override
+    public void exit() {}
+}
@@ -19,6 +19,17 @@ public interface BlockNodeEventHandler<V> extends EventHandler<V> {
         return false;
     }
 
+    /**
+     * Use this method to check if the event handler may be served through a relay of the ring
+     * buffer, sharing the gating sequence of the relay with other event handlers. Event handlers
+     * of the block node pipeline itself, such as persistence, are subscribed to the ring buffer.
+     *
+     * @return true if the event handler may be relayed, false otherwise
+     */
+    default boolean isRelayable() {
+        return false;
+    }
+
     /**
      * Use this method to unsubscribe from the event handler.
      */
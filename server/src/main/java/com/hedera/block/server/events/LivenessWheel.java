@@ -0,0 +1,213 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.events;
+
+import static java.lang.System.Logger.Level.ERROR;
+
+import com.hedera.block.common.utils.Preconditions;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.time.InstantSource;
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A hashed timer wheel expiring the components, such as the producers and the consumers, which
+ * have not been active for a timeout threshold.
+ *
+ * <p>The timeout is split into {@link #TICKS_PER_TIMEOUT} ticks. Each tracked component is kept
+ * in the bucket of the tick it would expire at, and refreshing it only records the current tick,
+ * without reading the clock or moving it between buckets. When the wheel reaches the bucket, each
+ * component of the bucket is either expired, or moved to the bucket of the tick it now expires at,
+ * so a component is visited at most about once per timeout however often it is refreshed. A
+ * component is expired once it has not been refreshed for the timeout, within a tick.
+ */
+public final class LivenessWheel {
+
+    private static final System.Logger LOGGER = System.getLogger(LivenessWheel.class.getName());
+
+    /** The number of ticks the timeout threshold is split into. */
+    static final int TICKS_PER_TIMEOUT = 8;
+
+    private final InstantSource clock;
+    private final long startMillis;
+    private final long tickMillis;
+    private final long timeoutTicks;
+    private final int mask;
+
+    // The buckets are only read and written while advancing
+    private final Queue<Entry>[] buckets;
+    // The entries tracked since the wheel last advanced
+    private final Queue<Entry> added = new ConcurrentLinkedQueue<>();
+
+    // The last tick the wheel advanced to, written while advancing
+    private volatile long currentTick;
+    // Advances the wheel every tick, if it was started
+    private volatile ScheduledExecutorService scheduler;
+
+    /**
+     * Creates a wheel which does not advance by itself. This constructor is primarily used for
+     * testing purposes, the wheel advancing to the time of the clock on each call of
+     * {@link #advance()}.
+     *
+     * @param clock the clock to use for time calculations
+     * @param timeoutThresholdMillis the time a component may be inactive before it is expired
+     */
+    @SuppressWarnings("unchecked")
+    public LivenessWheel(@NonNull final InstantSource clock, final long timeoutThresholdMillis) {
+        this.clock = Objects.requireNonNull(clock);
+        Preconditions.requirePositive(timeoutThresholdMillis);
+        this.tickMillis = Math.max(1, timeoutThresholdMillis / TICKS_PER_TIMEOUT);
+        this.timeoutTicks = (timeoutThresholdMillis + tickMillis - 1) / tickMillis;
+        // Room for every tick a component can expire at, from the current one
+        final int size = Integer.highestOneBit((int) timeoutTicks + 1) << 1;
+        this.mask = size - 1;
+        this.buckets = new Queue[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new ArrayDeque<>();
+        }
+        this.startMillis = clock.millis();
+    }
+
+    /**
+     * Creates a wheel advancing every tick on a daemon thread of its own, until it is stopped with
+     * {@link #stop()}.
+     *
+     * @param clock the clock to use for time calculations
+     * @param timeoutThresholdMillis the time a component may be inactive before it is expired
+     * @return the started wheel
+     */
+    @NonNull
+    public static LivenessWheel start(@NonNull final InstantSource clock, final long timeoutThresholdMillis) {
+        final LivenessWheel wheel = new LivenessWheel(clock, timeoutThresholdMillis);
+        final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread t = new Thread(r, "liveness-wheel");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleAtFixedRate(wheel::advance, wheel.tickMillis, wheel.tickMillis, TimeUnit.MILLISECONDS);
+        wheel.scheduler = scheduler;
+        return wheel;
+    }
+
+    /**
+     * Stops advancing the wheel, so no component is expired anymore. Does nothing for a wheel
+     * which was not started.
+     */
+    public void stop() {
+        final ScheduledExecutorService started = scheduler;
+        if (started != null) {
+            started.shutdownNow();
+        }
+    }
+
+    /**
+     * Tracks the liveness of a component, from now.
+     *
+     * @param onExpired called, from the thread advancing the wheel, once the component has not
+     *     been refreshed for the timeout threshold
+     * @return the entry the component refreshes on each activity
+     */
+    @NonNull
+    public Entry track(@NonNull final Runnable onExpired) {
+        final Entry entry = new Entry(this, Objects.requireNonNull(onExpired), currentTick);
+        added.offer(entry);
+        return entry;
+    }
+
+    /**
+     * Advances the wheel to the time of its clock, expiring the components which have not been
+     * refreshed for the timeout threshold. Each tick only visits the components which would have
+     * expired at it.
+     */
+    public synchronized void advance() {
+        final long targetTick = (clock.millis() - startMillis) / tickMillis;
+        Entry entry;
+        while ((entry = added.poll()) != null) {
+            schedule(entry);
+        }
+        for (long tick = currentTick + 1; tick <= targetTick; tick++) {
+            currentTick = tick;
+            final Queue<Entry> bucket = buckets[(int) (tick & mask)];
+            for (int i = bucket.size(); i > 0; i--) {
+                entry = bucket.poll();
+                if (entry.cancelled) {
+                    continue;
+                }
+                if (entry.deadline() <= tick) {
+                    expire(entry);
+                } else {
+                    schedule(entry);
+                }
+            }
+        }
+    }
+
+    private void schedule(@NonNull final Entry entry) {
+        // A component refreshed since its entry was last scheduled only expires at a later tick
+        buckets[(int) (Math.max(entry.deadline(), currentTick + 1) & mask)].offer(entry);
+    }
+
+    private void expire(@NonNull final Entry entry) {
+        entry.expired = true;
+        try {
+            entry.onExpired.run();
+        } catch (final RuntimeException e) {
+            // The component may already be closed, which must not stop the wheel
+            LOGGER.log(ERROR, "Exception caught while expiring an inactive component", e);
+        }
+    }
+
+    /**
+     * The liveness of a component tracked by a {@link LivenessWheel}.
+     */
+    public static final class Entry {
+        private final LivenessWheel wheel;
+        private final Runnable onExpired;
+        private volatile long lastTick;
+        private volatile boolean expired;
+        private volatile boolean cancelled;
+
+        private Entry(@NonNull final LivenessWheel wheel, @NonNull final Runnable onExpired, final long lastTick) {
+            this.wheel = wheel;
+            this.onExpired = onExpired;
+            this.lastTick = lastTick;
+        }
+
+        /**
+         * Records an activity of the component, resetting it to the beginning of the timeout
+         * threshold. Cheap enough to be called on each event, as it does not read the clock.
+         */
+        public void refresh() {
+            final long tick = wheel.currentTick;
+            // Only written once per tick, however often the component is active
+            if (lastTick != tick) {
+                lastTick = tick;
+            }
+        }
+
+        /**
+         * Returns true if the component was expired by the wheel.
+         *
+         * @return true if the timeout has expired
+         */
+        public boolean isExpired() {
+            return expired;
+        }
+
+        /**
+         * Stops tracking the component, which is then never expired. The entry is dropped from
+         * the wheel when its bucket is next reached.
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+
+        private long deadline() {
+            return lastTick + wheel.timeoutTicks + 1;
+        }
+    }
+}
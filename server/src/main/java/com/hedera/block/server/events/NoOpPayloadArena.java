@@ -0,0 +1,32 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.events;
+
+import com.hedera.hapi.block.BlockItemUnparsed;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.List;
+
+/**
+ * A no-op payload arena, keeping every batch of block items on the heap.
+ */
+public final class NoOpPayloadArena implements PayloadArena {
+    private NoOpPayloadArena() {}
+
+    /**
+     * This method creates and returns a new instance of {@link NoOpPayloadArena}.
+     *
+     * @return a new, fully initialized instance of {@link NoOpPayloadArena}
+     */
+    @NonNull
+    public static NoOpPayloadArena newInstance() {
+        return new NoOpPayloadArena();
+    }
+
+    /**
+     * No-op store, the block items are returned as they are.
+     */
+    @NonNull
+    @Override
+    public List<BlockItemUnparsed> store(@NonNull final List<BlockItemUnparsed> blockItems) {
+        return blockItems;
+    }
+}
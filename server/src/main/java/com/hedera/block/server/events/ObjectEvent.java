@@ -2,6 +2,7 @@
 package com.hedera.block.server.events;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 
 /**
  * The ObjectEvent class defines a simple object event used to publish data to downstream
@@ -15,25 +16,108 @@ public class ObjectEvent<T> {
     public ObjectEvent() {}
 
     private T val;
+    private long itemCount;
+    private long byteCount;
+    private long sequence = -1;
 
     /**
      * Sets the given value to be published to downstream subscribers through the LMAX Disruptor.
-     * The value must not be null and the method is thread-safe.
+     * The value must not be null and the method is thread-safe. The value counts as one item of
+     * unknown size.
      *
      * @param val the value to set
      */
     public void set(@NonNull final T val) {
+        set(val, 1, 0);
+    }
+
+    /**
+     * Sets the given value to be published to downstream subscribers through the LMAX Disruptor,
+     * along with its size, so the delivery to each subscriber can be measured without measuring
+     * the value again.
+     *
+     * @param val the value to set
+     * @param itemCount the number of items in the value
+     * @param byteCount the size of the value, in bytes
+     */
+    public void set(@NonNull final T val, final long itemCount, final long byteCount) {
         this.val = val;
+        this.itemCount = itemCount;
+        this.byteCount = byteCount;
+    }
+
+    /**
+     * Sets the given value to be published at the given sequence of the ring buffer, so the slot
+     * can be cleared with {@link #clear(long)} once every subscriber has passed the sequence.
+     *
+     * @param val the value to set
+     * @param itemCount the number of items in the value
+     * @param byteCount the size of the value, in bytes
+     * @param sequence the sequence of the ring buffer the value is published at
+     * @return the size of the value replaced, in bytes, if it was not cleared, 0 otherwise
+     */
+    public synchronized long set(
+            @NonNull final T val, final long itemCount, final long byteCount, final long sequence) {
+        final long replacedByteCount = this.val == null ? 0 : this.byteCount;
+        set(val, itemCount, byteCount);
+        this.sequence = sequence;
+        return replacedByteCount;
+    }
+
+    /**
+     * Releases the value published at the given sequence, so it is not kept on the heap until the
+     * slot is reused. The slot is left as is if it was already cleared or holds the value of
+     * another sequence.
+     *
+     * @param sequence the sequence of the ring buffer the value was published at
+     * @return the size of the value released, in bytes, or 0 if none was released
+     */
+    public synchronized long clear(final long sequence) {
+        if (val == null || this.sequence != sequence) {
+            return 0;
+        }
+        val = null;
+        return byteCount;
+    }
+
+    /**
+     * Gets the sequence of the ring buffer the value was last set at with {@link #set(Object,
+     * long, long, long)}, or -1 if it never was.
+     *
+     * @return the sequence of the value
+     */
+    public synchronized long sequence() {
+        return sequence;
     }
 
     /**
      * Gets the value of the event from the LMAX Disruptor on the consumer side. The method is
-     * thread-safe.
+     * thread-safe. The value is null until one is set, and once it has been released with
+     * {@link #clear(long)} after every subscriber has been sent it, so a subscriber still reading
+     * the slot afterwards, such as one being removed, finds no value.
      *
-     * @return the value of the event
+     * @return the value of the event, or null if none is set
      */
-    @NonNull
+    @Nullable
     public T get() {
         return val;
     }
+
+    /**
+     * Gets the number of items in the value of the event.
+     *
+     * @return the number of items
+     */
+    public long itemCount() {
+        return itemCount;
+    }
+
+    /**
+     * Gets the size of the value of the event, in bytes, or 0 if not known.
+     *
+     * @return the size of the value
+     */
+    public long byteCount() {
+        return byteCount;
+    }
 }
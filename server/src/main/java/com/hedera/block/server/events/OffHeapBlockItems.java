@@ -0,0 +1,194 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.events;
+
+import com.hedera.hapi.block.BlockItemUnparsed;
+import com.hedera.pbj.runtime.ParseException;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A reference counted batch of block items held by an {@link OffHeapPayloadArena}. Each block item
+ * is parsed back on the heap when it is read, so a stage reading the items more than once should
+ * read them from {@link #onHeap(List)}. The copy on the heap is shared by the stages reading the
+ * batch at the same time, so it is parsed once, and is left to the garbage collector once none of
+ * them holds it.
+ *
+ * <p>The batch is given back to the arena once its last reference is released, after which it
+ * cannot be read. Each read takes a reference while it copies the block items out of the arena, so
+ * a read racing the release of the last reference fails rather than reading pages given back.
+ */
+public final class OffHeapBlockItems extends AbstractList<BlockItemUnparsed> implements RandomAccess {
+
+    private final OffHeapPayloadArena arena;
+    private final ByteBuffer[] pages;
+    private final int pageSize;
+    // The item i is stored from offsets[i] up to offsets[i + 1]
+    private final int[] offsets;
+    private final AtomicInteger references = new AtomicInteger(1);
+    // Guarded by this, the last copy of the block items parsed on the heap
+    private WeakReference<List<BlockItemUnparsed>> parsed = new WeakReference<>(null);
+
+    OffHeapBlockItems(
+            @NonNull final OffHeapPayloadArena arena,
+            @NonNull final ByteBuffer[] pages,
+            final int pageSize,
+            @NonNull final int[] offsets) {
+        this.arena = arena;
+        this.pages = pages;
+        this.pageSize = pageSize;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Takes a reference to a batch of block items held by a payload arena, to keep reading it once
+     * its event was handed back. Does nothing for a batch kept on the heap.
+     *
+     * @param blockItems the batch of block items
+     * @return the given batch of block items
+     * @throws IllegalStateException if the batch was already released
+     */
+    @NonNull
+    public static List<BlockItemUnparsed> retain(@NonNull final List<BlockItemUnparsed> blockItems) {
+        if (blockItems instanceof final OffHeapBlockItems offHeapBlockItems && !offHeapBlockItems.tryRetain()) {
+            throw new IllegalStateException("The block items were already released");
+        }
+        return blockItems;
+    }
+
+    /**
+     * Releases a reference to a batch of block items held by a payload arena, giving the batch back
+     * to the arena if it was the last one. Does nothing for a batch kept on the heap.
+     *
+     * @param blockItems the batch of block items
+     * @throws IllegalStateException if the batch was already released
+     */
+    public static void release(@NonNull final List<BlockItemUnparsed> blockItems) {
+        if (blockItems instanceof final OffHeapBlockItems offHeapBlockItems) {
+            final int count = offHeapBlockItems.references.decrementAndGet();
+            if (count == 0) {
+                offHeapBlockItems.arena.releasePages(offHeapBlockItems.pages);
+            } else if (count < 0) {
+                throw new IllegalStateException("The block items were already released");
+            }
+        }
+    }
+
+    /**
+     * Returns the block items of a batch on the heap, parsing them at once if the batch is held by
+     * a payload arena, unless another stage still holds the copy it was returned. The copy does not
+     * need a reference to be read.
+     *
+     * @param blockItems the batch of block items
+     * @return the block items on the heap
+     */
+    @NonNull
+    public static List<BlockItemUnparsed> onHeap(@NonNull final List<BlockItemUnparsed> blockItems) {
+        return blockItems instanceof final OffHeapBlockItems offHeapBlockItems
+                ? offHeapBlockItems.parseAll()
+                : blockItems;
+    }
+
+    /**
+     * Returns the serialized size of the block items.
+     *
+     * @return the size of the block items, in bytes
+     */
+    public long byteCount() {
+        return offsets[offsets.length - 1];
+    }
+
+    /**
+     * Parses the block item at the given index from the arena.
+     *
+     * @param index the index of the block item
+     * @return a copy of the block item on the heap
+     * @throws IllegalStateException if the batch was released
+     */
+    @NonNull
+    @Override
+    public BlockItemUnparsed get(final int index) {
+        Objects.checkIndex(index, size());
+        if (!tryRetain()) {
+            throw new IllegalStateException("The block items were already released");
+        }
+        try {
+            return parse(index);
+        } finally {
+            release(this);
+        }
+    }
+
+    @Override
+    public int size() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * Parses every block item, or returns the copy on the heap still held by another stage.
+     */
+    @NonNull
+    private synchronized List<BlockItemUnparsed> parseAll() {
+        final List<BlockItemUnparsed> cached = parsed.get();
+        if (cached != null) {
+            return cached;
+        }
+        if (!tryRetain()) {
+            throw new IllegalStateException("The block items were already released");
+        }
+        try {
+            final BlockItemUnparsed[] blockItems = new BlockItemUnparsed[size()];
+            for (int i = 0; i < blockItems.length; i++) {
+                blockItems[i] = parse(i);
+            }
+            final List<BlockItemUnparsed> heapBlockItems = List.of(blockItems);
+            parsed = new WeakReference<>(heapBlockItems);
+            return heapBlockItems;
+        } finally {
+            release(this);
+        }
+    }
+
+    /**
+     * Takes a reference unless the last one was already released.
+     */
+    private boolean tryRetain() {
+        int count;
+        do {
+            count = references.get();
+            if (count <= 0) {
+                return false;
+            }
+        } while (!references.compareAndSet(count, count + 1));
+        return true;
+    }
+
+    /**
+     * Parses the block item at the given index, a reference being held by the caller.
+     */
+    @NonNull
+    private BlockItemUnparsed parse(final int index) {
+        final int start = offsets[index];
+        final byte[] bytes = new byte[offsets[index + 1] - start];
+        int copied = 0;
+        while (copied < bytes.length) {
+            final int position = start + copied;
+            final int pageOffset = position % pageSize;
+            final int count = Math.min(bytes.length - copied, pageSize - pageOffset);
+            // An absolute get, so concurrent readers never move the position of the page
+            pages[position / pageSize].get(pageOffset, bytes, copied, count);
+            copied += count;
+        }
+        try {
+            return BlockItemUnparsed.PROTOBUF.parse(Bytes.wrap(bytes));
+        } catch (final ParseException e) {
+            throw new IllegalStateException("The block item stored in the arena could not be parsed", e);
+        }
+    }
+}
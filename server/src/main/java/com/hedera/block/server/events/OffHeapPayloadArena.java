@@ -0,0 +1,163 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.events;
+
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Counter.PayloadArenaFallbacks;
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Gauge.PayloadArenaUsedBytes;
+
+import com.hedera.block.server.metrics.MetricsService;
+import com.hedera.hapi.block.BlockItemUnparsed;
+import com.hedera.pbj.runtime.io.stream.WritableStreamingData;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A payload arena holding the block items in direct memory, so the heap only holds the few objects
+ * describing each batch however large the blocks are.
+ *
+ * <p>The arena is made of pages of {@link PayloadArenaConfig#pageSizeBytes()}, allocated as they
+ * are first needed up to {@link PayloadArenaConfig#capacityBytes()} and reused once released. Each
+ * batch is serialized into as many pages as it needs, and each block item is parsed back on the
+ * heap every time it is read, so the copies the stages read are short-lived. A batch which does
+ * not fit in the pages left is kept on the heap.
+ */
+public final class OffHeapPayloadArena implements PayloadArena {
+
+    private final MetricsService metricsService;
+    private final int pageSize;
+    private final int maxPages;
+    // The size of the largest batch the arena can hold, within the int offsets of the items
+    private final long maxBatchBytes;
+
+    // The pages allocated and not holding any block items
+    private final ConcurrentLinkedQueue<ByteBuffer> freePages = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger usedPages = new AtomicInteger();
+
+    /**
+     * Create a new instance of OffHeapPayloadArena.
+     *
+     * @param payloadArenaConfig - the size of the arena and of its pages
+     * @param metricsService - the service recording the bytes used and the batches kept on the heap
+     */
+    public OffHeapPayloadArena(
+            @NonNull final PayloadArenaConfig payloadArenaConfig, @NonNull final MetricsService metricsService) {
+        this.metricsService = Objects.requireNonNull(metricsService);
+        this.pageSize = payloadArenaConfig.pageSizeBytes();
+        this.maxPages = (int) Math.min(payloadArenaConfig.capacityBytes() / pageSize, Integer.MAX_VALUE);
+        this.maxBatchBytes = Math.min((long) maxPages * pageSize, Integer.MAX_VALUE);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @NonNull
+    @Override
+    public List<BlockItemUnparsed> store(@NonNull final List<BlockItemUnparsed> blockItems) {
+        final int itemCount = blockItems.size();
+        // The item i is stored from offsets[i] up to offsets[i + 1]
+        final int[] offsets = new int[itemCount + 1];
+        long length = 0;
+        for (int i = 0; i < itemCount; i++) {
+            offsets[i] = (int) length;
+            length += BlockItemUnparsed.PROTOBUF.measureRecord(blockItems.get(i));
+            if (length > maxBatchBytes) {
+                return keepOnHeap(blockItems);
+            }
+        }
+        offsets[itemCount] = (int) length;
+
+        final int pageCount = (int) ((length + pageSize - 1) / pageSize);
+        if (!reservePages(pageCount)) {
+            return keepOnHeap(blockItems);
+        }
+        final ByteBuffer[] pages = new ByteBuffer[pageCount];
+        for (int i = 0; i < pageCount; i++) {
+            final ByteBuffer page = freePages.poll();
+            pages[i] = page != null ? page : ByteBuffer.allocateDirect(pageSize);
+        }
+        try (final WritableStreamingData out = new WritableStreamingData(new PagesOutputStream(pages, pageSize))) {
+            for (int i = 0; i < itemCount; i++) {
+                BlockItemUnparsed.PROTOBUF.write(blockItems.get(i), out);
+            }
+        } catch (final IOException e) {
+            // Not expected, as the pages are in memory
+            releasePages(pages);
+            throw new UncheckedIOException(e);
+        }
+        return new OffHeapBlockItems(this, pages, pageSize, offsets);
+    }
+
+    /**
+     * Gives the pages of a released batch back to the arena.
+     *
+     * @param pages the pages of the batch
+     */
+    void releasePages(@NonNull final ByteBuffer[] pages) {
+        for (final ByteBuffer page : pages) {
+            freePages.offer(page);
+        }
+        updateUsedBytes(usedPages.addAndGet(-pages.length));
+    }
+
+    private boolean reservePages(final int pageCount) {
+        int used;
+        do {
+            used = usedPages.get();
+            if (used + pageCount > maxPages) {
+                return false;
+            }
+        } while (!usedPages.compareAndSet(used, used + pageCount));
+        updateUsedBytes(used + pageCount);
+        return true;
+    }
+
+    @NonNull
+    private List<BlockItemUnparsed> keepOnHeap(@NonNull final List<BlockItemUnparsed> blockItems) {
+        metricsService.get(PayloadArenaFallbacks).increment();
+        return blockItems;
+    }
+
+    private void updateUsedBytes(final int pages) {
+        metricsService.get(PayloadArenaUsedBytes).set((long) pages * pageSize);
+    }
+
+    /**
+     * Writes the bytes of a batch across its pages, using absolute puts so the pages are not
+     * modified otherwise.
+     */
+    private static final class PagesOutputStream extends OutputStream {
+        private final ByteBuffer[] pages;
+        private final int pageSize;
+        private int position;
+
+        private PagesOutputStream(@NonNull final ByteBuffer[] pages, final int pageSize) {
+            this.pages = pages;
+            this.pageSize = pageSize;
+        }
+
+        @Override
+        public void write(final int b) {
+            pages[position / pageSize].put(position % pageSize, (byte) b);
+            position++;
+        }
+
+        @Override
+        public void write(@NonNull final byte[] b, int off, int len) {
+            Objects.checkFromIndexSize(off, len, b.length);
+            while (len > 0) {
+                final int pageOffset = position % pageSize;
+                final int count = Math.min(len, pageSize - pageOffset);
+                pages[position / pageSize].put(pageOffset, b, off, count);
+                position += count;
+                off += count;
+                len -= count;
+            }
+        }
+    }
+}
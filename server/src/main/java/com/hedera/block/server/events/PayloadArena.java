@@ -0,0 +1,29 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.events;
+
+import com.hedera.hapi.block.BlockItemUnparsed;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.List;
+
+/**
+ * Use this interface to hold the block items published to the live stream until every stage of
+ * the pipeline is done with them.
+ *
+ * <p>A batch stored in the arena is reference counted. The stage storing it owns the first
+ * reference; every other stage keeping the batch after handing its event back calls {@link
+ * OffHeapBlockItems#retain(List)} first and {@link OffHeapBlockItems#release(List)} once done. The
+ * batch is given back to the arena when its last reference is released. Both calls do nothing for
+ * a batch kept on the heap, so the stages need not know whether the arena is enabled.
+ */
+public interface PayloadArena {
+
+    /**
+     * Stores a batch of block items in the arena, with one reference owned by the caller.
+     *
+     * @param blockItems the batch of block items to store
+     * @return the block items held by the arena, or the given block items if the arena cannot hold
+     * them
+     */
+    @NonNull
+    List<BlockItemUnparsed> store(@NonNull List<BlockItemUnparsed> blockItems);
+}
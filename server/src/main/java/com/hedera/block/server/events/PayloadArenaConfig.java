@@ -0,0 +1,43 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.events;
+
+import com.hedera.block.common.utils.Preconditions;
+import com.hedera.block.server.config.logging.Loggable;
+import com.swirlds.config.api.ConfigData;
+import com.swirlds.config.api.ConfigProperty;
+
+/**
+ * Use this configuration for the payload arena, which holds the block items published to the live
+ * stream off the heap until every stage of the pipeline is done with them.
+ *
+ * <p>The arena is allocated lazily, page by page, as direct memory, so {@code capacityBytes} must
+ * fit within the maximum direct memory of the JVM ({@code -XX:MaxDirectMemorySize}).
+ *
+ * @param enabled whether the block items published are held in the arena rather than on the heap
+ * @param capacityBytes the maximum number of bytes of the arena; batches which do not fit are kept
+ * on the heap
+ * @param pageSizeBytes the size of the pages the arena is allocated and handed out in
+ */
+@ConfigData("payloadArena")
+public record PayloadArenaConfig(
+        @Loggable @ConfigProperty(defaultValue = "false") boolean enabled,
+        @Loggable @ConfigProperty(defaultValue = "1_073_741_824") long capacityBytes,
+        @Loggable @ConfigProperty(defaultValue = "65_536") int pageSizeBytes) {
+
+    /**
+     * Validate the configuration.
+     *
+     * @throws IllegalArgumentException if any of the values is out of range
+     */
+    public PayloadArenaConfig {
+        Preconditions.requireInRange(
+                pageSizeBytes,
+                1_024,
+                1_073_741_824,
+                "[PAYLOAD_ARENA_PAGE_SIZE_BYTES] value %d is out of range [%d, %d]");
+        Preconditions.requireGreaterOrEqual(
+                capacityBytes,
+                pageSizeBytes,
+                "[PAYLOAD_ARENA_CAPACITY_BYTES] value %d must be at least the page size %d");
+    }
+}
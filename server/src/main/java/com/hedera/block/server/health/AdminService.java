@@ -0,0 +1,27 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.health;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.helidon.webserver.http.HttpService;
+import io.helidon.webserver.http.ServerRequest;
+import io.helidon.webserver.http.ServerResponse;
+
+/** Defines the contract for the http service exposing the internal state of the block node to operators */
+public interface AdminService extends HttpService {
+    /**
+     * The path for the admin group endpoints. Root path for all admin endpoints.
+     *
+     * @return the root path for the admin group endpoints
+     */
+    @NonNull
+    String getAdminRootPath();
+
+    /**
+     * Handles the request for the lag and throughput of each subscriber of the live stream, as
+     * JSON.
+     *
+     * @param req the server request
+     * @param res the server response
+     */
+    void handleSubscribers(@NonNull final ServerRequest req, @NonNull final ServerResponse res);
+}
@@ -0,0 +1,86 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.health;
+
+import com.hedera.block.server.mediator.LiveStreamMediator;
+import com.hedera.block.server.mediator.SubscriberStats;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.helidon.webserver.http.HttpRules;
+import io.helidon.webserver.http.ServerRequest;
+import io.helidon.webserver.http.ServerResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Provides the admin endpoints, listing the lag and throughput of every subscriber of the live
+ * stream where the metrics only export the worst few.
+ */
+@Singleton
+public class AdminServiceImpl implements AdminService {
+
+    private static final String SUBSCRIBERS_PATH = "/subscribers";
+
+    private final LiveStreamMediator liveStreamMediator;
+
+    /**
+     * It initializes the AdminService with needed dependencies.
+     *
+     * @param liveStreamMediator samples the subscribers of the live stream
+     */
+    @Inject
+    public AdminServiceImpl(@NonNull final LiveStreamMediator liveStreamMediator) {
+        this.liveStreamMediator = Objects.requireNonNull(liveStreamMediator);
+    }
+
+    @Override
+    @NonNull
+    public String getAdminRootPath() {
+        return "/adminz";
+    }
+
+    /**
+     * Configures the admin routes for the server.
+     *
+     * @param httpRules is used to configure the admin endpoints routes
+     */
+    @Override
+    public void routing(@NonNull final HttpRules httpRules) {
+        httpRules.get(SUBSCRIBERS_PATH, this::handleSubscribers);
+    }
+
+    /**
+     * Handles the request for the lag and throughput of each subscriber of the live stream, as
+     * JSON, from the latest sample taken when the metrics were published.
+     *
+     * @param req the server request
+     * @param res the server response
+     */
+    @Override
+    public final void handleSubscribers(@NonNull final ServerRequest req, @NonNull final ServerResponse res) {
+        res.status(200);
+        res.header("Content-Type", "application/json");
+        res.send(toJson(liveStreamMediator.subscriberStats()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @NonNull
+    static String toJson(@NonNull final List<SubscriberStats> subscriberStats) {
+        final StringBuilder json = new StringBuilder("{\"subscribers\":[");
+        for (int i = 0; i < subscriberStats.size(); i++) {
+            final SubscriberStats stats = subscriberStats.get(i);
+            json.append(i == 0 ? "" : ",").append("{\"subscriber\":");
+            BlockTraceServiceImpl.appendString(json, stats.subscriber());
+            json.append(",\"lag\":")
+                    .append(stats.lag())
+                    .append(",\"itemsPerSecond\":")
+                    .append(stats.itemsPerSecond())
+                    .append(",\"bytesPerSecond\":")
+                    .append(stats.bytesPerSecond())
+                    .append(",\"millisSinceLastSend\":")
+                    .append(stats.millisSinceLastSend())
+                    .append('}');
+        }
+        return json.append("]}").toString();
+    }
+}
@@ -0,0 +1,34 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.health;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.helidon.webserver.http.HttpService;
+import io.helidon.webserver.http.ServerRequest;
+import io.helidon.webserver.http.ServerResponse;
+
+/** Defines the contract for the http service serving the stored block files as they are on disk */
+public interface BlockFileService extends HttpService {
+    /**
+     * The path for the download group endpoints. Root path for all download endpoints.
+     *
+     * @return the root path for the download group endpoints
+     */
+    @NonNull
+    String getDownloadRootPath();
+
+    /**
+     * Handles the request for the stored file of a verified block.
+     *
+     * @param req the server request
+     * @param res the server response
+     */
+    void handleBlock(@NonNull final ServerRequest req, @NonNull final ServerResponse res);
+
+    /**
+     * Handles the request for the zip file of an archived group of blocks.
+     *
+     * @param req the server request
+     * @param res the server response
+     */
+    void handleGroup(@NonNull final ServerRequest req, @NonNull final ServerResponse res);
+}
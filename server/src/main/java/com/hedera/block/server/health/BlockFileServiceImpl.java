@@ -0,0 +1,434 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.health;
+
+import static java.lang.System.Logger.Level.DEBUG;
+
+import com.hedera.block.server.Constants;
+import com.hedera.block.server.persistence.storage.PersistenceStorageConfig;
+import com.hedera.block.server.persistence.storage.path.ArchiveBlockPath;
+import com.hedera.block.server.persistence.storage.path.BlockPathResolver;
+import com.hedera.block.server.persistence.storage.path.LiveBlockPath;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.helidon.http.HeaderNames;
+import io.helidon.webserver.http.HttpRules;
+import io.helidon.webserver.http.ServerRequest;
+import io.helidon.webserver.http.ServerResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Serves the stored files of verified blocks, and the zip files of archived groups of blocks, as
+ * they are on disk, so bulk mirrors can copy them without the blocks being parsed and encoded again.
+ *
+ * <p>A block is requested as {@code /download/blocks/<number>.blk<compression extension>}, e.g.
+ * {@code /download/blocks/42.blk.zstd}, and is only found with the compression it is stored with.
+ * The group of blocks {@code [g * archiveBatchSize, (g + 1) * archiveBatchSize)} is requested as
+ * {@code /download/groups/<g>.zip}, once it is archived.
+ *
+ * <p>Files on disk are copied to the response with {@link FileChannel#transferTo}, honouring a
+ * single range of a {@code Range} header, and are validated by an {@code ETag} built from their
+ * size and modification time and by their {@code Last-Modified} time. A block still held in the
+ * zip file of its group is copied from the zip entry, without range support.
+ */
+@Singleton
+public class BlockFileServiceImpl implements BlockFileService {
+
+    private static final System.Logger LOGGER = System.getLogger(BlockFileServiceImpl.class.getName());
+
+    private static final String FILE_PARAMETER = "file";
+    private static final String BLOCKS_PATH = "/blocks/{" + FILE_PARAMETER + "}";
+    private static final String GROUPS_PATH = "/groups/{" + FILE_PARAMETER + "}";
+    private static final String ZIP_EXTENSION = ".zip";
+    private static final String BLOCK_CONTENT_TYPE = "application/octet-stream";
+    private static final String ZIP_CONTENT_TYPE = "application/zip";
+    private static final String BYTES_UNIT = "bytes=";
+
+    private final BlockPathResolver blockPathResolver;
+    private final int archiveGroupSize;
+
+    /**
+     * It initializes the BlockFileService with needed dependencies.
+     *
+     * @param blockPathResolver finds the stored files of the blocks
+     * @param persistenceStorageConfig has the number of blocks in each archived group
+     */
+    @Inject
+    public BlockFileServiceImpl(
+            @NonNull final BlockPathResolver blockPathResolver,
+            @NonNull final PersistenceStorageConfig persistenceStorageConfig) {
+        this.blockPathResolver = Objects.requireNonNull(blockPathResolver);
+        this.archiveGroupSize = persistenceStorageConfig.archiveBatchSize();
+    }
+
+    @Override
+    @NonNull
+    public String getDownloadRootPath() {
+        return "/download";
+    }
+
+    /**
+     * Configures the download routes for the server.
+     *
+     * @param httpRules is used to configure the download endpoints routes
+     */
+    @Override
+    public void routing(@NonNull final HttpRules httpRules) {
+        httpRules.get(BLOCKS_PATH, this::handleBlock).get(GROUPS_PATH, this::handleGroup);
+    }
+
+    /**
+     * Handles the request for the stored file of a verified block. Only the verified blocks are
+     * found, as the unverified ones are stored under another name.
+     *
+     * @param req the server request
+     * @param res the server response
+     */
+    @Override
+    public final void handleBlock(@NonNull final ServerRequest req, @NonNull final ServerResponse res) {
+        final String fileName = req.path().pathParameters().get(FILE_PARAMETER);
+        final int extensionIndex = fileName.indexOf('.');
+        final long blockNumber = parseNumber(fileName, extensionIndex);
+        if (blockNumber < 0) {
+            notFound(res);
+            return;
+        }
+        final String extension = fileName.substring(extensionIndex);
+        try {
+            final Optional<LiveBlockPath> liveBlockPath = blockPathResolver.findLiveBlock(blockNumber);
+            if (liveBlockPath.isPresent()) {
+                final LiveBlockPath path = liveBlockPath.get();
+                if (extension.equals(blockExtension(path.compressionType()))) {
+                    sendFile(req, res, path.dirPath().resolve(path.blockFileName()), BLOCK_CONTENT_TYPE);
+                } else {
+                    notFound(res);
+                }
+                return;
+            }
+            final Optional<ArchiveBlockPath> archiveBlockPath = blockPathResolver.findArchivedBlock(blockNumber);
+            if (archiveBlockPath.isPresent()
+                    && extension.equals(blockExtension(archiveBlockPath.get().compressionType()))) {
+                sendZipEntry(req, res, archiveBlockPath.get());
+            } else {
+                notFound(res);
+            }
+        } catch (final IOException e) {
+            failed(res, fileName, e);
+        }
+    }
+
+    /**
+     * Handles the request for the zip file of an archived group of blocks. The zip file is only
+     * found once the archiving of the group is complete.
+     *
+     * @param req the server request
+     * @param res the server response
+     */
+    @Override
+    public final void handleGroup(@NonNull final ServerRequest req, @NonNull final ServerResponse res) {
+        final String fileName = req.path().pathParameters().get(FILE_PARAMETER);
+        final int extensionIndex = fileName.indexOf('.');
+        final long groupNumber = parseNumber(fileName, extensionIndex);
+        if (groupNumber < 0
+                || groupNumber > Long.MAX_VALUE / archiveGroupSize
+                || !ZIP_EXTENSION.equals(fileName.substring(extensionIndex))) {
+            notFound(res);
+            return;
+        }
+        try {
+            final Optional<Path> zipFilePath = blockPathResolver.findArchiveGroup(groupNumber * archiveGroupSize);
+            if (zipFilePath.isPresent()) {
+                sendFile(req, res, zipFilePath.get(), ZIP_CONTENT_TYPE);
+            } else {
+                notFound(res);
+            }
+        } catch (final IOException e) {
+            failed(res, fileName, e);
+        }
+    }
+
+    private void sendFile(
+            @NonNull final ServerRequest req,
+            @NonNull final ServerResponse res,
+            @NonNull final Path path,
+            @NonNull final String contentType)
+            throws IOException {
+        final FileChannel channel;
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+        } catch (final NoSuchFileException e) {
+            // removed or archived since it was found
+            notFound(res);
+            return;
+        }
+        try (channel) {
+            final long size = channel.size();
+            final Instant lastModified = lastModified(Files.getLastModifiedTime(path));
+            final String etag = entityTag(size, lastModified.toEpochMilli());
+            res.header(HeaderNames.ETAG, etag);
+            res.header(HeaderNames.LAST_MODIFIED, formatDate(lastModified));
+            res.header(HeaderNames.ACCEPT_RANGES, "bytes");
+            if (isNotModified(req, etag, lastModified)) {
+                res.status(304);
+                res.send();
+                return;
+            }
+
+            ByteRange range = null;
+            final Optional<String> rangeHeader = req.headers().first(HeaderNames.RANGE);
+            if (rangeHeader.isPresent() && isRangeValid(req, etag, lastModified)) {
+                range = parseRange(rangeHeader.get(), size);
+            }
+            if (range != null && !range.isSatisfiable()) {
+                res.status(416);
+                res.header(HeaderNames.CONTENT_RANGE, "bytes */" + size);
+                res.send();
+                return;
+            }
+
+            final long start = range == null ? 0 : range.start();
+            final long length = range == null ? size : range.length();
+            if (range != null) {
+                res.status(206);
+                res.header(HeaderNames.CONTENT_RANGE, "bytes " + range.start() + '-' + range.end() + '/' + size);
+            } else {
+                res.status(200);
+            }
+            res.header(HeaderNames.CONTENT_TYPE, contentType);
+            res.header(HeaderNames.CONTENT_LENGTH, String.valueOf(length));
+            try (final OutputStream out = res.outputStream()) {
+                transfer(channel, start, length, Channels.newChannel(out));
+            }
+        }
+    }
+
+    private void sendZipEntry(
+            @NonNull final ServerRequest req,
+            @NonNull final ServerResponse res,
+            @NonNull final ArchiveBlockPath archiveBlockPath)
+            throws IOException {
+        final Path zipFilePath = archiveBlockPath.dirPath().resolve(archiveBlockPath.zipFileName());
+        try (final ZipFile zipFile = new ZipFile(zipFilePath.toFile())) {
+            final ZipEntry entry = zipFile.getEntry(archiveBlockPath.zipEntryName());
+            if (entry == null) {
+                notFound(res);
+                return;
+            }
+            final Instant lastModified = lastModified(Files.getLastModifiedTime(zipFilePath));
+            final String etag = entityTag(entry.getSize(), entry.getCrc());
+            res.header(HeaderNames.ETAG, etag);
+            res.header(HeaderNames.LAST_MODIFIED, formatDate(lastModified));
+            res.header(HeaderNames.ACCEPT_RANGES, "none");
+            if (isNotModified(req, etag, lastModified)) {
+                res.status(304);
+                res.send();
+                return;
+            }
+            res.status(200);
+            res.header(HeaderNames.CONTENT_TYPE, BLOCK_CONTENT_TYPE);
+            if (entry.getSize() >= 0) {
+                res.header(HeaderNames.CONTENT_LENGTH, String.valueOf(entry.getSize()));
+            }
+            try (final InputStream in = zipFile.getInputStream(entry);
+                    final OutputStream out = res.outputStream()) {
+                in.transferTo(out);
+            }
+        }
+    }
+
+    /**
+     * Copies a region of a file to the response. The file is not read onto the heap: the JDK copies
+     * it through the kernel, or through a direct buffer when the target is not a socket.
+     */
+    static void transfer(
+            @NonNull final FileChannel channel,
+            final long start,
+            final long length,
+            @NonNull final WritableByteChannel target)
+            throws IOException {
+        long position = start;
+        final long end = start + length;
+        while (position < end) {
+            final long transferred = channel.transferTo(position, end - position, target);
+            if (transferred <= 0) {
+                // the file was truncated while it was being sent
+                throw new IOException("Unexpected end of file at position " + position);
+            }
+            position += transferred;
+        }
+    }
+
+    /**
+     * Parses a {@code Range} header. Only a single range of bytes is supported; any other header is
+     * ignored, so the whole file is sent.
+     *
+     * @param header the value of the header
+     * @param size the size of the file
+     * @return the range of the file to send, or null if the header is ignored
+     */
+    static ByteRange parseRange(@NonNull final String header, final long size) {
+        if (!header.startsWith(BYTES_UNIT) || header.indexOf(',') >= 0) {
+            return null;
+        }
+        final String spec = header.substring(BYTES_UNIT.length()).trim();
+        final int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            if (dash == 0) {
+                // the last bytes of the file
+                final long suffixLength = Long.parseLong(spec.substring(1));
+                return suffixLength <= 0
+                        ? new ByteRange(size, size - 1)
+                        : new ByteRange(Math.max(0, size - suffixLength), size - 1);
+            }
+            final long start = Long.parseLong(spec.substring(0, dash));
+            final String endSpec = spec.substring(dash + 1);
+            if (endSpec.isEmpty()) {
+                return new ByteRange(start, size - 1);
+            }
+            final long end = Long.parseLong(endSpec);
+            return end < start ? null : new ByteRange(start, Math.min(end, size - 1));
+        } catch (final NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static boolean isNotModified(
+            @NonNull final ServerRequest req, @NonNull final String etag, @NonNull final Instant lastModified) {
+        final Optional<String> ifNoneMatch = req.headers().first(HeaderNames.IF_NONE_MATCH);
+        if (ifNoneMatch.isPresent()) {
+            for (final String tag : ifNoneMatch.get().split(",")) {
+                final String trimmed = tag.trim();
+                // weak comparison
+                if (trimmed.equals("*") || trimmed.equals(etag) || trimmed.equals("W/" + etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        final Optional<Instant> ifModifiedSince =
+                req.headers().first(HeaderNames.IF_MODIFIED_SINCE).flatMap(BlockFileServiceImpl::parseDate);
+        return ifModifiedSince.isPresent() && !lastModified.isAfter(ifModifiedSince.get());
+    }
+
+    private static boolean isRangeValid(
+            @NonNull final ServerRequest req, @NonNull final String etag, @NonNull final Instant lastModified) {
+        final Optional<String> ifRange = req.headers().first(HeaderNames.IF_RANGE);
+        if (ifRange.isEmpty()) {
+            return true;
+        }
+        // strong comparison
+        final String validator = ifRange.get().trim();
+        return validator.startsWith("\"")
+                ? validator.equals(etag)
+                : parseDate(validator).map(lastModified::equals).orElse(false);
+    }
+
+    private static long parseNumber(@NonNull final String fileName, final int extensionIndex) {
+        if (extensionIndex < 1) {
+            return -1;
+        }
+        for (int i = 0; i < extensionIndex; i++) {
+            if (!Character.isDigit(fileName.charAt(i))) {
+                return -1;
+            }
+        }
+        try {
+            return Long.parseLong(fileName, 0, extensionIndex, 10);
+        } catch (final NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    @NonNull
+    private static String blockExtension(@NonNull final PersistenceStorageConfig.CompressionType compressionType) {
+        return Constants.BLOCK_FILE_EXTENSION + compressionType.getFileExtension();
+    }
+
+    @NonNull
+    private static String entityTag(final long size, final long version) {
+        return '"' + Long.toHexString(size) + '-' + Long.toHexString(version) + '"';
+    }
+
+    @NonNull
+    private static Instant lastModified(@NonNull final FileTime fileTime) {
+        // HTTP dates have a precision of a second
+        return fileTime.toInstant().truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    @NonNull
+    private static String formatDate(@NonNull final Instant instant) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(instant.atOffset(ZoneOffset.UTC));
+    }
+
+    @NonNull
+    private static Optional<Instant> parseDate(@NonNull final String value) {
+        try {
+            return Optional.of(Instant.from(DateTimeFormatter.RFC_1123_DATE_TIME.parse(value.trim())));
+        } catch (final DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static void notFound(@NonNull final ServerResponse res) {
+        res.status(404);
+        res.send();
+    }
+
+    private static void failed(
+            @NonNull final ServerResponse res, @NonNull final String fileName, @NonNull final IOException e) {
+        // most often the client closing the connection while the file is sent
+        LOGGER.log(DEBUG, "Failed to send " + fileName, e);
+        if (!res.isSent()) {
+            res.status(500);
+            res.send();
+        }
+    }
+
+    /**
+     * A range of the bytes of a file.
+     *
+     * @param start the position of the first byte
+     * @param end the position of the last byte, before the start if the range is empty
+     */
+    record ByteRange(long start, long end) {
+        /**
+         * Returns whether the range holds any byte of the file.
+         *
+         * @return true if the range is not empty
+         */
+        boolean isSatisfiable() {
+            return start <= end;
+        }
+
+        /**
+         * Returns the number of bytes of the range.
+         *
+         * @return the length of the range
+         */
+        long length() {
+            return end - start + 1;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.health;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.helidon.webserver.http.HttpService;
+import io.helidon.webserver.http.ServerRequest;
+import io.helidon.webserver.http.ServerResponse;
+
+/** Defines the contract for the http service dumping the traces of recent blocks through the pipeline */
+public interface BlockTraceService extends HttpService {
+    /**
+     * The path for the trace group endpoints. Root path for all trace endpoints.
+     *
+     * @return the root path for the trace group endpoints
+     */
+    @NonNull
+    String getTraceRootPath();
+
+    /**
+     * Handles the request for the traces of the most recent blocks, as JSON. The number of blocks
+     * is given by the optional {@code count} query parameter.
+     *
+     * @param req the server request
+     * @param res the server response
+     */
+    void handleBlocks(@NonNull final ServerRequest req, @NonNull final ServerResponse res);
+}
@@ -0,0 +1,133 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.health;
+
+import com.hedera.block.server.metrics.BlockTraceRecorder;
+import com.hedera.block.server.metrics.BlockTraceRecorder.BlockTrace;
+import com.hedera.block.server.metrics.BlockTraceRecorder.StageTrace;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import io.helidon.webserver.http.HttpRules;
+import io.helidon.webserver.http.ServerRequest;
+import io.helidon.webserver.http.ServerResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Provides the endpoint dumping the traces of the most recent blocks through the pipeline, with
+ * the time and thread at which each block entered and exited each stage.
+ */
+@Singleton
+public class BlockTraceServiceImpl implements BlockTraceService {
+
+    private static final String BLOCKS_PATH = "/blocks";
+    private static final String COUNT_PARAMETER = "count";
+    private static final int DEFAULT_COUNT = 32;
+
+    private final BlockTraceRecorder blockTraceRecorder;
+
+    /**
+     * It initializes the BlockTraceService with needed dependencies.
+     *
+     * @param blockTraceRecorder records the traces of the blocks through the pipeline
+     */
+    @Inject
+    public BlockTraceServiceImpl(@NonNull final BlockTraceRecorder blockTraceRecorder) {
+        this.blockTraceRecorder = Objects.requireNonNull(blockTraceRecorder);
+    }
+
+    @Override
+    @NonNull
+    public String getTraceRootPath() {
+        return "/tracez";
+    }
+
+    /**
+     * Configures the trace routes for the server.
+     *
+     * @param httpRules is used to configure the trace endpoints routes
+     */
+    @Override
+    public void routing(@NonNull final HttpRules httpRules) {
+        httpRules.get(BLOCKS_PATH, this::handleBlocks);
+    }
+
+    /**
+     * Handles the request for the traces of the most recent blocks, as JSON. The number of blocks
+     * is given by the optional {@code count} query parameter, at most
+     * {@link BlockTraceRecorder#CAPACITY}.
+     *
+     * @param req the server request
+     * @param res the server response
+     */
+    @Override
+    public final void handleBlocks(@NonNull final ServerRequest req, @NonNull final ServerResponse res) {
+        final int count;
+        try {
+            count = req.query().contains(COUNT_PARAMETER)
+                    ? Integer.parseInt(req.query().get(COUNT_PARAMETER))
+                    : DEFAULT_COUNT;
+        } catch (final NumberFormatException e) {
+            res.status(400);
+            res.send("Invalid count");
+            return;
+        }
+        if (count < 1 || count > BlockTraceRecorder.CAPACITY) {
+            res.status(400);
+            res.send("Count must be between 1 and " + BlockTraceRecorder.CAPACITY);
+            return;
+        }
+        res.status(200);
+        res.header("Content-Type", "application/json");
+        res.send(toJson(blockTraceRecorder.lastBlocks(count)).getBytes(StandardCharsets.UTF_8));
+    }
+
+    @NonNull
+    static String toJson(@NonNull final List<BlockTrace> blockTraces) {
+        final StringBuilder json = new StringBuilder("{\"blocks\":[");
+        for (int i = 0; i < blockTraces.size(); i++) {
+            final BlockTrace blockTrace = blockTraces.get(i);
+            json.append(i == 0 ? "" : ",")
+                    .append("{\"blockNumber\":")
+                    .append(blockTrace.blockNumber())
+                    .append(",\"stages\":[");
+            for (int j = 0; j < blockTrace.stages().size(); j++) {
+                final StageTrace stage = blockTrace.stages().get(j);
+                json.append(j == 0 ? "" : ",")
+                        .append("{\"stage\":\"")
+                        .append(stage.stage().name())
+                        .append('"');
+                if (stage.enterNanos() != null) {
+                    json.append(",\"enterNanos\":").append(stage.enterNanos());
+                    appendString(json.append(",\"enterThread\":"), stage.enterThread());
+                }
+                if (stage.exitNanos() != null) {
+                    json.append(",\"exitNanos\":").append(stage.exitNanos());
+                    appendString(json.append(",\"exitThread\":"), stage.exitThread());
+                }
+                if (stage.enterNanos() != null && stage.exitNanos() != null) {
+                    json.append(",\"durationNanos\":").append(stage.exitNanos() - stage.enterNanos());
+                }
+                json.append('}');
+            }
+            json.append("]}");
+        }
+        return json.append("]}").toString();
+    }
+
+    static void appendString(@NonNull final StringBuilder json, @NonNull final String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+}
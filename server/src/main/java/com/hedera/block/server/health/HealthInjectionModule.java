@@ -21,4 +21,34 @@ public interface HealthInjectionModule {
     @Singleton
     @Binds
     HealthService bindHealthService(HealthServiceImpl healthService);
+
+    /**
+     * Binds the block trace service to the block trace service implementation.
+     *
+     * @param blockTraceService needs a block trace service implementation
+     * @return the block trace service implementation
+     */
+    @Singleton
+    @Binds
+    BlockTraceService bindBlockTraceService(BlockTraceServiceImpl blockTraceService);
+
+    /**
+     * Binds the admin service to the admin service implementation.
+     *
+     * @param adminService needs an admin service implementation
+     * @return the admin service implementation
+     */
+    @Singleton
+    @Binds
+    AdminService bindAdminService(AdminServiceImpl adminService);
+
+    /**
+     * Binds the block file service to the block file service implementation.
+     *
+     * @param blockFileService needs a block file service implementation
+     * @return the block file service implementation
+     */
+    @Singleton
+    @Binds
+    BlockFileService bindBlockFileService(BlockFileServiceImpl blockFileService);
 }
@@ -1,31 +1,82 @@
 // SPDX-License-Identifier: Apache-2.0
 package com.hedera.block.server.health;
 
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Gauge.CurrentBlockNumberInbound;
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Gauge.MediatorSubscriberLagWorst1;
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Gauge.PersistenceWriterBacklog;
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Gauge.Producers;
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Gauge.VerificationQueueDepth;
+import static java.lang.System.Logger.Level.DEBUG;
+
+import com.hedera.block.server.block.BlockInfo;
+import com.hedera.block.server.mediator.MediatorConfig;
+import com.hedera.block.server.metrics.MetricsService;
+import com.hedera.block.server.persistence.storage.PersistenceStorageConfig;
 import com.hedera.block.server.service.ServiceStatus;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import io.helidon.webserver.http.HttpRules;
 import io.helidon.webserver.http.ServerRequest;
 import io.helidon.webserver.http.ServerResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
 /** Provides implementation for the health endpoints of the server. */
 @Singleton
 public class HealthServiceImpl implements HealthService {
+    private static final System.Logger LOGGER = System.getLogger(HealthServiceImpl.class.getName());
 
     private static final String LIVEZ_PATH = "/livez";
     private static final String READYZ_PATH = "/readyz";
 
+    // Reported as the value of a check which could not be read
+    private static final long UNKNOWN = -1;
+
     private final ServiceStatus serviceStatus;
+    private final MetricsService metricsService;
+    private final int ringBufferSize;
+    private final Path liveRootPath;
+
+    // Guarded by this, as each check remembers whether it failed to apply the hysteresis
+    private final Check ringBufferOccupancyPercent;
+    private final Check writerBacklog;
+    private final Check verificationQueueDepth;
+    private final Check ackLag;
+    private final Check diskFreeBytes;
 
     /**
      * It initializes the HealthService with needed dependencies.
      *
      * @param serviceStatus is used to check the status of the service
+     * @param metricsService provides the signals of the live pipeline
+     * @param readinessConfig the limits of the live pipeline signals for the node to be ready
+     * @param mediatorConfig the configuration of the mediator ring buffer
+     * @param persistenceStorageConfig the configuration of the storage checked for free space
      */
     @Inject
-    public HealthServiceImpl(@NonNull ServiceStatus serviceStatus) {
-        this.serviceStatus = serviceStatus;
+    public HealthServiceImpl(
+            @NonNull final ServiceStatus serviceStatus,
+            @NonNull final MetricsService metricsService,
+            @NonNull final ReadinessConfig readinessConfig,
+            @NonNull final MediatorConfig mediatorConfig,
+            @NonNull final PersistenceStorageConfig persistenceStorageConfig) {
+        this.serviceStatus = Objects.requireNonNull(serviceStatus);
+        this.metricsService = Objects.requireNonNull(metricsService);
+        this.ringBufferSize = mediatorConfig.ringBufferSize();
+        this.liveRootPath = Path.of(persistenceStorageConfig.liveRootPath());
+
+        final int recoveryPercent = readinessConfig.recoveryPercent();
+        this.ringBufferOccupancyPercent = Check.maximum(
+                "ringBufferOccupancyPercent", readinessConfig.maxRingBufferOccupancyPercent(), recoveryPercent);
+        this.writerBacklog = Check.maximum("writerBacklog", readinessConfig.maxWriterBacklog(), recoveryPercent);
+        this.verificationQueueDepth =
+                Check.maximum("verificationQueueDepth", readinessConfig.maxVerificationQueueDepth(), recoveryPercent);
+        this.ackLag = Check.maximum("ackLag", readinessConfig.maxAckLag(), recoveryPercent);
+        this.diskFreeBytes = Check.minimum("diskFreeBytes", readinessConfig.minDiskFreeBytes(), recoveryPercent);
     }
 
     @Override
@@ -61,17 +112,112 @@ public class HealthServiceImpl implements HealthService {
 
     /**
      * Handles the request for readiness endpoint, that it most be defined on routing
-     * implementation.
+     * implementation. The node is ready while the service is running and the live pipeline is not
+     * overloaded; the value of each check of the live pipeline is sent as JSON.
      *
      * @param req the server request
      * @param res the server response
      */
     @Override
     public final void handleReadyz(@NonNull final ServerRequest req, @NonNull final ServerResponse res) {
-        if (serviceStatus.isRunning()) {
-            res.status(200).send("OK");
-        } else {
-            res.status(503).send("Service is not running");
+        final boolean running = serviceStatus.isRunning();
+        final StringBuilder checks = new StringBuilder();
+        final boolean ready = evaluateChecks(checks) && running;
+        final String json = "{\"ready\":" + ready + ",\"running\":" + running + ",\"checks\":[" + checks + "]}";
+
+        res.status(ready ? 200 : 503);
+        res.header("Content-Type", "application/json");
+        res.send(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private synchronized boolean evaluateChecks(@NonNull final StringBuilder json) {
+        // The subscriber lag and the inbound block number are only updated as block items are
+        // published, so they keep their last values once the producer disconnects. Without a
+        // producer there is no live load, and both checks see no load. The writer backlog and the
+        // verification queue depth are updated as their tasks complete, so they are always current.
+        final boolean producing = metricsService.get(Producers).get() > 0;
+        boolean passed = ringBufferOccupancyPercent.evaluate(
+                producing ? metricsService.get(MediatorSubscriberLagWorst1).get() * 100 / ringBufferSize : 0, json);
+        passed &= writerBacklog.evaluate(metricsService.get(PersistenceWriterBacklog).get(), json.append(','));
+        passed &= verificationQueueDepth.evaluate(
+                metricsService.get(VerificationQueueDepth).get(), json.append(','));
+        passed &= ackLag.evaluate(producing ? ackLag() : 0, json.append(','));
+        passed &= diskFreeBytes.evaluate(diskFreeBytes(), json.append(','));
+        return passed;
+    }
+
+    private long ackLag() {
+        final BlockInfo latestAckedBlock = serviceStatus.getLatestAckedBlock();
+        if (latestAckedBlock == null) {
+            return 0;
+        }
+        return Math.max(0, metricsService.get(CurrentBlockNumberInbound).get() - latestAckedBlock.getBlockNumber());
+    }
+
+    private long diskFreeBytes() {
+        try {
+            return Files.getFileStore(liveRootPath).getUsableSpace();
+        } catch (final IOException e) {
+            LOGGER.log(DEBUG, "Unable to read the free space of " + liveRootPath, e);
+            return UNKNOWN;
+        }
+    }
+
+    /**
+     * A check of a live pipeline signal against its limit. A failed check passes again only once
+     * the signal is back within the recovery percentage of the limit.
+     */
+    private static final class Check {
+        private final String name;
+        private final long limit;
+        private final boolean isMinimum;
+        private final int recoveryPercent;
+        private boolean failed;
+
+        private Check(final String name, final long limit, final boolean isMinimum, final int recoveryPercent) {
+            this.name = name;
+            this.limit = limit;
+            this.isMinimum = isMinimum;
+            this.recoveryPercent = recoveryPercent;
+        }
+
+        static Check maximum(final String name, final long limit, final int recoveryPercent) {
+            return new Check(name, limit, false, recoveryPercent);
+        }
+
+        static Check minimum(final String name, final long limit, final int recoveryPercent) {
+            return new Check(name, limit, true, recoveryPercent);
+        }
+
+        /**
+         * Evaluates the check with the current value of its signal and appends it to the JSON.
+         *
+         * @param value the current value, or {@link #UNKNOWN} if it could not be read, in which
+         * case the check keeps its previous result
+         * @param json the JSON the check is appended to
+         * @return true if the check passed
+         */
+        boolean evaluate(final long value, @NonNull final StringBuilder json) {
+            if (value != UNKNOWN) {
+                if (isMinimum) {
+                    // (double) as the limit may be close to Long.MAX_VALUE / 100
+                    failed = failed
+                            ? (double) value * recoveryPercent < (double) limit * 100
+                            : value < limit;
+                } else {
+                    failed = failed ? (double) value * 100 > (double) limit * recoveryPercent : value > limit;
+                }
+            }
+            json.append("{\"name\":\"")
+                    .append(name)
+                    .append("\",\"value\":")
+                    .append(value)
+                    .append(",\"limit\":")
+                    .append(limit)
+                    .append(",\"passed\":")
+                    .append(!failed)
+                    .append('}');
+            return !failed;
         }
     }
 }
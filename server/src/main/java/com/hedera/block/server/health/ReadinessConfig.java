@@ -0,0 +1,51 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.health;
+
+import com.hedera.block.common.utils.Preconditions;
+import com.hedera.block.server.config.logging.Loggable;
+import com.swirlds.config.api.ConfigData;
+import com.swirlds.config.api.ConfigProperty;
+
+/**
+ * Use this configuration for the readiness endpoint, which reports the node as not ready while its
+ * live pipeline is overloaded.
+ *
+ * <p>A check fails once its value crosses its limit, and passes again only once the value is back
+ * within {@code recoveryPercent} of the limit, so the readiness does not flap around a limit.
+ *
+ * @param maxRingBufferOccupancyPercent the percentage of the mediator ring buffer the most lagging
+ * subscriber may be behind
+ * @param maxWriterBacklog the maximum number of block writers in flight
+ * @param maxVerificationQueueDepth the maximum number of verification sessions waiting for a worker
+ * @param maxAckLag the maximum number of blocks received but not yet acknowledged
+ * @param minDiskFreeBytes the minimum number of bytes free on the live storage
+ * @param recoveryPercent the percentage of the limit a failed check must be back within to pass
+ */
+@ConfigData("readiness")
+public record ReadinessConfig(
+        @Loggable @ConfigProperty(defaultValue = "75") int maxRingBufferOccupancyPercent,
+        @Loggable @ConfigProperty(defaultValue = "16") long maxWriterBacklog,
+        @Loggable @ConfigProperty(defaultValue = "256") long maxVerificationQueueDepth,
+        @Loggable @ConfigProperty(defaultValue = "100") long maxAckLag,
+        @Loggable @ConfigProperty(defaultValue = "1_073_741_824") long minDiskFreeBytes,
+        @Loggable @ConfigProperty(defaultValue = "80") int recoveryPercent) {
+
+    /**
+     * Validate the configuration.
+     *
+     * @throws IllegalArgumentException if any of the values is out of range
+     */
+    public ReadinessConfig {
+        Preconditions.requireInRange(
+                maxRingBufferOccupancyPercent,
+                1,
+                100,
+                "[READINESS_MAX_RING_BUFFER_OCCUPANCY_PERCENT] value %d is out of range [%d, %d]");
+        Preconditions.requireWhole(maxWriterBacklog, "[READINESS_MAX_WRITER_BACKLOG] must be whole");
+        Preconditions.requireWhole(maxVerificationQueueDepth, "[READINESS_MAX_VERIFICATION_QUEUE_DEPTH] must be whole");
+        Preconditions.requireWhole(maxAckLag, "[READINESS_MAX_ACK_LAG] must be whole");
+        Preconditions.requireWhole(minDiskFreeBytes, "[READINESS_MIN_DISK_FREE_BYTES] must be whole");
+        Preconditions.requireInRange(
+                recoveryPercent, 1, 100, "[READINESS_RECOVERY_PERCENT] value %d is out of range [%d, %d]");
+    }
+}
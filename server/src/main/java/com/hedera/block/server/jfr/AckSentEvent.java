@@ -0,0 +1,27 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * An acknowledgement of a block published to the producers.
+ */
+@Name("com.hedera.block.server.AckSent")
+@Label("Block Acknowledgement Sent")
+@Category({"Hedera Block Node", "Acknowledgement"})
+@Description("An acknowledgement of a block published to the producers.")
+@StackTrace(false)
+public final class AckSentEvent extends Event {
+    /** The number of the block acknowledged. */
+    @Label("Block Number")
+    public long blockNumber;
+
+    /** Whether the block was acknowledged as already existing. */
+    @Label("Block Already Exists")
+    public boolean blockAlreadyExists;
+}
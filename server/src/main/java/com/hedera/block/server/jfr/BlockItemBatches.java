@@ -0,0 +1,54 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.jfr;
+
+import com.hedera.block.server.events.OffHeapBlockItems;
+import com.hedera.hapi.block.BlockItemUnparsed;
+import com.hedera.hapi.block.stream.output.BlockHeader;
+import com.hedera.pbj.runtime.ParseException;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Utility methods describing batches of block items in events. They parse or measure the items,
+ * so they are only called once an event is known to be committed.
+ */
+public final class BlockItemBatches {
+    private BlockItemBatches() {}
+
+    /**
+     * Returns the number of the block a batch of block items starts.
+     *
+     * @param blockItems the batch of block items
+     * @return the block number, or -1 if the batch does not start with a block header
+     */
+    public static long blockNumberOf(@NonNull final List<BlockItemUnparsed> blockItems) {
+        if (blockItems.isEmpty() || !blockItems.getFirst().hasBlockHeader()) {
+            return -1;
+        }
+        try {
+            return BlockHeader.PROTOBUF
+                    .parse(Objects.requireNonNull(blockItems.getFirst().blockHeader()))
+                    .number();
+        } catch (final ParseException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Returns the serialized size of a batch of block items.
+     *
+     * @param blockItems the batch of block items
+     * @return the size of the block items, in bytes
+     */
+    public static long sizeOf(@NonNull final List<BlockItemUnparsed> blockItems) {
+        if (blockItems instanceof final OffHeapBlockItems offHeapBlockItems) {
+            return offHeapBlockItems.byteCount();
+        }
+        long bytes = 0;
+        for (final BlockItemUnparsed blockItem : blockItems) {
+            bytes += BlockItemUnparsed.PROTOBUF.measureRecord(blockItem);
+        }
+        return bytes;
+    }
+}
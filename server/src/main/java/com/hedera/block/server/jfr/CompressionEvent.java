@@ -0,0 +1,38 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A serialized block compressed while being written to storage.
+ */
+@Name("com.hedera.block.server.Compression")
+@Label("Block Compression")
+@Category({"Hedera Block Node", "Persistence"})
+@Description("A serialized block compressed while being written to storage.")
+@StackTrace(false)
+public final class CompressionEvent extends Event {
+    /** The number of the block, or -1 if not known. */
+    @Label("Block Number")
+    public long blockNumber = -1;
+
+    /** The number of block items. */
+    @Label("Item Count")
+    public int itemCount;
+
+    /** The size of the block items, in bytes. */
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+
+    /** The size of the block once compressed, in bytes. */
+    @Label("Compressed Bytes")
+    @DataAmount
+    public long compressedBytes;
+}
@@ -0,0 +1,35 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A batch of block items published to the subscribers of the mediator, with the block number if
+ * the batch starts a block.
+ */
+@Name("com.hedera.block.server.MediatorPublish")
+@Label("Mediator Publish")
+@Category({"Hedera Block Node", "Mediator"})
+@Description("A batch of block items published to the subscribers of the mediator, with the block number if the "
+        + "batch starts a block.")
+@StackTrace(false)
+public final class MediatorPublishEvent extends Event {
+    /** The number of the block, or -1 if not known. */
+    @Label("Block Number")
+    public long blockNumber = -1;
+
+    /** The number of block items. */
+    @Label("Item Count")
+    public int itemCount;
+
+    /** The size of the block items, in bytes. */
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+}
@@ -0,0 +1,23 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The wait for a free slot in the mediator ring buffer, to publish a batch of block items.
+ */
+@Name("com.hedera.block.server.RingBufferWait")
+@Label("Ring Buffer Wait")
+@Category({"Hedera Block Node", "Mediator"})
+@Description("The wait for a free slot in the mediator ring buffer, to publish a batch of block items.")
+@StackTrace(false)
+public final class RingBufferWaitEvent extends Event {
+    /** The number of block items. */
+    @Label("Item Count")
+    public int itemCount;
+}
@@ -0,0 +1,37 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A verification session, from the block header to the signature of the block hash being verified.
+ */
+@Name("com.hedera.block.server.VerificationSession")
+@Label("Block Verification Session")
+@Category({"Hedera Block Node", "Verification"})
+@Description("A verification session, from the block header to the signature of the block hash being verified.")
+@StackTrace(false)
+public final class VerificationSessionEvent extends Event {
+    /** The number of the block, or -1 if not known. */
+    @Label("Block Number")
+    public long blockNumber = -1;
+
+    /** The number of block items. */
+    @Label("Item Count")
+    public int itemCount;
+
+    /** The size of the block items, in bytes. */
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+
+    /** Whether the block hash and signature were verified. */
+    @Label("Verified")
+    public boolean verified;
+}
@@ -0,0 +1,33 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A complete block serialized, compressed and written to storage along with its checksum.
+ */
+@Name("com.hedera.block.server.WriterPersist")
+@Label("Block Persist")
+@Category({"Hedera Block Node", "Persistence"})
+@Description("A complete block serialized, compressed and written to storage along with its checksum.")
+@StackTrace(false)
+public final class WriterPersistEvent extends Event {
+    /** The number of the block, or -1 if not known. */
+    @Label("Block Number")
+    public long blockNumber = -1;
+
+    /** The number of block items. */
+    @Label("Item Count")
+    public int itemCount;
+
+    /** The size of the block items, in bytes. */
+    @Label("Bytes")
+    @DataAmount
+    public long bytes;
+}
@@ -3,6 +3,7 @@ package com.hedera.block.server.mediator;
 
 import com.hedera.block.server.notifier.Notifiable;
 import com.hedera.hapi.block.BlockItemUnparsed;
+import edu.umd.cs.findbugs.annotations.NonNull;
 import java.util.List;
 
 /**
@@ -10,4 +11,20 @@ import java.util.List;
  * Hedera network with the contract to be notified of critical system events.
  */
 public interface LiveStreamMediator
-        extends StreamMediator<List<BlockItemUnparsed>, List<BlockItemUnparsed>>, Notifiable {}
+        extends StreamMediator<List<BlockItemUnparsed>, List<BlockItemUnparsed>>, Notifiable {
+
+    /**
+     * Returns the latest sample of the lag and throughput of each subscriber of the live stream,
+     * taken each time the metrics are published.
+     *
+     * @return the samples, the most lagging subscriber first
+     */
+    @NonNull
+    List<SubscriberStats> subscriberStats();
+
+    /**
+     * Unsubscribes every subscriber and stops the threads serving them. Called when the block
+     * node stops.
+     */
+    void shutdown();
+}
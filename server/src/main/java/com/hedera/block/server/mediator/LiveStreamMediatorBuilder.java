@@ -3,7 +3,11 @@ package com.hedera.block.server.mediator;
 
 import com.hedera.block.server.config.BlockNodeContext;
 import com.hedera.block.server.events.BlockNodeEventHandler;
+import com.hedera.block.server.events.NoOpPayloadArena;
 import com.hedera.block.server.events.ObjectEvent;
+import com.hedera.block.server.events.OffHeapPayloadArena;
+import com.hedera.block.server.events.PayloadArena;
+import com.hedera.block.server.events.PayloadArenaConfig;
 import com.hedera.block.server.service.ServiceStatus;
 import com.hedera.hapi.block.BlockItemUnparsed;
 import com.lmax.disruptor.BatchEventProcessor;
@@ -83,6 +87,11 @@ public class LiveStreamMediatorBuilder {
      */
     @NonNull
     public LiveStreamMediator build() {
-        return new LiveStreamMediatorImpl(subscribers, serviceStatus, blockNodeContext);
+        final PayloadArenaConfig payloadArenaConfig =
+                blockNodeContext.configuration().getConfigData(PayloadArenaConfig.class);
+        final PayloadArena payloadArena = payloadArenaConfig.enabled()
+                ? new OffHeapPayloadArena(payloadArenaConfig, blockNodeContext.metricsService())
+                : NoOpPayloadArena.newInstance();
+        return new LiveStreamMediatorImpl(subscribers, serviceStatus, blockNodeContext, payloadArena);
     }
 }
@@ -4,21 +4,40 @@ package com.hedera.block.server.mediator;
 import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Counter.LiveBlockItems;
 import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Counter.LiveBlockStreamMediatorError;
 import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Gauge.Consumers;
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Gauge.MediatorRetainedBytes;
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Gauge.MediatorRetainedEvents;
 import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Gauge.MediatorRingBufferRemainingCapacity;
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Gauge.MediatorSubscriberLagWorst1;
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Gauge.MediatorSubscriberLagWorst2;
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Gauge.MediatorSubscriberLagWorst3;
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Gauge.MediatorSubscriberStallMax;
 import static java.lang.System.Logger;
 import static java.lang.System.Logger.Level.DEBUG;
 import static java.lang.System.Logger.Level.ERROR;
+import static java.lang.System.Logger.Level.WARNING;
 
 import com.hedera.block.server.config.BlockNodeContext;
 import com.hedera.block.server.events.BlockNodeEventHandler;
 import com.hedera.block.server.events.ObjectEvent;
+import com.hedera.block.server.events.OffHeapBlockItems;
+import com.hedera.block.server.events.PayloadArena;
+import com.hedera.block.server.jfr.BlockItemBatches;
+import com.hedera.block.server.jfr.MediatorPublishEvent;
+import com.hedera.block.server.jfr.RingBufferWaitEvent;
 import com.hedera.block.server.metrics.MetricsService;
 import com.hedera.block.server.service.ServiceStatus;
 import com.hedera.hapi.block.BlockItemUnparsed;
 import com.lmax.disruptor.BatchEventProcessor;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Use LiveStreamMediatorImpl to mediate the live stream of blocks from a producer to multiple
@@ -32,8 +51,25 @@ class LiveStreamMediatorImpl extends SubscriptionHandlerBase<List<BlockItemUnpar
 
     private final Logger LOGGER = System.getLogger(getClass().getName());
 
+    // The longest wait for a subscriber to pass a batch while the bytes in flight are above the
+    // budget, so slots released by other threads and the service stopping are still noticed
+    private static final long BYTE_BUDGET_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
     private final ServiceStatus serviceStatus;
     private final MetricsService metricsService;
+    private final PayloadArena payloadArena;
+    private final long maxInFlightBytes;
+    private volatile List<SubscriberStats> subscriberStats = List.of();
+
+    // The bytes of the block items published and not yet released
+    private final AtomicLong inFlightBytes = new AtomicLong();
+    private final ReentrantLock releaseLock = new ReentrantLock();
+    // Guarded by releaseLock, the last sequence whose slot was released
+    private long releasedSequence = -1;
+    // Signalled as subscribers pass their batches while publishers wait for the byte budget
+    private final ReentrantLock byteBudgetLock = new ReentrantLock();
+    private final Condition byteBudgetConsumed = byteBudgetLock.newCondition();
+    private final AtomicInteger byteBudgetWaiters = new AtomicInteger();
 
     /**
      * Constructs a new LiveStreamMediatorImpl instance with the given subscribers, and service
@@ -47,6 +83,7 @@ class LiveStreamMediatorImpl extends SubscriptionHandlerBase<List<BlockItemUnpar
      *     occurs while persisting a block item, stop the web server for maintenance, etc
      * @param blockNodeContext contains the context with metrics and configuration for the
      *     application
+     * @param payloadArena holds the block items published until every subscriber is done with them
      */
     LiveStreamMediatorImpl(
             @NonNull
@@ -55,7 +92,8 @@ class LiveStreamMediatorImpl extends SubscriptionHandlerBase<List<BlockItemUnpar
                                     BatchEventProcessor<ObjectEvent<List<BlockItemUnparsed>>>>
                             subscribers,
             @NonNull final ServiceStatus serviceStatus,
-            @NonNull final BlockNodeContext blockNodeContext) {
+            @NonNull final BlockNodeContext blockNodeContext,
+            @NonNull final PayloadArena payloadArena) {
 
         super(
                 subscribers,
@@ -63,10 +101,24 @@ class LiveStreamMediatorImpl extends SubscriptionHandlerBase<List<BlockItemUnpar
                 blockNodeContext
                         .configuration()
                         .getConfigData(MediatorConfig.class)
-                        .ringBufferSize());
+                        .ringBufferSize(),
+                blockNodeContext
+                        .configuration()
+                        .getConfigData(MediatorConfig.class)
+                        .relayCount(),
+                blockNodeContext
+                        .configuration()
+                        .getConfigData(MediatorConfig.class)
+                        .relayRingBufferSize());
 
         this.serviceStatus = serviceStatus;
         this.metricsService = blockNodeContext.metricsService();
+        this.payloadArena = Objects.requireNonNull(payloadArena);
+        this.maxInFlightBytes = blockNodeContext
+                .configuration()
+                .getConfigData(MediatorConfig.class)
+                .maxInFlightBytes();
+        metricsService.addUpdater(this::sampleSubscriberStats);
     }
 
     /**
@@ -74,6 +126,10 @@ class LiveStreamMediatorImpl extends SubscriptionHandlerBase<List<BlockItemUnpar
      * the block items, the service status is set to not running, and all downstream consumers are
      * unsubscribed.
      *
+     * <p>Publishing waits while the bytes published and not yet consumed by every subscriber,
+     * including those held by the relays, are above {@link MediatorConfig#maxInFlightBytes()}, as
+     * well as while the ring buffer is full.
+     *
      * @param blockItems the block item from the upstream producer to publish to downstream
      *     consumers
      */
@@ -82,18 +138,224 @@ class LiveStreamMediatorImpl extends SubscriptionHandlerBase<List<BlockItemUnpar
 
         if (serviceStatus.isRunning()) {
             LOGGER.log(DEBUG, "Publishing BlockItems: " + blockItems.size());
-            ringBuffer.publishEvent((event, sequence) -> event.set(blockItems));
+            final MediatorPublishEvent publishEvent = new MediatorPublishEvent();
+            publishEvent.begin();
+
+            // Claim the next slot, waiting for the slowest subscriber if the ring buffer is full
+            // or the bytes in flight are above the budget
+            final long bytes = BlockItemBatches.sizeOf(blockItems);
+            final RingBufferWaitEvent waitEvent = new RingBufferWaitEvent();
+            waitEvent.begin();
+            awaitByteBudget(bytes);
+            final long sequence = ringBuffer.next();
+            waitEvent.end();
+            try {
+                final ObjectEvent<List<BlockItemUnparsed>> event = ringBuffer.get(sequence);
+                // Held by the payload arena, if enabled, until the slot is released. Stored once
+                // the slot is claimed, so the arena is not held while waiting for the slot.
+                final List<BlockItemUnparsed> payload = storePayload(blockItems);
+                final List<BlockItemUnparsed> replacedItems;
+                final long replacedBytes;
+                // The event is locked by its own methods, so the items replaced are those counted
+                synchronized (event) {
+                    replacedItems = event.get();
+                    replacedBytes = event.set(payload, payload.size(), bytes, sequence);
+                }
+                inFlightBytes.addAndGet(bytes - replacedBytes);
+                if (replacedItems != null) {
+                    OffHeapBlockItems.release(replacedItems);
+                }
+            } finally {
+                ringBuffer.publish(sequence);
+            }
+            if (waitEvent.shouldCommit()) {
+                waitEvent.itemCount = blockItems.size();
+                waitEvent.commit();
+            }
 
             long remainingCapacity = ringBuffer.remainingCapacity();
             metricsService.get(MediatorRingBufferRemainingCapacity).set(remainingCapacity);
+            releaseConsumedSlots();
 
             // Increment the block item counter by all block items published
             metricsService.get(LiveBlockItems).add(blockItems.size());
+
+            publishEvent.end();
+            if (publishEvent.shouldCommit()) {
+                publishEvent.blockNumber = BlockItemBatches.blockNumberOf(blockItems);
+                publishEvent.itemCount = blockItems.size();
+                publishEvent.bytes = bytes;
+                publishEvent.commit();
+            }
         } else {
             LOGGER.log(ERROR, "StreamMediator is not accepting BlockItems");
         }
     }
 
+    /**
+     * Stores the block items in the payload arena, keeping them on the heap if the arena fails to
+     * store them, as the slot claimed for them is published either way. The arena gives back the
+     * pages of a batch it fails to store.
+     *
+     * @param blockItems the block items to publish
+     * @return the block items to set in the slot
+     */
+    @NonNull
+    private List<BlockItemUnparsed> storePayload(@NonNull final List<BlockItemUnparsed> blockItems) {
+        try {
+            return payloadArena.store(blockItems);
+        } catch (final RuntimeException e) {
+            LOGGER.log(WARNING, "Unable to store the block items in the payload arena", e);
+            return blockItems;
+        }
+    }
+
+    /**
+     * Waits until the given bytes can be published within the budget of bytes in flight. A batch
+     * larger than the whole budget is published once nothing else is in flight. Concurrent
+     * publishers may each go over the budget by one batch.
+     *
+     * @param bytes the size of the block items to publish
+     */
+    private void awaitByteBudget(final long bytes) {
+        if (!isOverByteBudget(bytes)) {
+            return;
+        }
+        byteBudgetLock.lock();
+        // Counted before checking again, so a subscriber passing a batch after the check signals
+        byteBudgetWaiters.incrementAndGet();
+        try {
+            while (serviceStatus.isRunning()) {
+                releaseConsumedSlots();
+                releaseRelayedSlots();
+                if (!isOverByteBudget(bytes)) {
+                    return;
+                }
+                byteBudgetConsumed.awaitNanos(BYTE_BUDGET_WAIT_NANOS);
+            }
+        } catch (final InterruptedException e) {
+            // Published over the budget rather than dropped, keeping the interrupt
+            Thread.currentThread().interrupt();
+        } finally {
+            byteBudgetWaiters.decrementAndGet();
+            byteBudgetLock.unlock();
+        }
+    }
+
+    /**
+     * Wakes the publishers waiting for the byte budget, if any, once a subscriber has passed a
+     * batch.
+     */
+    @Override
+    protected void onConsumed() {
+        if (byteBudgetWaiters.get() > 0) {
+            byteBudgetLock.lock();
+            try {
+                byteBudgetConsumed.signalAll();
+            } finally {
+                byteBudgetLock.unlock();
+            }
+        }
+    }
+
+    private boolean isOverByteBudget(final long bytes) {
+        final long inFlight = inFlightBytes.get() + relayedBytes();
+        return inFlight > 0 && inFlight + bytes > maxInFlightBytes;
+    }
+
+    /**
+     * Releases the block items of the slots every subscriber has passed, so the ring buffer only
+     * keeps the block items in flight on the heap rather than the last batch published to each
+     * slot. The slots are released by one thread at a time; the others skip the release.
+     */
+    void releaseConsumedSlots() {
+        if (!releaseLock.tryLock()) {
+            return;
+        }
+        try {
+            // Every subscriber has passed this sequence, or the cursor if there are no subscribers
+            final long consumedSequence = ringBuffer.getMinimumGatingSequence();
+            long releasedBytes = 0;
+            while (releasedSequence < consumedSequence) {
+                final long sequence = releasedSequence + 1;
+                final ObjectEvent<List<BlockItemUnparsed>> event = ringBuffer.get(sequence);
+                // The slot was claimed but its block items are not set yet, they are released later
+                if (event.sequence() < sequence) {
+                    break;
+                }
+                // A slot holding a later sequence was reused before being released, so its
+                // block items were accounted for and released when they were replaced
+                final List<BlockItemUnparsed> releasedItems;
+                synchronized (event) {
+                    releasedItems = event.sequence() == sequence ? event.get() : null;
+                    releasedBytes += event.clear(sequence);
+                }
+                if (releasedItems != null) {
+                    OffHeapBlockItems.release(releasedItems);
+                }
+                releasedSequence = sequence;
+            }
+            final long retainedBytes = inFlightBytes.addAndGet(-releasedBytes);
+            metricsService.get(MediatorRetainedBytes).set(retainedBytes + relayedBytes());
+            metricsService.get(MediatorRetainedEvents).set(ringBuffer.getCursor() - releasedSequence);
+        } finally {
+            releaseLock.unlock();
+        }
+    }
+
+    /**
+     * The block items relayed are kept in the payload arena, if they are held by one, until every
+     * consumer of the relay has passed them.
+     */
+    @NonNull
+    @Override
+    protected List<BlockItemUnparsed> retainRelayed(@NonNull final List<BlockItemUnparsed> blockItems) {
+        return OffHeapBlockItems.retain(blockItems);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void releaseRelayed(@NonNull final List<BlockItemUnparsed> blockItems) {
+        OffHeapBlockItems.release(blockItems);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @NonNull
+    @Override
+    public List<SubscriberStats> subscriberStats() {
+        return subscriberStats;
+    }
+
+    /**
+     * Samples the lag and throughput of each subscriber, keeping the samples for
+     * {@link #subscriberStats()} and setting the gauges of the worst lags and longest stall.
+     */
+    void sampleSubscriberStats() {
+        // Also release the slots consumed since the last publication, if any
+        releaseRelayedSlots();
+        releaseConsumedSlots();
+        final List<SubscriberStats> samples = sampleSubscribers().stream()
+                .sorted(Comparator.comparingLong(SubscriberStats::lag).reversed())
+                .toList();
+        subscriberStats = samples;
+
+        metricsService.get(MediatorSubscriberLagWorst1).set(samples.size() > 0 ? samples.get(0).lag() : 0);
+        metricsService.get(MediatorSubscriberLagWorst2).set(samples.size() > 1 ? samples.get(1).lag() : 0);
+        metricsService.get(MediatorSubscriberLagWorst3).set(samples.size() > 2 ? samples.get(2).lag() : 0);
+        // A subscriber not sent anything for a while is only stalled if it has events to be sent
+        metricsService
+                .get(MediatorSubscriberStallMax)
+                .set(samples.stream()
+                        .filter(sample -> sample.lag() > 0)
+                        .mapToLong(SubscriberStats::millisSinceLastSend)
+                        .max()
+                        .orElse(0));
+    }
+
     @Override
     public void notifyUnrecoverableError() {
 
@@ -15,11 +15,21 @@ import com.swirlds.config.api.ConfigProperty;
  *                       events.
  * @param type use a predefined type string to replace the mediator component implementation.
  *  Non-PRODUCTION values should only be used for troubleshooting and development purposes.
+ * @param maxInFlightBytes the maximum number of block item bytes published to the ring buffer and
+ *                         not yet consumed by every subscriber; publishing waits above it.
+ * @param relayCount the number of relays serving the live stream consumers from the ring buffer,
+ *                   each through a secondary ring buffer of its own; 0 to subscribe each consumer
+ *                   to the ring buffer itself.
+ * @param relayRingBufferSize the number of "slots" of the secondary ring buffer of each relay; a
+ *                            consumer this many events behind its relay is unsubscribed.
  */
 @ConfigData("mediator")
 public record MediatorConfig(
         @Loggable @ConfigProperty(defaultValue = "1_048_576") int ringBufferSize,
-        @Loggable @ConfigProperty(defaultValue = "PRODUCTION") MediatorType type) {
+        @Loggable @ConfigProperty(defaultValue = "PRODUCTION") MediatorType type,
+        @Loggable @ConfigProperty(defaultValue = "1_073_741_824") long maxInFlightBytes,
+        @Loggable @ConfigProperty(defaultValue = "4") int relayCount,
+        @Loggable @ConfigProperty(defaultValue = "4_096") int relayRingBufferSize) {
 
     /**
      * Validate the configuration.
@@ -29,6 +39,10 @@ public record MediatorConfig(
     public MediatorConfig {
         Preconditions.requirePositive(ringBufferSize, "Mediator Ring Buffer Size must be positive");
         Preconditions.requirePowerOfTwo(ringBufferSize, "Mediator Ring Buffer Size must be a power of 2");
+        Preconditions.requirePositive(maxInFlightBytes, "Mediator Max In Flight Bytes must be positive");
+        Preconditions.requireWhole(relayCount, "Mediator Relay Count must not be negative");
+        Preconditions.requirePositive(relayRingBufferSize, "Mediator Relay Ring Buffer Size must be positive");
+        Preconditions.requirePowerOfTwo(relayRingBufferSize, "Mediator Relay Ring Buffer Size must be a power of 2");
     }
 
     /**
@@ -0,0 +1,146 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.mediator;
+
+import com.hedera.block.server.events.ObjectEvent;
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.Sequence;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wraps the handler of a subscriber to count the items and bytes it is sent, so its throughput
+ * and lag can be sampled from another thread.
+ *
+ * <p>The counters are written only by the thread of the subscriber's batch event processor, and
+ * the previous sample only by the sampling thread, so neither needs locking.
+ *
+ * @param <V> the type of the subscription events
+ */
+final class MeteredEventHandler<V> implements EventHandler<ObjectEvent<V>> {
+
+    private final EventHandler<ObjectEvent<V>> handler;
+    private final String name;
+    private final Runnable consumed;
+    private Sequence sequence;
+    // The event sent to the handler, holding the value read once from the slot of the ring buffer
+    private final ObjectEvent<V> sent = new ObjectEvent<>();
+
+    private volatile long items;
+    private volatile long bytes;
+    private volatile long lastSendNanos;
+
+    private long sampledItems;
+    private long sampledBytes;
+    private long sampledNanos;
+
+    /**
+     * Constructor.
+     *
+     * @param handler the handler of the subscriber
+     * @param name the name of the subscriber
+     * @param nanos the time the subscriber subscribes, from {@link System#nanoTime()}
+     * @param consumed run once the subscriber has passed the events of a batch
+     */
+    MeteredEventHandler(
+            @NonNull final EventHandler<ObjectEvent<V>> handler,
+            @NonNull final String name,
+            final long nanos,
+            @NonNull final Runnable consumed) {
+        this.handler = Objects.requireNonNull(handler);
+        this.name = Objects.requireNonNull(name);
+        this.consumed = Objects.requireNonNull(consumed);
+        this.lastSendNanos = nanos;
+        this.sampledNanos = nanos;
+    }
+
+    /**
+     * Sets the sequence of the batch event processor running the handler, before the processor
+     * is started and the handler is sampled.
+     *
+     * @param sequence the sequence of the processor
+     */
+    void setSequence(@NonNull final Sequence sequence) {
+        this.sequence = Objects.requireNonNull(sequence);
+    }
+
+    @Override
+    public void onEvent(final ObjectEvent<V> event, final long sequence, final boolean endOfBatch)
+            throws Exception {
+        // Only a subscriber already removed, finishing its batch, can be sent a slot released by
+        // the mediator once every remaining subscriber passed it. The value is read once, so the
+        // handler is sent the value checked even if the slot is released meanwhile.
+        final V value = event.get();
+        if (value != null) {
+            sent.set(value, event.itemCount(), event.byteCount(), sequence);
+            try {
+                handler.onEvent(sent, sequence, endOfBatch);
+            } finally {
+                sent.clear(sequence);
+            }
+            items += sent.itemCount();
+            bytes += sent.byteCount();
+            lastSendNanos = System.nanoTime();
+        }
+        if (endOfBatch) {
+            // Passed the batch before the processor does, so those waiting on its slots can be
+            // told now
+            this.sequence.set(sequence);
+            consumed.run();
+        }
+    }
+
+    @Override
+    public void onBatchStart(final long batchSize, final long queueDepth) {
+        handler.onBatchStart(batchSize, queueDepth);
+    }
+
+    @Override
+    public void onStart() {
+        handler.onStart();
+    }
+
+    @Override
+    public void onShutdown() {
+        handler.onShutdown();
+    }
+
+    @Override
+    public void onTimeout(final long sequence) throws Exception {
+        handler.onTimeout(sequence);
+    }
+
+    /**
+     * Returns the last sequence the subscriber has passed.
+     *
+     * @return the sequence of the processor running the handler
+     */
+    long sequence() {
+        return sequence.get();
+    }
+
+    /**
+     * Samples the lag and throughput of the subscriber. Must be called from a single thread at a
+     * time, as the rates are computed against the previous sample.
+     *
+     * @param lag the number of events published the subscriber has not yet passed
+     * @param nanos the current time, from {@link System#nanoTime()}
+     * @return the sample
+     */
+    @NonNull
+    SubscriberStats sample(final long lag, final long nanos) {
+        final long currentItems = items;
+        final long currentBytes = bytes;
+        final double seconds = (nanos - sampledNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+        final SubscriberStats stats = new SubscriberStats(
+                name,
+                Math.max(0, lag),
+                seconds > 0 ? (currentItems - sampledItems) / seconds : 0,
+                seconds > 0 ? (currentBytes - sampledBytes) / seconds : 0,
+                TimeUnit.NANOSECONDS.toMillis(nanos - lastSendNanos));
+        sampledItems = currentItems;
+        sampledBytes = currentBytes;
+        sampledNanos = nanos;
+        return stats;
+    }
+}
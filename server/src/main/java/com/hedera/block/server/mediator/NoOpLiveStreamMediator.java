@@ -62,8 +62,17 @@ public class NoOpLiveStreamMediator implements LiveStreamMediator {
     /**
      * {@inheritDoc}
      */
+    @NonNull
     @Override
-    public void unsubscribeAllExpired() {}
+    public List<SubscriberStats> subscriberStats() {
+        return List.of();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void shutdown() {}
 
     /**
      * {@inheritDoc}
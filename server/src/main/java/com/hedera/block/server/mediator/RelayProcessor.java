@@ -0,0 +1,259 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.mediator;
+
+import com.hedera.block.server.events.ObjectEvent;
+import com.lmax.disruptor.BatchEventProcessor;
+import com.lmax.disruptor.BatchEventProcessorBuilder;
+import com.lmax.disruptor.BlockingWaitStrategy;
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.Sequence;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Relays the events of the ring buffer of a {@link SubscriptionHandlerBase} to a group of
+ * subscribers through a secondary ring buffer of its own. The ring buffer is only gated by the
+ * sequence of the relay, however many subscribers the group has, and subscribing or unsubscribing
+ * only changes the gating sequences of the secondary ring buffer.
+ *
+ * <p>A subscriber still holding the secondary ring buffer full when the next event is relayed is
+ * handed to the relay's callback to be unsubscribed, so it holds back neither the other
+ * subscribers of the group nor the ring buffer. The values relayed are retained for the secondary
+ * ring buffer and released once every subscriber of the group has passed them, or once the relay
+ * is halted.
+ *
+ * @param <V> the type of the subscription events
+ */
+final class RelayProcessor<V> implements EventHandler<ObjectEvent<V>> {
+
+    private final RingBuffer<ObjectEvent<V>> ringBuffer;
+    private final UnaryOperator<V> retain;
+    private final Consumer<V> release;
+    private final Consumer<BatchEventProcessor<ObjectEvent<V>>> onSlowSubscriber;
+    // The sequence of the relayed ring buffer each slot of the secondary ring buffer was relayed
+    // from, written before the slot is published
+    private final long[] sourceSequences;
+    private final int mask;
+
+    // The relayed ring buffer, and the processor and sequence of the relay on it
+    private RingBuffer<ObjectEvent<V>> source;
+    private BatchEventProcessor<ObjectEvent<V>> processor;
+    private Sequence sequence;
+
+    private final Set<BatchEventProcessor<ObjectEvent<V>>> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    // The bytes of the values relayed and not yet released
+    private final AtomicLong retainedBytes = new AtomicLong();
+    private final ReentrantLock releaseLock = new ReentrantLock();
+    // Guarded by releaseLock, the last sequence of the secondary ring buffer whose slot was released
+    private long releasedSequence = -1;
+
+    /**
+     * Constructor.
+     *
+     * @param ringBufferSize the size of the secondary ring buffer
+     * @param retain takes a reference to a value relayed, kept until the value is released
+     * @param release releases the reference to a value taken when it was relayed
+     * @param onSlowSubscriber called, from the thread of the relay, with the processor of each
+     *     subscriber holding the secondary ring buffer full, to unsubscribe it
+     */
+    RelayProcessor(
+            final int ringBufferSize,
+            @NonNull final UnaryOperator<V> retain,
+            @NonNull final Consumer<V> release,
+            @NonNull final Consumer<BatchEventProcessor<ObjectEvent<V>>> onSlowSubscriber) {
+        // The relay is the only publisher of the secondary ring buffer
+        this.ringBuffer = RingBuffer.createSingleProducer(ObjectEvent::new, ringBufferSize, new BlockingWaitStrategy());
+        this.retain = Objects.requireNonNull(retain);
+        this.release = Objects.requireNonNull(release);
+        this.onSlowSubscriber = Objects.requireNonNull(onSlowSubscriber);
+        this.sourceSequences = new long[ringBufferSize];
+        this.mask = ringBufferSize - 1;
+    }
+
+    /**
+     * Subscribes the relay to the given ring buffer, from its cursor, running it on the executor.
+     *
+     * @param source the ring buffer to relay
+     * @param executor the executor to run the relay on
+     */
+    void start(@NonNull final RingBuffer<ObjectEvent<V>> source, @NonNull final Executor executor) {
+        this.source = source;
+        processor = new BatchEventProcessorBuilder().build(source, source.newBarrier(), this);
+        sequence = processor.getSequence();
+        source.addGatingSequences(sequence);
+        executor.execute(processor);
+    }
+
+    /**
+     * Stops relaying, removing the sequence of the relay from the relayed ring buffer. The values
+     * relayed are released once the relay has handled its last batch. The subscribers are to be
+     * unsubscribed first.
+     */
+    void halt() {
+        processor.halt();
+        source.removeGatingSequence(sequence);
+    }
+
+    /**
+     * Subscribes a handler to the events relayed, from the cursor of the secondary ring buffer. The
+     * processor returned is to be run by the caller.
+     *
+     * @param handler the handler to subscribe
+     * @return the processor of the handler
+     */
+    @NonNull
+    BatchEventProcessor<ObjectEvent<V>> subscribe(@NonNull final EventHandler<ObjectEvent<V>> handler) {
+        final BatchEventProcessor<ObjectEvent<V>> processor =
+                new BatchEventProcessorBuilder().build(ringBuffer, ringBuffer.newBarrier(), handler);
+        ringBuffer.addGatingSequences(processor.getSequence());
+        subscribers.add(processor);
+        subscriberCount.incrementAndGet();
+        return processor;
+    }
+
+    /**
+     * Unsubscribes the halted processor of a handler from the events relayed.
+     *
+     * @param processor the processor of the handler
+     */
+    void unsubscribe(@NonNull final BatchEventProcessor<ObjectEvent<V>> processor) {
+        subscribers.remove(processor);
+        if (ringBuffer.removeGatingSequence(processor.getSequence())) {
+            subscriberCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * Relays the event to the secondary ring buffer. If it is full, the subscribers holding it
+     * full are handed to the callback to be unsubscribed first, the relay waiting for them if
+     * they are not.
+     */
+    @Override
+    public void onEvent(final ObjectEvent<V> event, final long l, final boolean b) {
+        final V value = event.get();
+        if (value == null) {
+            return;
+        }
+        if (!ringBuffer.hasAvailableCapacity(1)) {
+            unsubscribeSlowest();
+        }
+        final long relayedSequence = ringBuffer.next();
+        try {
+            sourceSequences[(int) (relayedSequence & mask)] = l;
+            final ObjectEvent<V> slot = ringBuffer.get(relayedSequence);
+            final V replacedValue;
+            final long replacedBytes;
+            // The slot is locked by its own methods, so the value replaced is the one counted
+            synchronized (slot) {
+                replacedValue = slot.get();
+                replacedBytes = slot.set(retain.apply(value), event.itemCount(), event.byteCount(), relayedSequence);
+            }
+            retainedBytes.addAndGet(event.byteCount() - replacedBytes);
+            if (replacedValue != null) {
+                release.accept(replacedValue);
+            }
+        } finally {
+            ringBuffer.publish(relayedSequence);
+        }
+        releaseConsumedSlots();
+    }
+
+    /**
+     * Releases every value still retained once the relay has handled its last batch.
+     */
+    @Override
+    public void onShutdown() {
+        releaseConsumedSlots();
+    }
+
+    private void unsubscribeSlowest() {
+        final long slowest = ringBuffer.getMinimumGatingSequence();
+        for (final BatchEventProcessor<ObjectEvent<V>> subscriber : subscribers) {
+            if (subscriber.getSequence().get() <= slowest) {
+                onSlowSubscriber.accept(subscriber);
+            }
+        }
+    }
+
+    /**
+     * Releases the values of the slots of the secondary ring buffer every subscriber of the group
+     * has passed. The slots are released by one thread at a time; the others skip the release.
+     */
+    void releaseConsumedSlots() {
+        if (!releaseLock.tryLock()) {
+            return;
+        }
+        try {
+            // Every subscriber has passed this sequence, or the cursor if there are no subscribers
+            final long consumedSequence = ringBuffer.getMinimumGatingSequence();
+            long releasedBytes = 0;
+            while (releasedSequence < consumedSequence) {
+                final long relayedSequence = releasedSequence + 1;
+                final ObjectEvent<V> slot = ringBuffer.get(relayedSequence);
+                // The slot was claimed but its value is not set yet, it is released later
+                if (slot.sequence() < relayedSequence) {
+                    break;
+                }
+                final V releasedValue;
+                synchronized (slot) {
+                    releasedValue = slot.sequence() == relayedSequence ? slot.get() : null;
+                    releasedBytes += slot.clear(relayedSequence);
+                }
+                if (releasedValue != null) {
+                    release.accept(releasedValue);
+                }
+                releasedSequence = relayedSequence;
+            }
+            retainedBytes.addAndGet(-releasedBytes);
+        } finally {
+            releaseLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the number of subscribers of the group.
+     *
+     * @return the number of subscribers
+     */
+    int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    /**
+     * Returns the bytes of the values relayed and not yet released.
+     *
+     * @return the bytes retained
+     */
+    long retainedBytes() {
+        return retainedBytes.get();
+    }
+
+    /**
+     * Returns the last sequence of the relayed ring buffer a subscriber of the group has passed,
+     * so its lag is counted in events of the relayed ring buffer.
+     *
+     * @param subscriberSequence the sequence of the subscriber on the secondary ring buffer
+     * @return the sequence of the relayed ring buffer passed by the subscriber
+     */
+    long sourceSequence(final long subscriberSequence) {
+        // The slots up to the cursor were written before it was published
+        final long cursor = ringBuffer.getCursor();
+        if (subscriberSequence < cursor) {
+            // The next slot is kept until the subscriber passes it
+            return sourceSequences[(int) ((subscriberSequence + 1) & mask)] - 1;
+        }
+        // Caught up with the relay, which may have passed events it did not relay
+        final long relayed = cursor < 0 ? -1 : sourceSequences[(int) (cursor & mask)];
+        return Math.max(relayed, sequence.get());
+    }
+}
@@ -0,0 +1,29 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.mediator;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.Objects;
+
+/**
+ * A sample of how a subscriber of the ring buffer keeps up with the events published to it.
+ *
+ * @param subscriber the name of the subscriber
+ * @param lag the number of events published to the ring buffer the subscriber has not yet handled
+ * @param itemsPerSecond the number of items handled per second since the previous sample
+ * @param bytesPerSecond the number of bytes handled per second since the previous sample
+ * @param millisSinceLastSend the time in milliseconds since the subscriber last handled an event,
+ *     or since it subscribed if it has not handled any
+ */
+public record SubscriberStats(
+        @NonNull String subscriber,
+        long lag,
+        double itemsPerSecond,
+        double bytesPerSecond,
+        long millisSinceLastSend) {
+    /**
+     * Constructor.
+     */
+    public SubscriberStats {
+        Objects.requireNonNull(subscriber);
+    }
+}
@@ -34,7 +34,4 @@ public interface SubscriptionHandler<V> {
      * @return true if the handler is subscribed, false otherwise
      */
     boolean isSubscribed(@NonNull final BlockNodeEventHandler<ObjectEvent<V>> handler);
-
-    /** Unsubscribes all the expired handlers from the stream of events. */
-    void unsubscribeAllExpired();
 }
@@ -1,6 +1,8 @@
 // SPDX-License-Identifier: Apache-2.0
 package com.hedera.block.server.mediator;
 
+import static java.lang.System.Logger.Level.WARNING;
+
 import com.hedera.block.server.events.BlockNodeEventHandler;
 import com.hedera.block.server.events.ObjectEvent;
 import com.lmax.disruptor.BatchEventProcessor;
@@ -10,9 +12,14 @@ import com.lmax.disruptor.dsl.Disruptor;
 import com.lmax.disruptor.util.DaemonThreadFactory;
 import com.swirlds.metrics.api.LongGauge;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Inherit from this class to leverage RingBuffer subscription handling.
@@ -20,10 +27,19 @@ import java.util.concurrent.Executors;
  * <p>Subclasses may use the ringBuffer to publish events to the subscribers. This base class
  * contains the logic to manage subscriptions to the ring buffer.
  *
+ * <p>The handlers which may be relayed are served by a small fixed number of relays, each
+ * subscribed to the ring buffer and serving a group of handlers through a secondary ring buffer of
+ * its own. The gating sequences of the ring buffer are then those of the relays and of the other
+ * handlers, so the cost of publishing does not grow with the number of relayed handlers, and
+ * subscribing or unsubscribing them never changes them. A relayed handler too slow to keep up
+ * with its relay is unsubscribed, rather than holding back the other handlers of its relay.
+ *
  * @param <V> the type of the subscription events
  */
 public abstract class SubscriptionHandlerBase<V> implements SubscriptionHandler<V> {
 
+    private static final System.Logger LOGGER = System.getLogger(SubscriptionHandlerBase.class.getName());
+
     private final Map<BlockNodeEventHandler<ObjectEvent<V>>, BatchEventProcessor<ObjectEvent<V>>> subscribers;
 
     /** The ring buffer to publish events to the subscribers. */
@@ -31,6 +47,16 @@ public abstract class SubscriptionHandlerBase<V> implements SubscriptionHandler<
 
     private final LongGauge subscriptionGauge;
     private final ExecutorService executor;
+    private final Map<BlockNodeEventHandler<ObjectEvent<V>>, MeteredEventHandler<V>> meteredHandlers =
+            new ConcurrentHashMap<>();
+    private final AtomicLong subscriptionIds = new AtomicLong();
+
+    private final int relayCount;
+    private final int relayRingBufferSize;
+    // Started as the relayed handlers subscribe, up to the relay count, and halted on shutdown
+    private final List<RelayProcessor<V>> relays = new CopyOnWriteArrayList<>();
+    private final Map<BlockNodeEventHandler<ObjectEvent<V>>, RelayProcessor<V>> relayedHandlers =
+            new ConcurrentHashMap<>();
 
     /**
      * Constructs an abstract SubscriptionHandler instance with the given subscribers, block writer,
@@ -47,9 +73,31 @@ public abstract class SubscriptionHandlerBase<V> implements SubscriptionHandler<
             @NonNull final Map<BlockNodeEventHandler<ObjectEvent<V>>, BatchEventProcessor<ObjectEvent<V>>> subscribers,
             @NonNull final LongGauge subscriptionGauge,
             final int ringBufferSize) {
+        this(subscribers, subscriptionGauge, ringBufferSize, 0, 1);
+    }
+
+    /**
+     * Constructs an abstract SubscriptionHandler instance serving the handlers which may be relayed
+     * through the given number of relays.
+     *
+     * @param subscribers the map of subscribers to batch event processors. It's recommended the map
+     *     implementation is thread-safe
+     * @param subscriptionGauge the gauge to keep track of the number of subscribers
+     * @param ringBufferSize the size of the ring buffer
+     * @param relayCount the number of relays, 0 to subscribe every handler to the ring buffer
+     * @param relayRingBufferSize the size of the secondary ring buffer of each relay
+     */
+    protected SubscriptionHandlerBase(
+            @NonNull final Map<BlockNodeEventHandler<ObjectEvent<V>>, BatchEventProcessor<ObjectEvent<V>>> subscribers,
+            @NonNull final LongGauge subscriptionGauge,
+            final int ringBufferSize,
+            final int relayCount,
+            final int relayRingBufferSize) {
 
         this.subscribers = subscribers;
         this.subscriptionGauge = subscriptionGauge;
+        this.relayCount = relayCount;
+        this.relayRingBufferSize = relayRingBufferSize;
 
         // Initialize and start the disruptor
         final Disruptor<ObjectEvent<V>> disruptor =
@@ -67,15 +115,30 @@ public abstract class SubscriptionHandlerBase<V> implements SubscriptionHandler<
     public void subscribe(@NonNull final BlockNodeEventHandler<ObjectEvent<V>> handler) {
 
         if (!subscribers.containsKey(handler)) {
-            // Initialize the batch event processor and set it on the ring buffer
-            final var batchEventProcessor =
-                    new BatchEventProcessorBuilder().build(ringBuffer, ringBuffer.newBarrier(), handler);
-
-            ringBuffer.addGatingSequences(batchEventProcessor.getSequence());
+            // Initialize the batch event processor and set it on the ring buffer, metering what
+            // the handler is sent
+            final var meteredHandler = new MeteredEventHandler<>(
+                    handler,
+                    handler.getClass().getSimpleName() + "-" + subscriptionIds.incrementAndGet(),
+                    System.nanoTime(),
+                    this::onConsumed);
+            final BatchEventProcessor<ObjectEvent<V>> batchEventProcessor;
+            if (relayCount > 0 && handler.isRelayable()) {
+                // Served by a relay, leaving the gating sequences of the ring buffer as they are
+                final RelayProcessor<V> relay = selectRelay();
+                batchEventProcessor = relay.subscribe(meteredHandler);
+                relayedHandlers.put(handler, relay);
+            } else {
+                batchEventProcessor =
+                        new BatchEventProcessorBuilder().build(ringBuffer, ringBuffer.newBarrier(), meteredHandler);
+                ringBuffer.addGatingSequences(batchEventProcessor.getSequence());
+            }
+            meteredHandler.setSequence(batchEventProcessor.getSequence());
             executor.execute(batchEventProcessor);
 
             // Keep track of the subscriber
             subscribers.put(handler, batchEventProcessor);
+            meteredHandlers.put(handler, meteredHandler);
 
             // Update the subscriber metrics.
             subscriptionGauge.set(subscribers.size());
@@ -92,12 +155,18 @@ public abstract class SubscriptionHandlerBase<V> implements SubscriptionHandler<
 
         // Remove the subscriber
         final var batchEventProcessor = subscribers.remove(handler);
+        meteredHandlers.remove(handler);
         if (batchEventProcessor != null) {
             // Stop the processor
             batchEventProcessor.halt();
 
-            // Remove the gating sequence from the ring buffer
-            ringBuffer.removeGatingSequence(batchEventProcessor.getSequence());
+            // Remove the gating sequence from the ring buffer, or from the one of its relay
+            final RelayProcessor<V> relay = relayedHandlers.remove(handler);
+            if (relay != null) {
+                relay.unsubscribe(batchEventProcessor);
+            } else {
+                ringBuffer.removeGatingSequence(batchEventProcessor.getSequence());
+            }
         }
 
         // Update the subscriber metrics.
@@ -115,11 +184,130 @@ public abstract class SubscriptionHandlerBase<V> implements SubscriptionHandler<
         return subscribers.containsKey(handler);
     }
 
-    /** Unsubscribes all the expired handlers from the stream of events. */
-    @Override
-    public void unsubscribeAllExpired() {
-        subscribers.keySet().stream()
-                .filter(BlockNodeEventHandler::isTimeoutExpired)
-                .forEach(this::unsubscribe);
+    /**
+     * Samples the lag behind the ring buffer cursor and the throughput of each subscriber. The lag
+     * of a relayed subscriber is counted from the last sequence of the ring buffer it has passed
+     * through its relay. Must be called from a single thread at a time, as the throughput is
+     * measured since the previous sample.
+     *
+     * @return the samples, in no particular order
+     */
+    @NonNull
+    protected List<SubscriberStats> sampleSubscribers() {
+        final long cursor = ringBuffer.getCursor();
+        final long nanos = System.nanoTime();
+        final List<SubscriberStats> samples = new ArrayList<>(meteredHandlers.size());
+        for (final var entry : meteredHandlers.entrySet()) {
+            final RelayProcessor<V> relay = relayedHandlers.get(entry.getKey());
+            final MeteredEventHandler<V> meteredHandler = entry.getValue();
+            final long sequence =
+                    relay == null ? meteredHandler.sequence() : relay.sourceSequence(meteredHandler.sequence());
+            samples.add(meteredHandler.sample(cursor - sequence, nanos));
+        }
+        return samples;
+    }
+
+    /**
+     * Unsubscribes every handler, then halts the relays, removing their sequences from the ring
+     * buffer, and stops the threads running them once they are done.
+     */
+    public void shutdown() {
+        for (final BlockNodeEventHandler<ObjectEvent<V>> handler : List.copyOf(subscribers.keySet())) {
+            unsubscribe(handler);
+        }
+        synchronized (this) {
+            for (final RelayProcessor<V> relay : relays) {
+                relay.halt();
+            }
+            relays.clear();
+        }
+        executor.shutdown();
+    }
+
+    /**
+     * Called by the thread of a subscriber, directly or through its relay, once it has passed the
+     * events of a batch. Must return quickly, as it delays the subscriber.
+     */
+    protected void onConsumed() {}
+
+    /**
+     * Takes a reference to a value relayed to a group of subscribers, kept until it is released
+     * with {@link #releaseRelayed(Object)}. Values held on the heap need no reference.
+     *
+     * @param value the value relayed
+     * @return the given value
+     */
+    @NonNull
+    protected V retainRelayed(@NonNull final V value) {
+        return value;
+    }
+
+    /**
+     * Releases the reference to a value taken when it was relayed to a group of subscribers.
+     *
+     * @param value the value relayed
+     */
+    protected void releaseRelayed(@NonNull final V value) {}
+
+    /**
+     * Returns the bytes of the values held by the relays and not yet consumed by every subscriber
+     * of their group.
+     *
+     * @return the bytes retained by the relays
+     */
+    protected long relayedBytes() {
+        long bytes = 0;
+        for (final RelayProcessor<V> relay : relays) {
+            bytes += relay.retainedBytes();
+        }
+        return bytes;
+    }
+
+    /**
+     * Releases the values held by the relays which every subscriber of their group has passed.
+     */
+    protected void releaseRelayedSlots() {
+        for (final RelayProcessor<V> relay : relays) {
+            relay.releaseConsumedSlots();
+        }
+    }
+
+    /**
+     * Returns the relay to serve a new relayed handler, starting a new relay until there are as
+     * many as configured, and otherwise the relay serving the fewest handlers.
+     */
+    @NonNull
+    private synchronized RelayProcessor<V> selectRelay() {
+        if (relays.size() < relayCount) {
+            final RelayProcessor<V> relay = new RelayProcessor<>(
+                    relayRingBufferSize, this::retainRelayed, this::releaseRelayed, this::unsubscribeSlow);
+            relay.start(ringBuffer, executor);
+            relays.add(relay);
+            return relay;
+        }
+        RelayProcessor<V> selected = relays.getFirst();
+        for (final RelayProcessor<V> relay : relays) {
+            if (relay.subscriberCount() < selected.subscriberCount()) {
+                selected = relay;
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Unsubscribes the handler of a processor holding the secondary ring buffer of its relay full,
+     * so it holds back neither the other handlers of the relay nor the ring buffer.
+     */
+    private void unsubscribeSlow(@NonNull final BatchEventProcessor<ObjectEvent<V>> processor) {
+        for (final var entry : subscribers.entrySet()) {
+            if (entry.getValue() == processor) {
+                LOGGER.log(
+                        WARNING,
+                        "Unsubscribing {0}, too slow to keep up with its relay",
+                        entry.getKey().getClass().getSimpleName());
+                unsubscribe(entry.getKey());
+                return;
+            }
+        }
     }
 }
@@ -0,0 +1,61 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Keeps the time the header of each recent block was received, so the time later stages of the
+ * block are reached can be measured from it.
+ *
+ * <p>The times are kept in a ring indexed by block number, without locks or allocation. A block
+ * whose slot has been taken by a block {@value #CAPACITY} numbers later is no longer tracked.
+ */
+final class BlockLatencyTracker {
+    static final int CAPACITY = 1024;
+    private static final int MASK = CAPACITY - 1;
+
+    private final AtomicLongArray blockNumbers = new AtomicLongArray(CAPACITY);
+    private final AtomicLongArray headerNanos = new AtomicLongArray(CAPACITY);
+
+    BlockLatencyTracker() {
+        for (int i = 0; i < CAPACITY; i++) {
+            blockNumbers.setPlain(i, -1);
+        }
+    }
+
+    /**
+     * Records the time the header of a block was received. A header received again for a block
+     * already tracked, e.g. after a producer reconnects, keeps the time of the first one.
+     *
+     * @param blockNumber the number of the block
+     * @param nanos the time the header was received, from {@link System#nanoTime()}
+     */
+    void headerReceived(final long blockNumber, final long nanos) {
+        final int index = (int) (blockNumber & MASK);
+        if (blockNumbers.getAcquire(index) == blockNumber) {
+            return;
+        }
+        headerNanos.setRelease(index, nanos);
+        blockNumbers.setRelease(index, blockNumber);
+    }
+
+    /**
+     * Returns the time elapsed since the header of a block was received.
+     *
+     * @param blockNumber the number of the block
+     * @param nanos the current time, from {@link System#nanoTime()}
+     * @return the elapsed time in nanoseconds, or -1 if the block is not tracked
+     */
+    long sinceHeader(final long blockNumber, final long nanos) {
+        final int index = (int) (blockNumber & MASK);
+        if (blockNumbers.getAcquire(index) != blockNumber) {
+            return -1;
+        }
+        final long start = headerNanos.getAcquire(index);
+        // the slot may have been taken by a later block while reading it
+        if (blockNumbers.getAcquire(index) != blockNumber) {
+            return -1;
+        }
+        return nanos - start;
+    }
+}
@@ -44,6 +44,12 @@ public final class BlockNodeMetricTypes {
         /** The number of single blocks not found via the singleBlock rpc service. */
         SingleBlocksNotFound("single_blocks_not_found", "Single Blocks Not Found"),
 
+        /** The number of requests to the serverStatus rpc service. */
+        ServerStatusRequests("server_status_requests", "Server Status Requests"),
+
+        /** The number of blocks sent by the blockRange rpc service. */
+        RangeBlocksRetrieved("range_blocks_retrieved", "Range Blocks Retrieved"),
+
         /** The number of closed range historic blocks retrieved. */
         ClosedRangeHistoricBlocksRetrieved(
                 "closed_range_historic_blocks_retrieved", "Closed Range Historic Blocks Retrieved"),
@@ -65,6 +71,26 @@ public final class BlockNodeMetricTypes {
         /** The time in nanoseconds taken to verify a block */
         VerificationBlockTime("verification_block_time", "Block Verification Time"),
 
+        // Scrubber counters
+
+        /** The number of stored blocks re-verified successfully by the scrubber. */
+        ScrubberBlocksVerified("scrubber_blocks_verified", "Stored Blocks Verified by Scrubber"),
+
+        /** The number of stored blocks the scrubber found to be unreadable, malformed or invalid. */
+        ScrubberBlocksFailed("scrubber_blocks_failed", "Stored Blocks Failed Scrubbing"),
+
+        /** The number of stored block bytes read by the scrubber. */
+        ScrubberBytesRead("scrubber_bytes_read", "Stored Block Bytes Read by Scrubber"),
+
+        /** The number of full passes over the stored blocks completed by the scrubber. */
+        ScrubberPassesCompleted("scrubber_passes_completed", "Scrubber Passes Completed"),
+
+        /** The number of historic streams refused or stopped to protect the live path. */
+        HistoricStreamsShed("historic_streams_shed", "Historic Streams Shed"),
+
+        /** The number of batches of block items kept on the heap as the payload arena was full. */
+        PayloadArenaFallbacks("payload_arena_fallbacks", "Payload Arena Fallbacks"),
+
         // Error counters
 
         /** The number of errors encountered by the live block stream mediator. */
@@ -124,9 +150,51 @@ public final class BlockNodeMetricTypes {
         MediatorRingBufferRemainingCapacity(
                 "mediator_ring_buffer_remaining_capacity", "Mediator Ring Buffer Remaining Capacity"),
 
+        /** The number of events the most lagging live stream subscriber is behind the ring buffer cursor. */
+        MediatorSubscriberLagWorst1("mediator_subscriber_lag_worst_1", "Mediator Subscriber Lag, Worst"),
+
+        /** The number of events the second most lagging live stream subscriber is behind the cursor. */
+        MediatorSubscriberLagWorst2("mediator_subscriber_lag_worst_2", "Mediator Subscriber Lag, Second Worst"),
+
+        /** The number of events the third most lagging live stream subscriber is behind the cursor. */
+        MediatorSubscriberLagWorst3("mediator_subscriber_lag_worst_3", "Mediator Subscriber Lag, Third Worst"),
+
+        /** The longest time in milliseconds a lagging live stream subscriber has not been sent an event. */
+        MediatorSubscriberStallMax("mediator_subscriber_stall_max", "Mediator Subscriber Longest Stall (ms)"),
+
+        /** The bytes of the block items held by the ring buffer and not yet consumed by every subscriber. */
+        MediatorRetainedBytes("mediator_retained_bytes", "Mediator Retained Bytes"),
+
+        /** The number of ring buffer slots holding block items not yet consumed by every subscriber. */
+        MediatorRetainedEvents("mediator_retained_events", "Mediator Retained Events"),
+
+        /** The bytes of the payload arena pages holding block items. */
+        PayloadArenaUsedBytes("payload_arena_used_bytes", "Payload Arena Used Bytes"),
+
         /** The amount of capacity remaining in the notifier ring buffer. */
         NotifierRingBufferRemainingCapacity(
-                "notifier_ring_buffer_remaining_capacity", "Notifier Ring Buffer Remaining Capacity");
+                "notifier_ring_buffer_remaining_capacity", "Notifier Ring Buffer Remaining Capacity"),
+
+        /** The number of verification session tasks waiting for a worker thread */
+        VerificationQueueDepth("verification_queue_depth", "Verification Queue Depth"),
+
+        /** The number of block verification sessions in progress */
+        VerificationActiveSessions("verification_active_sessions", "Verification Active Sessions"),
+
+        /** The time in nanoseconds taken to verify the last block */
+        VerificationBlockLatency("verification_block_latency", "Last Block Verification Latency"),
+
+        /** The next block number the storage scrubber will verify */
+        ScrubberCursor("scrubber_cursor", "Scrubber Next Block Number"),
+
+        /** The number of block writers persisting or waiting to persist a block */
+        PersistenceWriterBacklog("persistence_writer_backlog", "Persistence Writer Backlog"),
+
+        /** The number of historic streams admitted and sending blocks */
+        HistoricStreamsActive("historic_streams_active", "Historic Streams Active"),
+
+        /** The number of historic streams waiting to be admitted */
+        HistoricStreamsQueued("historic_streams_queued", "Historic Streams Queued");
 
         private final String grafanaLabel;
         private final String description;
@@ -149,6 +217,50 @@ public final class BlockNodeMetricTypes {
         }
     }
 
+    /**
+     * Add new latency histograms to this enum to automatically register them with the metrics
+     * service.
+     *
+     * <p>Each enum value should have a unique grafana label and meaningful description. The
+     * percentiles of the latencies recorded between two metric updates are published as gauges
+     * named after the label, with the suffixes {@code _p50}, {@code _p90}, {@code _p99},
+     * {@code _p999} and {@code _max}.
+     */
+    public enum Histogram implements MetricMetadata {
+
+        /** The time in nanoseconds from the block header being received to the block being persisted */
+        BlockPersistedLatency("block_persisted_latency", "Block Header Received To Persisted Latency"),
+
+        /** The time in nanoseconds from the block header being received to the block being verified */
+        BlockVerifiedLatency("block_verified_latency", "Block Header Received To Verified Latency"),
+
+        /** The time in nanoseconds from the block header being received to the block being acknowledged */
+        BlockAcknowledgedLatency("block_acknowledged_latency", "Block Header Received To Acknowledged Latency"),
+
+        /** The time in nanoseconds taken by a verification session to verify its block */
+        VerificationLatency("verification_latency", "Block Verification Latency");
+
+        private final String grafanaLabel;
+        private final String description;
+
+        Histogram(String grafanaLabel, String description) {
+            this.grafanaLabel = grafanaLabel;
+            this.description = description;
+        }
+
+        @Override
+        @NonNull
+        public String grafanaLabel() {
+            return grafanaLabel;
+        }
+
+        @Override
+        @NonNull
+        public String description() {
+            return description;
+        }
+    }
+
     private interface MetricMetadata {
         String grafanaLabel();
 
@@ -0,0 +1,36 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.metrics;
+
+/**
+ * The stages a block goes through in the block node, in the order they are normally reached.
+ *
+ * <p>The time each stage is reached is measured from the time the header of the block was
+ * received, and recorded in the latency histogram of the stage.
+ */
+public enum BlockStage {
+    /** The block header was received from a producer. */
+    HEADER_RECEIVED(null),
+
+    /** The block was written to storage. */
+    PERSISTED(BlockNodeMetricTypes.Histogram.BlockPersistedLatency),
+
+    /** The block hash and signature were verified. */
+    VERIFIED(BlockNodeMetricTypes.Histogram.BlockVerifiedLatency),
+
+    /** The block was acknowledged to the producers. */
+    ACKNOWLEDGED(BlockNodeMetricTypes.Histogram.BlockAcknowledgedLatency);
+
+    private final BlockNodeMetricTypes.Histogram latencyHistogram;
+
+    BlockStage(final BlockNodeMetricTypes.Histogram latencyHistogram) {
+        this.latencyHistogram = latencyHistogram;
+    }
+
+    /**
+     * @return the histogram of the time from the block header being received to this stage, or
+     * null for {@link #HEADER_RECEIVED}
+     */
+    BlockNodeMetricTypes.Histogram latencyHistogram() {
+        return latencyHistogram;
+    }
+}
@@ -0,0 +1,157 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.metrics;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Records the time and thread at which each recent block enters and exits each
+ * {@link BlockTraceStage} of the pipeline.
+ *
+ * <p>The traces are kept in a ring indexed by block number. A block takes its slot over from the
+ * block {@value #CAPACITY} numbers earlier with a single CAS, so recording never locks; events of a
+ * block whose slot has been taken by a later block are dropped.
+ */
+@Singleton
+public final class BlockTraceRecorder {
+    /** The number of most recent blocks traced. */
+    public static final int CAPACITY = 1024;
+
+    private static final int MASK = CAPACITY - 1;
+    private static final int STAGE_COUNT = BlockTraceStage.values().length;
+
+    private final AtomicReferenceArray<Trace> traces = new AtomicReferenceArray<>(CAPACITY);
+
+    /**
+     * Constructor.
+     */
+    @Inject
+    public BlockTraceRecorder() {}
+
+    /**
+     * Records that a block enters a stage, on the current thread.
+     *
+     * @param blockNumber the number of the block
+     * @param stage the stage entered
+     */
+    public void enter(final long blockNumber, @NonNull final BlockTraceStage stage) {
+        record(blockNumber, stage.ordinal() * 2);
+    }
+
+    /**
+     * Records that a block exits a stage, on the current thread.
+     *
+     * @param blockNumber the number of the block
+     * @param stage the stage exited
+     */
+    public void exit(final long blockNumber, @NonNull final BlockTraceStage stage) {
+        record(blockNumber, stage.ordinal() * 2 + 1);
+    }
+
+    /**
+     * Returns the traces of the highest numbered blocks traced.
+     *
+     * @param count the maximum number of blocks to return
+     * @return the traces, highest block number first
+     */
+    @NonNull
+    public List<BlockTrace> lastBlocks(final int count) {
+        final List<Trace> recent = new ArrayList<>(CAPACITY);
+        for (int i = 0; i < CAPACITY; i++) {
+            final Trace trace = traces.get(i);
+            if (trace != null) {
+                recent.add(trace);
+            }
+        }
+        recent.sort(Comparator.comparingLong((Trace trace) -> trace.blockNumber).reversed());
+        return recent.stream().limit(count).map(Trace::snapshot).toList();
+    }
+
+    private void record(final long blockNumber, final int event) {
+        final long nanos = System.nanoTime();
+        final Trace trace = traceOf(blockNumber);
+        if (trace != null) {
+            trace.nanos.set(event, nanos);
+            trace.threads.set(event, Thread.currentThread().getName());
+        }
+    }
+
+    private Trace traceOf(final long blockNumber) {
+        final int index = (int) (blockNumber & MASK);
+        Trace trace = traces.get(index);
+        while (trace == null || trace.blockNumber < blockNumber) {
+            final Trace claimed = new Trace(blockNumber);
+            if (traces.compareAndSet(index, trace, claimed)) {
+                return claimed;
+            }
+            trace = traces.get(index);
+        }
+        return trace.blockNumber == blockNumber ? trace : null;
+    }
+
+    /**
+     * The trace of a block, whose events are each written once by the thread reaching them. The
+     * thread name is written after the time, so an event with a thread has its time set.
+     */
+    private static final class Trace {
+        private final long blockNumber;
+        private final AtomicLongArray nanos = new AtomicLongArray(STAGE_COUNT * 2);
+        private final AtomicReferenceArray<String> threads = new AtomicReferenceArray<>(STAGE_COUNT * 2);
+
+        private Trace(final long blockNumber) {
+            this.blockNumber = blockNumber;
+        }
+
+        private BlockTrace snapshot() {
+            final List<StageTrace> stages = new ArrayList<>(STAGE_COUNT);
+            for (final BlockTraceStage stage : BlockTraceStage.values()) {
+                final int enter = stage.ordinal() * 2;
+                final String enterThread = threads.get(enter);
+                final String exitThread = threads.get(enter + 1);
+                if (enterThread != null || exitThread != null) {
+                    stages.add(new StageTrace(
+                            stage,
+                            enterThread == null ? null : nanos.get(enter),
+                            enterThread,
+                            exitThread == null ? null : nanos.get(enter + 1),
+                            exitThread));
+                }
+            }
+            return new BlockTrace(blockNumber, stages);
+        }
+    }
+
+    /**
+     * The trace of a block.
+     *
+     * @param blockNumber the number of the block
+     * @param stages the stages the block entered or exited, in pipeline order
+     */
+    public record BlockTrace(long blockNumber, @NonNull List<StageTrace> stages) {
+        /**
+         * Constructor.
+         */
+        public BlockTrace {
+            Objects.requireNonNull(stages);
+        }
+    }
+
+    /**
+     * The trace of a block through a stage.
+     *
+     * @param stage the stage
+     * @param enterNanos the {@link System#nanoTime()} at which the block entered the stage, or null
+     * @param enterThread the name of the thread the block entered the stage on, or null
+     * @param exitNanos the {@link System#nanoTime()} at which the block exited the stage, or null
+     * @param exitThread the name of the thread the block exited the stage on, or null
+     */
+    public record StageTrace(
+            @NonNull BlockTraceStage stage, Long enterNanos, String enterThread, Long exitNanos, String exitThread) {}
+}
@@ -0,0 +1,26 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.metrics;
+
+/**
+ * The stages of the block pipeline whose enter and exit times are traced per block, to find which
+ * stage held up a block that was slow to be acknowledged.
+ */
+public enum BlockTraceStage {
+    /** From the producer publishing the block header to the persistence handler receiving it. */
+    MEDIATOR,
+
+    /** From the block writer being submitted to it starting to run. */
+    WRITER_QUEUE,
+
+    /** From the block writer starting to run, waiting for the block items, to the block being written. */
+    WRITE,
+
+    /** From the verification session starting to the final block hash being computed. */
+    HASHING,
+
+    /** From the signature of the final block hash being submitted to it being verified. */
+    SIGNATURE,
+
+    /** From the block being both persisted and verified to it being acknowledged. */
+    ACK_ORDERING
+}
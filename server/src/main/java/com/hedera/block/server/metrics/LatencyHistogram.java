@@ -0,0 +1,122 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of latencies in nanoseconds, with buckets of logarithmic width in the
+ * manner of an HDR histogram.
+ *
+ * <p>Values below 32 have a bucket of their own. Above that, each power of two is split into 32
+ * buckets of equal width, so a value is known to within about 3% of itself. Recording increments
+ * a single bucket and never allocates; the percentiles of the values recorded since the previous
+ * flush are computed by {@link #flush()}.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_MASK = SUB_BUCKET_COUNT - 1;
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    // guarded by this, the bucket counts as of the previous flush
+    private final long[] flushedCounts = new long[BUCKET_COUNT];
+
+    /**
+     * Records a latency.
+     *
+     * @param latencyNanos the latency in nanoseconds, negative values are recorded as 0
+     */
+    public void record(final long latencyNanos) {
+        counts.getAndIncrement(bucketOf(Math.max(0, latencyNanos)));
+    }
+
+    /**
+     * Takes the values recorded since the previous flush. Values recorded while the flush is in
+     * progress are either part of this flush or of the next one.
+     *
+     * @return the snapshot of the values recorded since the previous flush
+     */
+    public synchronized Snapshot flush() {
+        final long[] intervalCounts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            final long count = counts.get(i);
+            intervalCounts[i] = count - flushedCounts[i];
+            flushedCounts[i] = count;
+            total += intervalCounts[i];
+        }
+        return new Snapshot(intervalCounts, total);
+    }
+
+    static int bucketOf(final long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        final int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((value >>> shift) & SUB_BUCKET_MASK);
+    }
+
+    static long highestValueOf(final int bucket) {
+        if (bucket < SUB_BUCKET_COUNT) {
+            return bucket;
+        }
+        final int shift = (bucket >>> SUB_BUCKET_BITS) - 1;
+        final long lowest = (long) (SUB_BUCKET_COUNT | (bucket & SUB_BUCKET_MASK)) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    /**
+     * The values recorded by a {@link LatencyHistogram} between two flushes. Each value is
+     * reported as the highest value of its bucket.
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long count;
+
+        private Snapshot(final long[] counts, final long count) {
+            this.counts = counts;
+            this.count = count;
+        }
+
+        /**
+         * @return the number of values in the snapshot
+         */
+        public long count() {
+            return count;
+        }
+
+        /**
+         * Returns the value below which the given percentage of the values fall.
+         *
+         * @param percentile the percentage of values, from 0 to 100
+         * @return the value at the percentile, or 0 if the snapshot is empty
+         */
+        public long valueAtPercentile(final double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            final long rank = Math.max(1, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return highestValueOf(i);
+                }
+            }
+            return max();
+        }
+
+        /**
+         * @return the highest value in the snapshot, or 0 if the snapshot is empty
+         */
+        public long max() {
+            for (int i = counts.length - 1; i >= 0; i--) {
+                if (counts[i] != 0) {
+                    return highestValueOf(i);
+                }
+            }
+            return 0;
+        }
+    }
+}
@@ -22,4 +22,45 @@ public interface MetricsService {
      * @return the gauge
      */
     LongGauge get(@NonNull final BlockNodeMetricTypes.Gauge key);
+
+    /**
+     * Use this method to get a specific latency histogram for the given metric type.
+     *
+     * @param key to get a specific histogram
+     * @return the histogram
+     */
+    LatencyHistogram get(@NonNull final BlockNodeMetricTypes.Histogram key);
+
+    /**
+     * Use this method to record that a block has reached a stage. The time elapsed since the
+     * header of the block was received is recorded in the latency histogram of the stage.
+     *
+     * @param blockNumber the number of the block
+     * @param stage the stage the block has reached
+     */
+    void markBlockStage(final long blockNumber, @NonNull final BlockStage stage);
+
+    /**
+     * Use this method to trace that a block enters a stage of the pipeline.
+     *
+     * @param blockNumber the number of the block
+     * @param stage the stage entered
+     */
+    void traceEnter(final long blockNumber, @NonNull final BlockTraceStage stage);
+
+    /**
+     * Use this method to trace that a block exits a stage of the pipeline.
+     *
+     * @param blockNumber the number of the block
+     * @param stage the stage exited
+     */
+    void traceExit(final long blockNumber, @NonNull final BlockTraceStage stage);
+
+    /**
+     * Use this method to run an update, such as sampling a value into a gauge, each time the
+     * metrics are about to be published.
+     *
+     * @param updater the update to run
+     */
+    void addUpdater(@NonNull final Runnable updater);
 }
@@ -6,6 +6,7 @@ import com.swirlds.metrics.api.LongGauge;
 import com.swirlds.metrics.api.Metrics;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.util.EnumMap;
+import java.util.List;
 import java.util.Objects;
 import javax.inject.Inject;
 
@@ -14,22 +15,48 @@ import javax.inject.Inject;
  *
  * <p>Metrics are updated by calling the appropriate method on the metric object instance. For
  * example, to increment a counter, call {@link Counter#increment()}.
+ *
+ * <p>Latency histograms are flushed on every update of the metrics: the percentiles of the
+ * latencies recorded since the previous update are published as gauges.
  */
 public final class MetricsServiceImpl implements MetricsService {
     private static final String CATEGORY = "hedera_block_node";
+    private static final List<Percentile> PERCENTILES = List.of(
+            new Percentile("_p50", "p50", 50.0),
+            new Percentile("_p90", "p90", 90.0),
+            new Percentile("_p99", "p99", 99.0),
+            new Percentile("_p999", "p99.9", 99.9));
     private final EnumMap<BlockNodeMetricTypes.Counter, Counter> counters =
             new EnumMap<>(BlockNodeMetricTypes.Counter.class);
     private final EnumMap<BlockNodeMetricTypes.Gauge, LongGauge> gauges =
             new EnumMap<>(BlockNodeMetricTypes.Gauge.class);
+    private final EnumMap<BlockNodeMetricTypes.Histogram, LatencyHistogram> histograms =
+            new EnumMap<>(BlockNodeMetricTypes.Histogram.class);
+    private final EnumMap<BlockNodeMetricTypes.Histogram, HistogramGauges> histogramGauges =
+            new EnumMap<>(BlockNodeMetricTypes.Histogram.class);
+    private final BlockLatencyTracker blockLatencyTracker = new BlockLatencyTracker();
+    private final BlockTraceRecorder blockTraceRecorder;
+    private final Metrics metrics;
+
+    /**
+     * Create an instance of metrics service with its own block trace recorder.
+     *
+     * @param metrics the metrics instance
+     */
+    public MetricsServiceImpl(@NonNull final Metrics metrics) {
+        this(metrics, new BlockTraceRecorder());
+    }
 
     /**
      * Create singleton instance of metrics service to be used throughout the application.
      *
      * @param metrics the metrics instance
+     * @param blockTraceRecorder the recorder of the traces of blocks through the pipeline
      */
     @Inject
-    public MetricsServiceImpl(@NonNull final Metrics metrics) {
-        Objects.requireNonNull(metrics);
+    public MetricsServiceImpl(@NonNull final Metrics metrics, @NonNull final BlockTraceRecorder blockTraceRecorder) {
+        this.metrics = Objects.requireNonNull(metrics);
+        this.blockTraceRecorder = Objects.requireNonNull(blockTraceRecorder);
         // Initialize the counters
         for (final BlockNodeMetricTypes.Counter counter : BlockNodeMetricTypes.Counter.values()) {
             counters.put(
@@ -45,6 +72,22 @@ public final class MetricsServiceImpl implements MetricsService {
                     metrics.getOrCreate(
                             new LongGauge.Config(CATEGORY, gauge.grafanaLabel()).withDescription(gauge.description())));
         }
+
+        // Initialize the histograms, and the gauges they are flushed to
+        for (final BlockNodeMetricTypes.Histogram histogram : BlockNodeMetricTypes.Histogram.values()) {
+            histograms.put(histogram, new LatencyHistogram());
+            final LongGauge[] percentiles = new LongGauge[PERCENTILES.size()];
+            for (int i = 0; i < percentiles.length; i++) {
+                final Percentile percentile = PERCENTILES.get(i);
+                percentiles[i] = metrics.getOrCreate(
+                        new LongGauge.Config(CATEGORY, histogram.grafanaLabel() + percentile.labelSuffix())
+                                .withDescription(histogram.description() + " " + percentile.description()));
+            }
+            final LongGauge max = metrics.getOrCreate(new LongGauge.Config(CATEGORY, histogram.grafanaLabel() + "_max")
+                    .withDescription(histogram.description() + " max"));
+            histogramGauges.put(histogram, new HistogramGauges(percentiles, max));
+        }
+        metrics.addUpdater(this::flushHistograms);
     }
 
     /**
@@ -70,4 +113,90 @@ public final class MetricsServiceImpl implements MetricsService {
     public LongGauge get(@NonNull final BlockNodeMetricTypes.Gauge key) {
         return gauges.get(Objects.requireNonNull(key));
     }
+
+    /**
+     * Use this method to get a specific latency histogram for the given metric type.
+     *
+     * @param key to get a specific histogram
+     * @return the histogram
+     */
+    @NonNull
+    @Override
+    public LatencyHistogram get(@NonNull final BlockNodeMetricTypes.Histogram key) {
+        return histograms.get(Objects.requireNonNull(key));
+    }
+
+    /**
+     * Use this method to record that a block has reached a stage. The time elapsed since the
+     * header of the block was received is recorded in the latency histogram of the stage.
+     *
+     * @param blockNumber the number of the block
+     * @param stage the stage the block has reached
+     */
+    @Override
+    public void markBlockStage(final long blockNumber, @NonNull final BlockStage stage) {
+        final long now = System.nanoTime();
+        if (Objects.requireNonNull(stage) == BlockStage.HEADER_RECEIVED) {
+            blockLatencyTracker.headerReceived(blockNumber, now);
+            return;
+        }
+        final long latency = blockLatencyTracker.sinceHeader(blockNumber, now);
+        if (latency >= 0) {
+            histograms.get(stage.latencyHistogram()).record(latency);
+        }
+    }
+
+    /**
+     * Use this method to trace that a block enters a stage of the pipeline.
+     *
+     * @param blockNumber the number of the block
+     * @param stage the stage entered
+     */
+    @Override
+    public void traceEnter(final long blockNumber, @NonNull final BlockTraceStage stage) {
+        blockTraceRecorder.enter(blockNumber, Objects.requireNonNull(stage));
+    }
+
+    /**
+     * Use this method to trace that a block exits a stage of the pipeline.
+     *
+     * @param blockNumber the number of the block
+     * @param stage the stage exited
+     */
+    @Override
+    public void traceExit(final long blockNumber, @NonNull final BlockTraceStage stage) {
+        blockTraceRecorder.exit(blockNumber, Objects.requireNonNull(stage));
+    }
+
+    /**
+     * Use this method to run an update, such as sampling a value into a gauge, each time the
+     * metrics are about to be published.
+     *
+     * @param updater the update to run
+     */
+    @Override
+    public void addUpdater(@NonNull final Runnable updater) {
+        metrics.addUpdater(Objects.requireNonNull(updater));
+    }
+
+    /**
+     * Publishes the percentiles of the latencies recorded since the previous flush. The gauges of
+     * a histogram nothing was recorded in keep their values.
+     */
+    void flushHistograms() {
+        histogramGauges.forEach((histogram, gauges) -> {
+            final LatencyHistogram.Snapshot snapshot = histograms.get(histogram).flush();
+            if (snapshot.count() == 0) {
+                return;
+            }
+            for (int i = 0; i < gauges.percentiles().length; i++) {
+                gauges.percentiles()[i].set(snapshot.valueAtPercentile(PERCENTILES.get(i).value()));
+            }
+            gauges.max().set(snapshot.max());
+        });
+    }
+
+    private record Percentile(String labelSuffix, String description, double value) {}
+
+    private record HistogramGauges(LongGauge[] percentiles, LongGauge max) {}
 }
@@ -7,6 +7,7 @@ import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Gauge.Produce
 import static java.lang.System.Logger.Level.ERROR;
 
 import com.hedera.block.server.config.BlockNodeContext;
+import com.hedera.block.server.jfr.AckSentEvent;
 import com.hedera.block.server.mediator.SubscriptionHandlerBase;
 import com.hedera.block.server.metrics.MetricsService;
 import com.hedera.block.server.service.ServiceStatus;
@@ -165,10 +166,18 @@ public class NotifierImpl extends SubscriptionHandlerBase<PublishStreamResponse>
     @Override
     public void sendAck(long blockNumber, @NonNull Bytes blockHash, boolean duplicated) {
 
+        final AckSentEvent ackSentEvent = new AckSentEvent();
+        ackSentEvent.begin();
         final var publishStreamResponse = PublishStreamResponse.newBuilder()
                 .acknowledgement(buildAck(blockHash, blockNumber, duplicated))
                 .build();
 
         publish(publishStreamResponse);
+        ackSentEvent.end();
+        if (ackSentEvent.shouldCommit()) {
+            ackSentEvent.blockNumber = blockNumber;
+            ackSentEvent.blockAlreadyExists = duplicated;
+            ackSentEvent.commit();
+        }
     }
 }
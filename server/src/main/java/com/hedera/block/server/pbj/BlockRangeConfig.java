@@ -0,0 +1,39 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.pbj;
+
+import com.hedera.block.common.utils.Preconditions;
+import com.hedera.block.server.config.logging.Loggable;
+import com.swirlds.config.api.ConfigData;
+import com.swirlds.config.api.ConfigProperty;
+
+/**
+ * Use this configuration for the blockRange access method.
+ *
+ * @param maxBlocks the maximum number of blocks a single request may ask for
+ * @param maxBytes the maximum number of block bytes sent for a single request;
+ * a request may ask for a lower limit
+ * @param readParallelism the number of blocks of a request read from storage
+ * ahead of the block being sent
+ * @param maxConcurrentRequests the maximum number of requests streamed at the
+ * same time; the requests over it are answered as not available
+ */
+@ConfigData("blockRange")
+public record BlockRangeConfig(
+        @Loggable @ConfigProperty(defaultValue = "10_000") int maxBlocks,
+        @Loggable @ConfigProperty(defaultValue = "1_073_741_824") long maxBytes,
+        @Loggable @ConfigProperty(defaultValue = "8") int readParallelism,
+        @Loggable @ConfigProperty(defaultValue = "32") int maxConcurrentRequests) {
+
+    /**
+     * Validate the configuration.
+     *
+     * @throws IllegalArgumentException if any of the values is not positive
+     */
+    public BlockRangeConfig {
+        Preconditions.requirePositive(maxBlocks, "[BLOCK_RANGE_MAX_BLOCKS] must be positive");
+        Preconditions.requirePositive(maxBytes, "[BLOCK_RANGE_MAX_BYTES] must be positive");
+        Preconditions.requirePositive(readParallelism, "[BLOCK_RANGE_READ_PARALLELISM] must be positive");
+        Preconditions.requirePositive(
+                maxConcurrentRequests, "[BLOCK_RANGE_MAX_CONCURRENT_REQUESTS] must be positive");
+    }
+}
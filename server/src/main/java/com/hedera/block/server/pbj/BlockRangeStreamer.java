@@ -0,0 +1,188 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.pbj;
+
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Counter.RangeBlocksRetrieved;
+import static java.lang.System.Logger.Level.DEBUG;
+import static java.lang.System.Logger.Level.ERROR;
+
+import com.hedera.block.server.consumer.HistoricStreamAdmission;
+import com.hedera.block.server.metrics.MetricsService;
+import com.hedera.block.server.persistence.storage.read.BlockReader;
+import com.hedera.hapi.block.BlockRangeRequest;
+import com.hedera.hapi.block.BlockRangeResponseCode;
+import com.hedera.hapi.block.BlockRangeResponseUnparsed;
+import com.hedera.hapi.block.BlockUnparsed;
+import com.hedera.pbj.runtime.ParseException;
+import com.hedera.pbj.runtime.grpc.Pipeline;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Streams the complete blocks of a closed range to a client, in order, reading a bounded number of
+ * the following blocks from storage while each block is sent.
+ *
+ * <p>The blocks sent for a request are limited in number by {@link BlockRangeConfig#maxBlocks()}
+ * and in size by {@link BlockRangeConfig#maxBytes()}, or the lower limit of the request. The
+ * stream ends with a status telling whether every block was sent, or why the rest was not.
+ *
+ * <p>A request is admitted, and each of its reads paced, by the same {@link
+ * HistoricStreamAdmission} as the closed range historic streams, so neither takes the disk and CPU
+ * the live path needs.
+ */
+final class BlockRangeStreamer {
+
+    private static final System.Logger LOGGER = System.getLogger(BlockRangeStreamer.class.getName());
+
+    private final BlockReader<BlockUnparsed> blockReader;
+    private final BlockRangeConfig config;
+    private final Executor readExecutor;
+    private final HistoricStreamAdmission admission;
+    private final MetricsService metricsService;
+
+    /**
+     * Constructor.
+     *
+     * @param blockReader reads the blocks from storage
+     * @param config the limits of the requests and the number of blocks read ahead
+     * @param readExecutor runs the reads of the blocks
+     * @param admission admits the requests and paces the blocks they read
+     * @param metricsService the metrics service
+     */
+    BlockRangeStreamer(
+            @NonNull final BlockReader<BlockUnparsed> blockReader,
+            @NonNull final BlockRangeConfig config,
+            @NonNull final Executor readExecutor,
+            @NonNull final HistoricStreamAdmission admission,
+            @NonNull final MetricsService metricsService) {
+        this.blockReader = Objects.requireNonNull(blockReader);
+        this.config = Objects.requireNonNull(config);
+        this.readExecutor = Objects.requireNonNull(readExecutor);
+        this.admission = Objects.requireNonNull(admission);
+        this.metricsService = Objects.requireNonNull(metricsService);
+    }
+
+    /**
+     * Streams the blocks of the requested range, then the status, and completes the stream.
+     *
+     * @param request the block range request
+     * @param pipeline the stream to send the blocks to
+     */
+    void stream(
+            @NonNull final BlockRangeRequest request,
+            @NonNull final Pipeline<? super BlockRangeResponseUnparsed> pipeline) {
+        final long start = request.startBlockNumber();
+        final long end = request.endBlockNumber();
+        if (start < 0 || end < start || end - start >= config.maxBlocks()) {
+            LOGGER.log(DEBUG, "Invalid block range [{0}, {1}] requested", start, end);
+            complete(pipeline, BlockRangeResponseCode.BLOCK_RANGE_INVALID_RANGE);
+            return;
+        }
+        final long maxBytes =
+                request.maxBytes() > 0 ? Math.min(request.maxBytes(), config.maxBytes()) : config.maxBytes();
+
+        try {
+            if (!admission.enter()) {
+                LOGGER.log(DEBUG, "Block range [{0}, {1}] not admitted to protect the live path", start, end);
+                complete(pipeline, BlockRangeResponseCode.BLOCK_RANGE_NOT_AVAILABLE);
+                return;
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            complete(pipeline, BlockRangeResponseCode.BLOCK_RANGE_NOT_AVAILABLE);
+            return;
+        }
+        final BlockRangeResponseCode status;
+        try {
+            status = send(start, end, maxBytes, pipeline);
+        } finally {
+            admission.exit();
+        }
+        complete(pipeline, status);
+    }
+
+    @NonNull
+    private BlockRangeResponseCode send(
+            final long start,
+            final long end,
+            final long maxBytes,
+            @NonNull final Pipeline<? super BlockRangeResponseUnparsed> pipeline) {
+        final ArrayDeque<CompletableFuture<Optional<BlockUnparsed>>> reads =
+                new ArrayDeque<>(config.readParallelism());
+        BlockRangeResponseCode status = BlockRangeResponseCode.BLOCK_RANGE_SUCCESS;
+        try {
+            long nextToRead = start;
+            long bytesSent = 0;
+            for (long blockNumber = start; blockNumber <= end; blockNumber++) {
+                // Keep the reads of the following blocks going while this one is sent, each read
+                // admitted before it starts
+                while (nextToRead <= end && reads.size() < config.readParallelism()) {
+                    if (!admission.awaitRead()) {
+                        LOGGER.log(DEBUG, "Block range stopped to protect the live path at block {0}", nextToRead);
+                        return BlockRangeResponseCode.BLOCK_RANGE_NOT_AVAILABLE;
+                    }
+                    reads.add(read(nextToRead++));
+                }
+                final Optional<BlockUnparsed> block = reads.remove().join();
+                if (block.isEmpty()) {
+                    LOGGER.log(DEBUG, "Block number {0} of the requested range not found", blockNumber);
+                    status = BlockRangeResponseCode.BLOCK_RANGE_NOT_FOUND;
+                    break;
+                }
+                final long size = BlockUnparsed.PROTOBUF.measureRecord(block.get());
+                admission.onRead(size);
+                if (bytesSent + size > maxBytes) {
+                    LOGGER.log(DEBUG, "Byte limit {0} reached before block number {1}", maxBytes, blockNumber);
+                    status = BlockRangeResponseCode.BLOCK_RANGE_BYTE_LIMIT_REACHED;
+                    break;
+                }
+                pipeline.onNext(
+                        BlockRangeResponseUnparsed.newBuilder().block(block.get()).build());
+                bytesSent += size;
+                metricsService.get(RangeBlocksRetrieved).increment();
+            }
+        } catch (final CompletionException e) {
+            LOGGER.log(ERROR, "Error reading a block of the range [" + start + ", " + end + "]", e.getCause());
+            status = BlockRangeResponseCode.BLOCK_RANGE_NOT_AVAILABLE;
+        } catch (final RejectedExecutionException e) {
+            LOGGER.log(DEBUG, "Stopped reading the range [{0}, {1}] on shutdown", start, end);
+            status = BlockRangeResponseCode.BLOCK_RANGE_NOT_AVAILABLE;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            status = BlockRangeResponseCode.BLOCK_RANGE_NOT_AVAILABLE;
+        } finally {
+            // Drop the blocks read ahead but not sent
+            reads.forEach(read -> read.cancel(false));
+        }
+        return status;
+    }
+
+    @NonNull
+    private CompletableFuture<Optional<BlockUnparsed>> read(final long blockNumber) {
+        return CompletableFuture.supplyAsync(
+                () -> {
+                    try {
+                        return blockReader.read(blockNumber);
+                    } catch (final IOException e) {
+                        throw new UncheckedIOException(e);
+                    } catch (final ParseException e) {
+                        throw new CompletionException(e);
+                    }
+                },
+                readExecutor);
+    }
+
+    private static void complete(
+            @NonNull final Pipeline<? super BlockRangeResponseUnparsed> pipeline,
+            @NonNull final BlockRangeResponseCode status) {
+        pipeline.onNext(BlockRangeResponseUnparsed.newBuilder().status(status).build());
+        pipeline.onComplete();
+    }
+}
@@ -23,7 +23,19 @@ public interface PbjBlockAccessService extends ServiceInterface {
          * The singleBlock method represents the unary gRPC method
          * consumers should use to get specific Blocks from the Block Node.
          */
-        singleBlock
+        singleBlock,
+        /**
+         * The itemProof method represents the unary gRPC method
+         * consumers should use to get the Merkle inclusion proof of a
+         * single item of a verified Block.
+         */
+        itemProof,
+        /**
+         * The blockRange method represents the server-streaming gRPC method
+         * consumers should use to get a closed range of Blocks, in order,
+         * in a single call.
+         */
+        blockRange
     }
 
     /**
@@ -55,4 +67,9 @@ public interface PbjBlockAccessService extends ServiceInterface {
     default List<Method> methods() {
         return Arrays.asList(PbjBlockAccessService.BlockAccessMethod.values());
     }
+
+    /**
+     * Called when the server shuts down, to stop the requests still being served.
+     */
+    void shutdown();
 }
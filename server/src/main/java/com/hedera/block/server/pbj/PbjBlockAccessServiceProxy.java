@@ -7,9 +7,17 @@ import static java.lang.System.Logger.Level.DEBUG;
 import static java.lang.System.Logger.Level.ERROR;
 
 import com.hedera.block.server.config.BlockNodeContext;
+import com.hedera.block.server.consumer.HistoricStreamAdmission;
 import com.hedera.block.server.metrics.MetricsService;
+import com.hedera.block.server.persistence.storage.hashtree.HashTreeStore;
 import com.hedera.block.server.persistence.storage.read.BlockReader;
 import com.hedera.block.server.service.ServiceStatus;
+import com.hedera.hapi.block.BlockItemProofRequest;
+import com.hedera.hapi.block.BlockItemProofResponse;
+import com.hedera.hapi.block.BlockItemProofResponseCode;
+import com.hedera.hapi.block.BlockRangeRequest;
+import com.hedera.hapi.block.BlockRangeResponseCode;
+import com.hedera.hapi.block.BlockRangeResponseUnparsed;
 import com.hedera.hapi.block.BlockUnparsed;
 import com.hedera.hapi.block.SingleBlockRequest;
 import com.hedera.hapi.block.SingleBlockResponseCode;
@@ -21,6 +29,10 @@ import com.hedera.pbj.runtime.io.buffer.Bytes;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.io.IOException;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 import javax.inject.Inject;
 
 /**
@@ -36,6 +48,10 @@ public class PbjBlockAccessServiceProxy implements PbjBlockAccessService {
     private final ServiceStatus serviceStatus;
     private final BlockReader<BlockUnparsed> blockReader;
     private final MetricsService metricsService;
+    private final HashTreeStore hashTreeStore;
+    private final BlockRangeStreamer blockRangeStreamer;
+    private final ExecutorService blockRangeExecutorService;
+    private final Semaphore blockRangePermits;
 
     /**
      * Creates a new PbjBlockAccessServiceProxy instance.
@@ -43,15 +59,29 @@ public class PbjBlockAccessServiceProxy implements PbjBlockAccessService {
      * @param serviceStatus the service status
      * @param blockReader the block reader
      * @param blockNodeContext the block node context
+     * @param hashTreeStore the store of the hash trees of verified blocks
+     * @param historicStreamAdmission admits the blockRange requests with the historic streams
      */
     @Inject
     public PbjBlockAccessServiceProxy(
             @NonNull final ServiceStatus serviceStatus,
             @NonNull final BlockReader<BlockUnparsed> blockReader,
-            @NonNull final BlockNodeContext blockNodeContext) {
+            @NonNull final BlockNodeContext blockNodeContext,
+            @NonNull final HashTreeStore hashTreeStore,
+            @NonNull final HistoricStreamAdmission historicStreamAdmission) {
         this.serviceStatus = serviceStatus;
         this.blockReader = blockReader;
         this.metricsService = blockNodeContext.metricsService();
+        this.hashTreeStore = hashTreeStore;
+
+        final BlockRangeConfig blockRangeConfig =
+                blockNodeContext.configuration().getConfigData(BlockRangeConfig.class);
+        // Leverage virtual threads given that these are IO-bound tasks, bounding
+        // the number of requests streamed at once instead of the threads
+        this.blockRangeExecutorService = Executors.newVirtualThreadPerTaskExecutor();
+        this.blockRangePermits = new Semaphore(blockRangeConfig.maxConcurrentRequests());
+        this.blockRangeStreamer = new BlockRangeStreamer(
+                blockReader, blockRangeConfig, blockRangeExecutorService, historicStreamAdmission, metricsService);
     }
 
     /**
@@ -73,6 +103,18 @@ public class PbjBlockAccessServiceProxy implements PbjBlockAccessService {
                         .mapResponse(reply -> createSingleBlockResponse(reply, options))
                         .respondTo(replies)
                         .build();
+                case itemProof -> Pipelines.<BlockItemProofRequest, BlockItemProofResponse>unary()
+                        .mapRequest(bytes -> parseItemProofRequest(bytes))
+                        .method(this::itemProof)
+                        .mapResponse(reply -> createItemProofResponse(reply))
+                        .respondTo(replies)
+                        .build();
+                case blockRange -> Pipelines.<BlockRangeRequest, BlockRangeResponseUnparsed>serverStreaming()
+                        .mapRequest(bytes -> parseBlockRangeRequest(bytes))
+                        .method(this::blockRange)
+                        .mapResponse(reply -> createBlockRangeResponse(reply))
+                        .respondTo(replies)
+                        .build();
             };
         } catch (Exception e) {
             replies.onError(e);
@@ -132,6 +174,93 @@ public class PbjBlockAccessServiceProxy implements PbjBlockAccessService {
         }
     }
 
+    /**
+     * Executes the unary itemProof gRPC method.
+     *
+     * @param itemProofRequest the item proof request
+     * @return the item proof response
+     */
+    BlockItemProofResponse itemProof(BlockItemProofRequest itemProofRequest) {
+
+        LOGGER.log(DEBUG, "Executing Unary itemProof gRPC method");
+
+        if (serviceStatus.isRunning()) {
+            final long blockNumber = itemProofRequest.blockNumber();
+            try {
+                return hashTreeStore.readItemProof(blockNumber, itemProofRequest.itemIndex());
+            } catch (IOException e) {
+                LOGGER.log(ERROR, "Error reading the hash tree of block number: {0}", blockNumber);
+
+                return BlockItemProofResponse.newBuilder()
+                        .status(BlockItemProofResponseCode.ITEM_PROOF_NOT_AVAILABLE)
+                        .build();
+            }
+        } else {
+            LOGGER.log(ERROR, "Unary itemProof gRPC method is not currently running");
+
+            return BlockItemProofResponse.newBuilder()
+                    .status(BlockItemProofResponseCode.ITEM_PROOF_NOT_AVAILABLE)
+                    .build();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Interrupts the blockRange requests being streamed; the requests received afterward are
+     * answered as not available.
+     */
+    @Override
+    public void shutdown() {
+        blockRangeExecutorService.shutdownNow();
+    }
+
+    /**
+     * Executes the server-streaming blockRange gRPC method. The blocks are read and streamed on a
+     * virtual thread, so the calling thread is not held for the whole range. At most
+     * {@link BlockRangeConfig#maxConcurrentRequests()} requests are streamed at once; the requests
+     * over it are answered as not available.
+     *
+     * @param blockRangeRequest the block range request
+     * @param helidonConsumerObserver the stream response observer provided by Helidon
+     */
+    void blockRange(
+            @NonNull final BlockRangeRequest blockRangeRequest,
+            @NonNull final Pipeline<? super BlockRangeResponseUnparsed> helidonConsumerObserver) {
+
+        LOGGER.log(DEBUG, "Executing Server Streaming blockRange gRPC method");
+
+        if (!serviceStatus.isRunning()) {
+            LOGGER.log(ERROR, "Server Streaming blockRange gRPC method is not currently running");
+            completeBlockRangeNotAvailable(helidonConsumerObserver);
+        } else if (!blockRangePermits.tryAcquire()) {
+            LOGGER.log(DEBUG, "Too many blockRange requests are being streamed, rejecting the request");
+            completeBlockRangeNotAvailable(helidonConsumerObserver);
+        } else {
+            try {
+                blockRangeExecutorService.submit(() -> {
+                    try {
+                        blockRangeStreamer.stream(blockRangeRequest, helidonConsumerObserver);
+                    } finally {
+                        blockRangePermits.release();
+                    }
+                });
+            } catch (final RejectedExecutionException e) {
+                blockRangePermits.release();
+                LOGGER.log(DEBUG, "Server Streaming blockRange gRPC method is shut down");
+                completeBlockRangeNotAvailable(helidonConsumerObserver);
+            }
+        }
+    }
+
+    private static void completeBlockRangeNotAvailable(
+            @NonNull final Pipeline<? super BlockRangeResponseUnparsed> helidonConsumerObserver) {
+        helidonConsumerObserver.onNext(BlockRangeResponseUnparsed.newBuilder()
+                .status(BlockRangeResponseCode.BLOCK_RANGE_NOT_AVAILABLE)
+                .build());
+        helidonConsumerObserver.onComplete();
+    }
+
     @NonNull
     private SingleBlockRequest parseSingleBlockRequest(@NonNull final Bytes message) throws ParseException {
         return SingleBlockRequest.PROTOBUF.parse(message);
@@ -142,4 +271,24 @@ public class PbjBlockAccessServiceProxy implements PbjBlockAccessService {
             @NonNull final SingleBlockResponseUnparsed reply, @NonNull final RequestOptions options) {
         return SingleBlockResponseUnparsed.PROTOBUF.toBytes(reply);
     }
+
+    @NonNull
+    private BlockItemProofRequest parseItemProofRequest(@NonNull final Bytes message) throws ParseException {
+        return BlockItemProofRequest.PROTOBUF.parse(message);
+    }
+
+    @NonNull
+    private Bytes createItemProofResponse(@NonNull final BlockItemProofResponse reply) {
+        return BlockItemProofResponse.PROTOBUF.toBytes(reply);
+    }
+
+    @NonNull
+    private BlockRangeRequest parseBlockRangeRequest(@NonNull final Bytes message) throws ParseException {
+        return BlockRangeRequest.PROTOBUF.parse(message);
+    }
+
+    @NonNull
+    private Bytes createBlockRangeResponse(@NonNull final BlockRangeResponseUnparsed reply) {
+        return BlockRangeResponseUnparsed.PROTOBUF.toBytes(reply);
+    }
 }
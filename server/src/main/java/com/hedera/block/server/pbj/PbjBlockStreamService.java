@@ -29,7 +29,19 @@ public interface PbjBlockStreamService extends ServiceInterface {
          * The subscribeBlockStream method represents the server-streaming gRPC method
          * consumers should use to subscribe to the BlockStream from the Block Node.
          */
-        subscribeBlockStream
+        subscribeBlockStream,
+
+        /**
+         * The subscribeFilteredBlockStream method represents the server-streaming gRPC method
+         * consumers should use to subscribe to only some kinds of block items of the BlockStream.
+         */
+        subscribeFilteredBlockStream,
+
+        /**
+         * The serverStatus method represents the unary gRPC method clients and load balancers
+         * should use to get the range of Blocks available on the Block Node.
+         */
+        serverStatus
     }
 
     /**
@@ -1,14 +1,18 @@
 // SPDX-License-Identifier: Apache-2.0
 package com.hedera.block.server.pbj;
 
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Counter.ServerStatusRequests;
 import static java.lang.System.Logger.Level.DEBUG;
 import static java.lang.System.Logger.Level.ERROR;
 
 import com.hedera.block.server.block.BlockInfo;
 import com.hedera.block.server.config.BlockNodeContext;
 import com.hedera.block.server.consumer.ClosedRangeHistoricStreamEventHandlerBuilder;
+import com.hedera.block.server.consumer.HistoricStreamAdmission;
+import com.hedera.block.server.consumer.ItemKindFilter;
 import com.hedera.block.server.consumer.LiveStreamEventHandlerBuilder;
 import com.hedera.block.server.events.BlockNodeEventHandler;
+import com.hedera.block.server.events.LivenessWheel;
 import com.hedera.block.server.events.ObjectEvent;
 import com.hedera.block.server.mediator.LiveStreamMediator;
 import com.hedera.block.server.notifier.Notifier;
@@ -16,12 +20,16 @@ import com.hedera.block.server.persistence.storage.read.BlockReader;
 import com.hedera.block.server.producer.NoOpProducerObserver;
 import com.hedera.block.server.producer.ProducerBlockItemObserver;
 import com.hedera.block.server.producer.ProducerConfig;
+import com.hedera.block.server.service.AvailableBlockRange;
 import com.hedera.block.server.service.ServiceStatus;
 import com.hedera.block.server.verification.StreamVerificationHandlerImpl;
 import com.hedera.hapi.block.BlockItemUnparsed;
 import com.hedera.hapi.block.BlockUnparsed;
+import com.hedera.hapi.block.FilteredSubscribeStreamRequest;
 import com.hedera.hapi.block.PublishStreamRequestUnparsed;
 import com.hedera.hapi.block.PublishStreamResponse;
+import com.hedera.hapi.block.ServerStatusRequest;
+import com.hedera.hapi.block.ServerStatusResponse;
 import com.hedera.hapi.block.SubscribeStreamRequest;
 import com.hedera.hapi.block.SubscribeStreamResponseCode;
 import com.hedera.hapi.block.SubscribeStreamResponseUnparsed;
@@ -30,7 +38,6 @@ import com.hedera.pbj.runtime.grpc.Pipeline;
 import com.hedera.pbj.runtime.grpc.Pipelines;
 import com.hedera.pbj.runtime.io.buffer.Bytes;
 import edu.umd.cs.findbugs.annotations.NonNull;
-import java.time.Clock;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.ExecutorCompletionService;
@@ -54,6 +61,9 @@ public class PbjBlockStreamServiceProxy implements PbjBlockStreamService {
     private final BlockReader<BlockUnparsed> blockReader;
     private final Notifier notifier;
     private final ExecutorService closedRangeHistoricStreamingExecutorService;
+    private final HistoricStreamAdmission historicStreamAdmission;
+    private final LivenessWheel livenessWheel;
+    private volatile CachedServerStatus cachedServerStatus = new CachedServerStatus(null, null, null);
 
     public static SubscribeStreamResponseUnparsed READ_STREAM_INVALID_START_BLOCK_NUMBER_RESPONSE;
     public static SubscribeStreamResponseUnparsed READ_STREAM_INVALID_END_BLOCK_NUMBER_RESPONSE;
@@ -86,6 +96,8 @@ public class PbjBlockStreamServiceProxy implements PbjBlockStreamService {
      * @param streamPersistenceHandler the stream persistence handler
      * @param streamVerificationHandler the stream verification handler
      * @param notifier the notifier
+     * @param historicStreamAdmission the admission of the historic streams, shared with blockRange
+     * @param livenessWheel the wheel expiring the inactive producers and consumers
      * @param blockNodeContext the block node context
      */
     @Inject
@@ -96,6 +108,8 @@ public class PbjBlockStreamServiceProxy implements PbjBlockStreamService {
             @NonNull final StreamVerificationHandlerImpl streamVerificationHandler,
             @NonNull final BlockReader<BlockUnparsed> blockReader,
             @NonNull final Notifier notifier,
+            @NonNull final HistoricStreamAdmission historicStreamAdmission,
+            @NonNull final LivenessWheel livenessWheel,
             @NonNull final BlockNodeContext blockNodeContext) {
 
         this.serviceStatus = Objects.requireNonNull(serviceStatus);
@@ -107,6 +121,12 @@ public class PbjBlockStreamServiceProxy implements PbjBlockStreamService {
 
         // Leverage virtual threads given that these are IO-bound tasks
         this.closedRangeHistoricStreamingExecutorService = Executors.newVirtualThreadPerTaskExecutor();
+        // Holds back the historic streams, whatever their number, while the live path needs the
+        // disk and CPU
+        this.historicStreamAdmission = Objects.requireNonNull(historicStreamAdmission);
+        // Expires the producers and consumers inactive for the timeout threshold, without
+        // scanning the subscribers
+        this.livenessWheel = Objects.requireNonNull(livenessWheel);
         this.blockReader = Objects.requireNonNull(blockReader);
     }
 
@@ -123,15 +143,12 @@ public class PbjBlockStreamServiceProxy implements PbjBlockStreamService {
         final var m = (BlockStreamMethod) method;
         try {
             return switch (m) {
-                case publishBlockStream -> {
-                    notifier.unsubscribeAllExpired();
-                    yield Pipelines.<List<BlockItemUnparsed>, PublishStreamResponse>bidiStreaming()
-                            .mapRequest(bytes -> parsePublishStreamRequest(bytes, options))
-                            .method(this::publishBlockStream)
-                            .mapResponse(bytes -> createPublishStreamResponse(bytes, options))
-                            .respondTo(replies)
-                            .build();
-                }
+                case publishBlockStream -> Pipelines.<List<BlockItemUnparsed>, PublishStreamResponse>bidiStreaming()
+                        .mapRequest(bytes -> parsePublishStreamRequest(bytes, options))
+                        .method(this::publishBlockStream)
+                        .mapResponse(bytes -> createPublishStreamResponse(bytes, options))
+                        .respondTo(replies)
+                        .build();
                 case subscribeBlockStream -> Pipelines
                         .<SubscribeStreamRequest, SubscribeStreamResponseUnparsed>serverStreaming()
                         .mapRequest(bytes -> parseSubscribeStreamRequest(bytes, options))
@@ -139,6 +156,19 @@ public class PbjBlockStreamServiceProxy implements PbjBlockStreamService {
                         .mapResponse(reply -> createSubscribeStreamResponse(reply, options))
                         .respondTo(replies)
                         .build();
+                case subscribeFilteredBlockStream -> Pipelines
+                        .<FilteredSubscribeStreamRequest, SubscribeStreamResponseUnparsed>serverStreaming()
+                        .mapRequest(bytes -> parseFilteredSubscribeStreamRequest(bytes, options))
+                        .method(this::subscribeFilteredBlockStream)
+                        .mapResponse(reply -> createSubscribeStreamResponse(reply, options))
+                        .respondTo(replies)
+                        .build();
+                case serverStatus -> Pipelines.<ServerStatusRequest, ServerStatusResponse>unary()
+                        .mapRequest(bytes -> parseServerStatusRequest(bytes, options))
+                        .method(this::serverStatus)
+                        .mapResponse(reply -> createServerStatusResponse(reply, options))
+                        .respondTo(replies)
+                        .build();
             };
         } catch (Exception e) {
             replies.onError(e);
@@ -156,9 +186,6 @@ public class PbjBlockStreamServiceProxy implements PbjBlockStreamService {
             Pipeline<? super PublishStreamResponse> helidonProducerObserver) {
         LOGGER.log(DEBUG, "Executing bidirectional publishBlockStream gRPC method");
 
-        // Unsubscribe any expired notifiers
-        notifier.unsubscribeAllExpired();
-
         final ProducerConfig.ProducerType producerType = blockNodeContext
                 .configuration()
                 .getConfigData(ProducerConfig.class)
@@ -169,7 +196,7 @@ public class PbjBlockStreamServiceProxy implements PbjBlockStreamService {
         }
 
         final var producerBlockItemObserver = new ProducerBlockItemObserver(
-                Clock.systemDefaultZone(),
+                livenessWheel,
                 streamMediator,
                 notifier,
                 helidonProducerObserver,
@@ -194,16 +221,44 @@ public class PbjBlockStreamServiceProxy implements PbjBlockStreamService {
     void subscribeBlockStream(
             @NonNull final SubscribeStreamRequest subscribeStreamRequest,
             @NonNull final Pipeline<? super SubscribeStreamResponseUnparsed> helidonConsumerObserver) {
+        subscribeBlockStream(subscribeStreamRequest, ItemKindFilter.ALL, helidonConsumerObserver);
+    }
+
+    /**
+     * Subscribes to the kinds of block items of the block stream selected by the filter of the
+     * request.
+     *
+     * @param filteredSubscribeStreamRequest the subscribe stream request with its filter
+     * @param helidonConsumerObserver the stream response observer provided by Helidon
+     */
+    void subscribeFilteredBlockStream(
+            @NonNull final FilteredSubscribeStreamRequest filteredSubscribeStreamRequest,
+            @NonNull final Pipeline<? super SubscribeStreamResponseUnparsed> helidonConsumerObserver) {
+        subscribeBlockStream(
+                filteredSubscribeStreamRequest.requestOrElse(SubscribeStreamRequest.DEFAULT),
+                ItemKindFilter.of(filteredSubscribeStreamRequest.itemKinds()),
+                helidonConsumerObserver);
+    }
+
+    /**
+     * Subscribes to the kinds of block items of the block stream selected by a filter.
+     *
+     * @param subscribeStreamRequest the subscribe stream request
+     * @param itemKindFilter the kinds of block items to send to the consumer
+     * @param helidonConsumerObserver the stream response observer provided by Helidon
+     */
+    void subscribeBlockStream(
+            @NonNull final SubscribeStreamRequest subscribeStreamRequest,
+            @NonNull final ItemKindFilter itemKindFilter,
+            @NonNull final Pipeline<? super SubscribeStreamResponseUnparsed> helidonConsumerObserver) {
 
         LOGGER.log(DEBUG, "Executing Server Streaming subscribeBlockStream gRPC method");
 
         Objects.requireNonNull(subscribeStreamRequest);
+        Objects.requireNonNull(itemKindFilter);
         Objects.requireNonNull(helidonConsumerObserver);
 
         if (serviceStatus.isRunning()) {
-            // Unsubscribe any expired notifiers
-            streamMediator.unsubscribeAllExpired();
-
             // Validate inbound request parameters
             if (!isValidRequestedRange(subscribeStreamRequest, helidonConsumerObserver)) {
                 return;
@@ -224,11 +279,11 @@ public class PbjBlockStreamServiceProxy implements PbjBlockStreamService {
             if (subscribeStreamRequest.endBlockNumber() == 0) {
                 final var liveStreamEventHandler = LiveStreamEventHandlerBuilder.build(
                         new ExecutorCompletionService<>(Executors.newSingleThreadExecutor()),
-                        Clock.systemDefaultZone(),
+                        livenessWheel,
                         streamMediator,
                         helidonConsumerObserver,
-                        blockNodeContext.metricsService(),
-                        blockNodeContext.configuration());
+                        itemKindFilter,
+                        blockNodeContext.metricsService());
 
                 streamMediator.subscribe(liveStreamEventHandler);
             } else {
@@ -238,6 +293,8 @@ public class PbjBlockStreamServiceProxy implements PbjBlockStreamService {
                                 subscribeStreamRequest.endBlockNumber(),
                                 blockReader,
                                 helidonConsumerObserver,
+                                itemKindFilter,
+                                historicStreamAdmission,
                                 blockNodeContext.metricsService(),
                                 blockNodeContext.configuration());
 
@@ -256,6 +313,35 @@ public class PbjBlockStreamServiceProxy implements PbjBlockStreamService {
         }
     }
 
+    /**
+     * Executes the unary serverStatus gRPC method. The response is answered from the range of
+     * available blocks kept in memory by the service status, without touching storage, and is
+     * only rebuilt when the range changes.
+     *
+     * @param serverStatusRequest the server status request
+     * @return the server status response
+     */
+    @NonNull
+    ServerStatusResponse serverStatus(@NonNull final ServerStatusRequest serverStatusRequest) {
+        LOGGER.log(DEBUG, "Executing Unary serverStatus gRPC method");
+        blockNodeContext.metricsService().get(ServerStatusRequests).increment();
+
+        final AvailableBlockRange range = serviceStatus.getAvailableBlockRange();
+        CachedServerStatus current = cachedServerStatus;
+        if (current.range() != range) {
+            final ServerStatusResponse response = range.isEmpty()
+                    ? ServerStatusResponse.newBuilder().build()
+                    : ServerStatusResponse.newBuilder()
+                            .firstAvailableBlock(range.firstBlockNumber())
+                            .lastAvailableBlock(range.lastBlockNumber())
+                            .blocksAvailable(true)
+                            .build();
+            current = new CachedServerStatus(range, response, ServerStatusResponse.PROTOBUF.toBytes(response));
+            cachedServerStatus = current;
+        }
+        return current.response();
+    }
+
     static boolean isValidRequestedRange(
             final SubscribeStreamRequest subscribeStreamRequest,
             final Pipeline<? super SubscribeStreamResponseUnparsed> helidonConsumerObserver) {
@@ -333,6 +419,12 @@ public class PbjBlockStreamServiceProxy implements PbjBlockStreamService {
         return SubscribeStreamRequest.PROTOBUF.parse(message);
     }
 
+    @NonNull
+    private FilteredSubscribeStreamRequest parseFilteredSubscribeStreamRequest(
+            @NonNull final Bytes message, @NonNull final RequestOptions options) throws ParseException {
+        return FilteredSubscribeStreamRequest.PROTOBUF.parse(message);
+    }
+
     @NonNull
     private Bytes createSubscribeStreamResponse(
             @NonNull final SubscribeStreamResponseUnparsed subscribeStreamResponse,
@@ -340,6 +432,22 @@ public class PbjBlockStreamServiceProxy implements PbjBlockStreamService {
         return SubscribeStreamResponseUnparsed.PROTOBUF.toBytes(subscribeStreamResponse);
     }
 
+    @NonNull
+    private ServerStatusRequest parseServerStatusRequest(
+            @NonNull final Bytes message, @NonNull final RequestOptions options) throws ParseException {
+        return ServerStatusRequest.PROTOBUF.parse(message);
+    }
+
+    @NonNull
+    private Bytes createServerStatusResponse(
+            @NonNull final ServerStatusResponse serverStatusResponse, @NonNull final RequestOptions options) {
+        // Reuse the bytes of the response, unless the range changed since it was built
+        final CachedServerStatus current = cachedServerStatus;
+        return current.response() == serverStatusResponse
+                ? current.bytes()
+                : ServerStatusResponse.PROTOBUF.toBytes(serverStatusResponse);
+    }
+
     @NonNull
     private List<BlockItemUnparsed> parsePublishStreamRequest(
             @NonNull final Bytes message, @NonNull final RequestOptions options) throws ParseException {
@@ -352,4 +460,9 @@ public class PbjBlockStreamServiceProxy implements PbjBlockStreamService {
             @NonNull final PublishStreamResponse publishStreamResponse, @NonNull final RequestOptions options) {
         return PublishStreamResponse.PROTOBUF.toBytes(publishStreamResponse);
     }
+
+    /**
+     * The latest server status response, with the range it was built from and its bytes.
+     */
+    private record CachedServerStatus(AvailableBlockRange range, ServerStatusResponse response, Bytes bytes) {}
 }
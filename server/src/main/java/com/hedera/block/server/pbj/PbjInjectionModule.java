@@ -1,8 +1,18 @@
 // SPDX-License-Identifier: Apache-2.0
 package com.hedera.block.server.pbj;
 
+import com.hedera.block.server.config.BlockNodeContext;
+import com.hedera.block.server.consumer.ConsumerConfig;
+import com.hedera.block.server.consumer.HistoricAdmissionConfig;
+import com.hedera.block.server.consumer.HistoricStreamAdmission;
+import com.hedera.block.server.consumer.HistoricStreamAdmissionImpl;
+import com.hedera.block.server.events.LivenessWheel;
+import com.hedera.block.server.mediator.MediatorConfig;
 import dagger.Binds;
 import dagger.Module;
+import dagger.Provides;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.time.Clock;
 import javax.inject.Singleton;
 
 /**
@@ -30,4 +40,38 @@ public interface PbjInjectionModule {
     @Singleton
     @Binds
     PbjBlockAccessService bindPbjBlockAccessService(PbjBlockAccessServiceProxy pbjBlockAccessServiceProxy);
+
+    /**
+     * Provides the admission shared by the closed range historic streams and the blockRange
+     * requests.
+     *
+     * @param blockNodeContext the block node context
+     * @return the historic stream admission singleton
+     */
+    @Provides
+    @Singleton
+    static HistoricStreamAdmission providesHistoricStreamAdmission(@NonNull final BlockNodeContext blockNodeContext) {
+        return new HistoricStreamAdmissionImpl(
+                blockNodeContext.configuration().getConfigData(HistoricAdmissionConfig.class),
+                blockNodeContext.configuration().getConfigData(MediatorConfig.class),
+                blockNodeContext.metricsService());
+    }
+
+    /**
+     * Provides the wheel expiring the producers and consumers inactive for the timeout threshold,
+     * shared by every stream and stopped on shutdown.
+     *
+     * @param blockNodeContext the block node context
+     * @return the started liveness wheel singleton
+     */
+    @Provides
+    @Singleton
+    static LivenessWheel providesLivenessWheel(@NonNull final BlockNodeContext blockNodeContext) {
+        return LivenessWheel.start(
+                Clock.systemDefaultZone(),
+                blockNodeContext
+                        .configuration()
+                        .getConfigData(ConsumerConfig.class)
+                        .timeoutThresholdMillis());
+    }
 }
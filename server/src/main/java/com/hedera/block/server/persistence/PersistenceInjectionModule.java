@@ -1,6 +1,7 @@
 // SPDX-License-Identifier: Apache-2.0
 package com.hedera.block.server.persistence;
 
+import com.hedera.block.common.utils.StringUtilities;
 import com.hedera.block.server.ack.AckHandler;
 import com.hedera.block.server.config.BlockNodeContext;
 import com.hedera.block.server.events.BlockNodeEventHandler;
@@ -13,6 +14,10 @@ import com.hedera.block.server.persistence.storage.PersistenceStorageConfig.Stor
 import com.hedera.block.server.persistence.storage.compression.Compression;
 import com.hedera.block.server.persistence.storage.compression.NoOpCompression;
 import com.hedera.block.server.persistence.storage.compression.ZstdCompression;
+import com.hedera.block.server.persistence.storage.hashtree.FileHashTreeStore;
+import com.hedera.block.server.persistence.storage.hashtree.HashTreeConfig;
+import com.hedera.block.server.persistence.storage.hashtree.HashTreeStore;
+import com.hedera.block.server.persistence.storage.hashtree.NoOpHashTreeStore;
 import com.hedera.block.server.persistence.storage.path.BlockAsLocalFilePathResolver;
 import com.hedera.block.server.persistence.storage.path.BlockPathResolver;
 import com.hedera.block.server.persistence.storage.path.NoOpBlockPathResolver;
@@ -22,15 +27,22 @@ import com.hedera.block.server.persistence.storage.read.NoOpBlockReader;
 import com.hedera.block.server.persistence.storage.remove.BlockAsLocalFileRemover;
 import com.hedera.block.server.persistence.storage.remove.BlockRemover;
 import com.hedera.block.server.persistence.storage.remove.NoOpBlockRemover;
+import com.hedera.block.server.persistence.storage.scrub.BlockStorageScrubber;
+import com.hedera.block.server.persistence.storage.scrub.NoOpStorageScrubber;
+import com.hedera.block.server.persistence.storage.scrub.ScrubberConfig;
+import com.hedera.block.server.persistence.storage.scrub.StorageScrubber;
 import com.hedera.block.server.persistence.storage.write.AsyncBlockAsLocalFileWriterFactory;
 import com.hedera.block.server.persistence.storage.write.AsyncBlockWriterFactory;
 import com.hedera.block.server.persistence.storage.write.AsyncNoOpWriterFactory;
 import com.hedera.block.server.service.ServiceStatus;
+import com.hedera.block.server.verification.VerificationConfig;
+import com.hedera.block.server.verification.signature.SignatureVerifier;
 import com.hedera.hapi.block.BlockItemUnparsed;
 import com.hedera.hapi.block.BlockUnparsed;
 import dagger.Module;
 import dagger.Provides;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.Executors;
@@ -73,6 +85,7 @@ public interface PersistenceInjectionModule {
      * block reader
      * @param blockPathResolver the block path resolver needed to build
      * the block reader
+     * @param compression the compression used
      * @return a block reader singleton
      */
     @Provides
@@ -83,27 +96,53 @@ public interface PersistenceInjectionModule {
             @NonNull final Compression compression) {
         final StorageType persistenceType = config.type();
         return switch (persistenceType) {
-            case BLOCK_AS_LOCAL_FILE -> BlockAsLocalFileReader.of(compression, blockPathResolver);
+            case BLOCK_AS_LOCAL_FILE -> BlockAsLocalFileReader.of(
+                    compression, blockPathResolver, createRepairSource(config, compression));
             case NO_OP -> NoOpBlockReader.newInstance();
         };
     }
 
+    /**
+     * Creates the reader used to repair blocks that fail checksum
+     * verification. If no repair root path is configured, a no-op reader is
+     * returned.
+     *
+     * @param config the persistence storage configuration
+     * @param compression the compression used
+     * @return the repair source reader
+     */
+    private static BlockReader<BlockUnparsed> createRepairSource(
+            @NonNull final PersistenceStorageConfig config, @NonNull final Compression compression) {
+        if (config.isRepairEnabled()) {
+            final BlockPathResolver repairPathResolver =
+                    BlockAsLocalFilePathResolver.of(config, Path.of(config.repairRootPath()));
+            return BlockAsLocalFileReader.of(compression, repairPathResolver);
+        } else {
+            return NoOpBlockReader.newInstance();
+        }
+    }
+
     /**
      * Provides a block remover singleton using the persistence storage config.
      *
      * @param config the persistence storage configuration needed to build the
      * block remover
      * @param blockPathResolver the block path resolver
+     * @param hashTreeStore the hash tree store, whose hash trees are removed
+     * with their blocks
      * @return a block remover singleton
      */
     @Provides
     @Singleton
     static BlockRemover providesBlockRemover(
-            @NonNull final PersistenceStorageConfig config, @NonNull final BlockPathResolver blockPathResolver) {
+            @NonNull final PersistenceStorageConfig config,
+            @NonNull final BlockPathResolver blockPathResolver,
+            @NonNull final HashTreeStore hashTreeStore) {
         Objects.requireNonNull(blockPathResolver);
+        Objects.requireNonNull(hashTreeStore);
         final StorageType persistenceType = config.type();
         return switch (persistenceType) {
-            case BLOCK_AS_LOCAL_FILE -> new BlockAsLocalFileRemover(blockPathResolver);
+            case BLOCK_AS_LOCAL_FILE -> new BlockAsLocalFileRemover(blockPathResolver, hashTreeStore);
             case NO_OP -> NoOpBlockRemover.newInstance();
         };
     }
@@ -142,6 +181,63 @@ public interface PersistenceInjectionModule {
         };
     }
 
+    /**
+     * Provides a storage scrubber singleton using the scrubber config.
+     *
+     * @param scrubberConfig the scrubber configuration
+     * @param persistenceStorageConfig the persistence storage configuration,
+     * used to resolve the default cursor path
+     * @param verificationConfig the verification configuration, used for the
+     * hash combine batch size
+     * @param blockReader the block reader used to read stored blocks
+     * @param blockPathResolver the block path resolver used to find the range
+     * of stored blocks
+     * @param signatureVerifier the signature verifier used to check block proofs
+     * @param context the block node context
+     * @return a storage scrubber singleton
+     */
+    @Provides
+    @Singleton
+    static StorageScrubber providesStorageScrubber(
+            @NonNull final ScrubberConfig scrubberConfig,
+            @NonNull final PersistenceStorageConfig persistenceStorageConfig,
+            @NonNull final VerificationConfig verificationConfig,
+            @NonNull final BlockReader<BlockUnparsed> blockReader,
+            @NonNull final BlockPathResolver blockPathResolver,
+            @NonNull final SignatureVerifier signatureVerifier,
+            @NonNull final BlockNodeContext context) {
+        if (!scrubberConfig.enabled() || persistenceStorageConfig.type() == StorageType.NO_OP) {
+            return NoOpStorageScrubber.newInstance();
+        }
+        final Path cursorPath = StringUtilities.isBlank(scrubberConfig.cursorPath())
+                ? Path.of(persistenceStorageConfig.liveRootPath()).resolveSibling("scrubber.cursor")
+                : Path.of(scrubberConfig.cursorPath()).normalize().toAbsolutePath();
+        return new BlockStorageScrubber(
+                scrubberConfig,
+                cursorPath,
+                verificationConfig.hashCombineBatchSize(),
+                blockReader,
+                blockPathResolver,
+                signatureVerifier,
+                context.metricsService());
+    }
+
+    /**
+     * Provides a hash tree store singleton using the hash tree config.
+     *
+     * @param config the hash tree configuration
+     * @param blockPathResolver the block path resolver, used to find archived hash trees
+     * @return a hash tree store singleton
+     */
+    @Provides
+    @Singleton
+    static HashTreeStore providesHashTreeStore(
+            @NonNull final HashTreeConfig config, @NonNull final BlockPathResolver blockPathResolver) {
+        return config.enabled()
+                ? new FileHashTreeStore(Path.of(config.rootPath()), blockPathResolver)
+                : NoOpHashTreeStore.newInstance();
+    }
+
     /**
      * Provides a block node event handler singleton (stream persistence handler)
      * @param subscriptionHandler the subscription handler
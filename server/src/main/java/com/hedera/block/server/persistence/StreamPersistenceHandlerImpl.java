@@ -2,6 +2,7 @@
 package com.hedera.block.server.persistence;
 
 import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Counter.StreamPersistenceHandlerError;
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Gauge.PersistenceWriterBacklog;
 import static java.lang.System.Logger.Level.DEBUG;
 import static java.lang.System.Logger.Level.ERROR;
 
@@ -9,8 +10,10 @@ import com.hedera.block.server.ack.AckHandler;
 import com.hedera.block.server.config.BlockNodeContext;
 import com.hedera.block.server.events.BlockNodeEventHandler;
 import com.hedera.block.server.events.ObjectEvent;
+import com.hedera.block.server.events.OffHeapBlockItems;
 import com.hedera.block.server.exception.BlockStreamProtocolException;
 import com.hedera.block.server.mediator.SubscriptionHandler;
+import com.hedera.block.server.metrics.BlockTraceStage;
 import com.hedera.block.server.metrics.MetricsService;
 import com.hedera.block.server.notifier.Notifier;
 import com.hedera.block.server.persistence.storage.write.AsyncBlockWriter;
@@ -30,6 +33,7 @@ import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.Future;
 import java.util.concurrent.TransferQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
@@ -51,6 +55,8 @@ public class StreamPersistenceHandlerImpl implements BlockNodeEventHandler<Objec
     private final AckHandler ackHandler;
     private final AsyncBlockWriterFactory asyncBlockWriterFactory;
     private final CompletionService<Void> completionService;
+    // Decremented by each writer as it completes, so the backlog is current without new events
+    private final AtomicInteger writersInFlight = new AtomicInteger();
     private TransferQueue<BlockItemUnparsed> currentWriterQueue;
 
     /**
@@ -95,7 +101,13 @@ public class StreamPersistenceHandlerImpl implements BlockNodeEventHandler<Objec
 
         try {
             if (serviceStatus.isRunning()) {
-                final List<BlockItemUnparsed> blockItems = event.get();
+                final List<BlockItemUnparsed> value = event.get();
+                if (value == null) {
+                    return;
+                }
+                // The items held by the payload arena are parsed once, shared with the other
+                // stages reading the batch
+                final List<BlockItemUnparsed> blockItems = OffHeapBlockItems.onHeap(value);
                 if (blockItems.isEmpty()) {
                     final String message = "BlockItems list is empty.";
                     throw new BlockStreamProtocolException(message);
@@ -138,9 +150,18 @@ public class StreamPersistenceHandlerImpl implements BlockNodeEventHandler<Objec
                 final BlockHeader header = BlockHeader.PROTOBUF.parse(firstItem.blockHeader());
                 final long blockNumber = header.number();
                 if (blockNumber >= 0) {
+                    metricsService.traceExit(blockNumber, BlockTraceStage.MEDIATOR);
                     final AsyncBlockWriter writer = asyncBlockWriterFactory.create(blockNumber);
                     currentWriterQueue = writer.getQueue();
-                    completionService.submit(writer);
+                    metricsService.traceEnter(blockNumber, BlockTraceStage.WRITER_QUEUE);
+                    metricsService.get(PersistenceWriterBacklog).set(writersInFlight.incrementAndGet());
+                    completionService.submit(() -> {
+                        try {
+                            return writer.call();
+                        } finally {
+                            metricsService.get(PersistenceWriterBacklog).set(writersInFlight.decrementAndGet());
+                        }
+                    });
                 } else {
                     // we need to notify the ackHandler that the block number is invalid
                     // IMPORTANT: the currentWriterQueue MUST be null after we have
@@ -26,6 +26,11 @@ import java.util.Objects;
  * @param type storage type
  * @param compression compression type to use for the storage
  * @param compressionLevel compression level used by the compression algorithm
+ * @param archiveEnabled whether archiving of live blocks is enabled
+ * @param archiveBatchSize the amount of blocks grouped together in a single archive
+ * @param repairRootPath provides the root path of a secondary block store
+ * (same layout as the live root) used to serve blocks that fail checksum
+ * verification; blank disables repair
  * Non-PRODUCTION values should only be used for troubleshooting and development purposes.
  */
 @ConfigData("persistence.storage")
@@ -38,8 +43,8 @@ public record PersistenceStorageConfig(
         @Loggable @ConfigProperty(defaultValue = "ZSTD") CompressionType compression,
         @Loggable @ConfigProperty(defaultValue = "3") @Min(0) @Max(20) int compressionLevel,
         @Loggable @ConfigProperty(defaultValue = "true") boolean archiveEnabled,
-        @Loggable @ConfigProperty(defaultValue = "1_000")
-                int archiveBatchSize) { // @todo(517) rename batch to group size
+        @Loggable @ConfigProperty(defaultValue = "1_000") int archiveBatchSize, // @todo(517) rename batch to group size
+        @Loggable @ConfigProperty(defaultValue = "") String repairRootPath) {
     // @todo(#371) - the default life/archive root path must be absolute starting from /opt
     private static final String LIVE_ROOT_PATH =
             Path.of("hashgraph/blocknode/data/live/").toAbsolutePath().toString();
@@ -57,6 +62,19 @@ public record PersistenceStorageConfig(
         liveRootPath = resolvePath(liveRootPath, LIVE_ROOT_PATH, BLOCK_NODE_LIVE_ROOT_DIRECTORY_SEMANTIC_NAME);
         archiveRootPath =
                 resolvePath(archiveRootPath, ARCHIVE_ROOT_PATH, BLOCK_NODE_ARCHIVE_ROOT_DIRECTORY_SEMANTIC_NAME);
+        // the repair root is optional and is only read from, so it is not created
+        repairRootPath = StringUtilities.isBlank(repairRootPath)
+                ? ""
+                : Path.of(repairRootPath).normalize().toAbsolutePath().toString();
+    }
+
+    /**
+     * This method checks whether a repair source has been configured.
+     *
+     * @return {@code true} if a repair root path is configured
+     */
+    public boolean isRepairEnabled() {
+        return !repairRootPath.isEmpty();
     }
 
     /**
@@ -3,8 +3,11 @@ package com.hedera.block.server.persistence.storage.archive;
 
 import com.hedera.block.common.utils.FileUtilities;
 import com.hedera.block.server.persistence.storage.PersistenceStorageConfig;
+import com.hedera.block.server.persistence.storage.checksum.BlockChecksums;
+import com.hedera.block.server.persistence.storage.hashtree.HashTreeStore;
 import com.hedera.block.server.persistence.storage.path.BlockPathResolver;
 import com.hedera.block.server.persistence.storage.path.LiveBlockPath;
+import com.hedera.block.server.service.ServiceStatus;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.io.File;
 import java.io.IOException;
@@ -34,16 +37,25 @@ public final class BlockAsLocalFileArchiver implements LocalBlockArchiver {
     private final ExecutorService executor;
 
     private BlockAsLocalFileArchiver(
-            @NonNull final PersistenceStorageConfig config, @NonNull final BlockPathResolver blockPathResolver) {
-        this.archiverRunnable =
-                new BlockArchiverRunnable(Objects.requireNonNull(config), Objects.requireNonNull(blockPathResolver));
+            @NonNull final PersistenceStorageConfig config,
+            @NonNull final BlockPathResolver blockPathResolver,
+            @NonNull final HashTreeStore hashTreeStore,
+            @NonNull final ServiceStatus serviceStatus) {
+        this.archiverRunnable = new BlockArchiverRunnable(
+                Objects.requireNonNull(config),
+                Objects.requireNonNull(blockPathResolver),
+                Objects.requireNonNull(hashTreeStore),
+                Objects.requireNonNull(serviceStatus));
         this.executor = Executors.newSingleThreadExecutor();
         this.executor.submit(archiverRunnable);
     }
 
     public static BlockArchiver of(
-            @NonNull final PersistenceStorageConfig config, @NonNull final BlockPathResolver blockPathResolver) {
-        return new BlockAsLocalFileArchiver(config, blockPathResolver);
+            @NonNull final PersistenceStorageConfig config,
+            @NonNull final BlockPathResolver blockPathResolver,
+            @NonNull final HashTreeStore hashTreeStore,
+            @NonNull final ServiceStatus serviceStatus) {
+        return new BlockAsLocalFileArchiver(config, blockPathResolver, hashTreeStore, serviceStatus);
     }
 
     @Override
@@ -68,6 +80,8 @@ public final class BlockAsLocalFileArchiver implements LocalBlockArchiver {
         private final Path archiveRootPath;
         private final int archiveBatchSize;
         private final BlockPathResolver blockPathResolver;
+        private final HashTreeStore hashTreeStore;
+        private final ServiceStatus serviceStatus;
         private volatile ThreadSignalCarrier threadSignalCarrier;
         private volatile boolean running;
         private volatile long lastWrittenBlockNumber = -1;
@@ -76,10 +90,15 @@ public final class BlockAsLocalFileArchiver implements LocalBlockArchiver {
         // @todo(517) no state will be needed once we move to task based solution
 
         private BlockArchiverRunnable(
-                @NonNull final PersistenceStorageConfig config, final BlockPathResolver blockPathResolver) {
+                @NonNull final PersistenceStorageConfig config,
+                final BlockPathResolver blockPathResolver,
+                final HashTreeStore hashTreeStore,
+                final ServiceStatus serviceStatus) {
             this.archiveRootPath = Path.of(config.archiveRootPath());
             this.archiveBatchSize = config.archiveBatchSize();
             this.blockPathResolver = Objects.requireNonNull(blockPathResolver);
+            this.hashTreeStore = Objects.requireNonNull(hashTreeStore);
+            this.serviceStatus = Objects.requireNonNull(serviceStatus);
         }
 
         private void signalBlockWritten(final long latestBlockNumber) {
@@ -188,6 +207,16 @@ public final class BlockAsLocalFileArchiver implements LocalBlockArchiver {
                                 zipOutputStream.putNextEntry(zipEntry);
                                 Files.copy(path, zipOutputStream);
                                 zipOutputStream.closeEntry();
+                                // carry the checksum sidecar over, if present
+                                final Path checksumPath = BlockChecksums.resolveChecksumPath(path);
+                                if (Files.exists(checksumPath)) {
+                                    zipOutputStream.putNextEntry(new ZipEntry(
+                                            checksumPath.getFileName().toString()));
+                                    Files.copy(checksumPath, zipOutputStream);
+                                    zipOutputStream.closeEntry();
+                                }
+                                // and the hash tree, which is removed once the group is archived
+                                hashTreeStore.archive(blockNumberOf(path), zipOutputStream);
                             } catch (final IOException e) {
                                 throw new UncheckedIOException(e);
                             }
@@ -207,6 +236,13 @@ public final class BlockAsLocalFileArchiver implements LocalBlockArchiver {
                     }
                 }
 
+                // the hash trees are read from the archive from now on
+                for (final List<Path> archivedPaths : pathsToArchive.values()) {
+                    for (final Path path : archivedPaths) {
+                        hashTreeStore.remove(blockNumberOf(path));
+                    }
+                }
+
                 // @todo(517) will not be needed once we migrate to task based solution, all the state will be
                 // removed
                 this.lastArchivedBlockNumber = Long.parseLong(pathsToArchive
@@ -216,9 +252,16 @@ public final class BlockAsLocalFileArchiver implements LocalBlockArchiver {
                         .getFileName()
                         .toString()
                         .split("\\.")[0]);
+                // archived blocks are still served, from the archive
+                serviceStatus.addAvailableBlocks(
+                        blockNumberOf(pathsToArchive.firstEntry().getValue().getFirst()), lastArchivedBlockNumber);
             }
         }
 
+        private static long blockNumberOf(@NonNull final Path blockPath) {
+            return Long.parseLong(blockPath.getFileName().toString().split("\\.")[0]);
+        }
+
         // @todo(517) this will be improved
         public Path resolveArchivePathForZipOfBlockNumber(long blockNumber, int batchSize, Path archiveRootPath) {
             // Calculate the batch start number
@@ -0,0 +1,138 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.persistence.storage.checksum;
+
+import com.hedera.block.common.utils.FileUtilities;
+import com.hedera.block.server.Constants;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.OptionalLong;
+import java.util.zip.CRC32C;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Utility methods for the CRC32C checksums that are stored alongside every
+ * persisted block. The checksum is always computed over the bytes exactly as
+ * they are stored on disk (i.e. after compression) and is kept in a sidecar
+ * file (or archive entry) with the same name as the block file, extended with
+ * {@link Constants#CHECKSUM_FILE_EXTENSION}. The sidecar contains the checksum
+ * as an eight character, lowercase hex string.
+ */
+public final class BlockChecksums {
+    private static final int CHECKSUM_HEX_LENGTH = 8;
+
+    private BlockChecksums() {}
+
+    /**
+     * This method computes the CRC32C checksum of the given bytes.
+     *
+     * @param bytes the bytes to compute the checksum for
+     * @return the computed checksum
+     */
+    public static long compute(@NonNull final byte[] bytes) {
+        final CRC32C crc = new CRC32C();
+        crc.update(Objects.requireNonNull(bytes));
+        return crc.getValue();
+    }
+
+    /**
+     * This method resolves the sidecar checksum path for the given block file
+     * path. The sidecar resides in the same directory as the block file.
+     *
+     * @param blockFilePath the path to the block file, including compression
+     * extension
+     * @return the path to the sidecar checksum file
+     */
+    @NonNull
+    public static Path resolveChecksumPath(@NonNull final Path blockFilePath) {
+        return FileUtilities.appendExtension(blockFilePath, Constants.CHECKSUM_FILE_EXTENSION);
+    }
+
+    /**
+     * This method resolves the sidecar checksum entry name for the given block
+     * zip entry name.
+     *
+     * @param blockEntryName the name of the block entry inside an archive
+     * @return the name of the sidecar checksum entry
+     */
+    @NonNull
+    public static String resolveChecksumEntryName(@NonNull final String blockEntryName) {
+        return Objects.requireNonNull(blockEntryName).concat(Constants.CHECKSUM_FILE_EXTENSION);
+    }
+
+    /**
+     * This method writes the sidecar checksum file for the given block file.
+     * An existing sidecar will be overwritten.
+     *
+     * @param blockFilePath the path to the block file the checksum belongs to
+     * @param checksum the checksum to write
+     * @throws IOException if the sidecar could not be written
+     */
+    public static void writeChecksum(@NonNull final Path blockFilePath, final long checksum) throws IOException {
+        Files.writeString(resolveChecksumPath(blockFilePath), format(checksum), StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * This method reads the sidecar checksum for the given block file, if one
+     * is present. Blocks that were persisted before checksums were introduced
+     * have no sidecar.
+     *
+     * @param blockFilePath the path to the block file the checksum belongs to
+     * @return the stored checksum, or empty if no sidecar exists
+     * @throws IOException if the sidecar exists but could not be read or parsed
+     */
+    @NonNull
+    public static OptionalLong readChecksum(@NonNull final Path blockFilePath) throws IOException {
+        final Path checksumPath = resolveChecksumPath(blockFilePath);
+        if (Files.notExists(checksumPath)) {
+            return OptionalLong.empty();
+        } else {
+            return OptionalLong.of(parse(Files.readString(checksumPath, StandardCharsets.US_ASCII)));
+        }
+    }
+
+    /**
+     * This method reads the sidecar checksum entry for the given block entry
+     * from the given archive, if one is present.
+     *
+     * @param zipFile the archive containing the block entry
+     * @param blockEntryName the name of the block entry
+     * @return the stored checksum, or empty if no sidecar entry exists
+     * @throws IOException if the sidecar entry exists but could not be read
+     * or parsed
+     */
+    @NonNull
+    public static OptionalLong readChecksum(@NonNull final ZipFile zipFile, @NonNull final String blockEntryName)
+            throws IOException {
+        final ZipEntry entry = zipFile.getEntry(resolveChecksumEntryName(blockEntryName));
+        if (Objects.isNull(entry)) {
+            return OptionalLong.empty();
+        } else {
+            try (final InputStream in = zipFile.getInputStream(entry)) {
+                return OptionalLong.of(parse(new String(in.readAllBytes(), StandardCharsets.US_ASCII)));
+            }
+        }
+    }
+
+    @NonNull
+    private static String format(final long checksum) {
+        return "%08x".formatted(checksum);
+    }
+
+    private static long parse(@NonNull final String raw) throws IOException {
+        final String trimmed = raw.trim();
+        if (trimmed.length() != CHECKSUM_HEX_LENGTH) {
+            throw new IOException("Malformed block checksum [%s]".formatted(trimmed));
+        }
+        try {
+            return Long.parseLong(trimmed, 16);
+        } catch (final NumberFormatException e) {
+            throw new IOException("Malformed block checksum [%s]".formatted(trimmed), e);
+        }
+    }
+}
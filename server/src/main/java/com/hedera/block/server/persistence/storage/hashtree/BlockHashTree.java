@@ -0,0 +1,126 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.persistence.storage.hashtree;
+
+import com.hedera.block.common.hasher.HashingUtilities;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.Objects;
+
+/**
+ * The leaf hashes of a verified block, along with what is needed to locate the leaf of each item
+ * and to combine the roots of the input and output trees into the block hash.
+ * <p>
+ * Each item of the block is mapped to an encoded leaf: {@link #NOT_A_LEAF} for items that are not
+ * hashed into either tree (e.g. the block proof), otherwise the index of the leaf in its tree,
+ * shifted left by one, with the lowest bit set for leaves of the output tree.
+ */
+public final class BlockHashTree {
+    /**
+     * The encoded leaf of an item that is not a leaf of either tree.
+     */
+    public static final int NOT_A_LEAF = -1;
+
+    private final long blockNumber;
+    private final Bytes previousBlockRootHash;
+    private final Bytes startOfBlockStateRootHash;
+    private final int[] itemLeaves;
+    private final int itemCount;
+    private final byte[] inputLeaves;
+    private final int inputLeafCount;
+    private final byte[] outputLeaves;
+    private final int outputLeafCount;
+
+    /**
+     * Constructor. The arrays are not copied.
+     *
+     * @param blockNumber the block number
+     * @param previousBlockRootHash the previous block root hash of the block proof
+     * @param startOfBlockStateRootHash the start of block state root hash of the block proof
+     * @param itemLeaves the encoded leaf of each item, only the first {@code itemCount} are used
+     * @param itemCount the number of items in the block
+     * @param inputLeaves the input leaf hashes, only the first {@code inputLeafCount} are used
+     * @param inputLeafCount the number of input leaves
+     * @param outputLeaves the output leaf hashes, only the first {@code outputLeafCount} are used
+     * @param outputLeafCount the number of output leaves
+     */
+    public BlockHashTree(
+            final long blockNumber,
+            @NonNull final Bytes previousBlockRootHash,
+            @NonNull final Bytes startOfBlockStateRootHash,
+            @NonNull final int[] itemLeaves,
+            final int itemCount,
+            @NonNull final byte[] inputLeaves,
+            final int inputLeafCount,
+            @NonNull final byte[] outputLeaves,
+            final int outputLeafCount) {
+        this.blockNumber = blockNumber;
+        this.previousBlockRootHash = Objects.requireNonNull(previousBlockRootHash);
+        this.startOfBlockStateRootHash = Objects.requireNonNull(startOfBlockStateRootHash);
+        this.itemLeaves = Objects.requireNonNull(itemLeaves);
+        this.itemCount = Objects.checkFromIndexSize(0, itemCount, itemLeaves.length);
+        this.inputLeaves = Objects.requireNonNull(inputLeaves);
+        this.inputLeafCount = checkLeafCount(inputLeafCount, inputLeaves);
+        this.outputLeaves = Objects.requireNonNull(outputLeaves);
+        this.outputLeafCount = checkLeafCount(outputLeafCount, outputLeaves);
+    }
+
+    /**
+     * @return the block number
+     */
+    public long blockNumber() {
+        return blockNumber;
+    }
+
+    /**
+     * @return the previous block root hash of the block proof
+     */
+    @NonNull
+    public Bytes previousBlockRootHash() {
+        return previousBlockRootHash;
+    }
+
+    /**
+     * @return the start of block state root hash of the block proof
+     */
+    @NonNull
+    public Bytes startOfBlockStateRootHash() {
+        return startOfBlockStateRootHash;
+    }
+
+    /**
+     * @return the number of items in the block
+     */
+    public int itemCount() {
+        return itemCount;
+    }
+
+    /**
+     * @param itemIndex the index of the item in the block
+     * @return the encoded leaf of the item
+     */
+    public int itemLeaf(final int itemIndex) {
+        return itemLeaves[Objects.checkIndex(itemIndex, itemCount)];
+    }
+
+    /**
+     * @param output whether to return the output leaves rather than the input leaves
+     * @return the leaf hashes of the tree, only the first {@link #leafCount(boolean)} are used
+     */
+    @NonNull
+    byte[] leaves(final boolean output) {
+        return output ? outputLeaves : inputLeaves;
+    }
+
+    /**
+     * @param output whether to return the number of output leaves rather than input leaves
+     * @return the number of leaves of the tree
+     */
+    public int leafCount(final boolean output) {
+        return output ? outputLeafCount : inputLeafCount;
+    }
+
+    private static int checkLeafCount(final int leafCount, @NonNull final byte[] leaves) {
+        Objects.checkFromIndexSize(0, leafCount, leaves.length / HashingUtilities.HASH_SIZE);
+        return leafCount;
+    }
+}
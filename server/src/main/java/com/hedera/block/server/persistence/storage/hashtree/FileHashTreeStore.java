@@ -0,0 +1,432 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.persistence.storage.hashtree;
+
+import static com.hedera.block.common.hasher.HashingUtilities.HASH_SIZE;
+import static java.lang.System.Logger.Level.ERROR;
+
+import com.hedera.block.common.hasher.HashingUtilities;
+import com.hedera.block.server.persistence.storage.path.BlockPathResolver;
+import com.hedera.hapi.block.BlockItemProofResponse;
+import com.hedera.hapi.block.BlockItemProofResponseCode;
+import com.hedera.hapi.block.ItemInclusionProof;
+import com.hedera.hapi.block.MerkleSibling;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * A {@link HashTreeStore} keeping one file per block under a root directory.
+ * <p>
+ * A file holds a header, the two block proof hashes the tree roots are combined with, the
+ * encoded leaf of each item (see {@link BlockHashTree}), then every level of the input tree
+ * followed by every level of the output tree, from the leaves up to the root. A level only
+ * holds the nodes covering at least one leaf; the nodes covering only padding are the same for
+ * every tree and are not stored. All offsets follow from the counts in the header, so the proof
+ * of an item takes one read per tree level plus a constant number of reads, regardless of the
+ * size of the block.
+ * <p>
+ * Files are written on a dedicated thread, to a temporary file that is then moved into place.
+ * When a block is archived, its file is written to the archive of the block and removed; the
+ * proofs of its items are then read from the archive.
+ */
+public final class FileHashTreeStore implements HashTreeStore {
+    private static final int MAGIC = 0x42485431; // "BHT1"
+    private static final int VERSION = 1;
+    /**
+     * magic, version, block number, item count, input and output leaf counts, then the lengths
+     * of the previous block root hash and of the start of block state root hash, which follow
+     */
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 4 + 4 + 4 + 4 + 4;
+    private static final String FILE_EXTENSION = ".bht";
+    /**
+     * The number of blocks per directory.
+     */
+    private static final long BLOCKS_PER_DIRECTORY = 10_000L;
+    /**
+     * The roots of the padding subtrees, by height: the empty leaf hash, then each one combined
+     * with itself.
+     */
+    private static final byte[][] EMPTY_HASHES = new byte[Integer.SIZE + 1][];
+
+    static {
+        EMPTY_HASHES[0] = HashingUtilities.noThrowSha384HashOf(new byte[0]);
+        for (int height = 1; height < EMPTY_HASHES.length; height++) {
+            EMPTY_HASHES[height] = HashingUtilities.combine(EMPTY_HASHES[height - 1], EMPTY_HASHES[height - 1]);
+        }
+    }
+
+    private final System.Logger LOGGER = System.getLogger(getClass().getName());
+
+    private final Path rootPath;
+    private final BlockPathResolver blockPathResolver;
+    private final ExecutorService writer;
+
+    /**
+     * Constructor.
+     *
+     * @param rootPath the directory to store the hash trees under, created if missing
+     * @param blockPathResolver used to find the archives of archived blocks
+     * @throws UncheckedIOException if the root directory cannot be created
+     */
+    public FileHashTreeStore(@NonNull final Path rootPath, @NonNull final BlockPathResolver blockPathResolver) {
+        this.rootPath = Objects.requireNonNull(rootPath);
+        this.blockPathResolver = Objects.requireNonNull(blockPathResolver);
+        try {
+            Files.createDirectories(rootPath);
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Unable to create the hash tree root " + rootPath, e);
+        }
+        this.writer = Executors.newSingleThreadExecutor(r -> {
+            final Thread t = new Thread(r, "hash-tree-writer");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Hash trees are stored.
+     *
+     * @return {@code true}
+     */
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Queues the hash tree to be written, replacing any stored tree of the same block.
+     *
+     * @param hashTree the hash tree to store
+     * @return a future that completes once the hash tree is written, or exceptionally with an
+     * {@link UncheckedIOException} if it cannot be written
+     */
+    @NonNull
+    @Override
+    public CompletableFuture<Void> store(@NonNull final BlockHashTree hashTree) {
+        Objects.requireNonNull(hashTree);
+        final CompletableFuture<Void> stored = CompletableFuture.runAsync(
+                () -> {
+                    try {
+                        write(hashTree);
+                    } catch (final IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                },
+                writer);
+        stored.exceptionally(e -> {
+            LOGGER.log(ERROR, "Unable to store the hash tree of block " + hashTree.blockNumber(), e);
+            return null;
+        });
+        return stored;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @NonNull
+    @Override
+    public BlockItemProofResponse readItemProof(final long blockNumber, final int itemIndex) throws IOException {
+        final Path path = resolve(blockNumber);
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return readItemProof(
+                    blockNumber, itemIndex, (position, length) -> read(channel, position, length), path.toString());
+        } catch (final NoSuchFileException e) {
+            return readArchivedItemProof(blockNumber, itemIndex);
+        }
+    }
+
+    /**
+     * Writes the stored hash tree of the block to its archive, as an entry named like the file.
+     *
+     * @param blockNumber the block number
+     * @param zipOutputStream the archive the block is being written to
+     * @return {@code true} if a hash tree of the block was stored and written
+     * @throws IOException if the hash tree cannot be written
+     */
+    @Override
+    public boolean archive(final long blockNumber, @NonNull final ZipOutputStream zipOutputStream)
+            throws IOException {
+        Objects.requireNonNull(zipOutputStream);
+        final Path path = resolve(blockNumber);
+        if (Files.notExists(path)) {
+            return false;
+        }
+        zipOutputStream.putNextEntry(new ZipEntry(path.getFileName().toString()));
+        Files.copy(path, zipOutputStream);
+        zipOutputStream.closeEntry();
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean remove(final long blockNumber) throws IOException {
+        return Files.deleteIfExists(resolve(blockNumber));
+    }
+
+    /**
+     * This method stops the writer thread, abandoning the hash trees not written yet.
+     */
+    public void shutdown() {
+        writer.shutdownNow();
+    }
+
+    /**
+     * Reads the proof from the hash tree written to the archive of the block, if the block is
+     * archived.
+     */
+    @NonNull
+    private BlockItemProofResponse readArchivedItemProof(final long blockNumber, final int itemIndex)
+            throws IOException {
+        final Optional<Path> archiveGroup =
+                blockNumber < 0 ? Optional.empty() : blockPathResolver.findArchiveGroup(blockNumber);
+        if (archiveGroup.isEmpty()) {
+            return response(BlockItemProofResponseCode.ITEM_PROOF_NOT_FOUND);
+        }
+        final byte[] hashTree;
+        try (final ZipFile zipFile = new ZipFile(archiveGroup.get().toFile())) {
+            final ZipEntry entry = zipFile.getEntry(blockNumber + FILE_EXTENSION);
+            if (entry == null) {
+                return response(BlockItemProofResponseCode.ITEM_PROOF_NOT_FOUND);
+            }
+            try (final InputStream in = zipFile.getInputStream(entry)) {
+                hashTree = in.readAllBytes();
+            }
+        }
+        return readItemProof(
+                blockNumber,
+                itemIndex,
+                (position, length) -> read(hashTree, position, length),
+                archiveGroup.get() + "!" + blockNumber + FILE_EXTENSION);
+    }
+
+    @NonNull
+    private static BlockItemProofResponse readItemProof(
+            final long blockNumber,
+            final int itemIndex,
+            @NonNull final PositionalReader reader,
+            @NonNull final String source)
+            throws IOException {
+        final ByteBuffer header = reader.read(0, HEADER_SIZE);
+        if (header.getInt() != MAGIC || header.getInt() != VERSION || header.getLong() != blockNumber) {
+            throw new IOException("Unexpected hash tree header in " + source);
+        }
+        final int itemCount = header.getInt();
+        final int inputLeafCount = header.getInt();
+        final int outputLeafCount = header.getInt();
+        final int previousBlockRootHashLength = header.getInt();
+        final int startOfBlockStateRootHashLength = header.getInt();
+        final ByteBuffer proofHashes =
+                reader.read(HEADER_SIZE, previousBlockRootHashLength + startOfBlockStateRootHashLength);
+        final byte[] previousBlockRootHash = new byte[previousBlockRootHashLength];
+        proofHashes.get(previousBlockRootHash);
+        final byte[] startOfBlockStateRootHash = new byte[startOfBlockStateRootHashLength];
+        proofHashes.get(startOfBlockStateRootHash);
+        final long itemLeavesStart = HEADER_SIZE + previousBlockRootHashLength + startOfBlockStateRootHashLength;
+        if (itemIndex < 0 || itemIndex >= itemCount) {
+            return response(BlockItemProofResponseCode.ITEM_PROOF_NOT_FOUND);
+        }
+        final int itemLeaf = reader.read(itemLeavesStart + (long) Integer.BYTES * itemIndex, Integer.BYTES).getInt();
+        if (itemLeaf == BlockHashTree.NOT_A_LEAF) {
+            return response(BlockItemProofResponseCode.ITEM_PROOF_NOT_A_LEAF);
+        }
+
+        final boolean output = (itemLeaf & 1) == 1;
+        final long inputStart = itemLeavesStart + (long) Integer.BYTES * itemCount;
+        final long outputStart = inputStart + (long) HASH_SIZE * nodeCount(inputLeafCount);
+        final long treeStart = output ? outputStart : inputStart;
+        final int leafCount = output ? outputLeafCount : inputLeafCount;
+
+        // from the leaf up to the root of its tree
+        int index = itemLeaf >>> 1;
+        final byte[] itemHash = readHash(reader, treeStart + (long) HASH_SIZE * index);
+        final List<MerkleSibling> siblings = new ArrayList<>();
+        long levelStart = treeStart;
+        int levelCount = leafCount;
+        for (int height = 0; levelCount > 1; height++) {
+            final int siblingIndex = index ^ 1;
+            final byte[] siblingHash = siblingIndex < levelCount
+                    ? readHash(reader, levelStart + (long) HASH_SIZE * siblingIndex)
+                    : EMPTY_HASHES[height];
+            siblings.add(sibling(siblingIndex < index, siblingHash));
+            levelStart += (long) HASH_SIZE * levelCount;
+            levelCount = (levelCount + 1) / 2;
+            index >>>= 1;
+        }
+
+        // then up to the block hash, see HashingUtilities.computeFinalBlockHash
+        final byte[] inputRoot = rootHash(reader, inputStart, inputLeafCount);
+        final byte[] outputRoot = rootHash(reader, outputStart, outputLeafCount);
+        final byte[] leftParent = HashingUtilities.combine(previousBlockRootHash, inputRoot);
+        final byte[] rightParent = HashingUtilities.combine(outputRoot, startOfBlockStateRootHash);
+        if (output) {
+            siblings.add(sibling(false, startOfBlockStateRootHash));
+            siblings.add(sibling(true, leftParent));
+        } else {
+            siblings.add(sibling(true, previousBlockRootHash));
+            siblings.add(sibling(false, rightParent));
+        }
+        final ItemInclusionProof proof = ItemInclusionProof.newBuilder()
+                .itemHash(Bytes.wrap(itemHash))
+                .siblings(siblings)
+                .blockHash(Bytes.wrap(HashingUtilities.combine(leftParent, rightParent)))
+                .build();
+        return BlockItemProofResponse.newBuilder()
+                .status(BlockItemProofResponseCode.ITEM_PROOF_SUCCESS)
+                .proof(proof)
+                .build();
+    }
+
+    private void write(@NonNull final BlockHashTree hashTree) throws IOException {
+        final Path target = resolve(hashTree.blockNumber());
+        Files.createDirectories(target.getParent());
+        final Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (final DataOutputStream out =
+                new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(hashTree.blockNumber());
+            out.writeInt(hashTree.itemCount());
+            out.writeInt(hashTree.leafCount(false));
+            out.writeInt(hashTree.leafCount(true));
+            out.writeInt((int) hashTree.previousBlockRootHash().length());
+            out.writeInt((int) hashTree.startOfBlockStateRootHash().length());
+            hashTree.previousBlockRootHash().writeTo(out);
+            hashTree.startOfBlockStateRootHash().writeTo(out);
+            for (int i = 0; i < hashTree.itemCount(); i++) {
+                out.writeInt(hashTree.itemLeaf(i));
+            }
+            writeLevels(out, hashTree.leaves(false), hashTree.leafCount(false));
+            writeLevels(out, hashTree.leaves(true), hashTree.leafCount(true));
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Writes the leaves, then each level above them, up to the root.
+     */
+    private static void writeLevels(
+            @NonNull final DataOutputStream out, @NonNull final byte[] leaves, final int leafCount)
+            throws IOException {
+        out.write(leaves, 0, leafCount * HASH_SIZE);
+        final MessageDigest digest = HashingUtilities.sha384DigestOrThrow();
+        byte[] level = leaves;
+        int levelCount = leafCount;
+        for (int height = 0; levelCount > 1; height++) {
+            final int parentCount = (levelCount + 1) / 2;
+            final byte[] parents = new byte[parentCount * HASH_SIZE];
+            for (int i = 0; i < parentCount; i++) {
+                final int left = 2 * i;
+                digest.update(level, left * HASH_SIZE, HASH_SIZE);
+                if (left + 1 < levelCount) {
+                    digest.update(level, (left + 1) * HASH_SIZE, HASH_SIZE);
+                } else {
+                    digest.update(EMPTY_HASHES[height]);
+                }
+                System.arraycopy(digest.digest(), 0, parents, i * HASH_SIZE, HASH_SIZE);
+            }
+            out.write(parents);
+            level = parents;
+            levelCount = parentCount;
+        }
+    }
+
+    @NonNull
+    private Path resolve(final long blockNumber) {
+        return rootPath.resolve(Long.toString(blockNumber / BLOCKS_PER_DIRECTORY))
+                .resolve(blockNumber + FILE_EXTENSION);
+    }
+
+    /**
+     * @return the number of stored nodes of a tree with the given number of leaves
+     */
+    private static long nodeCount(final int leafCount) {
+        long count = 0;
+        long levelCount = leafCount;
+        while (levelCount > 1) {
+            count += levelCount;
+            levelCount = (levelCount + 1) / 2;
+        }
+        // the root, if there is any leaf
+        return count + levelCount;
+    }
+
+    @NonNull
+    private static byte[] rootHash(
+            @NonNull final PositionalReader reader, final long treeStart, final int leafCount) throws IOException {
+        if (leafCount == 0) {
+            return EMPTY_HASHES[0];
+        }
+        return readHash(reader, treeStart + (long) HASH_SIZE * (nodeCount(leafCount) - 1));
+    }
+
+    @NonNull
+    private static byte[] readHash(@NonNull final PositionalReader reader, final long position) throws IOException {
+        return reader.read(position, HASH_SIZE).array();
+    }
+
+    @NonNull
+    private static ByteBuffer read(@NonNull final FileChannel channel, final long position, final int length)
+            throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Truncated hash tree file");
+            }
+        }
+        return buffer.flip();
+    }
+
+    @NonNull
+    private static ByteBuffer read(@NonNull final byte[] hashTree, final long position, final int length)
+            throws IOException {
+        if (position + length > hashTree.length) {
+            throw new EOFException("Truncated hash tree file");
+        }
+        return ByteBuffer.wrap(Arrays.copyOfRange(hashTree, (int) position, (int) position + length));
+    }
+
+    @NonNull
+    private static MerkleSibling sibling(final boolean isLeft, @NonNull final byte[] hash) {
+        return MerkleSibling.newBuilder().isLeft(isLeft).hash(Bytes.wrap(hash)).build();
+    }
+
+    @NonNull
+    private static BlockItemProofResponse response(@NonNull final BlockItemProofResponseCode status) {
+        return BlockItemProofResponse.newBuilder().status(status).build();
+    }
+
+    /**
+     * Reads a range of bytes of a stored hash tree, into a buffer of its own.
+     */
+    @FunctionalInterface
+    private interface PositionalReader {
+        @NonNull
+        ByteBuffer read(long position, int length) throws IOException;
+    }
+}
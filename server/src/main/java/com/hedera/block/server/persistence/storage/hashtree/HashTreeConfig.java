@@ -0,0 +1,34 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.persistence.storage.hashtree;
+
+import com.hedera.block.common.utils.StringUtilities;
+import com.hedera.block.server.config.logging.Loggable;
+import com.swirlds.config.api.ConfigData;
+import com.swirlds.config.api.ConfigProperty;
+import java.nio.file.Path;
+
+/**
+ * Use this configuration for the stored hash trees of verified blocks.
+ *
+ * @param enabled whether the hash trees computed while verifying blocks are
+ * stored, to serve item inclusion proofs
+ * @param rootPath the root path of the stored hash trees; if blank, a
+ * {@code hashtree} directory next to the default live root is used
+ */
+@ConfigData("hashTree")
+public record HashTreeConfig(
+        @Loggable @ConfigProperty(defaultValue = "false") boolean enabled,
+        @Loggable @ConfigProperty(defaultValue = "") String rootPath) {
+    private static final String HASH_TREE_ROOT_PATH =
+            Path.of("hashgraph/blocknode/data/hashtree/").toAbsolutePath().toString();
+
+    /**
+     * Constructor.
+     */
+    public HashTreeConfig {
+        rootPath = Path.of(StringUtilities.isBlank(rootPath) ? HASH_TREE_ROOT_PATH : rootPath)
+                .normalize()
+                .toAbsolutePath()
+                .toString();
+    }
+}
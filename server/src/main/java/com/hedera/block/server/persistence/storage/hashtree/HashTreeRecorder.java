@@ -0,0 +1,97 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.persistence.storage.hashtree;
+
+import static com.hedera.block.common.hasher.HashingUtilities.HASH_SIZE;
+import static com.hedera.block.common.hasher.HashingUtilities.leafOf;
+
+import com.hedera.block.common.hasher.Hashes;
+import com.hedera.hapi.block.BlockItemUnparsed;
+import com.hedera.hapi.block.stream.BlockProof;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Keeps the leaf hashes computed while a block is verified, so they can be stored once the block
+ * is verified instead of being computed again.
+ * <p>
+ * Instances are not thread safe; batches must be recorded in block order, by one thread at a time.
+ */
+public final class HashTreeRecorder {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private int[] itemLeaves = new int[INITIAL_CAPACITY];
+    private int itemCount;
+    private byte[] inputLeaves = new byte[INITIAL_CAPACITY * HASH_SIZE];
+    private int inputLeafCount;
+    private byte[] outputLeaves = new byte[INITIAL_CAPACITY * HASH_SIZE];
+    private int outputLeafCount;
+
+    /**
+     * Records the next batch of items of the block along with their hashes. The positions of the
+     * hash buffers are left untouched.
+     *
+     * @param blockItems the next batch of items of the block
+     * @param hashes the input and output hashes of the batch, in item order
+     */
+    public void record(@NonNull final List<BlockItemUnparsed> blockItems, @NonNull final Hashes hashes) {
+        final ByteBuffer inputHashes = hashes.inputHashes().duplicate();
+        final ByteBuffer outputHashes = hashes.outputHashes().duplicate();
+        ensureItemCapacity(itemCount + blockItems.size());
+        ensureLeafCapacity(inputHashes.remaining() / HASH_SIZE, outputHashes.remaining() / HASH_SIZE);
+        for (final BlockItemUnparsed item : blockItems) {
+            switch (leafOf(item.item().kind())) {
+                case INPUT -> {
+                    itemLeaves[itemCount++] = inputLeafCount << 1;
+                    inputHashes.get(inputLeaves, inputLeafCount++ * HASH_SIZE, HASH_SIZE);
+                }
+                case OUTPUT -> {
+                    itemLeaves[itemCount++] = (outputLeafCount << 1) | 1;
+                    outputHashes.get(outputLeaves, outputLeafCount++ * HASH_SIZE, HASH_SIZE);
+                }
+                case NONE -> itemLeaves[itemCount++] = BlockHashTree.NOT_A_LEAF;
+            }
+        }
+    }
+
+    /**
+     * Returns the hash tree of the recorded items. The recorder must not be used afterwards.
+     *
+     * @param blockNumber the block number
+     * @param blockProof the proof of the block
+     * @return the hash tree of the block
+     */
+    @NonNull
+    public BlockHashTree build(final long blockNumber, @NonNull final BlockProof blockProof) {
+        Objects.requireNonNull(blockProof);
+        return new BlockHashTree(
+                blockNumber,
+                blockProof.previousBlockRootHash(),
+                blockProof.startOfBlockStateRootHash(),
+                itemLeaves,
+                itemCount,
+                inputLeaves,
+                inputLeafCount,
+                outputLeaves,
+                outputLeafCount);
+    }
+
+    private void ensureItemCapacity(final int capacity) {
+        if (capacity > itemLeaves.length) {
+            itemLeaves = Arrays.copyOf(itemLeaves, Math.max(capacity, itemLeaves.length * 2));
+        }
+    }
+
+    private void ensureLeafCapacity(final int newInputs, final int newOutputs) {
+        final int inputCapacity = (inputLeafCount + newInputs) * HASH_SIZE;
+        if (inputCapacity > inputLeaves.length) {
+            inputLeaves = Arrays.copyOf(inputLeaves, Math.max(inputCapacity, inputLeaves.length * 2));
+        }
+        final int outputCapacity = (outputLeafCount + newOutputs) * HASH_SIZE;
+        if (outputCapacity > outputLeaves.length) {
+            outputLeaves = Arrays.copyOf(outputLeaves, Math.max(outputCapacity, outputLeaves.length * 2));
+        }
+    }
+}
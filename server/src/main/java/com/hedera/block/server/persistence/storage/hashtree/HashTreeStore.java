@@ -0,0 +1,64 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.persistence.storage.hashtree;
+
+import com.hedera.hapi.block.BlockItemProofResponse;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Stores the hash trees of verified blocks and serves Merkle inclusion proofs of their items.
+ */
+public interface HashTreeStore {
+    /**
+     * This method checks whether hash trees are stored at all. Callers should
+     * not record hash trees if they are not.
+     *
+     * @return {@code true} if hash trees are stored
+     */
+    boolean isEnabled();
+
+    /**
+     * Stores the hash tree of a verified block, without blocking the caller.
+     *
+     * @param hashTree the hash tree to store
+     * @return a future that completes once the hash tree is stored
+     */
+    @NonNull
+    CompletableFuture<Void> store(@NonNull BlockHashTree hashTree);
+
+    /**
+     * Reads the Merkle inclusion proof of an item of a block from its stored
+     * hash tree.
+     *
+     * @param blockNumber the block number
+     * @param itemIndex the index of the item in the block
+     * @return a response holding the proof, or the reason there is none
+     * @throws IOException if the stored hash tree cannot be read
+     */
+    @NonNull
+    BlockItemProofResponse readItemProof(long blockNumber, int itemIndex) throws IOException;
+
+    /**
+     * Writes the stored hash tree of a block as an entry of the archive the
+     * block is being archived to. Once archived, the proofs of the block items
+     * are read from the archive, and the stored hash tree should be removed.
+     *
+     * @param blockNumber the block number
+     * @param zipOutputStream the archive the block is being written to
+     * @return {@code true} if a hash tree of the block was stored and written
+     * @throws IOException if the hash tree cannot be written
+     */
+    boolean archive(long blockNumber, @NonNull ZipOutputStream zipOutputStream) throws IOException;
+
+    /**
+     * Removes the stored hash tree of a block, if any. Hash trees already
+     * written to an archive are left untouched.
+     *
+     * @param blockNumber the block number
+     * @return {@code true} if a hash tree of the block was stored and removed
+     * @throws IOException if the hash tree cannot be removed
+     */
+    boolean remove(long blockNumber) throws IOException;
+}
@@ -0,0 +1,90 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.persistence.storage.hashtree;
+
+import com.hedera.hapi.block.BlockItemProofResponse;
+import com.hedera.hapi.block.BlockItemProofResponseCode;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.concurrent.CompletableFuture;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * A no-op implementation of {@link HashTreeStore}, used when hash trees are
+ * not stored. No inclusion proof is ever available.
+ */
+public final class NoOpHashTreeStore implements HashTreeStore {
+    /**
+     * Constructor.
+     */
+    private NoOpHashTreeStore() {}
+
+    /**
+     * Factory method. Returns a new, fully initialized instance of
+     * {@link NoOpHashTreeStore}.
+     *
+     * @return a new, fully initialized and valid instance of
+     * {@link NoOpHashTreeStore}
+     */
+    public static NoOpHashTreeStore newInstance() {
+        return new NoOpHashTreeStore();
+    }
+
+    /**
+     * Hash trees are never stored.
+     *
+     * @return {@code false}
+     */
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+
+    /**
+     * This method does nothing.
+     *
+     * @param hashTree ignored
+     * @return a completed future
+     */
+    @NonNull
+    @Override
+    public CompletableFuture<Void> store(@NonNull final BlockHashTree hashTree) {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    /**
+     * No proof is ever available.
+     *
+     * @param blockNumber ignored
+     * @param itemIndex ignored
+     * @return a response with the {@code ITEM_PROOF_NOT_AVAILABLE} status
+     */
+    @NonNull
+    @Override
+    public BlockItemProofResponse readItemProof(final long blockNumber, final int itemIndex) {
+        return BlockItemProofResponse.newBuilder()
+                .status(BlockItemProofResponseCode.ITEM_PROOF_NOT_AVAILABLE)
+                .build();
+    }
+
+    /**
+     * Nothing is ever archived.
+     *
+     * @param blockNumber ignored
+     * @param zipOutputStream ignored
+     * @return {@code false}
+     */
+    @Override
+    public boolean archive(final long blockNumber, @NonNull final ZipOutputStream zipOutputStream) {
+        return false;
+    }
+
+    /**
+     * Nothing is ever removed.
+     *
+     * @param blockNumber ignored
+     * @return {@code false}
+     */
+    @Override
+    public boolean remove(final long blockNumber) {
+        return false;
+    }
+}
@@ -6,14 +6,20 @@ import com.hedera.block.common.utils.Preconditions;
 import com.hedera.block.server.Constants;
 import com.hedera.block.server.persistence.storage.PersistenceStorageConfig;
 import com.hedera.block.server.persistence.storage.PersistenceStorageConfig.CompressionType;
+import com.hedera.block.server.persistence.storage.checksum.BlockChecksums;
+import com.hedera.block.server.service.AvailableBlockRange;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.text.DecimalFormat;
+import java.util.Iterator;
+import java.util.LongSummaryStatistics;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.stream.Stream;
 import java.util.zip.ZipFile;
 
 /**
@@ -21,6 +27,7 @@ import java.util.zip.ZipFile;
  */
 public final class BlockAsLocalFilePathResolver implements BlockPathResolver {
     private static final int MAX_LONG_DIGITS = 19;
+    private static final String ZIP_FILE_EXTENSION = ".zip";
     private final Path liveRootPath;
     private final int archiveGroupSize;
     private final int archiveDirDepth;
@@ -33,8 +40,9 @@ public final class BlockAsLocalFilePathResolver implements BlockPathResolver {
      * @param config valid, {@code non-null} instance of
      * {@link PersistenceStorageConfig} used for initializing the resolver
      */
-    private BlockAsLocalFilePathResolver(@NonNull final PersistenceStorageConfig config) {
-        this.liveRootPath = Path.of(config.liveRootPath());
+    private BlockAsLocalFilePathResolver(
+            @NonNull final PersistenceStorageConfig config, @NonNull final Path liveRootPath) {
+        this.liveRootPath = Objects.requireNonNull(liveRootPath);
         this.archiveGroupSize = config.archiveBatchSize();
         this.archiveDirDepth = MAX_LONG_DIGITS - (int) Math.log10(this.archiveGroupSize);
         this.longLeadingZeroesFormat = new DecimalFormat("0".repeat(MAX_LONG_DIGITS));
@@ -50,7 +58,23 @@ public final class BlockAsLocalFilePathResolver implements BlockPathResolver {
      * @return a new, fully initialized instance of {@link BlockAsLocalFilePathResolver}
      */
     public static BlockAsLocalFilePathResolver of(@NonNull final PersistenceStorageConfig config) {
-        return new BlockAsLocalFilePathResolver(config);
+        return new BlockAsLocalFilePathResolver(config, Path.of(config.liveRootPath()));
+    }
+
+    /**
+     * This method creates and returns a new instance of
+     * {@link BlockAsLocalFilePathResolver} that resolves paths under the given
+     * root instead of the configured live root. The given root is expected to
+     * have the same layout as the live root (e.g. a repair source).
+     *
+     * @param config valid, {@code non-null} instance of
+     * {@link PersistenceStorageConfig} used for initializing the resolver
+     * @param rootPath valid, {@code non-null} root path to resolve under
+     * @return a new, fully initialized instance of {@link BlockAsLocalFilePathResolver}
+     */
+    public static BlockAsLocalFilePathResolver of(
+            @NonNull final PersistenceStorageConfig config, @NonNull final Path rootPath) {
+        return new BlockAsLocalFilePathResolver(config, rootPath);
     }
 
     @NonNull
@@ -130,6 +154,25 @@ public final class BlockAsLocalFilePathResolver implements BlockPathResolver {
         return result;
     }
 
+    @NonNull
+    @Override
+    public Optional<Path> findArchiveGroup(final long blockNumber) {
+        Preconditions.requireWhole(blockNumber);
+        final ArchiveBlockPath rawArchiveBlockPath = resolveRawArchivePath(blockNumber);
+        // the symlink from the live root is only created once the zip file is complete
+        final Path resolvedZipFilePath = rawArchiveBlockPath.dirPath().resolve(rawArchiveBlockPath.zipFileName());
+        return Files.exists(resolvedZipFilePath) ? Optional.of(resolvedZipFilePath) : Optional.empty();
+    }
+
+    @NonNull
+    @Override
+    public AvailableBlockRange findAvailableBlockRange() {
+        final LongSummaryStatistics stored = scanAvailableBlockNumbers();
+        return stored.getCount() == 0
+                ? AvailableBlockRange.EMPTY
+                : new AvailableBlockRange(stored.getMin(), stored.getMax());
+    }
+
     @Override
     public boolean existsVerifiedBlock(final long blockNumber) {
         Preconditions.requireWhole(blockNumber);
@@ -182,6 +225,57 @@ public final class BlockAsLocalFilePathResolver implements BlockPathResolver {
                 blockNumber);
     }
 
+    /**
+     * Walks the live root, including the entries of the archived groups linked
+     * from it, collecting the numbers of the verified Blocks found. Unverified
+     * Blocks and sidecar files are skipped.
+     */
+    private LongSummaryStatistics scanAvailableBlockNumbers() {
+        final LongSummaryStatistics result = new LongSummaryStatistics();
+        if (Files.notExists(liveRootPath)) {
+            return result;
+        }
+        try (final Stream<Path> paths = Files.walk(liveRootPath)) {
+            final Iterator<Path> iterator = paths.iterator();
+            while (iterator.hasNext()) {
+                final Path path = iterator.next();
+                final String fileName = path.getFileName().toString();
+                if (fileName.endsWith(ZIP_FILE_EXTENSION) && Files.isRegularFile(path)) {
+                    try (final ZipFile zipFile = new ZipFile(path.toFile())) {
+                        zipFile.stream().forEach(entry -> parseBlockNumber(entry.getName()).ifPresent(result::accept));
+                    }
+                } else {
+                    parseBlockNumber(fileName).ifPresent(result::accept);
+                }
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return result;
+    }
+
+    /**
+     * Parses the number of a verified Block from the name of its file, with
+     * or without a compression extension.
+     */
+    private static OptionalLong parseBlockNumber(@NonNull final String fileName) {
+        if (fileName.length() <= MAX_LONG_DIGITS
+                || !fileName.startsWith(Constants.BLOCK_FILE_EXTENSION, MAX_LONG_DIGITS)) {
+            return OptionalLong.empty();
+        }
+        final String extension = fileName.substring(MAX_LONG_DIGITS + Constants.BLOCK_FILE_EXTENSION.length());
+        for (final CompressionType compressionType : CompressionType.values()) {
+            if (compressionType.getFileExtension().equals(extension)) {
+                try {
+                    return OptionalLong.of(Long.parseLong(fileName.substring(0, MAX_LONG_DIGITS)));
+                } catch (final NumberFormatException e) {
+                    return OptionalLong.empty();
+                }
+            }
+        }
+        return OptionalLong.empty();
+    }
+
     private String[] getRawBlockPath(final long blockNumber) {
         final String rawBlockNumber = longLeadingZeroesFormat.format(blockNumber);
         final String[] split = rawBlockNumber.split("");
@@ -194,6 +288,11 @@ public final class BlockAsLocalFilePathResolver implements BlockPathResolver {
                 .getFileName()
                 .toString()
                 .replace(Constants.UNVERIFIED_BLOCK_FILE_EXTENSION, Constants.BLOCK_FILE_EXTENSION);
-        Files.move(targetToMove, targetToMove.resolveSibling(verifiedBlockFileName));
+        final Path verifiedTarget = targetToMove.resolveSibling(verifiedBlockFileName);
+        Files.move(targetToMove, verifiedTarget);
+        final Path checksumToMove = BlockChecksums.resolveChecksumPath(targetToMove);
+        if (Files.exists(checksumToMove)) {
+            Files.move(checksumToMove, BlockChecksums.resolveChecksumPath(verifiedTarget));
+        }
     }
 }
@@ -1,6 +1,7 @@
 // SPDX-License-Identifier: Apache-2.0
 package com.hedera.block.server.persistence.storage.path;
 
+import com.hedera.block.server.service.AvailableBlockRange;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.io.IOException;
 import java.nio.file.Path;
@@ -90,6 +91,32 @@ public interface BlockPathResolver {
     @NonNull
     Optional<ArchiveBlockPath> findArchivedBlock(final long blockNumber);
 
+    /**
+     * This method attempts to find the zip file of the archived group of
+     * Blocks the Block with the given number belongs to. The zip file is
+     * ONLY found once the archiving of the group is complete. If the zip file
+     * is found, the method returns a non-empty {@link Optional} of its
+     * {@link Path}, else an empty {@link Optional} is returned.
+     *
+     * @param blockNumber of any Block of the group
+     * @return a {@link Optional} of the {@link Path} to the zip file if found
+     * @throws IllegalArgumentException if the blockNumber IS NOT a whole number
+     */
+    @NonNull
+    Optional<Path> findArchiveGroup(final long blockNumber);
+
+    /**
+     * This method finds the lowest and the highest numbers of the VERIFIED or
+     * ARCHIVED Blocks currently stored, in a single scan of the storage.
+     * Blocks may be missing between the lowest and the highest stored Blocks.
+     * If no Block is stored, {@link AvailableBlockRange#EMPTY} is returned.
+     *
+     * @return the range from the lowest to the highest stored Block number
+     * @throws java.io.UncheckedIOException if the storage could not be listed
+     */
+    @NonNull
+    AvailableBlockRange findAvailableBlockRange();
+
     /**
      * This method attempts to find a VERIFIED Block by a given number under the
      * persistence storage live root, OR an ARCHIVED Block by that given number.
@@ -1,6 +1,7 @@
 // SPDX-License-Identifier: Apache-2.0
 package com.hedera.block.server.persistence.storage.path;
 
+import com.hedera.block.server.service.AvailableBlockRange;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.nio.file.Path;
 import java.util.Optional;
@@ -65,6 +66,25 @@ public final class NoOpBlockPathResolver implements BlockPathResolver {
         return Optional.empty();
     }
 
+    /**
+     * No-op resolver. Does nothing and always returns an empty optional.
+     * No preconditions check also.
+     */
+    @NonNull
+    @Override
+    public Optional<Path> findArchiveGroup(final long blockNumber) {
+        return Optional.empty();
+    }
+
+    /**
+     * No-op resolver. Does nothing and always returns an empty range.
+     */
+    @NonNull
+    @Override
+    public AvailableBlockRange findAvailableBlockRange() {
+        return AvailableBlockRange.EMPTY;
+    }
+
     /**
      * No-op resolver. Does nothing and always returns false.
      */
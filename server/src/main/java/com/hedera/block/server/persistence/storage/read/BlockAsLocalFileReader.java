@@ -1,8 +1,11 @@
 // SPDX-License-Identifier: Apache-2.0
 package com.hedera.block.server.persistence.storage.read;
 
+import static java.lang.System.Logger.Level.WARNING;
+
 import com.hedera.block.common.utils.Preconditions;
 import com.hedera.block.server.persistence.storage.PersistenceStorageConfig.CompressionType;
+import com.hedera.block.server.persistence.storage.checksum.BlockChecksums;
 import com.hedera.block.server.persistence.storage.compression.Compression;
 import com.hedera.block.server.persistence.storage.path.ArchiveBlockPath;
 import com.hedera.block.server.persistence.storage.path.BlockPathResolver;
@@ -13,34 +16,49 @@ import com.hedera.pbj.runtime.io.stream.ReadableStreamingData;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
 /**
- * A Block reader that reads block-as-file.
+ * A Block reader that reads block-as-file. Every block that has a stored
+ * checksum is verified against it as it is read. If the verification fails,
+ * the block is requested from a repair source instead.
  */
 public final class BlockAsLocalFileReader implements LocalBlockReader<BlockUnparsed> {
+    private static final System.Logger LOGGER = System.getLogger(BlockAsLocalFileReader.class.getName());
     private final BlockPathResolver pathResolver;
     private final Compression compression;
+    private final BlockReader<BlockUnparsed> repairSource;
 
     /**
      * Constructor.
      *
+     * @param compression valid, {@code non-null} instance of {@link Compression}
      * @param pathResolver valid, {@code non-null} instance of
      * {@link BlockPathResolver} used to resolve paths to block files
+     * @param repairSource valid, {@code non-null} instance of
+     * {@link BlockReader} used to read blocks that fail checksum verification
      */
     private BlockAsLocalFileReader(
-            @NonNull final Compression compression, @NonNull final BlockPathResolver pathResolver) {
+            @NonNull final Compression compression,
+            @NonNull final BlockPathResolver pathResolver,
+            @NonNull final BlockReader<BlockUnparsed> repairSource) {
         this.pathResolver = Objects.requireNonNull(pathResolver);
         this.compression = Objects.requireNonNull(compression);
+        this.repairSource = Objects.requireNonNull(repairSource);
     }
 
     /**
-     * This method creates and returns a new instance of {@link BlockAsLocalFileReader}.
+     * This method creates and returns a new instance of {@link BlockAsLocalFileReader}
+     * without a repair source.
      *
      * @param compression valid, {@code non-null} instance of {@link Compression}
      * @param pathResolver valid, {@code non-null} instance of
@@ -49,7 +67,24 @@ public final class BlockAsLocalFileReader implements LocalBlockReader<BlockUnpar
      */
     public static BlockAsLocalFileReader of(
             @NonNull final Compression compression, @NonNull final BlockPathResolver pathResolver) {
-        return new BlockAsLocalFileReader(compression, pathResolver);
+        return new BlockAsLocalFileReader(compression, pathResolver, NoOpBlockReader.newInstance());
+    }
+
+    /**
+     * This method creates and returns a new instance of {@link BlockAsLocalFileReader}.
+     *
+     * @param compression valid, {@code non-null} instance of {@link Compression}
+     * @param pathResolver valid, {@code non-null} instance of
+     * {@link BlockPathResolver} used to resolve paths to block files
+     * @param repairSource valid, {@code non-null} instance of
+     * {@link BlockReader} used to read blocks that fail checksum verification
+     * @return a new, fully initialized instance of {@link BlockAsLocalFileReader}
+     */
+    public static BlockAsLocalFileReader of(
+            @NonNull final Compression compression,
+            @NonNull final BlockPathResolver pathResolver,
+            @NonNull final BlockReader<BlockUnparsed> repairSource) {
+        return new BlockAsLocalFileReader(compression, pathResolver, repairSource);
     }
 
     @NonNull
@@ -60,32 +95,96 @@ public final class BlockAsLocalFileReader implements LocalBlockReader<BlockUnpar
         if (optBlockPath.isPresent()) {
             final LiveBlockPath liveBlockPath = optBlockPath.get();
             final Path actualPathToBlock = liveBlockPath.dirPath().resolve(liveBlockPath.blockFileName());
-            final BlockUnparsed value;
+            final OptionalLong expectedChecksum = BlockChecksums.readChecksum(actualPathToBlock);
+            final Optional<BlockUnparsed> value;
             try (final InputStream in = Files.newInputStream(actualPathToBlock)) {
-                value = doRead(in, liveBlockPath.compressionType());
+                value = doRead(in, liveBlockPath.compressionType(), expectedChecksum);
+            }
+            if (value.isEmpty()) {
+                return readFromRepairSource(blockNumber, actualPathToBlock.toString());
             }
-            return Optional.of(value);
+            return value;
         } else {
             final Optional<ArchiveBlockPath> optArchivedBlock = pathResolver.findArchivedBlock(blockNumber);
             if (optArchivedBlock.isPresent()) {
                 final ArchiveBlockPath archiveBlockPath = optArchivedBlock.get();
                 final Path zipFilePath = archiveBlockPath.dirPath().resolve(archiveBlockPath.zipFileName());
-                final BlockUnparsed value;
+                final Optional<BlockUnparsed> value;
                 try (final ZipFile zipFile = new ZipFile(zipFilePath.toFile())) {
                     final ZipEntry entry = zipFile.getEntry(archiveBlockPath.zipEntryName());
+                    final OptionalLong expectedChecksum =
+                            BlockChecksums.readChecksum(zipFile, archiveBlockPath.zipEntryName());
                     final InputStream in = zipFile.getInputStream(entry);
-                    value = doRead(in, archiveBlockPath.compressionType());
+                    value = doRead(in, archiveBlockPath.compressionType(), expectedChecksum);
                 }
-                return Optional.of(value);
+                if (value.isEmpty()) {
+                    return readFromRepairSource(
+                            blockNumber, zipFilePath.resolve(archiveBlockPath.zipEntryName()).toString());
+                }
+                return value;
             }
             return Optional.empty();
         }
     }
 
-    private BlockUnparsed doRead(final InputStream in, final CompressionType compressionType)
+    private Optional<BlockUnparsed> readFromRepairSource(final long blockNumber, @NonNull final String location)
+            throws IOException, ParseException {
+        LOGGER.log(
+                WARNING,
+                "Checksum mismatch for Block [%d] at [%s], attempting to read it from the repair source"
+                        .formatted(blockNumber, location));
+        final Optional<BlockUnparsed> repaired = repairSource.read(blockNumber);
+        if (repaired.isEmpty()) {
+            throw new IOException("Block [%d] at [%s] failed checksum verification and could not be repaired"
+                    .formatted(blockNumber, location));
+        }
+        return repaired;
+    }
+
+    /**
+     * Parses the block from the stored bytes as they are streamed from disk.
+     * Blocks that were persisted before checksums were introduced have no
+     * stored checksum and are parsed unverified. Otherwise, the checksum is
+     * computed over the stored bytes as they are read and compared once they
+     * are all read.
+     *
+     * @return the block, or empty if its stored bytes do not match the stored
+     * checksum
+     */
+    private Optional<BlockUnparsed> doRead(
+            @NonNull final InputStream in,
+            @NonNull final CompressionType compressionType,
+            @NonNull final OptionalLong expectedChecksum)
             throws IOException, ParseException {
-        try (final ReadableStreamingData data = new ReadableStreamingData(compression.wrap(in, compressionType))) {
-            return BlockUnparsed.PROTOBUF.parse(data);
+        if (expectedChecksum.isEmpty()) {
+            try (final ReadableStreamingData data = new ReadableStreamingData(compression.wrap(in, compressionType))) {
+                return Optional.of(BlockUnparsed.PROTOBUF.parse(data));
+            }
+        }
+        final CheckedInputStream checked = new CheckedInputStream(in, new CRC32C());
+        try (final ReadableStreamingData data = new ReadableStreamingData(compression.wrap(checked, compressionType))) {
+            final BlockUnparsed block;
+            try {
+                block = BlockUnparsed.PROTOBUF.parse(data);
+            } catch (final ParseException | IOException | RuntimeException e) {
+                // corrupted bytes may fail to parse before they are all read, so only
+                // an intact block fails with the original cause
+                if (!isIntact(checked, expectedChecksum.getAsLong())) {
+                    return Optional.empty();
+                }
+                throw e;
+            }
+            return isIntact(checked, expectedChecksum.getAsLong()) ? Optional.of(block) : Optional.empty();
         }
     }
+
+    /**
+     * Reads the stored bytes the parser left unread, if any, and compares the
+     * checksum of all the stored bytes with the expected one.
+     */
+    private boolean isIntact(@NonNull final CheckedInputStream checked, final long expectedChecksum)
+            throws IOException {
+        checked.transferTo(OutputStream.nullOutputStream());
+        return checked.getChecksum().getValue() == expectedChecksum;
+    }
 }
@@ -4,6 +4,8 @@ package com.hedera.block.server.persistence.storage.remove;
 import com.hedera.block.common.utils.FileUtilities;
 import com.hedera.block.common.utils.Preconditions;
 import com.hedera.block.server.persistence.storage.PersistenceStorageConfig.CompressionType;
+import com.hedera.block.server.persistence.storage.checksum.BlockChecksums;
+import com.hedera.block.server.persistence.storage.hashtree.HashTreeStore;
 import com.hedera.block.server.persistence.storage.path.BlockPathResolver;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.io.IOException;
@@ -16,15 +18,20 @@ import java.util.Objects;
  */
 public final class BlockAsLocalFileRemover implements LocalBlockRemover {
     private final BlockPathResolver pathResolver;
+    private final HashTreeStore hashTreeStore;
 
     /**
      * Constructor.
      *
      * @param pathResolver valid, {@code non-null} instance of
      * {@link BlockPathResolver} used to resolve paths to block files
+     * @param hashTreeStore valid, {@code non-null} instance of
+     * {@link HashTreeStore} whose hash trees are removed with their blocks
      */
-    public BlockAsLocalFileRemover(@NonNull final BlockPathResolver pathResolver) {
+    public BlockAsLocalFileRemover(
+            @NonNull final BlockPathResolver pathResolver, @NonNull final HashTreeStore hashTreeStore) {
         this.pathResolver = Objects.requireNonNull(pathResolver);
+        this.hashTreeStore = Objects.requireNonNull(hashTreeStore);
     }
 
     @Override
@@ -37,6 +44,9 @@ public final class BlockAsLocalFileRemover implements LocalBlockRemover {
             final Path compressionExtendedUnverifiedPath =
                     FileUtilities.appendExtension(resolvedRawUnverifiedPath, compressionType.getFileExtension());
             if (Files.deleteIfExists(compressionExtendedUnverifiedPath)) {
+                Files.deleteIfExists(BlockChecksums.resolveChecksumPath(compressionExtendedUnverifiedPath));
+                // a hash tree may already be stored if the block was verified before its write failed
+                hashTreeStore.remove(blockNumber);
                 return true;
             }
         }
@@ -0,0 +1,394 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.persistence.storage.scrub;
+
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Counter.ScrubberBlocksFailed;
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Counter.ScrubberBlocksVerified;
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Counter.ScrubberBytesRead;
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Counter.ScrubberPassesCompleted;
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Gauge.ScrubberCursor;
+import static java.lang.System.Logger.Level.DEBUG;
+import static java.lang.System.Logger.Level.ERROR;
+import static java.lang.System.Logger.Level.INFO;
+import static java.lang.System.Logger.Level.WARNING;
+
+import com.hedera.block.common.hasher.ConcurrentStreamingTreeHasher;
+import com.hedera.block.common.hasher.Hashes;
+import com.hedera.block.common.hasher.HashingUtilities;
+import com.hedera.block.common.hasher.StreamingTreeHasher;
+import com.hedera.block.server.metrics.MetricsService;
+import com.hedera.block.server.persistence.storage.path.ArchiveBlockPath;
+import com.hedera.block.server.persistence.storage.path.BlockPathResolver;
+import com.hedera.block.server.persistence.storage.path.LiveBlockPath;
+import com.hedera.block.server.persistence.storage.read.BlockReader;
+import com.hedera.block.server.service.AvailableBlockRange;
+import com.hedera.block.server.verification.signature.SignatureVerifier;
+import com.hedera.hapi.block.BlockItemUnparsed;
+import com.hedera.hapi.block.BlockUnparsed;
+import com.hedera.hapi.block.stream.BlockProof;
+import com.hedera.hapi.block.stream.output.BlockHeader;
+import com.hedera.pbj.runtime.ParseException;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * A storage scrubber that walks the stored blocks in ascending order, a window
+ * of {@code parallelism} blocks at a time. Each pass runs from the lowest to
+ * the highest block stored when the pass starts, stepping over any blocks
+ * missing in between. Every block in a window is read and
+ * re-hashed concurrently, its recomputed hash is checked against the signature
+ * in its block proof, and then, in block order, the previous block hash in
+ * the proof is checked against the hash recomputed for the preceding block.
+ * After each window the cursor is persisted, so a pass can be resumed after a
+ * restart. Reads are limited by an I/O budget on the bytes stored on disk,
+ * taken before each block is read, and the time spent working is limited by
+ * a CPU budget; all scrubber threads run at minimum priority.
+ */
+public final class BlockStorageScrubber implements StorageScrubber {
+    private static final System.Logger LOGGER = System.getLogger(BlockStorageScrubber.class.getName());
+    private final BlockReader<BlockUnparsed> blockReader;
+    private final BlockPathResolver blockPathResolver;
+    private final SignatureVerifier signatureVerifier;
+    private final MetricsService metricsService;
+    private final Path cursorFile;
+    private final int parallelism;
+    private final int cpuBudgetPercent;
+    private final long passIntervalMillis;
+    private final int hashCombineBatchSize;
+    private final ByteRateLimiter ioBudget;
+    private final ExecutorService readerPool;
+    private final ExecutorService hashingPool;
+    private final ExecutorService scrubberThread;
+    private ScrubCursor cursor;
+    // the highest block of the current pass, -1 until the pass has started
+    private long passLastBlockNumber = -1;
+    private volatile boolean running;
+
+    /**
+     * Constructor.
+     *
+     * @param config valid, {@code non-null} scrubber configuration
+     * @param cursorFile the file where the cursor is persisted
+     * @param hashCombineBatchSize the batch size used by the tree hashers
+     * @param blockReader the reader used to read stored blocks
+     * @param blockPathResolver the resolver used to find the range of stored
+     * blocks
+     * @param signatureVerifier the verifier used to check block proofs
+     * @param metricsService the metrics service
+     * @throws UncheckedIOException if an existing cursor could not be loaded
+     */
+    public BlockStorageScrubber(
+            @NonNull final ScrubberConfig config,
+            @NonNull final Path cursorFile,
+            final int hashCombineBatchSize,
+            @NonNull final BlockReader<BlockUnparsed> blockReader,
+            @NonNull final BlockPathResolver blockPathResolver,
+            @NonNull final SignatureVerifier signatureVerifier,
+            @NonNull final MetricsService metricsService) {
+        Objects.requireNonNull(config);
+        this.cursorFile = Objects.requireNonNull(cursorFile);
+        this.hashCombineBatchSize = hashCombineBatchSize;
+        this.blockReader = Objects.requireNonNull(blockReader);
+        this.blockPathResolver = Objects.requireNonNull(blockPathResolver);
+        this.signatureVerifier = Objects.requireNonNull(signatureVerifier);
+        this.metricsService = Objects.requireNonNull(metricsService);
+        this.parallelism = config.parallelism();
+        this.cpuBudgetPercent = config.cpuBudgetPercent();
+        this.passIntervalMillis = TimeUnit.SECONDS.toMillis(config.passIntervalSeconds());
+        this.ioBudget = new ByteRateLimiter(config.maxBytesPerSecond());
+        this.readerPool = Executors.newFixedThreadPool(parallelism, lowPriorityThreads("block-scrubber-reader-"));
+        this.hashingPool = Executors.newFixedThreadPool(parallelism, lowPriorityThreads("block-scrubber-hashing-"));
+        this.scrubberThread = Executors.newSingleThreadExecutor(lowPriorityThreads("block-scrubber-"));
+        try {
+            this.cursor = ScrubCursor.load(cursorFile);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        metricsService.get(ScrubberCursor).set(cursor.nextBlockNumber());
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!running) {
+            running = true;
+            LOGGER.log(INFO, "Starting storage scrubber from Block [%d]".formatted(cursor.nextBlockNumber()));
+            scrubberThread.submit(this::run);
+        }
+    }
+
+    @Override
+    public synchronized void stop() throws InterruptedException {
+        running = false;
+        scrubberThread.shutdownNow();
+        scrubberThread.awaitTermination(30, TimeUnit.SECONDS);
+        readerPool.shutdownNow();
+        hashingPool.shutdownNow();
+    }
+
+    private void run() {
+        while (running && !Thread.currentThread().isInterrupted()) {
+            try {
+                final long busyStart = System.nanoTime();
+                final boolean moreBlocks = scrubNextWindow();
+                if (moreBlocks) {
+                    // stay within the cpu budget by idling proportionally to the time spent working
+                    final long busyNanos = System.nanoTime() - busyStart;
+                    TimeUnit.NANOSECONDS.sleep(busyNanos * (100 - cpuBudgetPercent) / cpuBudgetPercent);
+                } else {
+                    metricsService.get(ScrubberPassesCompleted).increment();
+                    LOGGER.log(
+                            INFO,
+                            "Storage scrub pass completed at Block [%d]".formatted(cursor.nextBlockNumber() - 1));
+                    advanceCursor(ScrubCursor.START);
+                    TimeUnit.MILLISECONDS.sleep(passIntervalMillis);
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (final IOException e) {
+                LOGGER.log(ERROR, "Failed to persist the storage scrubber cursor", e);
+                running = false;
+            } catch (final RuntimeException e) {
+                LOGGER.log(ERROR, "Storage scrubber failed, it will be retried after the pass interval", e);
+                try {
+                    TimeUnit.MILLISECONDS.sleep(passIntervalMillis);
+                } catch (final InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    /**
+     * Scrubs the next window of blocks starting at the cursor, reports the
+     * results and persists the advanced cursor. A pass starts at the lowest
+     * stored block and ends at the highest block stored when it started;
+     * blocks missing in between are skipped, and the chain is only checked
+     * again from the block after the next one stored.
+     *
+     * @return {@code false} if the end of the pass has been reached,
+     * {@code true} otherwise
+     * @throws InterruptedException if interrupted while scrubbing
+     * @throws IOException if the cursor could not be persisted
+     */
+    boolean scrubNextWindow() throws InterruptedException, IOException {
+        if (passLastBlockNumber < 0 && !startPass()) {
+            return false;
+        }
+        final long firstBlockNumber = cursor.nextBlockNumber();
+        if (firstBlockNumber > passLastBlockNumber) {
+            passLastBlockNumber = -1;
+            return false;
+        }
+        final long lastBlockNumber = Math.min(firstBlockNumber + parallelism - 1, passLastBlockNumber);
+        final List<Future<ScrubResult>> window = new ArrayList<>(parallelism);
+        for (long blockNumber = firstBlockNumber; blockNumber <= lastBlockNumber; blockNumber++) {
+            final long toScrub = blockNumber;
+            window.add(readerPool.submit(() -> scrubBlock(toScrub)));
+        }
+        Bytes previousBlockHash = cursor.previousBlockHash();
+        for (int i = 0; i < window.size(); i++) {
+            final ScrubResult result = awaitResult(window.get(i), firstBlockNumber + i);
+            if (result.status() == ScrubStatus.MISSING) {
+                LOGGER.log(DEBUG, "Storage scrubber skipped missing Block [%d]".formatted(result.blockNumber()));
+                previousBlockHash = Bytes.EMPTY;
+                continue;
+            }
+            final ScrubResult checked = checkChain(result, previousBlockHash);
+            report(checked);
+            previousBlockHash = checked.blockHash();
+        }
+        advanceCursor(new ScrubCursor(lastBlockNumber + 1, previousBlockHash));
+        if (lastBlockNumber < passLastBlockNumber) {
+            return true;
+        }
+        passLastBlockNumber = -1;
+        return false;
+    }
+
+    /**
+     * Starts a pass, or resumes the one of a persisted cursor, up to the
+     * highest stored block. A cursor below the lowest stored block, such as
+     * {@link ScrubCursor#START} or one whose blocks have since been removed,
+     * is moved up to the lowest stored block.
+     *
+     * @return {@code false} if no blocks are stored, {@code true} otherwise
+     * @throws IOException if the cursor could not be persisted
+     */
+    private boolean startPass() throws IOException {
+        final AvailableBlockRange stored = blockPathResolver.findAvailableBlockRange();
+        if (stored.isEmpty()) {
+            return false;
+        }
+        passLastBlockNumber = stored.lastBlockNumber();
+        if (cursor.nextBlockNumber() < stored.firstBlockNumber()) {
+            advanceCursor(new ScrubCursor(stored.firstBlockNumber(), Bytes.EMPTY));
+        }
+        return true;
+    }
+
+    /**
+     * Reads and re-hashes a single stored block. The bytes the block occupies
+     * on disk are taken from the I/O budget before it is read. The
+     * previous-hash chain is not checked here since it depends on the
+     * preceding block.
+     *
+     * @param blockNumber the block to scrub
+     * @return the result of scrubbing the block
+     * @throws InterruptedException if interrupted while waiting for the
+     * I/O budget
+     */
+    ScrubResult scrubBlock(final long blockNumber) throws InterruptedException {
+        final Optional<BlockUnparsed> optBlock;
+        final long storedBytes;
+        try {
+            final OptionalLong optStoredBytes = findStoredBytes(blockNumber);
+            if (optStoredBytes.isEmpty()) {
+                return ScrubResult.withoutHash(blockNumber, ScrubStatus.MISSING);
+            }
+            storedBytes = optStoredBytes.getAsLong();
+            ioBudget.acquire(storedBytes);
+            metricsService.get(ScrubberBytesRead).add(storedBytes);
+            optBlock = blockReader.read(blockNumber);
+        } catch (final IOException | ParseException | UncheckedIOException e) {
+            LOGGER.log(WARNING, "Storage scrubber could not read Block [%d]".formatted(blockNumber), e);
+            return ScrubResult.withoutHash(blockNumber, ScrubStatus.UNREADABLE);
+        }
+        if (optBlock.isEmpty()) {
+            return ScrubResult.withoutHash(blockNumber, ScrubStatus.MISSING);
+        }
+        final BlockUnparsed block = optBlock.get();
+
+        final List<BlockItemUnparsed> items = block.blockItems();
+        if (items.isEmpty()
+                || !items.getFirst().hasBlockHeader()
+                || !items.getLast().hasBlockProof()) {
+            return ScrubResult.withoutHash(blockNumber, ScrubStatus.MALFORMED);
+        }
+        try {
+            final BlockHeader header = BlockHeader.PROTOBUF.parse(items.getFirst().blockHeader());
+            final BlockProof proof = BlockProof.PROTOBUF.parse(items.getLast().blockProof());
+            if (header.number() != blockNumber || proof.block() != blockNumber) {
+                return ScrubResult.withoutHash(blockNumber, ScrubStatus.MALFORMED);
+            }
+            final StreamingTreeHasher inputTreeHasher =
+                    new ConcurrentStreamingTreeHasher(hashingPool, hashCombineBatchSize);
+            final StreamingTreeHasher outputTreeHasher =
+                    new ConcurrentStreamingTreeHasher(hashingPool, hashCombineBatchSize);
+            final Hashes hashes = HashingUtilities.getBlockHashes(items);
+            while (hashes.inputHashes().hasRemaining()) {
+                inputTreeHasher.addLeaf(hashes.inputHashes());
+            }
+            while (hashes.outputHashes().hasRemaining()) {
+                outputTreeHasher.addLeaf(hashes.outputHashes());
+            }
+            final Bytes blockHash = HashingUtilities.computeFinalBlockHash(proof, inputTreeHasher, outputTreeHasher);
+            final ScrubStatus status = signatureVerifier.verifySignature(blockHash, proof.blockSignature())
+                    ? ScrubStatus.VERIFIED
+                    : ScrubStatus.INVALID_HASH_OR_SIGNATURE;
+            return new ScrubResult(blockNumber, status, blockHash, proof.previousBlockRootHash(), storedBytes);
+        } catch (final ParseException e) {
+            LOGGER.log(WARNING, "Storage scrubber could not parse Block [%d]".formatted(blockNumber), e);
+            return ScrubResult.withoutHash(blockNumber, ScrubStatus.MALFORMED);
+        }
+    }
+
+    /**
+     * Finds the number of bytes the block occupies on disk, which is the
+     * size of its file, or the compressed size of its entry if it has been
+     * archived.
+     *
+     * @return the stored size of the block, or empty if it is not stored
+     */
+    private OptionalLong findStoredBytes(final long blockNumber) throws IOException {
+        final Optional<LiveBlockPath> optLiveBlockPath = blockPathResolver.findLiveBlock(blockNumber);
+        if (optLiveBlockPath.isPresent()) {
+            final LiveBlockPath liveBlockPath = optLiveBlockPath.get();
+            try {
+                return OptionalLong.of(Files.size(liveBlockPath.dirPath().resolve(liveBlockPath.blockFileName())));
+            } catch (final NoSuchFileException e) {
+                // archived since it was found, so it is looked up in its archive instead
+            }
+        }
+        final Optional<ArchiveBlockPath> optArchiveBlockPath = blockPathResolver.findArchivedBlock(blockNumber);
+        if (optArchiveBlockPath.isPresent()) {
+            final ArchiveBlockPath archiveBlockPath = optArchiveBlockPath.get();
+            final Path zipFilePath = archiveBlockPath.dirPath().resolve(archiveBlockPath.zipFileName());
+            try (final ZipFile zipFile = new ZipFile(zipFilePath.toFile())) {
+                final ZipEntry entry = zipFile.getEntry(archiveBlockPath.zipEntryName());
+                if (Objects.nonNull(entry)) {
+                    return OptionalLong.of(entry.getCompressedSize());
+                }
+            }
+        }
+        return OptionalLong.empty();
+    }
+
+    private ScrubResult awaitResult(@NonNull final Future<ScrubResult> future, final long blockNumber)
+            throws InterruptedException {
+        try {
+            return future.get();
+        } catch (final ExecutionException e) {
+            LOGGER.log(ERROR, "Storage scrubber failed to scrub Block [%d]".formatted(blockNumber), e.getCause());
+            return ScrubResult.withoutHash(blockNumber, ScrubStatus.UNREADABLE);
+        }
+    }
+
+    /**
+     * The chain can only be checked if both the hash of the preceding block
+     * is known and the block itself was otherwise verified.
+     */
+    private ScrubResult checkChain(@NonNull final ScrubResult result, @NonNull final Bytes previousBlockHash) {
+        if (result.status() == ScrubStatus.VERIFIED
+                && previousBlockHash.length() > 0
+                && !previousBlockHash.equals(result.previousBlockHash())) {
+            return result.withStatus(ScrubStatus.BROKEN_CHAIN);
+        }
+        return result;
+    }
+
+    private void report(@NonNull final ScrubResult result) {
+        if (result.status() == ScrubStatus.VERIFIED) {
+            LOGGER.log(DEBUG, "Storage scrubber verified Block [%d]".formatted(result.blockNumber()));
+            metricsService.get(ScrubberBlocksVerified).increment();
+        } else {
+            LOGGER.log(
+                    ERROR,
+                    "Storage scrubber found Block [%d] to be [%s]".formatted(result.blockNumber(), result.status()));
+            metricsService.get(ScrubberBlocksFailed).increment();
+        }
+    }
+
+    private void advanceCursor(@NonNull final ScrubCursor newCursor) throws IOException {
+        newCursor.store(cursorFile);
+        cursor = newCursor;
+        metricsService.get(ScrubberCursor).set(newCursor.nextBlockNumber());
+    }
+
+    private static ThreadFactory lowPriorityThreads(@NonNull final String namePrefix) {
+        final AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            final Thread t = new Thread(r, namePrefix + counter.incrementAndGet());
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY);
+            return t;
+        };
+    }
+}
@@ -0,0 +1,65 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.persistence.storage.scrub;
+
+import com.hedera.block.common.utils.Preconditions;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A simple token bucket that limits the amount of bytes processed per second.
+ * The bucket holds at most one second worth of bytes. Callers that overdraw
+ * the bucket are put to sleep until the deficit has been refilled, which
+ * also throttles any caller that comes after them, without holding the lock
+ * while sleeping.
+ */
+final class ByteRateLimiter {
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+    private final long bytesPerSecond;
+    private double availableBytes;
+    private long lastRefillNanos;
+
+    /**
+     * Constructor.
+     *
+     * @param bytesPerSecond the maximum amount of bytes per second, must be
+     * positive
+     */
+    ByteRateLimiter(final long bytesPerSecond) {
+        this.bytesPerSecond = Preconditions.requirePositive(bytesPerSecond);
+        this.availableBytes = bytesPerSecond;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * This method accounts for the given amount of bytes, blocking if the
+     * budget has been exceeded until it is back in balance. The bytes are
+     * reserved up front and the wait happens outside the lock, so concurrent
+     * callers queue behind each other's reservations rather than the sleep.
+     *
+     * @param bytes the amount of bytes to account for, must be whole
+     * @throws InterruptedException if interrupted while waiting
+     */
+    void acquire(final long bytes) throws InterruptedException {
+        Preconditions.requireWhole(bytes);
+        final long deficitNanos = reserve(bytes);
+        if (deficitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(deficitNanos);
+        }
+    }
+
+    /**
+     * Debits the given amount of bytes and returns how long the caller must
+     * wait for the bucket to be back in balance.
+     */
+    private synchronized long reserve(final long bytes) {
+        refill();
+        availableBytes -= bytes;
+        return availableBytes < 0 ? (long) (-availableBytes / bytesPerSecond * NANOS_PER_SECOND) : 0L;
+    }
+
+    private void refill() {
+        final long now = System.nanoTime();
+        final double refilled = (now - lastRefillNanos) / NANOS_PER_SECOND * bytesPerSecond;
+        availableBytes = Math.min(bytesPerSecond, availableBytes + refilled);
+        lastRefillNanos = now;
+    }
+}
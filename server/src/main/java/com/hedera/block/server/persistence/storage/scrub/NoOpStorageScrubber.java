@@ -0,0 +1,40 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.persistence.storage.scrub;
+
+/**
+ * A no-op implementation of the storage scrubber, used when scrubbing is
+ * disabled.
+ */
+public final class NoOpStorageScrubber implements StorageScrubber {
+    /**
+     * Constructor.
+     */
+    private NoOpStorageScrubber() {}
+
+    /**
+     * Factory method. Returns a new, fully initialized instance of
+     * {@link NoOpStorageScrubber}.
+     *
+     * @return a new, fully initialized and valid instance of
+     * {@link NoOpStorageScrubber}
+     */
+    public static NoOpStorageScrubber newInstance() {
+        return new NoOpStorageScrubber();
+    }
+
+    /**
+     * This method does nothing.
+     */
+    @Override
+    public void start() {
+        // do nothing
+    }
+
+    /**
+     * This method does nothing.
+     */
+    @Override
+    public void stop() {
+        // do nothing
+    }
+}
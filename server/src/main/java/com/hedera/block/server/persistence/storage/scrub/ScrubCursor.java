@@ -0,0 +1,75 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.persistence.storage.scrub;
+
+import com.hedera.block.common.utils.Preconditions;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The position of the storage scrubber, persisted so that a scrub pass can be
+ * resumed after a restart. The cursor file contains two lines: the next block
+ * number to scrub and the hex encoded hash of the last scrubbed block (empty
+ * if unknown), which is needed to continue checking the previous-hash chain.
+ *
+ * @param nextBlockNumber the next block number to scrub
+ * @param previousBlockHash the computed hash of the block before
+ * {@code nextBlockNumber}, or {@link Bytes#EMPTY} if unknown
+ */
+record ScrubCursor(long nextBlockNumber, @NonNull Bytes previousBlockHash) {
+    /**
+     * The cursor before any block, a pass started from it begins at the
+     * lowest stored block.
+     */
+    static final ScrubCursor START = new ScrubCursor(0L, Bytes.EMPTY);
+
+    /**
+     * Constructor.
+     */
+    ScrubCursor {
+        Preconditions.requireWhole(nextBlockNumber);
+        Objects.requireNonNull(previousBlockHash);
+    }
+
+    /**
+     * This method loads the cursor from the given file. If the file does not
+     * exist, {@link #START} is returned.
+     *
+     * @param cursorFile the file to load the cursor from
+     * @return the loaded cursor
+     * @throws IOException if the file exists but could not be read or parsed
+     */
+    @NonNull
+    static ScrubCursor load(@NonNull final Path cursorFile) throws IOException {
+        if (Files.notExists(cursorFile)) {
+            return START;
+        }
+        final List<String> lines = Files.readAllLines(cursorFile, StandardCharsets.US_ASCII);
+        try {
+            final long nextBlockNumber = Long.parseLong(lines.getFirst().trim());
+            final String rawHash = lines.size() > 1 ? lines.get(1).trim() : "";
+            return new ScrubCursor(nextBlockNumber, rawHash.isEmpty() ? Bytes.EMPTY : Bytes.fromHex(rawHash));
+        } catch (final RuntimeException e) {
+            throw new IOException("Malformed scrub cursor file [%s]".formatted(cursorFile), e);
+        }
+    }
+
+    /**
+     * This method atomically stores this cursor to the given file.
+     *
+     * @param cursorFile the file to store the cursor to
+     * @throws IOException if the cursor could not be stored
+     */
+    void store(@NonNull final Path cursorFile) throws IOException {
+        final Path tmp = cursorFile.resolveSibling(cursorFile.getFileName() + ".tmp");
+        final String content = nextBlockNumber + System.lineSeparator() + previousBlockHash.toHex();
+        Files.writeString(tmp, content, StandardCharsets.US_ASCII);
+        Files.move(tmp, cursorFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,54 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.persistence.storage.scrub;
+
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.Objects;
+
+/**
+ * The result of scrubbing a single stored block.
+ *
+ * @param blockNumber the number of the scrubbed block
+ * @param status the outcome of the scrub
+ * @param blockHash the recomputed block hash, {@link Bytes#EMPTY} if it could
+ * not be computed
+ * @param previousBlockHash the previous block hash claimed by the block
+ * proof, {@link Bytes#EMPTY} if unknown
+ * @param storedBytes the number of bytes read from disk for the block
+ */
+record ScrubResult(
+        long blockNumber,
+        @NonNull ScrubStatus status,
+        @NonNull Bytes blockHash,
+        @NonNull Bytes previousBlockHash,
+        long storedBytes) {
+    /**
+     * Constructor.
+     */
+    ScrubResult {
+        Objects.requireNonNull(status);
+        Objects.requireNonNull(blockHash);
+        Objects.requireNonNull(previousBlockHash);
+    }
+
+    /**
+     * Creates a result for a block whose hash could not be computed.
+     *
+     * @param blockNumber the number of the scrubbed block
+     * @param status the outcome of the scrub
+     * @return the result
+     */
+    static ScrubResult withoutHash(final long blockNumber, @NonNull final ScrubStatus status) {
+        return new ScrubResult(blockNumber, status, Bytes.EMPTY, Bytes.EMPTY, 0L);
+    }
+
+    /**
+     * Returns a copy of this result with the given status.
+     *
+     * @param newStatus the status of the copy
+     * @return the copy
+     */
+    ScrubResult withStatus(@NonNull final ScrubStatus newStatus) {
+        return new ScrubResult(blockNumber, newStatus, blockHash, previousBlockHash, storedBytes);
+    }
+}
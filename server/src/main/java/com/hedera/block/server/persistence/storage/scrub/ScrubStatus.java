@@ -0,0 +1,20 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.persistence.storage.scrub;
+
+/**
+ * The outcome of scrubbing a single stored block.
+ */
+enum ScrubStatus {
+    /** The block hashes correctly, its proof is valid and it links to the previous block. */
+    VERIFIED,
+    /** No block with the requested number is stored. */
+    MISSING,
+    /** The block could not be read, e.g. due to an I/O or checksum failure. */
+    UNREADABLE,
+    /** The block could be read, but is not well formed (e.g. no header or proof). */
+    MALFORMED,
+    /** The recomputed block hash does not match the signature in the block proof. */
+    INVALID_HASH_OR_SIGNATURE,
+    /** The previous block hash in the proof does not match the hash of the preceding block. */
+    BROKEN_CHAIN
+}
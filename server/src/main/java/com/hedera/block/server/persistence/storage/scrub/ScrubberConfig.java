@@ -0,0 +1,45 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.persistence.storage.scrub;
+
+import com.hedera.block.common.utils.Preconditions;
+import com.hedera.block.server.config.logging.Loggable;
+import com.swirlds.config.api.ConfigData;
+import com.swirlds.config.api.ConfigProperty;
+
+/**
+ * Use this configuration for the background storage scrubber.
+ *
+ * @param enabled whether the scrubber is started with the server
+ * @param parallelism the number of blocks read and re-hashed concurrently,
+ * also the number of hashing threads
+ * @param maxBytesPerSecond the I/O budget, i.e. the maximum amount of stored
+ * block bytes read per second
+ * @param cpuBudgetPercent the share of wall-clock time (1-100) the scrubber may
+ * spend working; the remainder is spent idle between windows
+ * @param passIntervalSeconds the time to wait after a full pass over the
+ * stored blocks before starting the next pass
+ * @param cursorPath the file where the scrub cursor is persisted; if blank, a
+ * file named {@code scrubber.cursor} next to the live root is used
+ */
+@ConfigData("scrubber")
+public record ScrubberConfig(
+        @Loggable @ConfigProperty(defaultValue = "false") boolean enabled,
+        @Loggable @ConfigProperty(defaultValue = "2") int parallelism,
+        @Loggable @ConfigProperty(defaultValue = "33_554_432") long maxBytesPerSecond,
+        @Loggable @ConfigProperty(defaultValue = "25") int cpuBudgetPercent,
+        @Loggable @ConfigProperty(defaultValue = "3_600") int passIntervalSeconds,
+        @Loggable @ConfigProperty(defaultValue = "") String cursorPath) {
+
+    /**
+     * Validate the configuration.
+     *
+     * @throws IllegalArgumentException if any of the values is out of range
+     */
+    public ScrubberConfig {
+        Preconditions.requirePositive(parallelism, "[SCRUBBER_PARALLELISM] must be positive");
+        Preconditions.requirePositive(maxBytesPerSecond, "[SCRUBBER_MAX_BYTES_PER_SECOND] must be positive");
+        Preconditions.requireInRange(
+                cpuBudgetPercent, 1, 100, "[SCRUBBER_CPU_BUDGET_PERCENT] value %d is out of range [%d, %d]");
+        Preconditions.requirePositive(passIntervalSeconds, "[SCRUBBER_PASS_INTERVAL_SECONDS] must be positive");
+    }
+}
@@ -0,0 +1,23 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.persistence.storage.scrub;
+
+/**
+ * A background service that periodically re-verifies the blocks held in
+ * storage, so that silent corruption of old blocks is detected.
+ */
+public interface StorageScrubber {
+    /**
+     * Starts scrubbing in the background. Calling this method more than once
+     * has no effect.
+     */
+    void start();
+
+    /**
+     * Stops scrubbing. The progress made so far is kept, so that a later
+     * start resumes where the scrubber left off.
+     *
+     * @throws InterruptedException if interrupted while waiting for the
+     * scrubber to stop
+     */
+    void stop() throws InterruptedException;
+}
@@ -9,13 +9,19 @@ import static java.lang.System.Logger.Level.ERROR;
 import com.hedera.block.common.utils.FileUtilities;
 import com.hedera.block.common.utils.Preconditions;
 import com.hedera.block.server.ack.AckHandler;
+import com.hedera.block.server.jfr.CompressionEvent;
+import com.hedera.block.server.jfr.WriterPersistEvent;
+import com.hedera.block.server.metrics.BlockStage;
+import com.hedera.block.server.metrics.BlockTraceStage;
 import com.hedera.block.server.metrics.MetricsService;
+import com.hedera.block.server.persistence.storage.checksum.BlockChecksums;
 import com.hedera.block.server.persistence.storage.compression.Compression;
 import com.hedera.block.server.persistence.storage.path.BlockPathResolver;
 import com.hedera.block.server.persistence.storage.remove.BlockRemover;
 import com.hedera.block.server.persistence.storage.write.BlockPersistenceResult.BlockPersistenceStatus;
 import com.hedera.hapi.block.BlockItemUnparsed;
 import com.hedera.hapi.block.BlockUnparsed;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
 import com.hedera.pbj.runtime.io.stream.WritableStreamingData;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.io.IOException;
@@ -26,6 +32,8 @@ import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.LinkedTransferQueue;
 import java.util.concurrent.TransferQueue;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
 
 /**
  * An async block writer that handles writing of blocks as a file to local
@@ -59,11 +67,15 @@ final class AsyncBlockAsLocalFileWriter implements AsyncBlockWriter {
 
     @Override
     public Void call() {
+        metricsService.traceExit(blockNumber, BlockTraceStage.WRITER_QUEUE);
+        metricsService.traceEnter(blockNumber, BlockTraceStage.WRITE);
         final BlockPersistenceResult result = doPersistBlock();
+        metricsService.traceExit(blockNumber, BlockTraceStage.WRITE);
         LOGGER.log(DEBUG, "Persistence task completed, publishing Persistence Result: %s".formatted(result));
         ackHandler.blockPersisted(result);
         if (result.status().equals(BlockPersistenceStatus.SUCCESS)) {
             metricsService.get(BlocksPersisted).increment();
+            metricsService.markBlockStage(blockNumber, BlockStage.PERSISTED);
         } else {
             LOGGER.log(ERROR, "Failed to persist block [%d]".formatted(blockNumber));
             metricsService.get(BlockPersistenceError).increment();
@@ -116,11 +128,39 @@ final class AsyncBlockAsLocalFileWriter implements AsyncBlockWriter {
                 }
             }
             // proceed to persist the items
-            try (final WritableStreamingData wsd = new WritableStreamingData(
-                    compression.wrap(Files.newOutputStream(getResolvedUnverifiedBlockPath())))) {
-                final BlockUnparsed blockToWrite =
-                        BlockUnparsed.newBuilder().blockItems(localBlockItems).build();
-                BlockUnparsed.PROTOBUF.toBytes(blockToWrite).writeTo(wsd);
+            final WriterPersistEvent persistEvent = new WriterPersistEvent();
+            persistEvent.begin();
+            try {
+                final Path blockPath = getResolvedUnverifiedBlockPath();
+                // the checksum is computed over the bytes as stored, i.e. after compression
+                final CRC32C checksum = new CRC32C();
+                final Bytes blockBytes;
+                // compression is streamed, so the event includes writing the compressed bytes
+                final CompressionEvent compressionEvent = new CompressionEvent();
+                try (final WritableStreamingData wsd = new WritableStreamingData(
+                        compression.wrap(new CheckedOutputStream(Files.newOutputStream(blockPath), checksum)))) {
+                    final BlockUnparsed blockToWrite =
+                            BlockUnparsed.newBuilder().blockItems(localBlockItems).build();
+                    blockBytes = BlockUnparsed.PROTOBUF.toBytes(blockToWrite);
+                    compressionEvent.begin();
+                    blockBytes.writeTo(wsd);
+                }
+                compressionEvent.end();
+                if (compressionEvent.shouldCommit()) {
+                    compressionEvent.blockNumber = blockNumber;
+                    compressionEvent.itemCount = localBlockItems.size();
+                    compressionEvent.bytes = blockBytes.length();
+                    compressionEvent.compressedBytes = Files.size(blockPath);
+                    compressionEvent.commit();
+                }
+                BlockChecksums.writeChecksum(blockPath, checksum.getValue());
+                persistEvent.end();
+                if (persistEvent.shouldCommit()) {
+                    persistEvent.blockNumber = blockNumber;
+                    persistEvent.itemCount = localBlockItems.size();
+                    persistEvent.bytes = blockBytes.length();
+                    persistEvent.commit();
+                }
             } catch (final IOException e) {
                 LOGGER.log(ERROR, "Failed to write block [%d] to local storage!".formatted(blockNumber), e);
                 return revertWrite(BlockPersistenceStatus.FAILURE_DURING_WRITE);
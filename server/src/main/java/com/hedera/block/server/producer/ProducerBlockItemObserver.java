@@ -11,12 +11,15 @@ import static java.lang.System.Logger.Level.WARNING;
 
 import com.hedera.block.server.block.BlockInfo;
 import com.hedera.block.server.config.BlockNodeContext;
-import com.hedera.block.server.consumer.ConsumerConfig;
 import com.hedera.block.server.events.BlockNodeEventHandler;
-import com.hedera.block.server.events.LivenessCalculator;
+import com.hedera.block.server.events.LivenessWheel;
 import com.hedera.block.server.events.ObjectEvent;
+import com.hedera.block.server.jfr.BlockItemBatches;
+import com.hedera.block.server.jfr.BlockReceivedEvent;
 import com.hedera.block.server.mediator.Publisher;
 import com.hedera.block.server.mediator.SubscriptionHandler;
+import com.hedera.block.server.metrics.BlockStage;
+import com.hedera.block.server.metrics.BlockTraceStage;
 import com.hedera.block.server.metrics.MetricsService;
 import com.hedera.block.server.service.ServiceStatus;
 import com.hedera.hapi.block.Acknowledgement;
@@ -30,7 +33,6 @@ import com.hedera.pbj.runtime.ParseException;
 import com.hedera.pbj.runtime.grpc.Pipeline;
 import com.hedera.pbj.runtime.io.buffer.Bytes;
 import edu.umd.cs.findbugs.annotations.NonNull;
-import java.time.InstantSource;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -43,7 +45,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
  * connection to the upstream producer (e.g. block items streamed from the Consensus Node to the
  * server).
  */
-public class ProducerBlockItemObserver
+public final class ProducerBlockItemObserver
         implements Pipeline<List<BlockItemUnparsed>>, BlockNodeEventHandler<ObjectEvent<PublishStreamResponse>> {
 
     private final Logger LOGGER = System.getLogger(getClass().getName());
@@ -56,16 +58,19 @@ public class ProducerBlockItemObserver
 
     private final AtomicBoolean isResponsePermitted = new AtomicBoolean(true);
 
-    private final LivenessCalculator livenessCalculator;
+    private final LivenessWheel.Entry liveness;
 
     private boolean allowCurrentBlockStream = false;
 
+    private long currentBlockNumber = -1;
+
     /**
      * Constructor for the ProducerBlockStreamObserver class. It is responsible for calling the
      * mediator with blocks as they arrive from the upstream producer. It also sends responses back
      * to the upstream producer via the responseStreamObserver.
      *
-     * @param producerLivenessClock the clock used to calculate the producer liveness.
+     * @param livenessWheel the wheel used to stop processing once the producer has not been active
+     *     for the configured timeout threshold.
      * @param publisher the block item list publisher to used to pass block item lists to consumers
      *     as they arrive from the upstream producer.
      * @param subscriptionHandler the subscription handler used to
@@ -77,19 +82,14 @@ public class ProducerBlockItemObserver
      *     unrecoverable error.
      */
     public ProducerBlockItemObserver(
-            @NonNull final InstantSource producerLivenessClock,
+            @NonNull final LivenessWheel livenessWheel,
             @NonNull final Publisher<List<BlockItemUnparsed>> publisher,
             @NonNull final SubscriptionHandler<PublishStreamResponse> subscriptionHandler,
             @NonNull final Pipeline<? super PublishStreamResponse> publishStreamResponseObserver,
             @NonNull final BlockNodeContext blockNodeContext,
             @NonNull final ServiceStatus serviceStatus) {
 
-        this.livenessCalculator = new LivenessCalculator(
-                producerLivenessClock,
-                blockNodeContext
-                        .configuration()
-                        .getConfigData(ConsumerConfig.class)
-                        .timeoutThresholdMillis());
+        this.liveness = livenessWheel.track(this::onLivenessExpired);
 
         this.publisher = publisher;
         this.publishStreamResponseObserver = publishStreamResponseObserver;
@@ -124,7 +124,7 @@ public class ProducerBlockItemObserver
             // there's an issue with the StreamMediator.
             if (serviceStatus.isRunning()) {
                 // Refresh the producer liveness
-                livenessCalculator.refresh();
+                liveness.refresh();
 
                 // pre-check for valid block
                 if (preCheck(blockItems)) {
@@ -138,11 +138,22 @@ public class ProducerBlockItemObserver
                                     .number();
                             serviceStatus.setLatestReceivedBlockNumber(blockNumber);
                             metricsService.get(CurrentBlockNumberInbound).set(blockNumber);
+                            metricsService.markBlockStage(blockNumber, BlockStage.HEADER_RECEIVED);
+                            metricsService.traceEnter(blockNumber, BlockTraceStage.MEDIATOR);
+                            currentBlockNumber = blockNumber;
                         } catch (ParseException e) {
                             throw new RuntimeException(e);
                         }
                     }
 
+                    final BlockReceivedEvent receivedEvent = new BlockReceivedEvent();
+                    if (receivedEvent.shouldCommit()) {
+                        receivedEvent.blockNumber = currentBlockNumber;
+                        receivedEvent.itemCount = blockItems.size();
+                        receivedEvent.bytes = BlockItemBatches.sizeOf(blockItems);
+                        receivedEvent.commit();
+                    }
+
                     // Publish the block to the mediator
                     publisher.publish(blockItems);
                 }
@@ -165,15 +176,11 @@ public class ProducerBlockItemObserver
     @Override
     public void onEvent(ObjectEvent<PublishStreamResponse> event, long sequence, boolean endOfBatch) {
 
-        if (isResponsePermitted.get()) {
-            if (isTimeoutExpired()) {
-                stopProcessing();
-                LOGGER.log(DEBUG, "Producer liveness timeout. Unsubscribed ProducerBlockItemObserver.");
-            } else {
-                LOGGER.log(DEBUG, "Publishing response to upstream producer: " + publishStreamResponseObserver);
-                publishStreamResponseObserver.onNext(event.get());
-                metricsService.get(SuccessfulPubStreamRespSent).increment();
-            }
+        final PublishStreamResponse response = event.get();
+        if (response != null && isResponsePermitted.get()) {
+            LOGGER.log(DEBUG, "Publishing response to upstream producer: " + publishStreamResponseObserver);
+            publishStreamResponseObserver.onNext(response);
+            metricsService.get(SuccessfulPubStreamRespSent).increment();
         }
     }
 
@@ -214,7 +221,12 @@ public class ProducerBlockItemObserver
 
     @Override
     public boolean isTimeoutExpired() {
-        return livenessCalculator.isTimeoutExpired();
+        return liveness.isExpired();
+    }
+
+    private void onLivenessExpired() {
+        stopProcessing();
+        LOGGER.log(DEBUG, "Producer liveness timeout. Unsubscribed ProducerBlockItemObserver.");
     }
 
     @Override
@@ -225,6 +237,7 @@ public class ProducerBlockItemObserver
 
     private void stopProcessing() {
         isResponsePermitted.set(false);
+        liveness.cancel();
         unsubscribe();
     }
 
@@ -0,0 +1,57 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.service;
+
+import com.hedera.block.common.utils.Preconditions;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * The range of blocks the block node has persisted and verified, and can serve to clients. The
+ * range is kept in memory and replaced as a whole, so it can be read in constant time and is
+ * always consistent.
+ *
+ * @param firstBlockNumber the number of the first available block, or -1 if the range is empty
+ * @param lastBlockNumber the number of the last available block, or -1 if the range is empty
+ */
+public record AvailableBlockRange(long firstBlockNumber, long lastBlockNumber) {
+    /** The range of a block node without any available block. */
+    public static final AvailableBlockRange EMPTY = new AvailableBlockRange(-1, -1);
+
+    /**
+     * Constructor.
+     */
+    public AvailableBlockRange {
+        if (firstBlockNumber != -1 || lastBlockNumber != -1) {
+            Preconditions.requireWhole(firstBlockNumber);
+            Preconditions.requireGreaterOrEqual(lastBlockNumber, firstBlockNumber);
+        }
+    }
+
+    /**
+     * Checks if no block is available.
+     *
+     * @return true if the range is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return lastBlockNumber == -1;
+    }
+
+    /**
+     * Returns this range extended with the given blocks. Blocks are acknowledged in order, so the
+     * given blocks are expected to follow the range, and the range covers every block from its
+     * first to its last.
+     *
+     * @param first the number of the first block made available
+     * @param last the number of the last block made available
+     * @return the extended range, or this range if it already covers the given blocks
+     */
+    @NonNull
+    public AvailableBlockRange extend(final long first, final long last) {
+        if (isEmpty()) {
+            return new AvailableBlockRange(first, last);
+        }
+        if (first >= firstBlockNumber && last <= lastBlockNumber) {
+            return this;
+        }
+        return new AvailableBlockRange(Math.min(first, firstBlockNumber), Math.max(last, lastBlockNumber));
+    }
+}
@@ -68,4 +68,21 @@ public interface ServiceStatus {
      * @param latestReceivedBlockNumber the latest received block number
      */
     void setLatestReceivedBlockNumber(long latestReceivedBlockNumber);
+
+    /**
+     * Gets the range of blocks persisted and verified, which can be served to clients. The range
+     * is kept in memory, so this method is cheap enough to be called on every request.
+     *
+     * @return the range of available blocks
+     */
+    @NonNull
+    AvailableBlockRange getAvailableBlockRange();
+
+    /**
+     * Adds blocks that have been persisted and verified to the range of available blocks.
+     *
+     * @param firstBlockNumber the number of the first block made available
+     * @param lastBlockNumber the number of the last block made available
+     */
+    void addAvailableBlocks(long firstBlockNumber, long lastBlockNumber);
 }
@@ -9,6 +9,7 @@ import com.hedera.block.server.config.BlockNodeContext;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import io.helidon.webserver.WebServer;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
@@ -25,6 +26,8 @@ public class ServiceStatusImpl implements ServiceStatus {
     private WebServer webServer;
     private volatile BlockInfo latestAckedBlock;
     private volatile long latestReceivedBlockNumber;
+    private final AtomicReference<AvailableBlockRange> availableBlockRange =
+            new AtomicReference<>(AvailableBlockRange.EMPTY);
     private final int delayMillis;
 
     /**
@@ -114,4 +117,15 @@ public class ServiceStatusImpl implements ServiceStatus {
     public void setLatestReceivedBlockNumber(long latestReceivedBlockNumber) {
         this.latestReceivedBlockNumber = latestReceivedBlockNumber;
     }
+
+    @NonNull
+    @Override
+    public AvailableBlockRange getAvailableBlockRange() {
+        return availableBlockRange.get();
+    }
+
+    @Override
+    public void addAvailableBlocks(final long firstBlockNumber, final long lastBlockNumber) {
+        availableBlockRange.updateAndGet(range -> range.extend(firstBlockNumber, lastBlockNumber));
+    }
 }
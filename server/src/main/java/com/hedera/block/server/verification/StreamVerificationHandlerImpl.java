@@ -70,6 +70,9 @@ public class StreamVerificationHandlerImpl implements BlockNodeEventHandler<Obje
             }
 
             final List<BlockItemUnparsed> blockItems = event.get();
+            if (blockItems == null) {
+                return;
+            }
             blockVerificationService.onBlockItemsReceived(blockItems);
         } catch (final Exception e) {
 
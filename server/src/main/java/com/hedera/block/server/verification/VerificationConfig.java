@@ -13,12 +13,24 @@ import com.swirlds.config.api.ConfigProperty;
  * @param type toggle between production and no-op verification services
  * @param sessionType the type of the verification session
  * @param hashCombineBatchSize the size of the batch used to combine hashes
+ * @param hashLeafBatchSize the maximum number of block items hashed by a single
+ * task when the leaf hashes of a batch are computed in parallel
+ * @param workerThreads the number of threads shared by all sessions to process block items, or 0 to
+ * use the number of available processors
+ * @param hashingThreads the number of threads shared by all sessions to hash block items and combine
+ * hashes, or 0 to use the number of available processors
+ * @param maxBlocksInFlight the maximum number of blocks being verified at the same time; a new block
+ * waits for the verification of an earlier one to complete once this is reached
  */
 @ConfigData("verification")
 public record VerificationConfig(
         @Loggable @ConfigProperty(defaultValue = "PRODUCTION") VerificationServiceType type,
         @Loggable @ConfigProperty(defaultValue = "ASYNC") BlockVerificationSessionType sessionType,
-        @Loggable @ConfigProperty(defaultValue = "32") int hashCombineBatchSize) {
+        @Loggable @ConfigProperty(defaultValue = "32") int hashCombineBatchSize,
+        @Loggable @ConfigProperty(defaultValue = "256") int hashLeafBatchSize,
+        @Loggable @ConfigProperty(defaultValue = "0") int workerThreads,
+        @Loggable @ConfigProperty(defaultValue = "0") int hashingThreads,
+        @Loggable @ConfigProperty(defaultValue = "4") int maxBlocksInFlight) {
 
     /**
      * Constructs a new instance of {@link VerificationConfig}.
@@ -26,12 +38,39 @@ public record VerificationConfig(
      * @param type toggle between PRODUCTION and NO_OP verification services
      * @param sessionType          the type of the verification session
      * @param hashCombineBatchSize the size of the batch used to combine hashes
+     * @param hashLeafBatchSize    the maximum number of block items hashed by a single task
+     * @param workerThreads        the number of session worker threads, 0 for the available processors
+     * @param hashingThreads       the number of hashing threads, 0 for the available processors
+     * @param maxBlocksInFlight    the maximum number of blocks being verified at the same time
      */
     public VerificationConfig {
         // hashCombineBatchSize must be even and greater than 2
         Preconditions.requirePositive(hashCombineBatchSize, "[VERIFICATION_HASH_COMBINE_BATCH_SIZE] must be positive");
         Preconditions.requireEven(
                 hashCombineBatchSize, "[VERIFICATION_HASH_COMBINE_BATCH_SIZE] must be even and greater than 2");
+        Preconditions.requirePositive(hashLeafBatchSize, "[VERIFICATION_HASH_LEAF_BATCH_SIZE] must be positive");
+        Preconditions.requireGreaterOrEqual(workerThreads, 0, "[VERIFICATION_WORKER_THREADS] must not be negative");
+        Preconditions.requireGreaterOrEqual(
+                hashingThreads, 0, "[VERIFICATION_HASHING_THREADS] must not be negative");
+        Preconditions.requirePositive(maxBlocksInFlight, "[VERIFICATION_MAX_BLOCKS_IN_FLIGHT] must be positive");
+    }
+
+    /**
+     * The number of session worker threads to use.
+     *
+     * @return the configured number of worker threads, or the number of available processors if not set
+     */
+    public int effectiveWorkerThreads() {
+        return workerThreads > 0 ? workerThreads : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * The number of hashing threads to use.
+     *
+     * @return the configured number of hashing threads, or the number of available processors if not set
+     */
+    public int effectiveHashingThreads() {
+        return hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
     }
 
     /**
@@ -3,18 +3,19 @@ package com.hedera.block.server.verification;
 
 import com.hedera.block.server.ack.AckHandler;
 import com.hedera.block.server.metrics.MetricsService;
+import com.hedera.block.server.persistence.storage.hashtree.HashTreeStore;
 import com.hedera.block.server.verification.service.BlockVerificationService;
 import com.hedera.block.server.verification.service.BlockVerificationServiceImpl;
 import com.hedera.block.server.verification.service.NoOpBlockVerificationService;
 import com.hedera.block.server.verification.session.BlockVerificationSessionFactory;
+import com.hedera.block.server.verification.session.VerificationWorkerPool;
+import com.hedera.block.server.verification.signature.PublicKeySignatureVerifier;
+import com.hedera.block.server.verification.signature.SignatureConfig;
 import com.hedera.block.server.verification.signature.SignatureVerifier;
 import com.hedera.block.server.verification.signature.SignatureVerifierDummy;
-import dagger.Binds;
 import dagger.Module;
 import dagger.Provides;
 import edu.umd.cs.findbugs.annotations.NonNull;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.ForkJoinPool;
 import javax.inject.Singleton;
 
 /**
@@ -26,12 +27,17 @@ public interface VerificationInjectionModule {
     /**
      * Provides the signature verifier.
      *
-     * @param signatureVerifier the signature verifier to be used
+     * @param signatureConfig the signature configuration to be used
      * @return the signature verifier
      */
-    @Binds
+    @Provides
     @Singleton
-    SignatureVerifier bindSignatureVerifier(SignatureVerifierDummy signatureVerifier);
+    static SignatureVerifier provideSignatureVerifier(@NonNull final SignatureConfig signatureConfig) {
+        return switch (signatureConfig.type()) {
+            case DUMMY -> new SignatureVerifierDummy();
+            case PUBLIC_KEY -> PublicKeySignatureVerifier.create(signatureConfig);
+        };
+    }
 
     /**
      * Provides the block verification service.
@@ -39,6 +45,7 @@ public interface VerificationInjectionModule {
      * @param verificationConfig the verification configuration to be used
      * @param metricsService the metrics service to be used
      * @param blockVerificationSessionFactory the block verification session factory to be used
+     * @param ackHandler the handler the verification results are delivered to
      * @return the block verification service
      */
     @Provides
@@ -51,17 +58,39 @@ public interface VerificationInjectionModule {
         if (verificationConfig.type() == VerificationConfig.VerificationServiceType.NO_OP) {
             return new NoOpBlockVerificationService();
         } else {
-            return new BlockVerificationServiceImpl(metricsService, blockVerificationSessionFactory, ackHandler);
+            return new BlockVerificationServiceImpl(
+                    metricsService,
+                    blockVerificationSessionFactory,
+                    ackHandler,
+                    verificationConfig.maxBlocksInFlight());
         }
     }
 
+    /**
+     * Provides the shared pool that runs all block verification sessions.
+     *
+     * @param verificationConfig the verification configuration to be used
+     * @param metricsService the metrics service to be used
+     * @return the verification worker pool
+     */
+    @Provides
+    @Singleton
+    static VerificationWorkerPool provideVerificationWorkerPool(
+            @NonNull final VerificationConfig verificationConfig, @NonNull final MetricsService metricsService) {
+        return new VerificationWorkerPool(
+                verificationConfig.effectiveWorkerThreads(),
+                verificationConfig.effectiveHashingThreads(),
+                metricsService);
+    }
+
     /**
      * Provides the block verification session factory.
-     * Uses the common fork join pool for the executor service, of the concurrent hashing tree for now.
      *
      * @param verificationConfig the verification configuration to be used
      * @param metricsService the metrics service to be used
      * @param signatureVerifier the signature verifier to be used
+     * @param hashTreeStore the store the hash trees of verified blocks are saved to
+     * @param workerPool the shared verification worker pool to be used
      * @return the block verification session factory
      */
     @Provides
@@ -69,9 +98,10 @@ public interface VerificationInjectionModule {
     static BlockVerificationSessionFactory provideBlockVerificationSessionFactory(
             @NonNull final VerificationConfig verificationConfig,
             @NonNull final MetricsService metricsService,
-            @NonNull final SignatureVerifier signatureVerifier) {
-        final ExecutorService executorService = ForkJoinPool.commonPool();
+            @NonNull final SignatureVerifier signatureVerifier,
+            @NonNull final HashTreeStore hashTreeStore,
+            @NonNull final VerificationWorkerPool workerPool) {
         return new BlockVerificationSessionFactory(
-                verificationConfig, metricsService, signatureVerifier, executorService);
+                verificationConfig, metricsService, signatureVerifier, hashTreeStore, workerPool);
     }
 }
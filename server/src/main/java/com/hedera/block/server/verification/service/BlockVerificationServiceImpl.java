@@ -2,8 +2,10 @@
 package com.hedera.block.server.verification.service;
 
 import static java.lang.System.Logger.Level.ERROR;
+import static java.lang.System.Logger.Level.WARNING;
 import static java.util.Objects.requireNonNull;
 
+import com.hedera.block.common.utils.Preconditions;
 import com.hedera.block.server.ack.AckHandler;
 import com.hedera.block.server.metrics.BlockNodeMetricTypes;
 import com.hedera.block.server.metrics.MetricsService;
@@ -15,10 +17,16 @@ import com.hedera.hapi.block.stream.output.BlockHeader;
 import com.hedera.pbj.runtime.ParseException;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.util.List;
-import javax.inject.Inject;
+import java.util.concurrent.Semaphore;
 
 /**
  * Service that handles the verification of block items, it receives items from the handler.
+ * <p>
+ * Verification is pipelined: once the proof of a block is received, the next block starts being
+ * verified while the earlier one is still being finalized, up to a maximum number of blocks in
+ * flight. When that maximum is reached, receiving the header of a new block waits until the
+ * verification of an earlier block completes. Results may therefore complete out of order; the
+ * {@link AckHandler} is responsible for acknowledging blocks in order.
  */
 public class BlockVerificationServiceImpl implements BlockVerificationService {
 
@@ -27,26 +35,36 @@ public class BlockVerificationServiceImpl implements BlockVerificationService {
 
     private final BlockVerificationSessionFactory sessionFactory;
     private BlockVerificationSession currentSession;
+    private boolean currentSessionComplete;
     private final AckHandler ackHandler;
+    private final Semaphore blocksInFlight;
 
     /**
      * Constructs a new BlockVerificationServiceImpl.
      *
      * @param metricsService the metrics service
      * @param sessionFactory the session factory
+     * @param ackHandler the handler the verification results are delivered to
+     * @param maxBlocksInFlight the maximum number of blocks being verified at the same time
      */
-    @Inject
     public BlockVerificationServiceImpl(
             @NonNull final MetricsService metricsService,
             @NonNull final BlockVerificationSessionFactory sessionFactory,
-            @NonNull final AckHandler ackHandler) {
+            @NonNull final AckHandler ackHandler,
+            final int maxBlocksInFlight) {
         this.metricsService = requireNonNull(metricsService);
         this.sessionFactory = requireNonNull(sessionFactory);
-        this.ackHandler = ackHandler;
+        this.ackHandler = requireNonNull(ackHandler);
+        this.blocksInFlight = new Semaphore(Preconditions.requirePositive(maxBlocksInFlight));
     }
 
     /**
      * Everytime the handler receives block items, it will call this method to verify the block items.
+     * <p>
+     * If the items start a new block while {@code maxBlocksInFlight} blocks are being verified, this
+     * method blocks the calling thread, the verification handler of the ring buffer, until the
+     * verification of an earlier block completes. While it is blocked the handler passes no events, so
+     * the ring buffer fills up and, once it is full, the publishing producer waits as well.
      *
      * @param blockItems the block items to add to the verification service
      * @throws ParseException if the block items are invalid
@@ -58,23 +76,33 @@ public class BlockVerificationServiceImpl implements BlockVerificationService {
 
         // If we have a new block header, that means a new block has started
         if (firstItem.hasBlockHeader()) {
+            if (currentSession != null && !currentSessionComplete) {
+                // the proof of the previous block will never arrive, so it can never be verified
+                LOGGER.log(WARNING, "Received a block header before the block proof of the previous block.");
+                currentSession.cancel();
+            }
             metricsService
                     .get(BlockNodeMetricTypes.Counter.VerificationBlocksReceived)
                     .increment();
             BlockHeader blockHeader = BlockHeader.PROTOBUF.parse(firstItem.blockHeader());
 
-            // start new session and set it as current
+            // wait for a free slot, then start new session and set it as current
+            acquireBlockInFlight();
             currentSession = sessionFactory.createSession(blockHeader);
-            currentSession.appendBlockItems(blockItems);
 
-            // Handle promise completion for the session.
-            currentSession.getVerificationResult().thenAccept(result -> {
+            // Handle promise completion for the session, in whatever order sessions complete.
+            currentSession.getVerificationResult().whenComplete((result, error) -> {
+                blocksInFlight.release();
+                if (result == null) {
+                    return;
+                }
                 if (result.status().equals(BlockVerificationStatus.VERIFIED)) {
                     ackHandler.blockVerified(result.blockNumber(), result.blockHash());
                 } else {
                     ackHandler.blockVerificationFailed(result.blockNumber());
                 }
             });
+            currentSession.appendBlockItems(blockItems);
 
         } else {
             if (currentSession == null) {
@@ -85,5 +113,18 @@ public class BlockVerificationServiceImpl implements BlockVerificationService {
             // Append to current session
             currentSession.appendBlockItems(blockItems);
         }
+        currentSessionComplete = blockItems.getLast().hasBlockProof();
+    }
+
+    /**
+     * Takes a slot for a new block in flight, blocking until one is free.
+     */
+    private void acquireBlockInFlight() {
+        try {
+            blocksInFlight.acquire();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a block verification to complete", e);
+        }
     }
 }
@@ -33,4 +33,11 @@ public interface BlockVerificationSession {
      * @return a CompletableFuture for the verification result.
      */
     CompletableFuture<VerificationResult> getVerificationResult();
+
+    /**
+     * Abandons this session, e.g. because the rest of its block will never be received. If the
+     * verification result is not complete yet, it completes exceptionally with a
+     * {@link java.util.concurrent.CancellationException}.
+     */
+    void cancel();
 }
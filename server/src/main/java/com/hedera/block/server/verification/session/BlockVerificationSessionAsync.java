@@ -1,20 +1,25 @@
 // SPDX-License-Identifier: Apache-2.0
 package com.hedera.block.server.verification.session;
 
-import com.hedera.block.common.hasher.ConcurrentStreamingTreeHasher;
+import com.hedera.block.common.hasher.ArenaStreamingTreeHasher;
+import com.hedera.block.common.hasher.Hashes;
+import com.hedera.block.common.hasher.HashingUtilities;
+import com.hedera.block.server.events.OffHeapBlockItems;
 import com.hedera.block.server.metrics.MetricsService;
+import com.hedera.block.server.persistence.storage.hashtree.HashTreeStore;
 import com.hedera.block.server.verification.signature.SignatureVerifier;
 import com.hedera.hapi.block.BlockItemUnparsed;
 import com.hedera.hapi.block.stream.output.BlockHeader;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.util.List;
-import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 /**
  * An asynchronous implementation of the BlockVerificationSession. It processes the block items
- * asynchronously using an executor.
+ * asynchronously and in order on the shared {@link VerificationWorkerPool}, without a thread of its own.
+ * The leaf hashes of each batch of block items are computed in parallel on the hashing executor of the
+ * pool, split by index ranges, and then added to the tree hashers in order.
  */
 public class BlockVerificationSessionAsync extends BlockVerificationSessionBase {
 
@@ -23,7 +28,13 @@ public class BlockVerificationSessionAsync extends BlockVerificationSessionBase
      */
     private final System.Logger LOGGER = System.getLogger(getClass().getName());
 
-    private final ExecutorService taskExecutor;
+    private final VerificationWorkerPool workerPool;
+
+    private final Executor taskExecutor;
+
+    private final ExecutorService hashingExecutor;
+
+    private final int hashLeafBatchSize;
 
     /**
      * Constructs an asynchronous block verification session.
@@ -31,28 +42,32 @@ public class BlockVerificationSessionAsync extends BlockVerificationSessionBase
      * @param blockHeader        the header of the block being verified
      * @param metricsService     the service to record metrics
      * @param signatureVerifier  the signature verifier
-     * @param executorService    the executor service to use for processing block items
+     * @param hashTreeStore      the store the hash tree of the block is saved to once verified
+     * @param workerPool         the shared pool to process block items and hash on
      * @param hashCombineBatchSize the batch size for combining hashes
+     * @param hashLeafBatchSize the maximum number of block items hashed by a single parallel task
      */
     public BlockVerificationSessionAsync(
             @NonNull final BlockHeader blockHeader,
             @NonNull final MetricsService metricsService,
             @NonNull final SignatureVerifier signatureVerifier,
-            @NonNull final ExecutorService executorService,
-            final int hashCombineBatchSize) {
+            @NonNull final HashTreeStore hashTreeStore,
+            @NonNull final VerificationWorkerPool workerPool,
+            final int hashCombineBatchSize,
+            final int hashLeafBatchSize) {
 
         super(
                 blockHeader,
                 metricsService,
                 signatureVerifier,
-                new ConcurrentStreamingTreeHasher(executorService, hashCombineBatchSize),
-                new ConcurrentStreamingTreeHasher(executorService, hashCombineBatchSize));
-
-        this.taskExecutor = Executors.newSingleThreadExecutor(r -> {
-            Thread t = new Thread(r, "block-verification-session-" + this.blockNumber);
-            t.setDaemon(true);
-            return t;
-        });
+                hashTreeStore,
+                new ArenaStreamingTreeHasher(workerPool.hashingExecutor(), leavesPerChunk(hashCombineBatchSize)),
+                new ArenaStreamingTreeHasher(workerPool.hashingExecutor(), leavesPerChunk(hashCombineBatchSize)));
+
+        this.workerPool = workerPool;
+        this.hashingExecutor = workerPool.hashingExecutor();
+        this.hashLeafBatchSize = hashLeafBatchSize;
+        this.taskExecutor = workerPool.newSessionExecutor();
     }
 
     /**
@@ -68,21 +83,62 @@ public class BlockVerificationSessionAsync extends BlockVerificationSessionBase
             return;
         }
 
-        // Submit a task that processes the block items asynchronously
-        Callable<Void> task = () -> {
-            try {
-                processBlockItems(blockItems);
-            } catch (Exception ex) {
-                handleProcessingError(ex);
-            }
-            return null;
-        };
-        taskExecutor.submit(task);
+        // Submit a task that processes the block items asynchronously, keeping them in the payload
+        // arena, if they are held by one, until the task reads them
+        OffHeapBlockItems.retain(blockItems);
+        try {
+            taskExecutor.execute(() -> {
+                final List<BlockItemUnparsed> heapBlockItems;
+                try {
+                    if (!isRunning()) {
+                        // the session was cancelled or failed meanwhile
+                        return;
+                    }
+                    // the items are read several times, so they are parsed from the arena once
+                    heapBlockItems = OffHeapBlockItems.onHeap(blockItems);
+                } finally {
+                    OffHeapBlockItems.release(blockItems);
+                }
+                try {
+                    processBlockItems(heapBlockItems);
+                } catch (Exception ex) {
+                    handleProcessingError(ex);
+                }
+            });
+        } catch (final RuntimeException e) {
+            OffHeapBlockItems.release(blockItems);
+            throw e;
+        }
+    }
+
+    /**
+     * The tree hashers reduce chunks of a power of two leaves, so the hash combine batch size is rounded up to the
+     * next power of two.
+     */
+    private static int leavesPerChunk(final int hashCombineBatchSize) {
+        return hashCombineBatchSize <= 1 ? 1 : Integer.highestOneBit(hashCombineBatchSize - 1) << 1;
+    }
+
+    @Override
+    protected Hashes computeHashes(@NonNull final List<BlockItemUnparsed> blockItems) {
+        return HashingUtilities.getBlockHashes(blockItems, hashingExecutor, hashLeafBatchSize);
     }
 
+    /**
+     * The signature is submitted from the hashing executor, so the worker
+     * thread is free to process the next block while this one is being
+     * finalized, even with a signature verifier that verifies in place.
+     */
     @Override
-    protected void shutdownSession() {
-        super.shutdownSession();
-        this.taskExecutor.shutdown();
+    protected Executor finalizationExecutor() {
+        return hashingExecutor;
+    }
+
+    @Override
+    protected synchronized void shutdownSession() {
+        if (isRunning()) {
+            super.shutdownSession();
+            workerPool.sessionEnded(System.nanoTime() - blockWorkStartTime);
+        }
     }
 }
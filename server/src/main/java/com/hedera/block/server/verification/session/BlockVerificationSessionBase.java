@@ -6,8 +6,15 @@ import static java.lang.System.Logger.Level.INFO;
 import com.hedera.block.common.hasher.Hashes;
 import com.hedera.block.common.hasher.HashingUtilities;
 import com.hedera.block.common.hasher.StreamingTreeHasher;
+import com.hedera.block.server.jfr.BlockItemBatches;
+import com.hedera.block.server.jfr.VerificationSessionEvent;
 import com.hedera.block.server.metrics.BlockNodeMetricTypes;
+import com.hedera.block.server.metrics.BlockStage;
+import com.hedera.block.server.metrics.BlockTraceStage;
 import com.hedera.block.server.metrics.MetricsService;
+import com.hedera.block.server.persistence.storage.hashtree.BlockHashTree;
+import com.hedera.block.server.persistence.storage.hashtree.HashTreeRecorder;
+import com.hedera.block.server.persistence.storage.hashtree.HashTreeStore;
 import com.hedera.block.server.verification.BlockVerificationStatus;
 import com.hedera.block.server.verification.VerificationResult;
 import com.hedera.block.server.verification.signature.SignatureVerifier;
@@ -19,7 +26,10 @@ import com.hedera.pbj.runtime.io.buffer.Bytes;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 /**
  * An abstract base class providing common functionality for block verification sessions.
@@ -40,6 +50,14 @@ public abstract class BlockVerificationSessionBase implements BlockVerificationS
      * The signature verifier.
      */
     protected final SignatureVerifier signatureVerifier;
+    /**
+     * The store the hash tree of the block is saved to once verified.
+     */
+    protected final HashTreeStore hashTreeStore;
+    /**
+     * The recorder of the leaf hashes of the block, or null if hash trees are not stored.
+     */
+    private final HashTreeRecorder hashTreeRecorder;
     /**
      * The block number being verified.
      */
@@ -56,6 +74,10 @@ public abstract class BlockVerificationSessionBase implements BlockVerificationS
      * The time when block verification started.
      */
     protected final long blockWorkStartTime;
+    /**
+     * The flight recorder event of the session, counting the block items while it is enabled.
+     */
+    private final VerificationSessionEvent sessionEvent = new VerificationSessionEvent();
     /**
      * A flag indicating whether the session is running.
      */
@@ -71,6 +93,7 @@ public abstract class BlockVerificationSessionBase implements BlockVerificationS
      * @param blockHeader the block header
      * @param metricsService the metrics service
      * @param signatureVerifier the signature verifier
+     * @param hashTreeStore the store the hash tree of the block is saved to once verified
      * @param inputTreeHasher the input tree hasher (e.g. naive or concurrent)
      * @param outputTreeHasher the output tree hasher (e.g. naive or concurrent)
      */
@@ -78,15 +101,21 @@ public abstract class BlockVerificationSessionBase implements BlockVerificationS
             @NonNull final BlockHeader blockHeader,
             @NonNull final MetricsService metricsService,
             @NonNull final SignatureVerifier signatureVerifier,
+            @NonNull final HashTreeStore hashTreeStore,
             @NonNull final StreamingTreeHasher inputTreeHasher,
             @NonNull final StreamingTreeHasher outputTreeHasher) {
         this.blockNumber = Objects.requireNonNull(blockHeader).number();
         this.metricsService = Objects.requireNonNull(metricsService);
         this.signatureVerifier = Objects.requireNonNull(signatureVerifier);
+        this.hashTreeStore = Objects.requireNonNull(hashTreeStore);
+        this.hashTreeRecorder = hashTreeStore.isEnabled() ? new HashTreeRecorder() : null;
         this.inputTreeHasher = Objects.requireNonNull(inputTreeHasher);
         this.outputTreeHasher = Objects.requireNonNull(outputTreeHasher);
 
         this.blockWorkStartTime = System.nanoTime();
+        metricsService.traceEnter(blockNumber, BlockTraceStage.HASHING);
+        sessionEvent.blockNumber = blockNumber;
+        sessionEvent.begin();
     }
 
     @Override
@@ -107,8 +136,9 @@ public abstract class BlockVerificationSessionBase implements BlockVerificationS
      * @throws ParseException if a parsing error occurs
      */
     protected void processBlockItems(List<BlockItemUnparsed> blockItems) throws ParseException {
-
-        Hashes hashes = HashingUtilities.getBlockHashes(blockItems);
+        accountBlockItems(blockItems);
+        Hashes hashes = computeHashes(blockItems);
+        recordHashTree(blockItems, hashes);
         while (hashes.inputHashes().hasRemaining()) {
             inputTreeHasher.addLeaf(hashes.inputHashes());
         }
@@ -124,16 +154,115 @@ public abstract class BlockVerificationSessionBase implements BlockVerificationS
         }
     }
 
+    /**
+     * Computes the input and output leaf hashes of the provided block items,
+     * in item order. Subclasses may override this to hash the items in
+     * parallel.
+     *
+     * @param blockItems the block items to hash
+     * @return the hashes of the block items
+     */
+    protected Hashes computeHashes(@NonNull final List<BlockItemUnparsed> blockItems) {
+        return HashingUtilities.getBlockHashes(blockItems);
+    }
+
+    /**
+     * Accounts for the provided block items in the flight recorder event of
+     * the session, if it is enabled. Must be called once for each batch of
+     * block items processed.
+     *
+     * @param blockItems the block items processed
+     */
+    protected final void accountBlockItems(@NonNull final List<BlockItemUnparsed> blockItems) {
+        if (sessionEvent.isEnabled()) {
+            sessionEvent.itemCount += blockItems.size();
+            sessionEvent.bytes += BlockItemBatches.sizeOf(blockItems);
+        }
+    }
+
+    /**
+     * Records the leaf hashes of the provided block items, if the hash tree of
+     * the block is to be stored once verified.
+     *
+     * @param blockItems the block items
+     * @param hashes the hashes of the block items, in item order
+     */
+    protected void recordHashTree(@NonNull final List<BlockItemUnparsed> blockItems, @NonNull final Hashes hashes) {
+        if (hashTreeRecorder != null) {
+            hashTreeRecorder.record(blockItems, hashes);
+        }
+    }
+
+    /**
+     * @return whether the hash tree of the block is to be stored once verified
+     */
+    protected boolean isRecordingHashTree() {
+        return hashTreeRecorder != null;
+    }
+
+    @Override
+    public final void cancel() {
+        if (isRunning()) {
+            shutdownSession();
+            verificationResultFuture.completeExceptionally(
+                    new CancellationException("Verification of block " + blockNumber + " was cancelled"));
+        }
+    }
+
     /**
      * Finalizes the block verification by computing the final block hash,
      * verifying its signature, and updating metrics accordingly.
+     * <p>
+     * The final block hash is computed once the root hashes of both trees are
+     * available, and its signature is then submitted to the signature verifier
+     * from the {@link #finalizationExecutor()}, so the caller does not wait for
+     * either.
      *
      * @param blockProof the block proof
      */
     protected void finalizeVerification(BlockProof blockProof) {
-        Bytes blockHash = HashingUtilities.computeFinalBlockHash(blockProof, inputTreeHasher, outputTreeHasher);
+        final BlockHashTree hashTree =
+                hashTreeRecorder == null ? null : hashTreeRecorder.build(blockNumber, blockProof);
+        HashingUtilities.computeFinalBlockHashAsync(blockProof, inputTreeHasher, outputTreeHasher)
+                .thenComposeAsync(
+                        blockHash -> {
+                            metricsService.traceExit(blockNumber, BlockTraceStage.HASHING);
+                            metricsService.traceEnter(blockNumber, BlockTraceStage.SIGNATURE);
+                            return signatureVerifier
+                                    .verifySignatureAsync(blockHash, blockProof.blockSignature())
+                                    .thenAccept(verified -> completeVerification(blockHash, verified, hashTree));
+                        },
+                        finalizationExecutor())
+                .exceptionally(ex -> {
+                    final boolean wrapped = ex instanceof CompletionException && ex.getCause() != null;
+                    handleProcessingError(wrapped ? ex.getCause() : ex);
+                    return null;
+                });
+    }
+
+    /**
+     * Returns the executor used to submit the signature of the block once its
+     * final hash is known. By default, the signature is submitted by the
+     * thread that completes the final block hash.
+     *
+     * @return the executor used to complete the verification
+     */
+    protected Executor finalizationExecutor() {
+        return Runnable::run;
+    }
+
+    /**
+     * Updates metrics and completes the verification result, once the
+     * signature of the final block hash has been verified.
+     *
+     * @param blockHash the final block hash
+     * @param verified whether the signature of the block hash is valid
+     * @param hashTree the hash tree of the block to store if verified, or null
+     */
+    private void completeVerification(
+            @NonNull final Bytes blockHash, final boolean verified, final BlockHashTree hashTree) {
+        metricsService.traceExit(blockNumber, BlockTraceStage.SIGNATURE);
         VerificationResult result;
-        boolean verified = signatureVerifier.verifySignature(blockHash, blockProof.blockSignature());
         if (verified) {
             long verificationLatency = System.nanoTime() - blockWorkStartTime;
             metricsService
@@ -142,8 +271,12 @@ public abstract class BlockVerificationSessionBase implements BlockVerificationS
             metricsService
                     .get(BlockNodeMetricTypes.Counter.VerificationBlocksVerified)
                     .increment();
+            metricsService.markBlockStage(blockNumber, BlockStage.VERIFIED);
 
             result = new VerificationResult(blockNumber, blockHash, BlockVerificationStatus.VERIFIED);
+            if (hashTree != null) {
+                hashTreeStore.store(hashTree);
+            }
         } else {
             LOGGER.log(INFO, "Block verification failed for block number: {0}", blockNumber);
             metricsService
@@ -152,6 +285,7 @@ public abstract class BlockVerificationSessionBase implements BlockVerificationS
 
             result = new VerificationResult(blockNumber, blockHash, BlockVerificationStatus.INVALID_HASH_OR_SIGNATURE);
         }
+        commitSessionEvent(verified);
         shutdownSession();
         verificationResultFuture.complete(result);
     }
@@ -171,6 +305,16 @@ public abstract class BlockVerificationSessionBase implements BlockVerificationS
     protected void handleProcessingError(Throwable ex) {
         LOGGER.log(System.Logger.Level.ERROR, "Error processing block items", ex);
         metricsService.get(BlockNodeMetricTypes.Counter.VerificationBlocksError).increment();
+        commitSessionEvent(false);
+        shutdownSession();
         verificationResultFuture.completeExceptionally(ex);
     }
+
+    private void commitSessionEvent(final boolean verified) {
+        sessionEvent.end();
+        if (sessionEvent.shouldCommit()) {
+            sessionEvent.verified = verified;
+            sessionEvent.commit();
+        }
+    }
 }
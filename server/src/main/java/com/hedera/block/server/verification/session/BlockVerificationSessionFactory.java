@@ -2,12 +2,12 @@
 package com.hedera.block.server.verification.session;
 
 import com.hedera.block.server.metrics.MetricsService;
+import com.hedera.block.server.persistence.storage.hashtree.HashTreeStore;
 import com.hedera.block.server.verification.VerificationConfig;
 import com.hedera.block.server.verification.signature.SignatureVerifier;
 import com.hedera.hapi.block.stream.output.BlockHeader;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import java.util.Objects;
-import java.util.concurrent.ExecutorService;
 import javax.inject.Inject;
 
 /**
@@ -18,8 +18,10 @@ public class BlockVerificationSessionFactory {
     private final VerificationConfig config;
     private final MetricsService metricsService;
     private final SignatureVerifier signatureVerifier;
-    private final ExecutorService executorService;
+    private final HashTreeStore hashTreeStore;
+    private final VerificationWorkerPool workerPool;
     private final int hashCombineBatchSize;
+    private final int hashLeafBatchSize;
 
     /**
      * Constructs a block verification session factory.
@@ -27,24 +29,29 @@ public class BlockVerificationSessionFactory {
      * @param verificationConfig the verification configuration
      * @param metricsService the metrics service
      * @param signatureVerifier the signature verifier
-     * @param executorService the executor service
+     * @param hashTreeStore the store the hash trees of verified blocks are saved to
+     * @param workerPool the shared pool that runs the asynchronous sessions
      */
     @Inject
     public BlockVerificationSessionFactory(
             @NonNull final VerificationConfig verificationConfig,
             @NonNull final MetricsService metricsService,
             @NonNull final SignatureVerifier signatureVerifier,
-            @NonNull final ExecutorService executorService) {
+            @NonNull final HashTreeStore hashTreeStore,
+            @NonNull final VerificationWorkerPool workerPool) {
         Objects.requireNonNull(verificationConfig);
         Objects.requireNonNull(metricsService);
         Objects.requireNonNull(signatureVerifier);
-        Objects.requireNonNull(executorService);
+        Objects.requireNonNull(hashTreeStore);
+        Objects.requireNonNull(workerPool);
 
         this.config = verificationConfig;
         this.metricsService = metricsService;
         this.signatureVerifier = signatureVerifier;
-        this.executorService = executorService;
+        this.hashTreeStore = hashTreeStore;
+        this.workerPool = workerPool;
         this.hashCombineBatchSize = verificationConfig.hashCombineBatchSize();
+        this.hashLeafBatchSize = verificationConfig.hashLeafBatchSize();
     }
 
     /**
@@ -60,8 +67,15 @@ public class BlockVerificationSessionFactory {
 
         return switch (type) {
             case ASYNC -> new BlockVerificationSessionAsync(
-                    blockHeader, metricsService, signatureVerifier, executorService, hashCombineBatchSize);
-            case SYNC -> new BlockVerificationSessionSync(blockHeader, metricsService, signatureVerifier);
+                    blockHeader,
+                    metricsService,
+                    signatureVerifier,
+                    hashTreeStore,
+                    workerPool,
+                    hashCombineBatchSize,
+                    hashLeafBatchSize);
+            case SYNC -> new BlockVerificationSessionSync(
+                    blockHeader, metricsService, signatureVerifier, hashTreeStore);
         };
     }
 }
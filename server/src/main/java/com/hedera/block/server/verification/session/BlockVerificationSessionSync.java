@@ -1,10 +1,12 @@
 // SPDX-License-Identifier: Apache-2.0
 package com.hedera.block.server.verification.session;
 
+import static com.hedera.block.common.hasher.HashingUtilities.getBlockHashes;
 import static com.hedera.block.common.hasher.HashingUtilities.getBlockItemHash;
 
 import com.hedera.block.common.hasher.NaiveStreamingTreeHasher;
 import com.hedera.block.server.metrics.MetricsService;
+import com.hedera.block.server.persistence.storage.hashtree.HashTreeStore;
 import com.hedera.block.server.verification.signature.SignatureVerifier;
 import com.hedera.hapi.block.BlockItemUnparsed;
 import com.hedera.hapi.block.stream.BlockProof;
@@ -30,16 +32,19 @@ public class BlockVerificationSessionSync extends BlockVerificationSessionBase {
      * @param blockHeader        the header of the block being verified
      * @param metricsService     the service to observe metrics
      * @param signatureVerifier  the signature verifier
+     * @param hashTreeStore      the store the hash tree of the block is saved to once verified
      */
     public BlockVerificationSessionSync(
             @NonNull final BlockHeader blockHeader,
             @NonNull final MetricsService metricsService,
-            @NonNull final SignatureVerifier signatureVerifier) {
+            @NonNull final SignatureVerifier signatureVerifier,
+            @NonNull final HashTreeStore hashTreeStore) {
 
         super(
                 blockHeader,
                 metricsService,
                 signatureVerifier,
+                hashTreeStore,
                 new NaiveStreamingTreeHasher(),
                 new NaiveStreamingTreeHasher());
     }
@@ -60,6 +65,10 @@ public class BlockVerificationSessionSync extends BlockVerificationSessionBase {
 
     @Override
     protected void processBlockItems(List<BlockItemUnparsed> blockItems) throws ParseException {
+        accountBlockItems(blockItems);
+        if (isRecordingHashTree()) {
+            recordHashTree(blockItems, getBlockHashes(blockItems));
+        }
         for (BlockItemUnparsed item : blockItems) {
             final BlockItemUnparsed.ItemOneOfType kind = item.item().kind();
             switch (kind) {
@@ -0,0 +1,169 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.verification.session;
+
+import static java.lang.System.Logger.Level.ERROR;
+
+import com.hedera.block.common.utils.Preconditions;
+import com.hedera.block.server.metrics.BlockNodeMetricTypes;
+import com.hedera.block.server.metrics.MetricsService;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The shared pools that run all block verification sessions.
+ * <p>
+ * Sessions do not own threads. Each session gets a lightweight {@link Executor} from
+ * {@link #newSessionExecutor()} that runs its tasks one at a time, in submission order, on a fixed pool of worker
+ * threads; sessions with pending work take turns, one task at a time. The tasks of a session may block on hashing
+ * work, which therefore runs on a separate fixed pool of hashing threads that is never blocked, and is not shared
+ * with any unrelated work.
+ * <p>
+ * The pool exports the number of queued session tasks, the number of active sessions and the latency of the last
+ * finished block.
+ */
+public class VerificationWorkerPool {
+    private final System.Logger LOGGER = System.getLogger(getClass().getName());
+
+    private final MetricsService metricsService;
+    private final ExecutorService workers;
+    private final ExecutorService hashingPool;
+    /**
+     * Guards the counters below, so the gauges are always set to their latest values.
+     */
+    private final Object metricsLock = new Object();
+
+    private long queuedTasks;
+    private long activeSessions;
+
+    /**
+     * Constructor.
+     *
+     * @param workerThreads the number of threads running session tasks, must be positive
+     * @param hashingThreads the number of threads running hashing work, must be positive
+     * @param metricsService the metrics service
+     */
+    public VerificationWorkerPool(
+            final int workerThreads, final int hashingThreads, @NonNull final MetricsService metricsService) {
+        Preconditions.requirePositive(workerThreads);
+        Preconditions.requirePositive(hashingThreads);
+        this.metricsService = Objects.requireNonNull(metricsService);
+        this.workers = Executors.newFixedThreadPool(workerThreads, daemonThreads("block-verification-worker-"));
+        this.hashingPool = Executors.newFixedThreadPool(hashingThreads, daemonThreads("block-verification-hashing-"));
+    }
+
+    /**
+     * This method creates the executor for the tasks of a new session, and accounts for the session as active until
+     * {@link #sessionEnded(long)} is called.
+     *
+     * @return an executor running the given tasks one at a time and in order on the worker threads
+     */
+    @NonNull
+    public Executor newSessionExecutor() {
+        updateActiveSessions(1);
+        return new SessionExecutor();
+    }
+
+    /**
+     * This method accounts for the end of a session created with {@link #newSessionExecutor()}.
+     *
+     * @param latencyNanos the time the session took to verify its block, in nanoseconds
+     */
+    public void sessionEnded(final long latencyNanos) {
+        updateActiveSessions(-1);
+        metricsService.get(BlockNodeMetricTypes.Gauge.VerificationBlockLatency).set(latencyNanos);
+        metricsService.get(BlockNodeMetricTypes.Histogram.VerificationLatency).record(latencyNanos);
+    }
+
+    /**
+     * This method returns the executor for hashing work, whose tasks must never block.
+     *
+     * @return the hashing executor
+     */
+    @NonNull
+    public ExecutorService hashingExecutor() {
+        return hashingPool;
+    }
+
+    /**
+     * This method stops the worker and hashing threads, abandoning any queued work.
+     */
+    public void shutdown() {
+        workers.shutdownNow();
+        hashingPool.shutdownNow();
+    }
+
+    private void updateQueueDepth(final int delta) {
+        synchronized (metricsLock) {
+            queuedTasks += delta;
+            metricsService.get(BlockNodeMetricTypes.Gauge.VerificationQueueDepth).set(queuedTasks);
+        }
+    }
+
+    private void updateActiveSessions(final int delta) {
+        synchronized (metricsLock) {
+            activeSessions += delta;
+            metricsService.get(BlockNodeMetricTypes.Gauge.VerificationActiveSessions).set(activeSessions);
+        }
+    }
+
+    private static ThreadFactory daemonThreads(@NonNull final String namePrefix) {
+        final AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            final Thread t = new Thread(r, namePrefix + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    /**
+     * Runs the tasks of a single session in order. At most one task of the session is queued on, or running on, the
+     * worker threads at any time; once it is done, the next task of the session is queued behind the tasks of the
+     * other sessions.
+     */
+    private final class SessionExecutor implements Executor {
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+        private final Runnable runNextTask = this::runNext;
+        private boolean scheduled;
+
+        @Override
+        public void execute(@NonNull final Runnable task) {
+            Objects.requireNonNull(task);
+            updateQueueDepth(1);
+            synchronized (this) {
+                tasks.add(task);
+                if (!scheduled) {
+                    scheduled = true;
+                    workers.execute(runNextTask);
+                }
+            }
+        }
+
+        private void runNext() {
+            final Runnable task;
+            synchronized (this) {
+                task = tasks.poll();
+            }
+            updateQueueDepth(-1);
+            try {
+                Objects.requireNonNull(task).run();
+            } catch (final RuntimeException e) {
+                LOGGER.log(ERROR, "Uncaught error in block verification task", e);
+            } finally {
+                synchronized (this) {
+                    if (tasks.isEmpty()) {
+                        scheduled = false;
+                    } else {
+                        workers.execute(runNextTask);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,244 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.verification.signature;
+
+import static java.lang.System.Logger.Level.WARNING;
+
+import com.hedera.block.common.utils.Preconditions;
+import com.hedera.block.server.verification.signature.SignatureConfig.SignatureAlgorithm;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.InvalidKeyException;
+import java.security.KeyFactory;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A {@link SignatureVerifier} that verifies block signatures against the ledger public key.
+ * <p>
+ * The key is parsed once, and each verifying thread keeps a {@link Signature} already initialized
+ * with it, so verifying a signature costs no key parsing or provider lookup.
+ * <p>
+ * Signatures submitted with {@link #verifySignatureAsync(Bytes, Bytes)} are queued and verified on
+ * a dedicated pool of threads. Each task verifies pending signatures one at a time until none are
+ * left, and more tasks are started, up to one per thread, while signatures are pending. Signatures
+ * from several blocks in flight are therefore verified in parallel as they arrive, but each one is
+ * verified on its own: the JDK offers no batch verification for the supported algorithms.
+ */
+public class PublicKeySignatureVerifier implements SignatureVerifier {
+    private final System.Logger LOGGER = System.getLogger(getClass().getName());
+
+    private final PublicKey ledgerPublicKey;
+    private final SignatureAlgorithm algorithm;
+    private final int threads;
+    private final ExecutorService pool;
+    private final Queue<PendingSignature> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger activeTasks = new AtomicInteger();
+    private final ThreadLocal<Signature> verifiers = ThreadLocal.withInitial(this::newVerifier);
+
+    /**
+     * Constructor.
+     *
+     * @param ledgerPublicKey the ledger public key
+     * @param algorithm the signature algorithm of the ledger key
+     * @param threads the number of threads dedicated to signature verification, must be positive
+     * @throws IllegalArgumentException if the key cannot be used with the given algorithm
+     */
+    public PublicKeySignatureVerifier(
+            @NonNull final PublicKey ledgerPublicKey, @NonNull final SignatureAlgorithm algorithm, final int threads) {
+        this.ledgerPublicKey = Objects.requireNonNull(ledgerPublicKey);
+        this.algorithm = Objects.requireNonNull(algorithm);
+        this.threads = Preconditions.requirePositive(threads);
+        // fail fast, rather than on the first block, if the key does not match the algorithm
+        newVerifier();
+        final AtomicInteger counter = new AtomicInteger();
+        this.pool = Executors.newFixedThreadPool(threads, r -> {
+            final Thread t = new Thread(r, "block-signature-verifier-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Creates a verifier using the ledger public key file and the settings of the given configuration.
+     *
+     * @param signatureConfig the signature configuration
+     * @return a new verifier
+     * @throws UncheckedIOException if the ledger public key file cannot be read
+     * @throws IllegalArgumentException if the ledger public key file does not hold a valid key
+     */
+    @NonNull
+    public static PublicKeySignatureVerifier create(@NonNull final SignatureConfig signatureConfig) {
+        final Path keyPath = Path.of(signatureConfig.ledgerPublicKeyPath());
+        try {
+            return new PublicKeySignatureVerifier(
+                    loadPublicKey(keyPath, signatureConfig.algorithm()),
+                    signatureConfig.algorithm(),
+                    signatureConfig.effectiveThreads());
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Unable to read the ledger public key from " + keyPath, e);
+        }
+    }
+
+    /**
+     * Loads a public key from a file holding a PEM or DER encoded X.509 {@code SubjectPublicKeyInfo}.
+     *
+     * @param path the file to read
+     * @param algorithm the signature algorithm the key is used with
+     * @return the public key
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the file does not hold a valid key for the algorithm
+     */
+    @NonNull
+    public static PublicKey loadPublicKey(@NonNull final Path path, @NonNull final SignatureAlgorithm algorithm)
+            throws IOException {
+        final byte[] encoded = decodePem(Files.readAllBytes(path));
+        try {
+            return KeyFactory.getInstance(algorithm.keyAlgorithm()).generatePublic(new X509EncodedKeySpec(encoded));
+        } catch (final GeneralSecurityException e) {
+            throw new IllegalArgumentException("Invalid %s public key in %s".formatted(algorithm, path), e);
+        }
+    }
+
+    /**
+     * Verifies the signature of a hash on the calling thread.
+     *
+     * @param hash the hash to verify
+     * @param signature the signature to verify
+     * @return true if the signature is valid for the ledger public key, false otherwise
+     */
+    @Override
+    public Boolean verifySignature(@NonNull final Bytes hash, @NonNull final Bytes signature) {
+        return verify(hash, signature);
+    }
+
+    /**
+     * Queues the signature to be verified on the signature verification threads.
+     *
+     * @param hash the hash to verify
+     * @param signature the signature to verify
+     * @return a future that completes with true if the signature is valid for the ledger public key,
+     * false otherwise
+     */
+    @NonNull
+    @Override
+    public CompletableFuture<Boolean> verifySignatureAsync(@NonNull final Bytes hash, @NonNull final Bytes signature) {
+        final PendingSignature request =
+                new PendingSignature(Objects.requireNonNull(hash), Objects.requireNonNull(signature));
+        pending.add(request);
+        startTaskIfNeeded();
+        return request.result;
+    }
+
+    /**
+     * This method stops the signature verification threads. Signatures still pending complete
+     * exceptionally.
+     */
+    @Override
+    public void shutdown() {
+        pool.shutdownNow();
+        failPending(new RejectedExecutionException("The signature verifier was shut down"));
+    }
+
+    private void startTaskIfNeeded() {
+        while (!pending.isEmpty()) {
+            final int active = activeTasks.get();
+            if (active >= threads) {
+                // a running task picks the signature up
+                return;
+            }
+            if (activeTasks.compareAndSet(active, active + 1)) {
+                try {
+                    pool.execute(this::verifyPending);
+                } catch (final RejectedExecutionException e) {
+                    activeTasks.decrementAndGet();
+                    failPending(e);
+                }
+                return;
+            }
+        }
+    }
+
+    private void verifyPending() {
+        PendingSignature request;
+        while ((request = pending.poll()) != null) {
+            try {
+                request.result.complete(verify(request.hash, request.signature));
+            } catch (final RuntimeException e) {
+                request.result.completeExceptionally(e);
+            }
+        }
+        activeTasks.decrementAndGet();
+        // a signature queued after the last poll may have found this task still active
+        startTaskIfNeeded();
+    }
+
+    private boolean verify(@NonNull final Bytes hash, @NonNull final Bytes signature) {
+        final Signature verifier = verifiers.get();
+        try {
+            verifier.update(hash.toByteArray());
+            return verifier.verify(signature.toByteArray());
+        } catch (final GeneralSecurityException e) {
+            // a malformed signature; the verifier state is unspecified after a failure, so start afresh
+            LOGGER.log(WARNING, "Unable to verify a malformed signature", e);
+            verifiers.remove();
+            return false;
+        }
+    }
+
+    private void failPending(@NonNull final Throwable cause) {
+        PendingSignature request;
+        while ((request = pending.poll()) != null) {
+            request.result.completeExceptionally(cause);
+        }
+    }
+
+    @NonNull
+    private Signature newVerifier() {
+        try {
+            final Signature verifier = Signature.getInstance(algorithm.signatureAlgorithm());
+            verifier.initVerify(ledgerPublicKey);
+            return verifier;
+        } catch (final NoSuchAlgorithmException | InvalidKeyException e) {
+            throw new IllegalArgumentException("The ledger public key cannot be used with " + algorithm, e);
+        }
+    }
+
+    @NonNull
+    private static byte[] decodePem(@NonNull final byte[] content) {
+        final String text = new String(content, StandardCharsets.US_ASCII);
+        if (!text.strip().startsWith("-----BEGIN ")) {
+            return content;
+        }
+        final String base64 =
+                text.replaceAll("-----(BEGIN|END) [A-Z ]+-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+
+    private static final class PendingSignature {
+        private final Bytes hash;
+        private final Bytes signature;
+        private final CompletableFuture<Boolean> result = new CompletableFuture<>();
+
+        private PendingSignature(@NonNull final Bytes hash, @NonNull final Bytes signature) {
+            this.hash = hash;
+            this.signature = signature;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.verification.signature;
+
+import com.hedera.block.common.utils.Preconditions;
+import com.hedera.block.server.config.logging.Loggable;
+import com.swirlds.config.api.ConfigData;
+import com.swirlds.config.api.ConfigProperty;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Configuration for the verification of block signatures.
+ *
+ * @param type the type of signature verifier to use
+ * @param algorithm the signature algorithm of the ledger key, used by the
+ * {@link SignatureVerifierType#PUBLIC_KEY} verifier
+ * @param ledgerPublicKeyPath the file holding the ledger public key, either PEM
+ * or DER encoded X.509 {@code SubjectPublicKeyInfo}; required by the
+ * {@link SignatureVerifierType#PUBLIC_KEY} verifier
+ * @param threads the number of threads dedicated to signature verification, or
+ * 0 to use the number of available processors
+ */
+@ConfigData("signature")
+public record SignatureConfig(
+        @Loggable @ConfigProperty(defaultValue = "DUMMY") SignatureVerifierType type,
+        @Loggable @ConfigProperty(defaultValue = "ED25519") SignatureAlgorithm algorithm,
+        @Loggable @ConfigProperty(defaultValue = "") String ledgerPublicKeyPath,
+        @Loggable @ConfigProperty(defaultValue = "0") int threads) {
+
+    /**
+     * Validate the configuration.
+     *
+     * @throws IllegalArgumentException if any of the values is out of range
+     */
+    public SignatureConfig {
+        Preconditions.requireGreaterOrEqual(threads, 0, "[SIGNATURE_THREADS] must not be negative");
+        if (type == SignatureVerifierType.PUBLIC_KEY) {
+            Preconditions.requireNotBlank(
+                    ledgerPublicKeyPath, "[SIGNATURE_LEDGER_PUBLIC_KEY_PATH] is required by the PUBLIC_KEY verifier");
+        }
+    }
+
+    /**
+     * The number of signature verification threads to use.
+     *
+     * @return the configured number of threads, or the number of available processors if not set
+     */
+    public int effectiveThreads() {
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * The type of signature verifier to use.
+     */
+    public enum SignatureVerifierType {
+        /**
+         * Accepts a signature that is the SHA-384 hash of the block hash, as
+         * produced by the simulator.
+         */
+        DUMMY,
+        /**
+         * Verifies signatures against the configured ledger public key.
+         */
+        PUBLIC_KEY,
+    }
+
+    /**
+     * The supported signature algorithms.
+     */
+    public enum SignatureAlgorithm {
+        /**
+         * EdDSA over Curve25519.
+         */
+        ED25519("Ed25519", "Ed25519"),
+        /**
+         * ECDSA with SHA-384, over the curve of the configured key.
+         */
+        ECDSA_SHA384("SHA384withECDSA", "EC");
+
+        private final String signatureAlgorithm;
+        private final String keyAlgorithm;
+
+        SignatureAlgorithm(@NonNull final String signatureAlgorithm, @NonNull final String keyAlgorithm) {
+            this.signatureAlgorithm = signatureAlgorithm;
+            this.keyAlgorithm = keyAlgorithm;
+        }
+
+        /**
+         * The JCA name of the signature algorithm.
+         *
+         * @return the name used with {@link java.security.Signature#getInstance(String)}
+         */
+        @NonNull
+        public String signatureAlgorithm() {
+            return signatureAlgorithm;
+        }
+
+        /**
+         * The JCA name of the key algorithm.
+         *
+         * @return the name used with {@link java.security.KeyFactory#getInstance(String)}
+         */
+        @NonNull
+        public String keyAlgorithm() {
+            return keyAlgorithm;
+        }
+    }
+}
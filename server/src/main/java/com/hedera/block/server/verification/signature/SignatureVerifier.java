@@ -3,6 +3,7 @@ package com.hedera.block.server.verification.signature;
 
 import com.hedera.pbj.runtime.io.buffer.Bytes;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * An interface for verifying signatures.
@@ -17,4 +18,24 @@ public interface SignatureVerifier {
      * @return true if the signature is valid, false otherwise
      */
     Boolean verifySignature(@NonNull Bytes hash, @NonNull Bytes signature);
+
+    /**
+     * Verifies the signature of a hash without blocking the caller. Implementations may queue the
+     * signature and verify it together with other pending signatures. By default, the signature
+     * is verified by the calling thread.
+     *
+     * @param hash the hash to verify
+     * @param signature the signature to verify
+     * @return a future that completes with true if the signature is valid, false otherwise
+     */
+    @NonNull
+    default CompletableFuture<Boolean> verifySignatureAsync(@NonNull Bytes hash, @NonNull Bytes signature) {
+        return CompletableFuture.completedFuture(verifySignature(hash, signature));
+    }
+
+    /**
+     * Stops any threads the verifier uses to verify signatures asynchronously. By default, the
+     * verifier has none, so there is nothing to stop.
+     */
+    default void shutdown() {}
 }
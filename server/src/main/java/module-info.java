@@ -5,13 +5,17 @@ module com.hedera.block.server {
     exports com.hedera.block.server;
     exports com.hedera.block.server.consumer;
     exports com.hedera.block.server.exception;
+    exports com.hedera.block.server.jfr;
     exports com.hedera.block.server.persistence.storage;
     exports com.hedera.block.server.persistence.storage.archive;
+    exports com.hedera.block.server.persistence.storage.checksum;
     exports com.hedera.block.server.persistence.storage.compression;
+    exports com.hedera.block.server.persistence.storage.hashtree;
     exports com.hedera.block.server.persistence.storage.path;
     exports com.hedera.block.server.persistence.storage.write;
     exports com.hedera.block.server.persistence.storage.read;
     exports com.hedera.block.server.persistence.storage.remove;
+    exports com.hedera.block.server.persistence.storage.scrub;
     exports com.hedera.block.server.config;
     exports com.hedera.block.server.config.logging;
     exports com.hedera.block.server.mediator;
@@ -45,6 +49,7 @@ module com.hedera.block.server {
     requires io.helidon.common;
     requires io.helidon.webserver;
     requires javax.inject;
+    requires jdk.jfr;
     requires static transitive com.github.spotbugs.annotations;
     requires static transitive com.google.auto.service;
     requires static java.compiler; // javax.annotation.processing.Generated
@@ -2,21 +2,37 @@
 package com.hedera.block.server;
 
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyLong;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.hedera.block.server.ack.AckHandler;
 import com.hedera.block.server.config.BlockNodeContext;
 import com.hedera.block.server.config.logging.ConfigurationLogging;
+import com.hedera.block.server.consumer.NoOpHistoricStreamAdmission;
 import com.hedera.block.server.events.BlockNodeEventHandler;
+import com.hedera.block.server.events.LivenessWheel;
 import com.hedera.block.server.events.ObjectEvent;
+import com.hedera.block.server.health.AdminServiceImpl;
+import com.hedera.block.server.health.BlockFileService;
+import com.hedera.block.server.health.BlockTraceServiceImpl;
 import com.hedera.block.server.health.HealthService;
 import com.hedera.block.server.mediator.LiveStreamMediator;
+import com.hedera.block.server.metrics.BlockTraceRecorder;
 import com.hedera.block.server.notifier.Notifier;
 import com.hedera.block.server.pbj.PbjBlockAccessServiceProxy;
 import com.hedera.block.server.pbj.PbjBlockStreamServiceProxy;
+import com.hedera.block.server.persistence.storage.hashtree.NoOpHashTreeStore;
+import com.hedera.block.server.persistence.storage.path.BlockPathResolver;
 import com.hedera.block.server.persistence.storage.read.BlockReader;
+import com.hedera.block.server.persistence.storage.scrub.StorageScrubber;
+import com.hedera.block.server.service.AvailableBlockRange;
 import com.hedera.block.server.service.ServiceStatus;
+import com.hedera.block.server.util.TestConfigUtil;
 import com.hedera.block.server.verification.StreamVerificationHandlerImpl;
+import com.hedera.block.server.verification.session.VerificationWorkerPool;
+import com.hedera.block.server.verification.signature.SignatureVerifier;
 import com.hedera.hapi.block.BlockItemUnparsed;
 import com.hedera.hapi.block.BlockUnparsed;
 import com.hedera.pbj.grpc.helidon.PbjRouting;
@@ -42,6 +58,9 @@ class BlockNodeAppTest {
     @Mock
     private HealthService healthService;
 
+    @Mock
+    private BlockFileService blockFileService;
+
     @Mock
     private WebServerConfig.Builder webServerBuilder;
 
@@ -63,24 +82,45 @@ class BlockNodeAppTest {
     @Mock
     private Notifier notifier;
 
-    @Mock
     private BlockNodeContext blockNodeContext;
 
     @Mock
     private ConfigurationLogging configurationLogging;
 
+    @Mock
+    private StorageScrubber storageScrubber;
+
+    @Mock
+    private AckHandler ackHandler;
+
+    @Mock
+    private BlockPathResolver blockPathResolver;
+
+    @Mock
+    private LivenessWheel livenessWheel;
+
+    @Mock
+    private VerificationWorkerPool workerPool;
+
+    @Mock
+    private SignatureVerifier signatureVerifier;
+
     ServerConfig serverConfig;
 
     private BlockNodeApp blockNodeApp;
 
     @BeforeEach
-    void setup() {
+    void setup() throws IOException {
 
+        blockNodeContext = TestConfigUtil.getTestBlockNodeContext();
         serverConfig = new ServerConfig(4_194_304, 32_768, 32_768, 8080);
 
         blockNodeApp = new BlockNodeApp(
                 serviceStatus,
                 healthService,
+                new BlockTraceServiceImpl(new BlockTraceRecorder()),
+                new AdminServiceImpl(liveStreamMediator),
+                blockFileService,
                 new PbjBlockStreamServiceProxy(
                         liveStreamMediator,
                         serviceStatus,
@@ -88,11 +128,25 @@ class BlockNodeAppTest {
                         streamVerificationHandler,
                         blockReader,
                         notifier,
+                        NoOpHistoricStreamAdmission.newInstance(),
+                        livenessWheel,
                         blockNodeContext),
-                new PbjBlockAccessServiceProxy(serviceStatus, blockReader, blockNodeContext),
+                new PbjBlockAccessServiceProxy(
+                        serviceStatus,
+                        blockReader,
+                        blockNodeContext,
+                        NoOpHashTreeStore.newInstance(),
+                        NoOpHistoricStreamAdmission.newInstance()),
                 webServerBuilder,
                 serverConfig,
-                configurationLogging);
+                configurationLogging,
+                storageScrubber,
+                ackHandler,
+                blockPathResolver,
+                livenessWheel,
+                liveStreamMediator,
+                workerPool,
+                signatureVerifier);
 
         when(webServerBuilder.port(8080)).thenReturn(webServerBuilder);
         when(webServerBuilder.addProtocol(any(PbjConfig.class))).thenReturn(webServerBuilder);
@@ -101,6 +155,7 @@ class BlockNodeAppTest {
         when(webServerBuilder.connectionConfig(any(ConnectionConfig.class))).thenReturn(webServerBuilder);
         when(webServerBuilder.build()).thenReturn(webServer);
         when(healthService.getHealthRootPath()).thenReturn("/health");
+        when(blockPathResolver.findAvailableBlockRange()).thenReturn(AvailableBlockRange.EMPTY);
     }
 
     @Test
@@ -117,5 +172,30 @@ class BlockNodeAppTest {
         verify(webServerBuilder).addRouting(any(HttpRouting.Builder.class));
         verify(webServerBuilder).addProtocol(any(PbjConfig.class));
         verify(webServerBuilder).build();
+        verify(storageScrubber).start();
+        verify(serviceStatus, never()).addAvailableBlocks(anyLong(), anyLong());
+    }
+
+    @Test
+    void testStartSeedsTheAvailableBlocksFromStorage() throws IOException {
+        when(blockPathResolver.findAvailableBlockRange()).thenReturn(new AvailableBlockRange(3L, 9L));
+
+        blockNodeApp.start();
+
+        verify(serviceStatus).addAvailableBlocks(3L, 9L);
+    }
+
+    @Test
+    void testStopServer() throws IOException, InterruptedException {
+        blockNodeApp.start();
+
+        blockNodeApp.stop();
+
+        verify(ackHandler).shutdown();
+        verify(livenessWheel).stop();
+        verify(liveStreamMediator).shutdown();
+        verify(workerPool).shutdown();
+        verify(signatureVerifier).shutdown();
+        verify(storageScrubber).stop();
     }
 }
@@ -4,14 +4,22 @@ package com.hedera.block.server.config;
 import static org.junit.jupiter.api.Assertions.*;
 
 import com.hedera.block.server.ServerConfig;
+import com.hedera.block.server.ack.AckConfig;
 import com.hedera.block.server.config.logging.ConfigurationLogging;
 import com.hedera.block.server.consumer.ConsumerConfig;
+import com.hedera.block.server.consumer.HistoricAdmissionConfig;
+import com.hedera.block.server.events.PayloadArenaConfig;
+import com.hedera.block.server.health.ReadinessConfig;
 import com.hedera.block.server.mediator.MediatorConfig;
 import com.hedera.block.server.notifier.NotifierConfig;
+import com.hedera.block.server.pbj.BlockRangeConfig;
 import com.hedera.block.server.persistence.storage.PersistenceStorageConfig;
+import com.hedera.block.server.persistence.storage.hashtree.HashTreeConfig;
+import com.hedera.block.server.persistence.storage.scrub.ScrubberConfig;
 import com.hedera.block.server.producer.ProducerConfig;
 import com.hedera.block.server.util.TestConfigUtil;
 import com.hedera.block.server.verification.VerificationConfig;
+import com.hedera.block.server.verification.signature.SignatureConfig;
 import com.swirlds.common.metrics.config.MetricsConfig;
 import com.swirlds.common.metrics.platform.prometheus.PrometheusConfig;
 import com.swirlds.config.api.Configuration;
@@ -132,6 +140,110 @@ class ConfigInjectionModuleTest {
         assertSame(verificationConfig, providedConfig);
     }
 
+    @Test
+    void testScrubberConfig() throws IOException {
+        BlockNodeContext context = TestConfigUtil.getTestBlockNodeContext();
+        Configuration configuration = context.configuration();
+        ScrubberConfig scrubberConfig = configuration.getConfigData(ScrubberConfig.class);
+
+        ScrubberConfig providedConfig = ConfigInjectionModule.provideScrubberConfig(configuration);
+
+        // Verify the config
+        assertNotNull(providedConfig);
+        assertSame(scrubberConfig, providedConfig);
+    }
+
+    @Test
+    void testSignatureConfig() throws IOException {
+        BlockNodeContext context = TestConfigUtil.getTestBlockNodeContext();
+        Configuration configuration = context.configuration();
+        SignatureConfig signatureConfig = configuration.getConfigData(SignatureConfig.class);
+
+        SignatureConfig providedConfig = ConfigInjectionModule.provideSignatureConfig(configuration);
+
+        // Verify the config
+        assertNotNull(providedConfig);
+        assertSame(signatureConfig, providedConfig);
+    }
+
+    @Test
+    void testBlockRangeConfig() throws IOException {
+        BlockNodeContext context = TestConfigUtil.getTestBlockNodeContext();
+        Configuration configuration = context.configuration();
+        BlockRangeConfig blockRangeConfig = configuration.getConfigData(BlockRangeConfig.class);
+
+        BlockRangeConfig providedConfig = ConfigInjectionModule.provideBlockRangeConfig(configuration);
+
+        // Verify the config
+        assertNotNull(providedConfig);
+        assertSame(blockRangeConfig, providedConfig);
+    }
+
+    @Test
+    void testHistoricAdmissionConfig() throws IOException {
+        BlockNodeContext context = TestConfigUtil.getTestBlockNodeContext();
+        Configuration configuration = context.configuration();
+        HistoricAdmissionConfig historicAdmissionConfig = configuration.getConfigData(HistoricAdmissionConfig.class);
+
+        HistoricAdmissionConfig providedConfig = ConfigInjectionModule.provideHistoricAdmissionConfig(configuration);
+
+        // Verify the config
+        assertNotNull(providedConfig);
+        assertSame(historicAdmissionConfig, providedConfig);
+    }
+
+    @Test
+    void testReadinessConfig() throws IOException {
+        BlockNodeContext context = TestConfigUtil.getTestBlockNodeContext();
+        Configuration configuration = context.configuration();
+        ReadinessConfig readinessConfig = configuration.getConfigData(ReadinessConfig.class);
+
+        ReadinessConfig providedConfig = ConfigInjectionModule.provideReadinessConfig(configuration);
+
+        // Verify the config
+        assertNotNull(providedConfig);
+        assertSame(readinessConfig, providedConfig);
+    }
+
+    @Test
+    void testPayloadArenaConfig() throws IOException {
+        BlockNodeContext context = TestConfigUtil.getTestBlockNodeContext();
+        Configuration configuration = context.configuration();
+        PayloadArenaConfig payloadArenaConfig = configuration.getConfigData(PayloadArenaConfig.class);
+
+        PayloadArenaConfig providedConfig = ConfigInjectionModule.providePayloadArenaConfig(configuration);
+
+        // Verify the config
+        assertNotNull(providedConfig);
+        assertSame(payloadArenaConfig, providedConfig);
+    }
+
+    @Test
+    void testHashTreeConfig() throws IOException {
+        BlockNodeContext context = TestConfigUtil.getTestBlockNodeContext();
+        Configuration configuration = context.configuration();
+        HashTreeConfig hashTreeConfig = configuration.getConfigData(HashTreeConfig.class);
+
+        HashTreeConfig providedConfig = ConfigInjectionModule.provideHashTreeConfig(configuration);
+
+        // Verify the config
+        assertNotNull(providedConfig);
+        assertSame(hashTreeConfig, providedConfig);
+    }
+
+    @Test
+    void testAckConfig() throws IOException {
+        BlockNodeContext context = TestConfigUtil.getTestBlockNodeContext();
+        Configuration configuration = context.configuration();
+        AckConfig ackConfig = configuration.getConfigData(AckConfig.class);
+
+        AckConfig providedConfig = ConfigInjectionModule.provideAckConfig(configuration);
+
+        // Verify the config
+        assertNotNull(providedConfig);
+        assertSame(ackConfig, providedConfig);
+    }
+
     @Test
     void testProducerConfig() throws IOException {
         BlockNodeContext context = TestConfigUtil.getTestBlockNodeContext();
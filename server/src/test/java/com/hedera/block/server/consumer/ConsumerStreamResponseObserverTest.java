@@ -4,14 +4,17 @@ package com.hedera.block.server.consumer;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.hedera.block.server.config.BlockNodeContext;
+import com.hedera.block.server.events.LivenessWheel;
 import com.hedera.block.server.events.ObjectEvent;
 import com.hedera.block.server.mediator.StreamMediator;
 import com.hedera.block.server.util.TestConfigUtil;
+import com.hedera.hapi.block.BlockItemKind;
 import com.hedera.hapi.block.BlockItemSetUnparsed;
 import com.hedera.hapi.block.BlockItemUnparsed;
 import com.hedera.hapi.block.SubscribeStreamResponseUnparsed;
@@ -72,14 +75,10 @@ public class ConsumerStreamResponseObserverTest {
     public void testProducerTimeoutWithinWindow() throws Exception {
 
         when(testClock.millis()).thenReturn(TEST_TIME, TEST_TIME + TIMEOUT_THRESHOLD_MILLIS);
+        final LivenessWheel livenessWheel = new LivenessWheel(testClock, TIMEOUT_THRESHOLD_MILLIS);
 
         final var consumerBlockItemObserver = LiveStreamEventHandlerBuilder.build(
-                completionService,
-                testClock,
-                streamMediator,
-                responseStreamObserver,
-                testContext.metricsService(),
-                testContext.configuration());
+                completionService, livenessWheel, streamMediator, responseStreamObserver, testContext.metricsService());
 
         final BlockHeader blockHeader = BlockHeader.newBuilder().number(1).build();
         final BlockItemUnparsed blockItem = BlockItemUnparsed.newBuilder()
@@ -100,31 +99,74 @@ public class ConsumerStreamResponseObserverTest {
         // verify the observer is called with the next BlockItem
         verify(responseStreamObserver, timeout(testTimeout)).onNext(subscribeStreamResponse);
 
+        // The wheel advances to the end of the timeout window
+        livenessWheel.advance();
+
         // verify the mediator is NOT called to unsubscribe the observer
         verify(streamMediator, timeout(testTimeout).times(0)).unsubscribe(consumerBlockItemObserver);
+        verify(responseStreamObserver, never()).onComplete();
     }
 
     @Test
-    public void testProducerTimeoutOutsideWindow() throws Exception {
+    public void testItemKindFilter() throws Exception {
 
-        // Mock a clock with 2 different return values in response to anticipated
-        // millis() calls. Here the second call will always be outside the timeout window.
-        when(testClock.millis()).thenReturn(TEST_TIME, TEST_TIME + TIMEOUT_THRESHOLD_MILLIS + 1);
+        when(testClock.millis()).thenReturn(TEST_TIME, TEST_TIME + TIMEOUT_THRESHOLD_MILLIS);
 
         final var consumerBlockItemObserver = LiveStreamEventHandlerBuilder.build(
                 completionService,
-                testClock,
+                new LivenessWheel(testClock, TIMEOUT_THRESHOLD_MILLIS),
                 streamMediator,
                 responseStreamObserver,
-                testContext.metricsService(),
-                testContext.configuration());
+                ItemKindFilter.of(List.of(BlockItemKind.BLOCK_ITEM_KIND_BLOCK_PROOF)),
+                testContext.metricsService());
+
+        final BlockItemUnparsed blockHeader = BlockItemUnparsed.newBuilder()
+                .blockHeader(BlockHeader.PROTOBUF.toBytes(
+                        BlockHeader.newBuilder().number(1).build()))
+                .build();
+        final BlockItemUnparsed eventHeader = BlockItemUnparsed.newBuilder()
+                .eventHeader(EventHeader.PROTOBUF.toBytes(EventHeader.newBuilder().build()))
+                .build();
+        final BlockItemUnparsed blockProof = BlockItemUnparsed.newBuilder()
+                .blockProof(BlockProof.PROTOBUF.toBytes(BlockProof.newBuilder().block(1).build()))
+                .build();
+        when(objectEvent.get()).thenReturn(List.of(blockHeader, eventHeader, blockProof));
 
+        consumerBlockItemObserver.onEvent(objectEvent, 0, true);
+
+        // The event header is filtered out, the block header is always sent
+        final SubscribeStreamResponseUnparsed subscribeStreamResponse = SubscribeStreamResponseUnparsed.newBuilder()
+                .blockItems(BlockItemSetUnparsed.newBuilder()
+                        .blockItems(blockHeader, blockProof)
+                        .build())
+                .build();
+        verify(responseStreamObserver, timeout(testTimeout)).onNext(subscribeStreamResponse);
+    }
+
+    @Test
+    public void testProducerTimeoutOutsideWindow() throws Exception {
+
+        // Mock a clock with 2 different return values in response to anticipated
+        // millis() calls. Here the second call, once the wheel advances, will always be
+        // outside the timeout window, rounded up to the ticks of the wheel.
+        when(testClock.millis()).thenReturn(TEST_TIME, TEST_TIME + 2 * TIMEOUT_THRESHOLD_MILLIS);
+        final LivenessWheel livenessWheel = new LivenessWheel(testClock, TIMEOUT_THRESHOLD_MILLIS);
+
+        final var consumerBlockItemObserver = LiveStreamEventHandlerBuilder.build(
+                completionService, livenessWheel, streamMediator, responseStreamObserver, testContext.metricsService());
+
+        // The observer is expired without receiving any event
+        livenessWheel.advance();
+        verify(streamMediator, timeout(testTimeout)).unsubscribe(consumerBlockItemObserver);
+        verify(responseStreamObserver).onComplete();
+
+        // No event is sent once expired
         final List<BlockItemUnparsed> blockItems =
                 List.of(BlockItemUnparsed.newBuilder().build());
         final ObjectEvent<List<BlockItemUnparsed>> objectEvent = new ObjectEvent<>();
         objectEvent.set(blockItems);
         consumerBlockItemObserver.onEvent(objectEvent, 0, true);
-        verify(streamMediator, timeout(testTimeout)).unsubscribe(consumerBlockItemObserver);
+        verify(responseStreamObserver, timeout(testTimeout).times(0)).onNext(any());
     }
 
     @Test
@@ -136,11 +178,10 @@ public class ConsumerStreamResponseObserverTest {
 
         final var consumerBlockItemObserver = LiveStreamEventHandlerBuilder.build(
                 completionService,
-                testClock,
+                new LivenessWheel(testClock, TIMEOUT_THRESHOLD_MILLIS),
                 streamMediator,
                 responseStreamObserver,
-                testContext.metricsService(),
-                testContext.configuration());
+                testContext.metricsService());
 
         // Send non-header BlockItems to validate that the observer does not send them
         for (int i = 1; i <= 10; i++) {
@@ -192,11 +233,10 @@ public class ConsumerStreamResponseObserverTest {
 
         final var consumerBlockItemObserver = LiveStreamEventHandlerBuilder.build(
                 completionService,
-                testClock,
+                new LivenessWheel(testClock, TIMEOUT_THRESHOLD_MILLIS),
                 streamMediator,
                 responseStreamObserver,
-                testContext.metricsService(),
-                testContext.configuration());
+                testContext.metricsService());
 
         // This call will throw an exception but, because of the async
         // service executor, the exception will not get caught until the
@@ -210,6 +250,31 @@ public class ConsumerStreamResponseObserverTest {
         verify(streamMediator, timeout(testTimeout).times(1)).unsubscribe(any());
     }
 
+    @Test
+    public void testDisconnectedConsumerIsNoLongerTracked() throws Exception {
+        when(testClock.millis()).thenReturn(TEST_TIME, TEST_TIME + 2 * TIMEOUT_THRESHOLD_MILLIS);
+        final LivenessWheel livenessWheel = new LivenessWheel(testClock, TIMEOUT_THRESHOLD_MILLIS);
+        final BlockHeader blockHeader = BlockHeader.newBuilder().number(1).build();
+        final BlockItemUnparsed blockItem = BlockItemUnparsed.newBuilder()
+                .blockHeader(BlockHeader.PROTOBUF.toBytes(blockHeader))
+                .build();
+        when(objectEvent.get()).thenReturn(List.of(blockItem));
+        doThrow(UncheckedIOException.class).when(responseStreamObserver).onNext(any());
+
+        final var consumerBlockItemObserver = LiveStreamEventHandlerBuilder.build(
+                completionService, livenessWheel, streamMediator, responseStreamObserver, testContext.metricsService());
+
+        // The consumer disconnects while it is sent the first event, which is noticed on the next
+        consumerBlockItemObserver.onEvent(objectEvent, 0, true);
+        Thread.sleep(testTimeout);
+        consumerBlockItemObserver.onEvent(objectEvent, 0, true);
+        verify(streamMediator, timeout(testTimeout).times(1)).unsubscribe(consumerBlockItemObserver);
+
+        // The wheel advances past the timeout without expiring the observer
+        livenessWheel.advance();
+        verify(responseStreamObserver, never()).onComplete();
+    }
+
     @Test
     public void testRuntimeException() throws Exception {
         final BlockHeader blockHeader = BlockHeader.newBuilder().number(1).build();
@@ -226,11 +291,10 @@ public class ConsumerStreamResponseObserverTest {
 
         final var consumerBlockItemObserver = LiveStreamEventHandlerBuilder.build(
                 completionService,
-                testClock,
+                new LivenessWheel(testClock, TIMEOUT_THRESHOLD_MILLIS),
                 streamMediator,
                 responseStreamObserver,
-                testContext.metricsService(),
-                testContext.configuration());
+                testContext.metricsService());
 
         // This call will throw an exception but, because of the async
         // service executor, the exception will not get caught until the
@@ -1,9 +1,12 @@
 // SPDX-License-Identifier: Apache-2.0
 package com.hedera.block.server.consumer;
 
+import static com.hedera.block.server.pbj.PbjBlockStreamServiceProxy.READ_STREAM_NOT_AVAILABLE;
 import static com.hedera.block.server.util.PersistTestUtils.generateBlockItemsUnparsedForWithBlockNumber;
 import static com.hedera.block.server.util.TestConfigUtil.getTestBlockNodeContext;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -47,6 +50,9 @@ public class HistoricBlockStreamSupplierTest {
     @Mock
     private BlockNodeContext blockNodeContext;
 
+    @Mock
+    private HistoricStreamAdmission admission;
+
     private HistoricBlockStreamSupplier historicBlockStreamSupplier;
 
     private int maxBlockItemBatchSize;
@@ -67,6 +73,8 @@ public class HistoricBlockStreamSupplierTest {
                 10L,
                 blockReader,
                 helidonConsumerObserver,
+                ItemKindFilter.ALL,
+                NoOpHistoricStreamAdmission.newInstance(),
                 blockNodeContext.metricsService(),
                 blockNodeContext.configuration());
     }
@@ -120,6 +128,8 @@ public class HistoricBlockStreamSupplierTest {
                 1L,
                 blockReader,
                 helidonConsumerObserver,
+                ItemKindFilter.ALL,
+                NoOpHistoricStreamAdmission.newInstance(),
                 blockNodeContext.metricsService(),
                 blockNodeContext.configuration());
 
@@ -129,6 +139,29 @@ public class HistoricBlockStreamSupplierTest {
         verify(helidonConsumerObserver, timeout(testTimeout).times(1)).onNext(any());
     }
 
+    @Test
+    public void testClosedRangeHistoricStreamingStopsBeforeReading() throws Exception {
+        when(admission.enter()).thenReturn(true);
+        when(admission.awaitRead()).thenReturn(false);
+
+        final HistoricBlockStreamSupplier historicBlockStreamSupplier = new HistoricBlockStreamSupplier(
+                1L,
+                1L,
+                blockReader,
+                helidonConsumerObserver,
+                ItemKindFilter.ALL,
+                admission,
+                blockNodeContext.metricsService(),
+                blockNodeContext.configuration());
+
+        historicBlockStreamSupplier.run();
+
+        // The block is not read while the live path stays degraded
+        verify(blockReader, never()).read(anyLong());
+        verify(helidonConsumerObserver, timeout(testTimeout).times(1)).onNext(READ_STREAM_NOT_AVAILABLE);
+        verify(admission).exit();
+    }
+
     private List<BlockUnparsed> generateBlocks(int numberOfBlocks, int itemsPerBlock) {
         final List<BlockUnparsed> blocks = new LinkedList<>();
         for (int i = 1; i <= numberOfBlocks; i++) {
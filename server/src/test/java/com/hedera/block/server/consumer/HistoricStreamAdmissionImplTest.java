@@ -0,0 +1,180 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.consumer;
+
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Counter.HistoricStreamsShed;
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Gauge.HistoricStreamsActive;
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Gauge.HistoricStreamsQueued;
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Gauge.MediatorSubscriberLagWorst1;
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Gauge.PersistenceWriterBacklog;
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Gauge.VerificationQueueDepth;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.hedera.block.server.config.BlockNodeContext;
+import com.hedera.block.server.mediator.MediatorConfig;
+import com.hedera.block.server.metrics.MetricsService;
+import com.hedera.block.server.util.TestConfigUtil;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class HistoricStreamAdmissionImplTest {
+
+    private MetricsService metricsService;
+
+    @AfterEach
+    void tearDown() {
+        // The metrics are global, reset the live path signals for the other tests
+        if (metricsService != null) {
+            setLivePathSignals(0, 0, 0);
+        }
+    }
+
+    @Test
+    void testAdmitsUpToMaxConcurrentStreams() throws Exception {
+        final HistoricStreamAdmission toTest = createAdmission(Map.of(
+                "historicAdmission.maxConcurrentStreams", "2", "historicAdmission.maxQueueWaitMillis", "50"));
+        final long shedBefore = metricsService.get(HistoricStreamsShed).get();
+
+        assertThat(toTest.enter()).isTrue();
+        assertThat(toTest.enter()).isTrue();
+        assertThat(metricsService.get(HistoricStreamsActive).get()).isEqualTo(2);
+
+        // No slot is freed within the queue wait
+        assertThat(toTest.enter()).isFalse();
+        assertThat(metricsService.get(HistoricStreamsShed).get()).isEqualTo(shedBefore + 1);
+
+        toTest.exit();
+        assertThat(metricsService.get(HistoricStreamsActive).get()).isEqualTo(1);
+        assertThat(toTest.enter()).isTrue();
+    }
+
+    @Test
+    void testRefusesWhenTheQueueIsFull() throws Exception {
+        final HistoricStreamAdmission toTest = createAdmission(Map.of(
+                "historicAdmission.maxConcurrentStreams", "1",
+                "historicAdmission.maxQueuedStreams", "0",
+                "historicAdmission.maxQueueWaitMillis", "60_000"));
+
+        assertThat(toTest.enter()).isTrue();
+
+        final long start = System.nanoTime();
+        assertThat(toTest.enter()).isFalse();
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(30_000);
+    }
+
+    @Test
+    void testQueuedStreamIsAdmittedWhenAnotherExits() throws Exception {
+        final HistoricStreamAdmission toTest = createAdmission(Map.of(
+                "historicAdmission.maxConcurrentStreams", "1", "historicAdmission.maxQueueWaitMillis", "60_000"));
+        assertThat(toTest.enter()).isTrue();
+
+        final CompletableFuture<Boolean> queued = new CompletableFuture<>();
+        Thread.ofVirtual().start(() -> {
+            try {
+                queued.complete(toTest.enter());
+            } catch (InterruptedException e) {
+                queued.completeExceptionally(e);
+            }
+        });
+        while (metricsService.get(HistoricStreamsQueued).get() == 0) {
+            Thread.sleep(1);
+        }
+        assertThat(queued).isNotDone();
+
+        toTest.exit();
+
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(metricsService.get(HistoricStreamsQueued).get()).isZero();
+    }
+
+    @Test
+    void testDegradedLivePathHoldsBackAdmission() throws Exception {
+        final HistoricStreamAdmission toTest = createAdmission(Map.of(
+                "historicAdmission.maxConcurrentStreams", "1",
+                "historicAdmission.maxQueueWaitMillis", "50",
+                "historicAdmission.maxWriterBacklog", "4"));
+
+        setLivePathSignals(0, 5, 0);
+        assertThat(toTest.enter()).isFalse();
+
+        // The slot taken while waiting for the live path was given back
+        setLivePathSignals(0, 4, 0);
+        assertThat(toTest.enter()).isTrue();
+    }
+
+    @Test
+    void testAwaitReadStopsTheStreamWhileTheLivePathStaysDegraded() throws Exception {
+        final HistoricStreamAdmission toTest = createAdmission(Map.of(
+                "historicAdmission.maxPauseMillis", "50",
+                "historicAdmission.maxReadBytesPerSecond", "0",
+                "historicAdmission.maxVerificationQueueDepth", "64"));
+        assertThat(toTest.enter()).isTrue();
+
+        setLivePathSignals(0, 0, 65);
+        assertThat(toTest.awaitRead()).isFalse();
+
+        setLivePathSignals(0, 0, 64);
+        assertThat(toTest.awaitRead()).isTrue();
+    }
+
+    @Test
+    void testAwaitReadResumesOnceTheLivePathRecovers() throws Exception {
+        final HistoricStreamAdmission toTest = createAdmission(Map.of(
+                "historicAdmission.maxPauseMillis", "60_000",
+                "historicAdmission.maxReadBytesPerSecond", "0",
+                "historicAdmission.maxRingBufferOccupancyPercent", "25",
+                "mediator.ringBufferSize", "1024"));
+        assertThat(toTest.enter()).isTrue();
+
+        setLivePathSignals(257, 0, 0);
+        final CompletableFuture<Boolean> read = new CompletableFuture<>();
+        Thread.ofVirtual().start(() -> {
+            try {
+                read.complete(toTest.awaitRead());
+            } catch (InterruptedException e) {
+                read.completeExceptionally(e);
+            }
+        });
+        Thread.sleep(50);
+        assertThat(read).isNotDone();
+
+        setLivePathSignals(256, 0, 0);
+
+        assertThat(read.get(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void testAwaitReadPacesTheBytesRead() throws Exception {
+        final HistoricStreamAdmission toTest =
+                createAdmission(Map.of("historicAdmission.maxReadBytesPerSecond", "1_000"));
+        assertThat(toTest.enter()).isTrue();
+
+        final long start = System.nanoTime();
+        // The first read starts at once, the next two wait for 100ms each at 1000 bytes per second
+        for (int i = 0; i < 3; i++) {
+            assertThat(toTest.awaitRead()).isTrue();
+            toTest.onRead(100);
+        }
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(190);
+    }
+
+    private HistoricStreamAdmission createAdmission(final Map<String, String> properties) throws IOException {
+        final BlockNodeContext blockNodeContext = TestConfigUtil.getTestBlockNodeContext(properties);
+        metricsService = blockNodeContext.metricsService();
+        setLivePathSignals(0, 0, 0);
+        return new HistoricStreamAdmissionImpl(
+                blockNodeContext.configuration().getConfigData(HistoricAdmissionConfig.class),
+                blockNodeContext.configuration().getConfigData(MediatorConfig.class),
+                metricsService);
+    }
+
+    private void setLivePathSignals(final long subscriberLag, final long writerBacklog, final long verificationDepth) {
+        metricsService.get(MediatorSubscriberLagWorst1).set(subscriberLag);
+        metricsService.get(PersistenceWriterBacklog).set(writerBacklog);
+        metricsService.get(VerificationQueueDepth).set(verificationDepth);
+    }
+}
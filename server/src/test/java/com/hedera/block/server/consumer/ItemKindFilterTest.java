@@ -0,0 +1,69 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.hedera.hapi.block.BlockItemKind;
+import com.hedera.hapi.block.BlockItemUnparsed;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class ItemKindFilterTest {
+
+    private static final BlockItemUnparsed BLOCK_HEADER =
+            BlockItemUnparsed.newBuilder().blockHeader(Bytes.wrap("header")).build();
+    private static final BlockItemUnparsed TRANSACTION_RESULT =
+            BlockItemUnparsed.newBuilder().transactionResult(Bytes.wrap("result")).build();
+    private static final BlockItemUnparsed STATE_CHANGES =
+            BlockItemUnparsed.newBuilder().stateChanges(Bytes.wrap("changes")).build();
+    private static final BlockItemUnparsed BLOCK_PROOF =
+            BlockItemUnparsed.newBuilder().blockProof(Bytes.wrap("proof")).build();
+
+    @Test
+    void testNoKindsSendsEveryItem() {
+        final List<BlockItemUnparsed> batch = List.of(BLOCK_HEADER, STATE_CHANGES, BLOCK_PROOF);
+
+        assertThat(ItemKindFilter.of(List.of())).isSameAs(ItemKindFilter.ALL);
+        assertThat(ItemKindFilter.of(List.of(BlockItemKind.BLOCK_ITEM_KIND_UNSPECIFIED)))
+                .isSameAs(ItemKindFilter.ALL);
+        assertThat(ItemKindFilter.ALL.isAll()).isTrue();
+        assertThat(ItemKindFilter.ALL.filter(batch)).isSameAs(batch);
+    }
+
+    @Test
+    void testEveryKindIsTheSameAsAll() {
+        final List<BlockItemKind> kinds = Arrays.stream(BlockItemKind.values())
+                .filter(kind -> kind != BlockItemKind.BLOCK_ITEM_KIND_UNSPECIFIED)
+                .toList();
+
+        assertThat(ItemKindFilter.of(kinds)).isSameAs(ItemKindFilter.ALL);
+    }
+
+    @Test
+    void testFilterKeepsTheSelectedKindsAndTheBlockHeader() {
+        final ItemKindFilter toTest = ItemKindFilter.of(List.of(
+                BlockItemKind.BLOCK_ITEM_KIND_TRANSACTION_RESULT, BlockItemKind.BLOCK_ITEM_KIND_BLOCK_PROOF));
+
+        assertThat(toTest.isAll()).isFalse();
+        assertThat(toTest.filter(List.of(BLOCK_HEADER, TRANSACTION_RESULT, STATE_CHANGES, BLOCK_PROOF)))
+                .containsExactly(BLOCK_HEADER, TRANSACTION_RESULT, BLOCK_PROOF);
+        assertThat(toTest.filter(List.of(STATE_CHANGES))).isEmpty();
+    }
+
+    @Test
+    void testSameKindsFilterTheSameItems() {
+        final ItemKindFilter first = ItemKindFilter.of(
+                List.of(BlockItemKind.BLOCK_ITEM_KIND_BLOCK_PROOF, BlockItemKind.BLOCK_ITEM_KIND_STATE_CHANGES));
+        final ItemKindFilter second = ItemKindFilter.of(List.of(
+                BlockItemKind.BLOCK_ITEM_KIND_STATE_CHANGES,
+                BlockItemKind.BLOCK_ITEM_KIND_BLOCK_HEADER,
+                BlockItemKind.BLOCK_ITEM_KIND_BLOCK_PROOF));
+        final List<BlockItemUnparsed> batch = List.of(BLOCK_HEADER, TRANSACTION_RESULT, STATE_CHANGES, BLOCK_PROOF);
+
+        assertThat(second.filter(batch))
+                .isEqualTo(first.filter(batch))
+                .containsExactly(BLOCK_HEADER, STATE_CHANGES, BLOCK_PROOF);
+    }
+}
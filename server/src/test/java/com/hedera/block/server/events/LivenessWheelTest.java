@@ -0,0 +1,134 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.events;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Instant;
+import java.time.InstantSource;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LivenessWheelTest {
+
+    private static final long TIMEOUT_THRESHOLD_MILLIS = 80L;
+    private static final long TICK_MILLIS = TIMEOUT_THRESHOLD_MILLIS / LivenessWheel.TICKS_PER_TIMEOUT;
+
+    private final AtomicLong now = new AtomicLong(1_719_427_664_950L);
+    private final InstantSource clock = () -> Instant.ofEpochMilli(now.get());
+
+    private LivenessWheel toTest;
+
+    @BeforeEach
+    void setUp() {
+        toTest = new LivenessWheel(clock, TIMEOUT_THRESHOLD_MILLIS);
+    }
+
+    @Test
+    void testExpiresOnceInactiveForTheTimeout() {
+        final AtomicInteger expirations = new AtomicInteger();
+        final LivenessWheel.Entry entry = toTest.track(expirations::incrementAndGet);
+
+        advanceBy(TIMEOUT_THRESHOLD_MILLIS);
+        assertThat(entry.isExpired()).isFalse();
+        assertThat(expirations).hasValue(0);
+
+        advanceBy(TICK_MILLIS);
+        assertThat(entry.isExpired()).isTrue();
+        assertThat(expirations).hasValue(1);
+
+        // Only expired once
+        advanceBy(2 * TIMEOUT_THRESHOLD_MILLIS);
+        assertThat(expirations).hasValue(1);
+    }
+
+    @Test
+    void testRefreshDefersTheExpiration() {
+        final AtomicInteger expirations = new AtomicInteger();
+        final LivenessWheel.Entry entry = toTest.track(expirations::incrementAndGet);
+
+        // Active every half timeout for several timeouts
+        for (int i = 0; i < 8; i++) {
+            advanceBy(TIMEOUT_THRESHOLD_MILLIS / 2);
+            entry.refresh();
+        }
+        assertThat(entry.isExpired()).isFalse();
+
+        advanceBy(TIMEOUT_THRESHOLD_MILLIS + TICK_MILLIS);
+        assertThat(entry.isExpired()).isTrue();
+        assertThat(expirations).hasValue(1);
+    }
+
+    @Test
+    void testCancelledEntriesNeverExpire() {
+        final AtomicInteger expirations = new AtomicInteger();
+        final LivenessWheel.Entry entry = toTest.track(expirations::incrementAndGet);
+        entry.cancel();
+
+        advanceBy(2 * TIMEOUT_THRESHOLD_MILLIS);
+        assertThat(entry.isExpired()).isFalse();
+        assertThat(expirations).hasValue(0);
+    }
+
+    @Test
+    void testExpiresAfterSkippedTicks() {
+        final AtomicInteger expirations = new AtomicInteger();
+        final LivenessWheel.Entry entry = toTest.track(expirations::incrementAndGet);
+
+        // The wheel did not advance for several timeouts
+        now.addAndGet(5 * TIMEOUT_THRESHOLD_MILLIS);
+        toTest.advance();
+
+        assertThat(entry.isExpired()).isTrue();
+        assertThat(expirations).hasValue(1);
+    }
+
+    @Test
+    void testFailingExpirationDoesNotStopTheWheel() {
+        final AtomicInteger expirations = new AtomicInteger();
+        toTest.track(() -> {
+            throw new IllegalStateException("closed");
+        });
+        final LivenessWheel.Entry entry = toTest.track(expirations::incrementAndGet);
+
+        advanceBy(TIMEOUT_THRESHOLD_MILLIS + TICK_MILLIS);
+        assertThat(entry.isExpired()).isTrue();
+        assertThat(expirations).hasValue(1);
+    }
+
+    @Test
+    void testRejectsNonPositiveTimeout() {
+        assertThatThrownBy(() -> new LivenessWheel(clock, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testStartedWheelAdvancesUntilStopped() throws InterruptedException {
+        final LivenessWheel started = LivenessWheel.start(clock, TIMEOUT_THRESHOLD_MILLIS);
+        try {
+            final LivenessWheel.Entry expiring = started.track(() -> {});
+            now.addAndGet(2 * TIMEOUT_THRESHOLD_MILLIS);
+            final long deadline = System.nanoTime() + 1_000_000_000L;
+            while (!expiring.isExpired() && System.nanoTime() < deadline) {
+                Thread.sleep(TICK_MILLIS);
+            }
+            assertThat(expiring.isExpired()).isTrue();
+        } finally {
+            started.stop();
+        }
+
+        final LivenessWheel.Entry entry = started.track(() -> {});
+        now.addAndGet(2 * TIMEOUT_THRESHOLD_MILLIS);
+        Thread.sleep(4 * TICK_MILLIS);
+        assertThat(entry.isExpired()).isFalse();
+    }
+
+    /** Advances the clock and the wheel a tick at a time, as the wheel would on its own thread. */
+    private void advanceBy(final long millis) {
+        for (long i = 0; i < millis; i += TICK_MILLIS) {
+            now.addAndGet(TICK_MILLIS);
+            toTest.advance();
+        }
+    }
+}
@@ -0,0 +1,168 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.events;
+
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Counter.PayloadArenaFallbacks;
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Gauge.PayloadArenaUsedBytes;
+import static com.hedera.block.server.util.PersistTestUtils.generateBlockItemsUnparsed;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.hedera.block.server.config.BlockNodeContext;
+import com.hedera.block.server.jfr.BlockItemBatches;
+import com.hedera.block.server.metrics.MetricsService;
+import com.hedera.block.server.util.TestConfigUtil;
+import com.hedera.hapi.block.BlockItemUnparsed;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class OffHeapPayloadArenaTest {
+
+    private static final int PAGE_SIZE = 1_024;
+
+    private MetricsService metricsService;
+
+    @Test
+    void testStoresBlockItemsAcrossPages() throws IOException {
+        final PayloadArena toTest = createArena(1_048_576);
+        final List<BlockItemUnparsed> blockItems = new ArrayList<>(generateBlockItemsUnparsed(20));
+        // An item larger than a page
+        blockItems.add(BlockItemUnparsed.newBuilder()
+                .stateChanges(Bytes.wrap(new byte[3 * PAGE_SIZE]))
+                .build());
+        final long expectedBytes = BlockItemBatches.sizeOf(blockItems);
+
+        final List<BlockItemUnparsed> stored = toTest.store(blockItems);
+
+        assertThat(stored).isInstanceOf(OffHeapBlockItems.class).isNotSameAs(blockItems);
+        assertThat(stored).isEqualTo(blockItems);
+        assertThat(((OffHeapBlockItems) stored).byteCount()).isEqualTo(expectedBytes);
+        assertThat(BlockItemBatches.sizeOf(stored)).isEqualTo(expectedBytes);
+        assertThat(metricsService.get(PayloadArenaUsedBytes).get())
+                .isEqualTo((expectedBytes + PAGE_SIZE - 1) / PAGE_SIZE * PAGE_SIZE);
+    }
+
+    @Test
+    void testReleasesThePagesWithTheLastReference() throws IOException {
+        final PayloadArena toTest = createArena(1_048_576);
+        final List<BlockItemUnparsed> blockItems = generateBlockItemsUnparsed(1);
+
+        final List<BlockItemUnparsed> stored = toTest.store(blockItems);
+        assertThat(OffHeapBlockItems.retain(stored)).isSameAs(stored);
+
+        OffHeapBlockItems.release(stored);
+        assertThat(stored).isEqualTo(blockItems);
+        assertThat(metricsService.get(PayloadArenaUsedBytes).get()).isPositive();
+
+        OffHeapBlockItems.release(stored);
+        assertThat(metricsService.get(PayloadArenaUsedBytes).get()).isZero();
+        assertThatThrownBy(() -> stored.get(0)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> OffHeapBlockItems.retain(stored)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> OffHeapBlockItems.release(stored)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void testReusesReleasedPages() throws IOException {
+        final PayloadArena toTest = createArena(PAGE_SIZE);
+        final List<BlockItemUnparsed> blockItems = List.of(BlockItemUnparsed.newBuilder()
+                .stateChanges(Bytes.wrap("changes"))
+                .build());
+
+        final List<BlockItemUnparsed> first = toTest.store(blockItems);
+        OffHeapBlockItems.release(first);
+        final List<BlockItemUnparsed> second = toTest.store(blockItems);
+
+        assertThat(second).isInstanceOf(OffHeapBlockItems.class).isEqualTo(blockItems);
+        assertThat(metricsService.get(PayloadArenaUsedBytes).get()).isEqualTo(PAGE_SIZE);
+    }
+
+    @Test
+    void testKeepsBlockItemsOnTheHeapOnceFull() throws IOException {
+        final PayloadArena toTest = createArena(PAGE_SIZE);
+        final long fallbacksBefore = metricsService.get(PayloadArenaFallbacks).get();
+        final List<BlockItemUnparsed> small = List.of(BlockItemUnparsed.newBuilder()
+                .stateChanges(Bytes.wrap("changes"))
+                .build());
+        final List<BlockItemUnparsed> large = List.of(BlockItemUnparsed.newBuilder()
+                .stateChanges(Bytes.wrap(new byte[2 * PAGE_SIZE]))
+                .build());
+
+        // Larger than the whole arena
+        assertThat(toTest.store(large)).isSameAs(large);
+        // The only page is taken by the first batch
+        assertThat(toTest.store(small)).isInstanceOf(OffHeapBlockItems.class);
+        assertThat(toTest.store(small)).isSameAs(small);
+
+        assertThat(metricsService.get(PayloadArenaFallbacks).get()).isEqualTo(fallbacksBefore + 2);
+    }
+
+    @Test
+    void testHeapBatchesAreLeftAsTheyAre() {
+        final List<BlockItemUnparsed> blockItems = generateBlockItemsUnparsed(1);
+
+        assertThat(OffHeapBlockItems.retain(blockItems)).isSameAs(blockItems);
+        OffHeapBlockItems.release(blockItems);
+        assertThat(OffHeapBlockItems.onHeap(blockItems)).isSameAs(blockItems);
+        assertThat(NoOpPayloadArena.newInstance().store(blockItems)).isSameAs(blockItems);
+    }
+
+    @Test
+    void testOnHeapCopyOutlivesTheRelease() throws IOException {
+        final PayloadArena toTest = createArena(1_048_576);
+        final List<BlockItemUnparsed> blockItems = generateBlockItemsUnparsed(1);
+        final List<BlockItemUnparsed> stored = toTest.store(blockItems);
+
+        final List<BlockItemUnparsed> onHeap = OffHeapBlockItems.onHeap(stored);
+        OffHeapBlockItems.release(stored);
+
+        assertThat(onHeap).isNotInstanceOf(OffHeapBlockItems.class).isEqualTo(blockItems);
+    }
+
+    @Test
+    void testOnHeapCopyIsSharedWhileHeld() throws IOException {
+        final PayloadArena toTest = createArena(1_048_576);
+        final List<BlockItemUnparsed> blockItems = generateBlockItemsUnparsed(1);
+        final List<BlockItemUnparsed> stored = toTest.store(blockItems);
+
+        final List<BlockItemUnparsed> first = OffHeapBlockItems.onHeap(stored);
+        final List<BlockItemUnparsed> second = OffHeapBlockItems.onHeap(stored);
+
+        assertThat(second).isSameAs(first).isEqualTo(blockItems);
+    }
+
+    @Test
+    void testReadsGiveBackTheirReference() throws IOException {
+        final PayloadArena toTest = createArena(1_048_576);
+        final List<BlockItemUnparsed> stored = toTest.store(generateBlockItemsUnparsed(1));
+
+        assertThat(stored.get(0)).isNotNull();
+        assertThat(OffHeapBlockItems.onHeap(stored)).hasSize(stored.size());
+        OffHeapBlockItems.release(stored);
+
+        assertThat(metricsService.get(PayloadArenaUsedBytes).get()).isZero();
+    }
+
+    @Test
+    void testOnHeapFailsOnceReleased() throws IOException {
+        final PayloadArena toTest = createArena(1_048_576);
+        final List<BlockItemUnparsed> stored = toTest.store(generateBlockItemsUnparsed(1));
+
+        OffHeapBlockItems.release(stored);
+
+        assertThatThrownBy(() -> OffHeapBlockItems.onHeap(stored)).isInstanceOf(IllegalStateException.class);
+    }
+
+    private PayloadArena createArena(final long capacityBytes) throws IOException {
+        final BlockNodeContext blockNodeContext = TestConfigUtil.getTestBlockNodeContext(Map.of(
+                "payloadArena.enabled", "true",
+                "payloadArena.capacityBytes", String.valueOf(capacityBytes),
+                "payloadArena.pageSizeBytes", String.valueOf(PAGE_SIZE)));
+        metricsService = blockNodeContext.metricsService();
+        metricsService.get(PayloadArenaUsedBytes).set(0);
+        return new OffHeapPayloadArena(
+                blockNodeContext.configuration().getConfigData(PayloadArenaConfig.class), metricsService);
+    }
+}
@@ -12,9 +12,11 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.hedera.block.server.config.BlockNodeContext;
+import com.hedera.block.server.consumer.NoOpHistoricStreamAdmission;
 import com.hedera.block.server.pbj.PbjBlockAccessService;
 import com.hedera.block.server.pbj.PbjBlockAccessServiceProxy;
 import com.hedera.block.server.persistence.storage.PersistenceStorageConfig;
+import com.hedera.block.server.persistence.storage.hashtree.NoOpHashTreeStore;
 import com.hedera.block.server.persistence.storage.read.BlockReader;
 import com.hedera.block.server.service.ServiceStatus;
 import com.hedera.block.server.util.TestConfigUtil;
@@ -63,7 +65,12 @@ class BlockAccessServiceTest {
                 Map.of(PERSISTENCE_STORAGE_LIVE_ROOT_PATH_KEY, testLiveRootPath.toString()));
         testConfig = blockNodeContext.configuration().getConfigData(PersistenceStorageConfig.class);
 
-        blockAccessService = new PbjBlockAccessServiceProxy(serviceStatus, blockReader, blockNodeContext);
+        blockAccessService = new PbjBlockAccessServiceProxy(
+                serviceStatus,
+                blockReader,
+                blockNodeContext,
+                NoOpHashTreeStore.newInstance(),
+                NoOpHistoricStreamAdmission.newInstance());
 
         final String testConfigLiveRootPath = testConfig.liveRootPath();
         assertThat(testConfigLiveRootPath).isEqualTo(testLiveRootPath.toString());
@@ -81,7 +88,7 @@ class BlockAccessServiceTest {
 
     @Test
     void testMethods() {
-        assertEquals(1, blockAccessService.methods().size());
+        assertEquals(3, blockAccessService.methods().size());
     }
 
     @Test
@@ -0,0 +1,69 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.health;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.hedera.block.server.mediator.LiveStreamMediator;
+import com.hedera.block.server.mediator.SubscriberStats;
+import io.helidon.webserver.http.ServerRequest;
+import io.helidon.webserver.http.ServerResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class AdminServiceTest {
+
+    @Mock
+    private LiveStreamMediator liveStreamMediator;
+
+    @Mock
+    private ServerRequest serverRequest;
+
+    @Mock
+    private ServerResponse serverResponse;
+
+    @Test
+    void testHandleSubscribers() {
+        when(liveStreamMediator.subscriberStats())
+                .thenReturn(List.of(
+                        new SubscriberStats("ConsumerStreamResponseObserver-2", 12, 0.0, 0.0, 1_500),
+                        new SubscriberStats("StreamPersistenceHandlerImpl-1", 0, 100.0, 2048.0, 3)));
+        final AdminService toTest = new AdminServiceImpl(liveStreamMediator);
+
+        toTest.handleSubscribers(serverRequest, serverResponse);
+
+        verify(serverResponse).status(200);
+        final ArgumentCaptor<byte[]> body = ArgumentCaptor.forClass(byte[].class);
+        verify(serverResponse).send(body.capture());
+        assertThat(new String(body.getValue(), StandardCharsets.UTF_8))
+                .isEqualTo("{\"subscribers\":["
+                        + "{\"subscriber\":\"ConsumerStreamResponseObserver-2\",\"lag\":12,\"itemsPerSecond\":0.0,"
+                        + "\"bytesPerSecond\":0.0,\"millisSinceLastSend\":1500},"
+                        + "{\"subscriber\":\"StreamPersistenceHandlerImpl-1\",\"lag\":0,\"itemsPerSecond\":100.0,"
+                        + "\"bytesPerSecond\":2048.0,\"millisSinceLastSend\":3}]}");
+    }
+
+    @Test
+    void testHandleSubscribersWithoutSubscribers() {
+        when(liveStreamMediator.subscriberStats()).thenReturn(List.of());
+        final AdminService toTest = new AdminServiceImpl(liveStreamMediator);
+
+        toTest.handleSubscribers(serverRequest, serverResponse);
+
+        final ArgumentCaptor<byte[]> body = ArgumentCaptor.forClass(byte[].class);
+        verify(serverResponse).send(body.capture());
+        assertThat(new String(body.getValue(), StandardCharsets.UTF_8)).isEqualTo("{\"subscribers\":[]}");
+    }
+
+    @Test
+    void testAdminRootPath() {
+        assertThat(new AdminServiceImpl(liveStreamMediator).getAdminRootPath()).isEqualTo("/adminz");
+    }
+}
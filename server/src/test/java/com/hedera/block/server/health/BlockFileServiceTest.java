@@ -0,0 +1,204 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.health;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.hedera.block.server.persistence.storage.PersistenceStorageConfig;
+import com.hedera.block.server.persistence.storage.PersistenceStorageConfig.CompressionType;
+import com.hedera.block.server.persistence.storage.path.BlockPathResolver;
+import com.hedera.block.server.persistence.storage.path.LiveBlockPath;
+import com.hedera.block.server.util.TestConfigUtil;
+import io.helidon.common.parameters.Parameters;
+import io.helidon.http.HeaderName;
+import io.helidon.http.HeaderNames;
+import io.helidon.http.RoutedPath;
+import io.helidon.http.ServerRequestHeaders;
+import io.helidon.webserver.http.ServerRequest;
+import io.helidon.webserver.http.ServerResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class BlockFileServiceTest {
+
+    private static final byte[] CONTENT = "0123456789".getBytes();
+
+    @Mock
+    private BlockPathResolver blockPathResolver;
+
+    @Mock
+    private ServerRequest serverRequest;
+
+    @Mock
+    private RoutedPath routedPath;
+
+    @Mock
+    private Parameters pathParameters;
+
+    @Mock
+    private ServerRequestHeaders headers;
+
+    @Mock
+    private ServerResponse serverResponse;
+
+    @TempDir
+    private Path testDir;
+
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+    private BlockFileService toTest;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        final PersistenceStorageConfig config = TestConfigUtil.getTestBlockNodeContext(
+                        Map.of("persistence.storage.archiveBatchSize", "10"))
+                .configuration()
+                .getConfigData(PersistenceStorageConfig.class);
+        toTest = new BlockFileServiceImpl(blockPathResolver, config);
+
+        lenient().when(serverRequest.path()).thenReturn(routedPath);
+        lenient().when(routedPath.pathParameters()).thenReturn(pathParameters);
+        lenient().when(serverRequest.headers()).thenReturn(headers);
+        lenient().when(headers.first(any(HeaderName.class))).thenReturn(Optional.empty());
+        lenient().when(serverResponse.outputStream()).thenReturn(body);
+
+        Files.write(testDir.resolve("0000000000000000007.blk.zstd"), CONTENT);
+        lenient()
+                .when(blockPathResolver.findLiveBlock(7))
+                .thenReturn(Optional.of(
+                        new LiveBlockPath(7, testDir, "0000000000000000007.blk.zstd", CompressionType.ZSTD)));
+    }
+
+    @Test
+    void testBlock() {
+        when(pathParameters.get("file")).thenReturn("7.blk.zstd");
+
+        toTest.handleBlock(serverRequest, serverResponse);
+
+        verify(serverResponse).status(200);
+        verify(serverResponse).header(HeaderNames.ACCEPT_RANGES, "bytes");
+        verify(serverResponse).header(HeaderNames.CONTENT_LENGTH, "10");
+        assertThat(body.toByteArray()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void testBlockRange() {
+        when(pathParameters.get("file")).thenReturn("7.blk.zstd");
+        when(headers.first(HeaderNames.RANGE)).thenReturn(Optional.of("bytes=2-5"));
+
+        toTest.handleBlock(serverRequest, serverResponse);
+
+        verify(serverResponse).status(206);
+        verify(serverResponse).header(HeaderNames.CONTENT_RANGE, "bytes 2-5/10");
+        verify(serverResponse).header(HeaderNames.CONTENT_LENGTH, "4");
+        assertThat(body.toString()).isEqualTo("2345");
+    }
+
+    @Test
+    void testBlockUnsatisfiableRange() {
+        when(pathParameters.get("file")).thenReturn("7.blk.zstd");
+        when(headers.first(HeaderNames.RANGE)).thenReturn(Optional.of("bytes=10-"));
+
+        toTest.handleBlock(serverRequest, serverResponse);
+
+        verify(serverResponse).status(416);
+        verify(serverResponse).header(HeaderNames.CONTENT_RANGE, "bytes */10");
+        assertThat(body.size()).isZero();
+    }
+
+    @Test
+    void testBlockNotModified() throws IOException {
+        when(pathParameters.get("file")).thenReturn("7.blk.zstd");
+        final Instant lastModified = Files.getLastModifiedTime(testDir.resolve("0000000000000000007.blk.zstd"))
+                .toInstant();
+        when(headers.first(HeaderNames.IF_MODIFIED_SINCE))
+                .thenReturn(Optional.of(
+                        DateTimeFormatter.RFC_1123_DATE_TIME.format(lastModified.atOffset(ZoneOffset.UTC))));
+
+        toTest.handleBlock(serverRequest, serverResponse);
+
+        verify(serverResponse).status(304);
+        assertThat(body.size()).isZero();
+    }
+
+    @Test
+    void testBlockWithAnotherCompressionIsNotFound() {
+        when(pathParameters.get("file")).thenReturn("7.blk");
+
+        toTest.handleBlock(serverRequest, serverResponse);
+
+        verify(serverResponse).status(404);
+    }
+
+    @Test
+    void testMalformedBlockFileName() {
+        when(pathParameters.get("file")).thenReturn("seven.blk.zstd");
+
+        toTest.handleBlock(serverRequest, serverResponse);
+
+        verify(serverResponse).status(404);
+        verify(blockPathResolver, never()).findLiveBlock(anyLong());
+    }
+
+    @Test
+    void testGroup() throws IOException {
+        final Path zipFile = testDir.resolve("1.zip");
+        Files.write(zipFile, CONTENT);
+        when(pathParameters.get("file")).thenReturn("3.zip");
+        when(blockPathResolver.findArchiveGroup(30)).thenReturn(Optional.of(zipFile));
+
+        toTest.handleGroup(serverRequest, serverResponse);
+
+        verify(serverResponse).status(200);
+        verify(serverResponse).header(HeaderNames.CONTENT_TYPE, "application/zip");
+        assertThat(body.toByteArray()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void testGroupNotArchived() {
+        when(pathParameters.get("file")).thenReturn("4.zip");
+        when(blockPathResolver.findArchiveGroup(40)).thenReturn(Optional.empty());
+
+        toTest.handleGroup(serverRequest, serverResponse);
+
+        verify(serverResponse).status(404);
+    }
+
+    @Test
+    void testParseRange() {
+        assertThat(BlockFileServiceImpl.parseRange("bytes=0-", 10))
+                .isEqualTo(new BlockFileServiceImpl.ByteRange(0, 9));
+        assertThat(BlockFileServiceImpl.parseRange("bytes=4-100", 10))
+                .isEqualTo(new BlockFileServiceImpl.ByteRange(4, 9));
+        assertThat(BlockFileServiceImpl.parseRange("bytes=-3", 10))
+                .isEqualTo(new BlockFileServiceImpl.ByteRange(7, 9));
+        assertThat(BlockFileServiceImpl.parseRange("bytes=-30", 10))
+                .isEqualTo(new BlockFileServiceImpl.ByteRange(0, 9));
+        assertThat(BlockFileServiceImpl.parseRange("bytes=12-", 10).isSatisfiable())
+                .isFalse();
+        // ignored, the whole file is sent
+        assertThat(BlockFileServiceImpl.parseRange("bytes=0-1,4-5", 10)).isNull();
+        assertThat(BlockFileServiceImpl.parseRange("bytes=5-2", 10)).isNull();
+        assertThat(BlockFileServiceImpl.parseRange("items=0-1", 10)).isNull();
+        assertThat(BlockFileServiceImpl.parseRange("bytes=a-b", 10)).isNull();
+    }
+}
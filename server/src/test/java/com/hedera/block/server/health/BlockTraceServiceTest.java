@@ -0,0 +1,97 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.health;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.hedera.block.server.metrics.BlockTraceRecorder;
+import com.hedera.block.server.metrics.BlockTraceRecorder.BlockTrace;
+import com.hedera.block.server.metrics.BlockTraceRecorder.StageTrace;
+import com.hedera.block.server.metrics.BlockTraceStage;
+import io.helidon.webserver.http.ServerRequest;
+import io.helidon.webserver.http.ServerResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class BlockTraceServiceTest {
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private ServerRequest serverRequest;
+
+    @Mock
+    private ServerResponse serverResponse;
+
+    private BlockTraceRecorder blockTraceRecorder;
+    private BlockTraceService toTest;
+
+    @BeforeEach
+    void setUp() {
+        blockTraceRecorder = new BlockTraceRecorder();
+        toTest = new BlockTraceServiceImpl(blockTraceRecorder);
+    }
+
+    @Test
+    void testHandleBlocks() {
+        for (long blockNumber = 1; blockNumber <= 3; blockNumber++) {
+            blockTraceRecorder.enter(blockNumber, BlockTraceStage.MEDIATOR);
+        }
+        when(serverRequest.query().contains("count")).thenReturn(true);
+        when(serverRequest.query().get("count")).thenReturn("2");
+
+        toTest.handleBlocks(serverRequest, serverResponse);
+
+        verify(serverResponse).status(200);
+        final ArgumentCaptor<byte[]> body = ArgumentCaptor.forClass(byte[].class);
+        verify(serverResponse).send(body.capture());
+        final String json = new String(body.getValue(), StandardCharsets.UTF_8);
+        assertThat(json).startsWith("{\"blocks\":[{\"blockNumber\":3,").contains("{\"blockNumber\":2,");
+        assertThat(json).doesNotContain("\"blockNumber\":1,");
+    }
+
+    @Test
+    void testHandleBlocksInvalidCount() {
+        when(serverRequest.query().contains("count")).thenReturn(true);
+        when(serverRequest.query().get("count")).thenReturn("many");
+
+        toTest.handleBlocks(serverRequest, serverResponse);
+
+        verify(serverResponse).status(400);
+        verify(serverResponse, never()).send(any(byte[].class));
+    }
+
+    @Test
+    void testHandleBlocksCountOutOfRange() {
+        when(serverRequest.query().contains("count")).thenReturn(true);
+        when(serverRequest.query().get("count")).thenReturn(String.valueOf(BlockTraceRecorder.CAPACITY + 1));
+
+        toTest.handleBlocks(serverRequest, serverResponse);
+
+        verify(serverResponse).status(400);
+    }
+
+    @Test
+    void testToJson() {
+        final List<BlockTrace> traces = List.of(new BlockTrace(
+                7,
+                List.of(
+                        new StageTrace(BlockTraceStage.WRITE, 100L, "writer \"1\"", 250L, "writer \"1\""),
+                        new StageTrace(BlockTraceStage.HASHING, 120L, "hasher", null, null))));
+
+        assertThat(BlockTraceServiceImpl.toJson(traces))
+                .isEqualTo("{\"blocks\":[{\"blockNumber\":7,\"stages\":["
+                        + "{\"stage\":\"WRITE\",\"enterNanos\":100,\"enterThread\":\"writer \\\"1\\\"\","
+                        + "\"exitNanos\":250,\"exitThread\":\"writer \\\"1\\\"\",\"durationNanos\":150},"
+                        + "{\"stage\":\"HASHING\",\"enterNanos\":120,\"enterThread\":\"hasher\"}]}]}");
+    }
+}
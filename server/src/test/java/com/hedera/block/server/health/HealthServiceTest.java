@@ -1,15 +1,38 @@
 // SPDX-License-Identifier: Apache-2.0
 package com.hedera.block.server.health;
 
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Gauge.CurrentBlockNumberInbound;
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Gauge.MediatorSubscriberLagWorst1;
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Gauge.PersistenceWriterBacklog;
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Gauge.Producers;
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Gauge.VerificationQueueDepth;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 
+import com.hedera.block.server.block.BlockInfo;
+import com.hedera.block.server.config.BlockNodeContext;
+import com.hedera.block.server.mediator.MediatorConfig;
+import com.hedera.block.server.metrics.MetricsService;
+import com.hedera.block.server.persistence.storage.PersistenceStorageConfig;
 import com.hedera.block.server.service.ServiceStatus;
+import com.hedera.block.server.util.TestConfigUtil;
+import com.swirlds.config.api.Configuration;
 import io.helidon.webserver.http.HttpRules;
 import io.helidon.webserver.http.ServerRequest;
 import io.helidon.webserver.http.ServerResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -29,13 +52,25 @@ class HealthServiceTest {
     @Mock
     ServerResponse serverResponse;
 
+    @TempDir
+    private Path testLiveRootPath;
+
+    private MetricsService metricsService;
+
+    @AfterEach
+    void tearDown() {
+        if (metricsService != null) {
+            resetSignals();
+        }
+    }
+
     @Test
-    public void testHandleLivez() {
+    public void testHandleLivez() throws IOException {
         // given
         when(serviceStatus.isRunning()).thenReturn(true);
         when(serverResponse.status(200)).thenReturn(serverResponse);
         doNothing().when(serverResponse).send("OK");
-        HealthService healthService = new HealthServiceImpl(serviceStatus);
+        HealthService healthService = createHealthService(Map.of());
 
         // when
         healthService.handleLivez(serverRequest, serverResponse);
@@ -46,12 +81,12 @@ class HealthServiceTest {
     }
 
     @Test
-    public void testHandleLivez_notRunning() {
+    public void testHandleLivez_notRunning() throws IOException {
         // given
         when(serviceStatus.isRunning()).thenReturn(false);
         when(serverResponse.status(503)).thenReturn(serverResponse);
         doNothing().when(serverResponse).send("Service is not running");
-        HealthService healthService = new HealthServiceImpl(serviceStatus);
+        HealthService healthService = createHealthService(Map.of());
 
         // when
         healthService.handleLivez(serverRequest, serverResponse);
@@ -62,41 +97,119 @@ class HealthServiceTest {
     }
 
     @Test
-    public void testHandleReadyz() {
+    public void testHandleReadyz() throws IOException {
         // given
         when(serviceStatus.isRunning()).thenReturn(true);
-        when(serverResponse.status(200)).thenReturn(serverResponse);
-        doNothing().when(serverResponse).send("OK");
-        HealthService healthService = new HealthServiceImpl(serviceStatus);
+        HealthService healthService = createHealthService(Map.of());
 
         // when
         healthService.handleReadyz(serverRequest, serverResponse);
 
         // then
         verify(serverResponse, times(1)).status(200);
-        verify(serverResponse, times(1)).send("OK");
+        assertThat(sentBody()).startsWith("{\"ready\":true,\"running\":true,\"checks\":[");
     }
 
     @Test
-    public void testHandleReadyz_notRunning() {
+    public void testHandleReadyz_notRunning() throws IOException {
         // given
         when(serviceStatus.isRunning()).thenReturn(false);
-        when(serverResponse.status(503)).thenReturn(serverResponse);
-        doNothing().when(serverResponse).send("Service is not running");
-        HealthService healthService = new HealthServiceImpl(serviceStatus);
+        HealthService healthService = createHealthService(Map.of());
 
         // when
         healthService.handleReadyz(serverRequest, serverResponse);
 
         // then
         verify(serverResponse, times(1)).status(503);
-        verify(serverResponse, times(1)).send("Service is not running");
+        assertThat(sentBody()).startsWith("{\"ready\":false,\"running\":false,");
+    }
+
+    @Test
+    public void testHandleReadyz_overloadedWithHysteresis() throws IOException {
+        // given
+        when(serviceStatus.isRunning()).thenReturn(true);
+        HealthService healthService = createHealthService(
+                Map.of("readiness.maxWriterBacklog", "10", "readiness.recoveryPercent", "80"));
+
+        // when the writer backlog crosses its limit, the node is not ready
+        metricsService.get(PersistenceWriterBacklog).set(11);
+        healthService.handleReadyz(serverRequest, serverResponse);
+        // back under the limit, but not yet within the recovery percentage of it
+        metricsService.get(PersistenceWriterBacklog).set(9);
+        healthService.handleReadyz(serverRequest, serverResponse);
+        // within the recovery percentage of the limit
+        metricsService.get(PersistenceWriterBacklog).set(8);
+        healthService.handleReadyz(serverRequest, serverResponse);
+
+        // then
+        final InOrder inOrder = inOrder(serverResponse);
+        inOrder.verify(serverResponse, times(2)).status(503);
+        inOrder.verify(serverResponse).status(200);
+        final List<String> bodies = sentBodies();
+        assertThat(bodies.get(0))
+                .contains("{\"name\":\"writerBacklog\",\"value\":11,\"limit\":10,\"passed\":false}");
+        assertThat(bodies.get(1))
+                .contains("{\"name\":\"writerBacklog\",\"value\":9,\"limit\":10,\"passed\":false}");
+        assertThat(bodies.get(2))
+                .contains("{\"name\":\"writerBacklog\",\"value\":8,\"limit\":10,\"passed\":true}");
+    }
+
+    @Test
+    public void testHandleReadyz_ackLag() throws IOException {
+        // given
+        when(serviceStatus.isRunning()).thenReturn(true);
+        when(serviceStatus.getLatestAckedBlock()).thenReturn(new BlockInfo(100));
+        HealthService healthService = createHealthService(Map.of("readiness.maxAckLag", "5"));
+        metricsService.get(Producers).set(1);
+        metricsService.get(CurrentBlockNumberInbound).set(106);
+
+        // when
+        healthService.handleReadyz(serverRequest, serverResponse);
+
+        // then
+        verify(serverResponse, times(1)).status(503);
+        assertThat(sentBody()).contains("{\"name\":\"ackLag\",\"value\":6,\"limit\":5,\"passed\":false}");
+    }
+
+    @Test
+    public void testHandleReadyz_producerDisconnected() throws IOException {
+        // given
+        when(serviceStatus.isRunning()).thenReturn(true);
+        HealthService healthService = createHealthService(
+                Map.of("readiness.maxAckLag", "5", "readiness.maxRingBufferOccupancyPercent", "50"));
+        // the signals of the live load keep their last values once the producer disconnects
+        metricsService.get(MediatorSubscriberLagWorst1).set(Integer.MAX_VALUE);
+        metricsService.get(CurrentBlockNumberInbound).set(106);
+
+        // when
+        healthService.handleReadyz(serverRequest, serverResponse);
+
+        // then
+        verify(serverResponse, times(1)).status(200);
+        assertThat(sentBody())
+                .contains("{\"name\":\"ringBufferOccupancyPercent\",\"value\":0,\"limit\":50,\"passed\":true}")
+                .contains("{\"name\":\"ackLag\",\"value\":0,\"limit\":5,\"passed\":true}");
     }
 
     @Test
-    public void testRouting() {
+    public void testHandleReadyz_diskFull() throws IOException {
         // given
-        HealthService healthService = new HealthServiceImpl(serviceStatus);
+        when(serviceStatus.isRunning()).thenReturn(true);
+        HealthService healthService =
+                createHealthService(Map.of("readiness.minDiskFreeBytes", String.valueOf(Long.MAX_VALUE)));
+
+        // when
+        healthService.handleReadyz(serverRequest, serverResponse);
+
+        // then
+        verify(serverResponse, times(1)).status(503);
+        assertThat(sentBody()).contains("\"name\":\"diskFreeBytes\"").endsWith("\"passed\":false}]}");
+    }
+
+    @Test
+    public void testRouting() throws IOException {
+        // given
+        HealthService healthService = createHealthService(Map.of());
         HttpRules httpRules = mock(HttpRules.class);
         when(httpRules.get(anyString(), any())).thenReturn(httpRules);
 
@@ -108,4 +221,42 @@ class HealthServiceTest {
         verify(httpRules, times(1)).get(eq(READINESS_PATH), any());
         assertEquals(HEALTH_PATH, healthService.getHealthRootPath());
     }
+
+    private HealthService createHealthService(final Map<String, String> properties) throws IOException {
+        final Map<String, String> config = new HashMap<>();
+        config.put("persistence.storage.liveRootPath", testLiveRootPath.toString());
+        config.put("readiness.minDiskFreeBytes", "0");
+        config.putAll(properties);
+        final BlockNodeContext blockNodeContext = TestConfigUtil.getTestBlockNodeContext(config);
+        final Configuration configuration = blockNodeContext.configuration();
+        metricsService = blockNodeContext.metricsService();
+        resetSignals();
+        return new HealthServiceImpl(
+                serviceStatus,
+                metricsService,
+                configuration.getConfigData(ReadinessConfig.class),
+                configuration.getConfigData(MediatorConfig.class),
+                configuration.getConfigData(PersistenceStorageConfig.class));
+    }
+
+    private void resetSignals() {
+        // The metrics are global, so the signals set by other tests are cleared
+        metricsService.get(MediatorSubscriberLagWorst1).set(0);
+        metricsService.get(PersistenceWriterBacklog).set(0);
+        metricsService.get(VerificationQueueDepth).set(0);
+        metricsService.get(CurrentBlockNumberInbound).set(0);
+        metricsService.get(Producers).set(0);
+    }
+
+    private String sentBody() {
+        return sentBodies().getLast();
+    }
+
+    private List<String> sentBodies() {
+        final ArgumentCaptor<byte[]> body = ArgumentCaptor.forClass(byte[].class);
+        verify(serverResponse, atLeastOnce()).send(body.capture());
+        return body.getAllValues().stream()
+                .map(bytes -> new String(bytes, StandardCharsets.UTF_8))
+                .toList();
+    }
 }
@@ -0,0 +1,47 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.hedera.block.server.util.PersistTestUtils;
+import com.hedera.hapi.block.BlockItemUnparsed;
+import com.hedera.hapi.block.BlockUnparsed;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class BlockItemBatchesTest {
+
+    @Test
+    void testBlockNumberOfABatchStartingABlock() {
+        final List<BlockItemUnparsed> blockItems = PersistTestUtils.generateBlockItemsUnparsedForWithBlockNumber(21L);
+
+        assertThat(BlockItemBatches.blockNumberOf(blockItems)).isEqualTo(21L);
+        assertThat(BlockItemBatches.blockNumberOf(blockItems.subList(1, blockItems.size())))
+                .isEqualTo(-1L);
+        assertThat(BlockItemBatches.blockNumberOf(List.of())).isEqualTo(-1L);
+    }
+
+    @Test
+    void testBlockNumberOfAnUnparsableHeader() {
+        final List<BlockItemUnparsed> blockItems = List.of(BlockItemUnparsed.newBuilder()
+                .blockHeader(Bytes.wrap(new byte[] {(byte) 0xFF}))
+                .build());
+
+        assertThat(BlockItemBatches.blockNumberOf(blockItems)).isEqualTo(-1L);
+    }
+
+    @Test
+    void testSizeOf() {
+        final List<BlockItemUnparsed> blockItems = PersistTestUtils.generateBlockItemsUnparsedForWithBlockNumber(3L);
+        final long expected = BlockUnparsed.PROTOBUF
+                .toBytes(BlockUnparsed.newBuilder().blockItems(blockItems).build())
+                .length();
+
+        // each item of a block is a length-delimited field of a few bytes of tag and length
+        assertThat(BlockItemBatches.sizeOf(blockItems))
+                .isLessThan(expected)
+                .isGreaterThanOrEqualTo(expected - 6L * blockItems.size());
+        assertThat(BlockItemBatches.sizeOf(List.of())).isZero();
+    }
+}
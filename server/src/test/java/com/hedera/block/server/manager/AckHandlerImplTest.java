@@ -3,20 +3,26 @@ package com.hedera.block.server.manager;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.after;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
+import com.hedera.block.server.ack.AckConfig;
+import com.hedera.block.server.ack.AckConfig.AckMode;
 import com.hedera.block.server.ack.AckHandlerImpl;
 import com.hedera.block.server.block.BlockInfo;
 import com.hedera.block.server.metrics.BlockNodeMetricTypes;
@@ -70,7 +76,7 @@ class AckHandlerImplTest {
         lenient()
                 .when(metricsService.get(BlockNodeMetricTypes.Counter.AckedBlocked))
                 .thenReturn(metric);
-        ackHandler = new AckHandlerImpl(notifier, false, serviceStatus, blockRemover, metricsService);
+        ackHandler = new AckHandlerImpl(notifier, false, serviceStatus, blockRemover, metricsService, perBlock(1024));
     }
 
     @Test
@@ -78,7 +84,7 @@ class AckHandlerImplTest {
     void blockVerified_skippedAcknowledgement() {
         // given
         final AckHandlerImpl managerWithSkip =
-                new AckHandlerImpl(notifier, true, serviceStatus, blockRemover, metricsService);
+                new AckHandlerImpl(notifier, true, serviceStatus, blockRemover, metricsService, perBlock(1024));
 
         // when
         final long blockNumber = 1L;
@@ -138,6 +144,8 @@ class AckHandlerImplTest {
         // We expect a single ACK for block #1
         verify(notifier, times(1)).sendAck(eq(blockNumber), eq(blockHash), eq(false));
         verifyNoMoreInteractions(notifier);
+        // and the block to be available
+        verify(serviceStatus).addAvailableBlocks(blockNumber, blockNumber);
     }
 
     @Test
@@ -279,7 +287,8 @@ class AckHandlerImplTest {
     void highlyConcurrentAckHandlerTest(int blockCount, int maxPersistDelayNanos, int maxVerifyDelayNanos)
             throws Exception {
         // Create the instance under test (with skipAcknowledgement = false).
-        AckHandlerImpl ackHandler = new AckHandlerImpl(notifier, false, serviceStatus, blockRemover, metricsService);
+        AckHandlerImpl ackHandler =
+                new AckHandlerImpl(notifier, false, serviceStatus, blockRemover, metricsService, perBlock(1024));
 
         // Use an ExecutorService to run two concurrent tasks.
         ExecutorService executor = Executors.newFixedThreadPool(2);
@@ -354,6 +363,170 @@ class AckHandlerImplTest {
         assertEquals(blockCount, latest.getBlockNumber(), "Latest acknowledged block number mismatch");
     }
 
+    @Test
+    @DisplayName("Blocks far beyond the window are parked, then ACKed in order once the window reaches them")
+    void blocksBeyondTheWindowAreAckedInOrder() {
+        // given
+        final AckHandlerImpl smallWindowHandler =
+                new AckHandlerImpl(notifier, false, serviceStatus, blockRemover, metricsService, perBlock(4));
+        final int blockCount = 20;
+
+        // when
+        // every block but the first is reported, last to first, most of them beyond the window
+        for (long i = blockCount; i >= 2; i--) {
+            smallWindowHandler.blockVerified(i, bytesFromLong(i));
+            smallWindowHandler.blockPersisted(new BlockPersistenceResult(i, BlockPersistenceStatus.SUCCESS));
+        }
+        verify(notifier, never()).sendAck(anyLong(), any(), anyBoolean());
+        smallWindowHandler.blockPersisted(new BlockPersistenceResult(1L, BlockPersistenceStatus.SUCCESS));
+        smallWindowHandler.blockVerified(1L, bytesFromLong(1L));
+
+        // then
+        final InOrder inOrder = inOrder(notifier);
+        for (long i = 1; i <= blockCount; i++) {
+            inOrder.verify(notifier).sendAck(eq(i), eq(bytesFromLong(i)), eq(false));
+        }
+        verifyNoMoreInteractions(notifier);
+    }
+
+    @Test
+    @DisplayName("Events for blocks already ACKed are ignored, also once their slot is reused")
+    void duplicateEventsAreIgnored() {
+        // given
+        final AckHandlerImpl smallWindowHandler =
+                new AckHandlerImpl(notifier, false, serviceStatus, blockRemover, metricsService, perBlock(2));
+
+        // when
+        for (long i = 1; i <= 5; i++) {
+            smallWindowHandler.blockPersisted(new BlockPersistenceResult(i, BlockPersistenceStatus.SUCCESS));
+            smallWindowHandler.blockVerified(i, bytesFromLong(i));
+            // replay the events of an earlier block, whose slot may hold a later block by now
+            smallWindowHandler.blockPersisted(new BlockPersistenceResult(i - 1, BlockPersistenceStatus.SUCCESS));
+            smallWindowHandler.blockVerified(i - 1, bytesFromLong(-i));
+        }
+        smallWindowHandler.blockVerified(7L, bytesFromLong(7L));
+        smallWindowHandler.blockPersisted(new BlockPersistenceResult(6L, BlockPersistenceStatus.SUCCESS));
+        smallWindowHandler.blockVerified(5L, bytesFromLong(-5L));
+        smallWindowHandler.blockVerified(6L, bytesFromLong(6L));
+
+        // then
+        final InOrder inOrder = inOrder(notifier);
+        for (long i = 1; i <= 6; i++) {
+            inOrder.verify(notifier).sendAck(eq(i), eq(bytesFromLong(i)), eq(false));
+        }
+        verifyNoMoreInteractions(notifier);
+    }
+
+    @Test
+    @DisplayName("A duplicate verification of a block waiting for its ACK leaves the hash untouched")
+    void duplicateVerificationKeepsTheHash() {
+        // given
+        final AckHandlerImpl smallWindowHandler =
+                new AckHandlerImpl(notifier, false, serviceStatus, blockRemover, metricsService, perBlock(2));
+
+        // when
+        smallWindowHandler.blockVerified(1L, bytesFromLong(1L));
+        smallWindowHandler.blockVerified(1L, bytesFromLong(-1L));
+        smallWindowHandler.blockPersisted(new BlockPersistenceResult(1L, BlockPersistenceStatus.SUCCESS));
+        // block 3 claims the slot of block 1 once it is ACKed, a late duplicate must not touch it
+        smallWindowHandler.blockVerified(3L, bytesFromLong(3L));
+        smallWindowHandler.blockVerified(1L, bytesFromLong(-1L));
+        smallWindowHandler.blockPersisted(new BlockPersistenceResult(2L, BlockPersistenceStatus.SUCCESS));
+        smallWindowHandler.blockVerified(2L, bytesFromLong(2L));
+        smallWindowHandler.blockPersisted(new BlockPersistenceResult(3L, BlockPersistenceStatus.SUCCESS));
+
+        // then
+        final InOrder inOrder = inOrder(notifier);
+        for (long i = 1; i <= 3; i++) {
+            inOrder.verify(notifier).sendAck(eq(i), eq(bytesFromLong(i)), eq(false));
+        }
+        verifyNoMoreInteractions(notifier);
+    }
+
+    @Test
+    @DisplayName("The window size must be a power of two")
+    void windowSizeMustBeAPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> perBlock(3));
+        assertThrows(IllegalArgumentException.class, () -> new AckConfig(4, AckMode.COALESCED, -1));
+    }
+
+    @Test
+    @DisplayName("Coalesced ACKs send a single ACK for the highest block of a run of ready blocks")
+    void coalescedAckForARunOfReadyBlocks() {
+        // given
+        final AckHandlerImpl coalescingHandler = new AckHandlerImpl(
+                notifier, false, serviceStatus, blockRemover, metricsService, new AckConfig(16, AckMode.COALESCED, 0));
+
+        // when
+        for (long i = 2; i <= 5; i++) {
+            coalescingHandler.blockPersisted(new BlockPersistenceResult(i, BlockPersistenceStatus.SUCCESS));
+            coalescingHandler.blockVerified(i, bytesFromLong(i));
+        }
+        verifyNoInteractions(notifier);
+        coalescingHandler.blockPersisted(new BlockPersistenceResult(1L, BlockPersistenceStatus.SUCCESS));
+        coalescingHandler.blockVerified(1L, bytesFromLong(1L));
+        coalescingHandler.blockPersisted(new BlockPersistenceResult(6L, BlockPersistenceStatus.SUCCESS));
+        coalescingHandler.blockVerified(6L, bytesFromLong(6L));
+
+        // then
+        // blocks 1 to 5 became ready together, block 6 on its own
+        final InOrder inOrder = inOrder(notifier);
+        inOrder.verify(notifier).sendAck(eq(5L), eq(bytesFromLong(5L)), eq(false));
+        inOrder.verify(notifier).sendAck(eq(6L), eq(bytesFromLong(6L)), eq(false));
+        verifyNoMoreInteractions(notifier);
+    }
+
+    @Test
+    @DisplayName("Coalesced ACKs linger for more ready blocks before sending the highest")
+    void coalescedAckLingers() {
+        // given
+        final AckHandlerImpl coalescingHandler = new AckHandlerImpl(
+                notifier,
+                false,
+                serviceStatus,
+                blockRemover,
+                metricsService,
+                new AckConfig(16, AckMode.COALESCED, 200));
+
+        // when
+        for (long i = 1; i <= 3; i++) {
+            coalescingHandler.blockPersisted(new BlockPersistenceResult(i, BlockPersistenceStatus.SUCCESS));
+            coalescingHandler.blockVerified(i, bytesFromLong(i));
+        }
+
+        // then
+        verify(notifier, timeout(2_000).times(1)).sendAck(eq(3L), eq(bytesFromLong(3L)), eq(false));
+        verify(notifier, after(300).never()).sendAck(eq(1L), any(), anyBoolean());
+        verify(notifier, never()).sendAck(eq(2L), any(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Shutting down stops the linger timer of the coalesced ACKs")
+    void shutdownStopsCoalescedAcks() {
+        // given
+        final AckHandlerImpl coalescingHandler = new AckHandlerImpl(
+                notifier,
+                false,
+                serviceStatus,
+                blockRemover,
+                metricsService,
+                new AckConfig(16, AckMode.COALESCED, 200));
+        coalescingHandler.blockPersisted(new BlockPersistenceResult(1L, BlockPersistenceStatus.SUCCESS));
+        coalescingHandler.blockVerified(1L, bytesFromLong(1L));
+
+        // when
+        coalescingHandler.shutdown();
+        coalescingHandler.blockPersisted(new BlockPersistenceResult(2L, BlockPersistenceStatus.SUCCESS));
+        coalescingHandler.blockVerified(2L, bytesFromLong(2L));
+
+        // then
+        verify(notifier, after(300).never()).sendAck(anyLong(), any(), anyBoolean());
+    }
+
+    private static AckConfig perBlock(final int windowSize) {
+        return new AckConfig(windowSize, AckMode.PER_BLOCK, 0);
+    }
+
     // Helper method to create a dummy Bytes object from a long.
     private static Bytes bytesFromLong(long value) {
         byte[] arr = new byte[8];
@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import com.hedera.block.server.ack.AckConfig;
 import com.hedera.block.server.ack.AckHandler;
 import com.hedera.block.server.ack.AckHandlerImpl;
 import com.hedera.block.server.ack.AckHandlerInjectionModule;
@@ -38,13 +39,20 @@ class AckHandlerInjectionModuleTest {
                 PersistenceStorageConfig.CompressionType.NONE,
                 0,
                 false,
-                10);
+                10,
+                "");
         final VerificationConfig verificationConfig = mock(VerificationConfig.class);
         when(verificationConfig.type()).thenReturn(VerificationConfig.VerificationServiceType.PRODUCTION);
 
         // when
         final AckHandler ackHandler = AckHandlerInjectionModule.provideBlockManager(
-                notifier, persistenceStorageConfig, verificationConfig, serviceStatus, blockRemover, metricsService);
+                notifier,
+                persistenceStorageConfig,
+                verificationConfig,
+                serviceStatus,
+                blockRemover,
+                metricsService,
+                new AckConfig(1024, AckConfig.AckMode.COALESCED, 0));
 
         // then
         // AckHandlerImpl is the default and only implementation
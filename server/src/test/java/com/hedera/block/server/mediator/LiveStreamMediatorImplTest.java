@@ -3,10 +3,22 @@ package com.hedera.block.server.mediator;
 
 import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Counter.LiveBlockItems;
 import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Counter.LiveBlockStreamMediatorError;
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Gauge.MediatorRetainedBytes;
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Gauge.MediatorRetainedEvents;
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Gauge.MediatorSubscriberLagWorst1;
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Gauge.MediatorSubscriberLagWorst2;
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Gauge.MediatorSubscriberLagWorst3;
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Gauge.PayloadArenaUsedBytes;
 import static com.hedera.block.server.util.PersistTestUtils.generateBlockItemsUnparsed;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -15,7 +27,10 @@ import com.hedera.block.server.ack.AckHandler;
 import com.hedera.block.server.config.BlockNodeContext;
 import com.hedera.block.server.consumer.LiveStreamEventHandlerBuilder;
 import com.hedera.block.server.events.BlockNodeEventHandler;
+import com.hedera.block.server.events.LivenessWheel;
 import com.hedera.block.server.events.ObjectEvent;
+import com.hedera.block.server.events.OffHeapBlockItems;
+import com.hedera.block.server.jfr.BlockItemBatches;
 import com.hedera.block.server.metrics.BlockNodeMetricTypes;
 import com.hedera.block.server.notifier.Notifier;
 import com.hedera.block.server.notifier.NotifierImpl;
@@ -37,10 +52,13 @@ import java.time.InstantSource;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionService;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -50,7 +68,6 @@ import org.mockito.junit.jupiter.MockitoExtension;
 @ExtendWith(MockitoExtension.class)
 class LiveStreamMediatorImplTest {
     private static final long TIMEOUT_THRESHOLD_MILLIS = 100L;
-    private static final long TEST_TIME = 1_719_427_664_950L;
     private static final int TEST_TIMEOUT = 1000;
 
     @Mock
@@ -90,6 +107,8 @@ class LiveStreamMediatorImplTest {
 
     private CompletionService<Void> completionService;
 
+    private LivenessWheel livenessWheel;
+
     @BeforeEach
     void setup() throws IOException {
         final Map<String, String> properties = new HashMap<>();
@@ -97,6 +116,7 @@ class LiveStreamMediatorImplTest {
         properties.put(TestConfigUtil.MEDIATOR_RING_BUFFER_SIZE_KEY, String.valueOf(1024));
         this.testContext = TestConfigUtil.getTestBlockNodeContext(properties);
         this.completionService = new ExecutorCompletionService<>(Executors.newSingleThreadExecutor());
+        this.livenessWheel = new LivenessWheel(testClock, TIMEOUT_THRESHOLD_MILLIS);
     }
 
     @Test
@@ -166,32 +186,27 @@ class LiveStreamMediatorImplTest {
         final LiveStreamMediator streamMediator = LiveStreamMediatorBuilder.newBuilder(blockNodeContext, serviceStatus)
                 .build();
 
-        when(testClock.millis()).thenReturn(TEST_TIME, TEST_TIME + TIMEOUT_THRESHOLD_MILLIS);
-
         final BlockNodeEventHandler<ObjectEvent<List<BlockItemUnparsed>>> concreteObserver1 =
                 LiveStreamEventHandlerBuilder.build(
                         completionService,
-                        testClock,
+                        livenessWheel,
                         streamMediator,
                         helidonSubscribeStreamObserver1,
-                        testContext.metricsService(),
-                        testContext.configuration());
+                        testContext.metricsService());
         final BlockNodeEventHandler<ObjectEvent<List<BlockItemUnparsed>>> concreteObserver2 =
                 LiveStreamEventHandlerBuilder.build(
                         completionService,
-                        testClock,
+                        livenessWheel,
                         streamMediator,
                         helidonSubscribeStreamObserver2,
-                        testContext.metricsService(),
-                        testContext.configuration());
+                        testContext.metricsService());
         final BlockNodeEventHandler<ObjectEvent<List<BlockItemUnparsed>>> concreteObserver3 =
                 LiveStreamEventHandlerBuilder.build(
                         completionService,
-                        testClock,
+                        livenessWheel,
                         streamMediator,
                         helidonSubscribeStreamObserver3,
-                        testContext.metricsService(),
-                        testContext.configuration());
+                        testContext.metricsService());
 
         // Set up the subscribers
         streamMediator.subscribe(concreteObserver1);
@@ -246,29 +261,24 @@ class LiveStreamMediatorImplTest {
         final LiveStreamMediator streamMediator = LiveStreamMediatorBuilder.newBuilder(blockNodeContext, serviceStatus)
                 .build();
 
-        when(testClock.millis()).thenReturn(TEST_TIME, TEST_TIME + TIMEOUT_THRESHOLD_MILLIS);
-
         final var concreteObserver1 = LiveStreamEventHandlerBuilder.build(
                 completionService,
-                testClock,
+                livenessWheel,
                 streamMediator,
                 helidonSubscribeStreamObserver1,
-                testContext.metricsService(),
-                testContext.configuration());
+                testContext.metricsService());
         final var concreteObserver2 = LiveStreamEventHandlerBuilder.build(
                 completionService,
-                testClock,
+                livenessWheel,
                 streamMediator,
                 helidonSubscribeStreamObserver2,
-                testContext.metricsService(),
-                testContext.configuration());
+                testContext.metricsService());
         final var concreteObserver3 = LiveStreamEventHandlerBuilder.build(
                 completionService,
-                testClock,
+                livenessWheel,
                 streamMediator,
                 helidonSubscribeStreamObserver3,
-                testContext.metricsService(),
-                testContext.configuration());
+                testContext.metricsService());
 
         // Set up the subscribers
         streamMediator.subscribe(concreteObserver1);
@@ -294,11 +304,10 @@ class LiveStreamMediatorImplTest {
         final BlockNodeEventHandler<ObjectEvent<List<BlockItemUnparsed>>> concreteObserver1 =
                 LiveStreamEventHandlerBuilder.build(
                         completionService,
-                        testClock,
+                        livenessWheel,
                         streamMediator,
                         helidonSubscribeStreamObserver1,
-                        testContext.metricsService(),
-                        testContext.configuration());
+                        testContext.metricsService());
 
         streamMediator.subscribe(concreteObserver1);
         assertTrue(streamMediator.isSubscribed(concreteObserver1));
@@ -429,27 +438,24 @@ class LiveStreamMediatorImplTest {
         final BlockNodeEventHandler<ObjectEvent<List<BlockItemUnparsed>>> concreteObserver1 =
                 LiveStreamEventHandlerBuilder.build(
                         completionService,
-                        testClock,
+                        livenessWheel,
                         streamMediator,
                         helidonSubscribeStreamObserver1,
-                        testContext.metricsService(),
-                        testContext.configuration());
+                        testContext.metricsService());
         final BlockNodeEventHandler<ObjectEvent<List<BlockItemUnparsed>>> concreteObserver2 =
                 LiveStreamEventHandlerBuilder.build(
                         completionService,
-                        testClock,
+                        livenessWheel,
                         streamMediator,
                         helidonSubscribeStreamObserver2,
-                        testContext.metricsService(),
-                        testContext.configuration());
+                        testContext.metricsService());
         final BlockNodeEventHandler<ObjectEvent<List<BlockItemUnparsed>>> concreteObserver3 =
                 LiveStreamEventHandlerBuilder.build(
                         completionService,
-                        testClock,
+                        livenessWheel,
                         streamMediator,
                         helidonSubscribeStreamObserver3,
-                        testContext.metricsService(),
-                        testContext.configuration());
+                        testContext.metricsService());
 
         // Set up the subscribers
         streamMediator.subscribe(concreteObserver1);
@@ -538,11 +544,10 @@ class LiveStreamMediatorImplTest {
         final BlockNodeEventHandler<ObjectEvent<List<BlockItemUnparsed>>> testConsumerBlockItemObserver =
                 LiveStreamEventHandlerBuilder.build(
                         completionService,
-                        testClock,
+                        livenessWheel,
                         streamMediator,
                         helidonSubscribeStreamObserver1,
-                        testContext.metricsService(),
-                        testContext.configuration());
+                        testContext.metricsService());
 
         // Confirm the observer is not subscribed
         assertFalse(streamMediator.isSubscribed(testConsumerBlockItemObserver));
@@ -556,4 +561,222 @@ class LiveStreamMediatorImplTest {
         // Confirm the stream validator is still subscribed
         assertTrue(streamMediator.isSubscribed(handler));
     }
+
+    @Test
+    void testSampleSubscriberStats() throws Exception {
+        final BlockNodeContext blockNodeContext = TestConfigUtil.getTestBlockNodeContext();
+        final ServiceStatus serviceStatus = new ServiceStatusImpl(blockNodeContext);
+        final LiveStreamMediatorImpl streamMediator = (LiveStreamMediatorImpl)
+                LiveStreamMediatorBuilder.newBuilder(blockNodeContext, serviceStatus)
+                        .build();
+
+        // observer2 is stuck handling its first event
+        final CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+                    release.await();
+                    return null;
+                })
+                .when(observer2)
+                .onEvent(any(), anyLong(), anyBoolean());
+        streamMediator.subscribe(observer1);
+        streamMediator.subscribe(observer2);
+
+        try {
+            final List<BlockItemUnparsed> blockItems = generateBlockItemsUnparsed(1);
+            streamMediator.publish(blockItems);
+            streamMediator.publish(blockItems);
+            verify(observer1, timeout(TEST_TIMEOUT).times(2)).onEvent(any(), anyLong(), anyBoolean());
+
+            streamMediator.sampleSubscriberStats();
+
+            final List<SubscriberStats> subscriberStats = streamMediator.subscriberStats();
+            assertEquals(2, subscriberStats.size());
+            assertEquals(2, subscriberStats.get(0).lag());
+            assertEquals(0, subscriberStats.get(0).itemsPerSecond());
+            assertEquals(0, subscriberStats.get(1).lag());
+            assertTrue(subscriberStats.get(1).itemsPerSecond() > 0);
+            assertTrue(subscriberStats.get(1).bytesPerSecond() > 0);
+            assertEquals(2, blockNodeContext.metricsService().get(MediatorSubscriberLagWorst1).get());
+            assertEquals(0, blockNodeContext.metricsService().get(MediatorSubscriberLagWorst2).get());
+            assertEquals(0, blockNodeContext.metricsService().get(MediatorSubscriberLagWorst3).get());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void testReleaseConsumedSlots() throws Exception {
+        final BlockNodeContext blockNodeContext = TestConfigUtil.getTestBlockNodeContext();
+        final ServiceStatus serviceStatus = new ServiceStatusImpl(blockNodeContext);
+        final LiveStreamMediatorImpl streamMediator = (LiveStreamMediatorImpl)
+                LiveStreamMediatorBuilder.newBuilder(blockNodeContext, serviceStatus)
+                        .build();
+        streamMediator.subscribe(observer1);
+
+        final List<BlockItemUnparsed> blockItems = generateBlockItemsUnparsed(1);
+        streamMediator.publish(blockItems);
+        streamMediator.publish(blockItems);
+        verify(observer1, timeout(TEST_TIMEOUT).times(2)).onEvent(any(), anyLong(), anyBoolean());
+        // The subscriber sequence is moved past its batch once onEvent returns
+        while (streamMediator.ringBuffer.getMinimumGatingSequence() < 1) {
+            Thread.onSpinWait();
+        }
+
+        streamMediator.releaseConsumedSlots();
+
+        assertNull(streamMediator.ringBuffer.get(0).get());
+        assertNull(streamMediator.ringBuffer.get(1).get());
+        assertEquals(0, blockNodeContext.metricsService().get(MediatorRetainedBytes).get());
+        assertEquals(0, blockNodeContext.metricsService().get(MediatorRetainedEvents).get());
+    }
+
+    @Test
+    void testPublishWaitsForTheByteBudget() throws Exception {
+        final List<BlockItemUnparsed> blockItems = generateBlockItemsUnparsed(1);
+        final BlockNodeContext blockNodeContext = TestConfigUtil.getTestBlockNodeContext(
+                Map.of("mediator.maxInFlightBytes", String.valueOf(BlockItemBatches.sizeOf(blockItems))));
+        final ServiceStatus serviceStatus = new ServiceStatusImpl(blockNodeContext);
+        final LiveStreamMediatorImpl streamMediator = (LiveStreamMediatorImpl)
+                LiveStreamMediatorBuilder.newBuilder(blockNodeContext, serviceStatus)
+                        .build();
+
+        // observer1 is stuck handling the first batch, so it stays in flight
+        final CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+                    release.await();
+                    return null;
+                })
+                .when(observer1)
+                .onEvent(any(), anyLong(), anyBoolean());
+        streamMediator.subscribe(observer1);
+
+        try {
+            streamMediator.publish(blockItems);
+            assertEquals(
+                    BlockItemBatches.sizeOf(blockItems),
+                    blockNodeContext.metricsService().get(MediatorRetainedBytes).get());
+
+            final CompletableFuture<Void> secondPublish =
+                    CompletableFuture.runAsync(() -> streamMediator.publish(blockItems));
+            Thread.sleep(100);
+            assertFalse(secondPublish.isDone());
+
+            release.countDown();
+            secondPublish.get(TEST_TIMEOUT, TimeUnit.MILLISECONDS);
+            verify(observer1, timeout(TEST_TIMEOUT).times(2)).onEvent(any(), anyLong(), anyBoolean());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void testReleasesThePayloadArenaOnceConsumed() throws Exception {
+        final BlockNodeContext blockNodeContext =
+                TestConfigUtil.getTestBlockNodeContext(Map.of("payloadArena.enabled", "true"));
+        final ServiceStatus serviceStatus = new ServiceStatusImpl(blockNodeContext);
+        final LiveStreamMediatorImpl streamMediator = (LiveStreamMediatorImpl)
+                LiveStreamMediatorBuilder.newBuilder(blockNodeContext, serviceStatus)
+                        .build();
+
+        // observer1 reads the block items it is sent, then waits to be released
+        final CountDownLatch release = new CountDownLatch(1);
+        final CompletableFuture<List<BlockItemUnparsed>> received = new CompletableFuture<>();
+        doAnswer(invocation -> {
+                    final ObjectEvent<List<BlockItemUnparsed>> event = invocation.getArgument(0);
+                    assertInstanceOf(OffHeapBlockItems.class, event.get());
+                    received.complete(OffHeapBlockItems.onHeap(event.get()));
+                    release.await();
+                    return null;
+                })
+                .when(observer1)
+                .onEvent(any(), anyLong(), anyBoolean());
+        streamMediator.subscribe(observer1);
+
+        try {
+            final List<BlockItemUnparsed> blockItems = generateBlockItemsUnparsed(1);
+            streamMediator.publish(blockItems);
+
+            assertEquals(blockItems, received.get(TEST_TIMEOUT, TimeUnit.MILLISECONDS));
+            assertTrue(blockNodeContext.metricsService().get(PayloadArenaUsedBytes).get() > 0);
+        } finally {
+            release.countDown();
+        }
+        while (streamMediator.ringBuffer.getMinimumGatingSequence() < 0) {
+            Thread.onSpinWait();
+        }
+        streamMediator.releaseConsumedSlots();
+
+        assertEquals(0, blockNodeContext.metricsService().get(PayloadArenaUsedBytes).get());
+    }
+
+    @Test
+    void testRelayedSubscribersDoNotGateTheRingBuffer() throws Exception {
+        final BlockNodeContext blockNodeContext = TestConfigUtil.getTestBlockNodeContext();
+        final ServiceStatus serviceStatus = new ServiceStatusImpl(blockNodeContext);
+        final LiveStreamMediatorImpl streamMediator = (LiveStreamMediatorImpl)
+                LiveStreamMediatorBuilder.newBuilder(blockNodeContext, serviceStatus)
+                        .build();
+
+        // observer1 is relayed and stuck handling its first event, observer2 is relayed too
+        final CountDownLatch release = new CountDownLatch(1);
+        when(observer1.isRelayable()).thenReturn(true);
+        when(observer2.isRelayable()).thenReturn(true);
+        doAnswer(invocation -> {
+                    release.await();
+                    return null;
+                })
+                .when(observer1)
+                .onEvent(any(), anyLong(), anyBoolean());
+        streamMediator.subscribe(observer1);
+        streamMediator.subscribe(observer2);
+
+        try {
+            final List<BlockItemUnparsed> blockItems = generateBlockItemsUnparsed(1);
+            streamMediator.publish(blockItems);
+            streamMediator.publish(blockItems);
+            verify(observer2, timeout(TEST_TIMEOUT).times(2)).onEvent(any(), anyLong(), anyBoolean());
+
+            // The relays passed both events, however far behind observer1 is
+            final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TEST_TIMEOUT);
+            while (streamMediator.ringBuffer.getMinimumGatingSequence() < 1 && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            assertEquals(1, streamMediator.ringBuffer.getMinimumGatingSequence());
+
+            streamMediator.sampleSubscriberStats();
+
+            final List<SubscriberStats> subscriberStats = streamMediator.subscriberStats();
+            assertEquals(2, subscriberStats.size());
+            assertEquals(2, subscriberStats.get(0).lag());
+            assertEquals(0, subscriberStats.get(1).lag());
+        } finally {
+            release.countDown();
+        }
+
+        streamMediator.unsubscribe(observer1);
+        streamMediator.unsubscribe(observer2);
+        assertFalse(streamMediator.isSubscribed(observer1));
+        assertFalse(streamMediator.isSubscribed(observer2));
+    }
+
+    @Test
+    void testShutdownUnsubscribesAndHaltsTheRelays() throws Exception {
+        final BlockNodeContext blockNodeContext = TestConfigUtil.getTestBlockNodeContext();
+        final ServiceStatus serviceStatus = new ServiceStatusImpl(blockNodeContext);
+        final LiveStreamMediatorImpl streamMediator = (LiveStreamMediatorImpl)
+                LiveStreamMediatorBuilder.newBuilder(blockNodeContext, serviceStatus)
+                        .build();
+        when(observer1.isRelayable()).thenReturn(true);
+        streamMediator.subscribe(observer1);
+        streamMediator.subscribe(observer2);
+        streamMediator.publish(generateBlockItemsUnparsed(1));
+        verify(observer1, timeout(TEST_TIMEOUT)).onEvent(any(), anyLong(), anyBoolean());
+
+        streamMediator.shutdown();
+
+        assertFalse(streamMediator.isSubscribed(observer1));
+        assertFalse(streamMediator.isSubscribed(observer2));
+        // Neither the subscribers nor the relays gate the ring buffer anymore
+        assertEquals(streamMediator.ringBuffer.getCursor(), streamMediator.ringBuffer.getMinimumGatingSequence());
+    }
 }
@@ -9,16 +9,22 @@ import org.junit.jupiter.api.Test;
 
 public class MediatorConfigTest {
 
+    private static final long MAX_IN_FLIGHT_BYTES = 1_073_741_824L;
+    private static final int RELAY_COUNT = 4;
+    private static final int RELAY_RING_BUFFER_SIZE = 4096;
+
     @Test
     public void testMediatorConfig_happyPath() {
-        MediatorConfig mediatorConfig = new MediatorConfig(2048, null);
+        MediatorConfig mediatorConfig =
+                new MediatorConfig(2048, null, MAX_IN_FLIGHT_BYTES, RELAY_COUNT, RELAY_RING_BUFFER_SIZE);
         assertEquals(2048, mediatorConfig.ringBufferSize());
     }
 
     @Test
     public void testMediatorConfig_negativeRingBufferSize() {
-        IllegalArgumentException exception =
-                assertThrows(IllegalArgumentException.class, () -> new MediatorConfig(-1, null));
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> new MediatorConfig(-1, null, MAX_IN_FLIGHT_BYTES, RELAY_COUNT, RELAY_RING_BUFFER_SIZE));
         assertEquals("Mediator Ring Buffer Size must be positive", exception.getMessage());
     }
 
@@ -29,15 +35,48 @@ public class MediatorConfigTest {
 
         // Test the power of 2 values
         for (int powerOf2Value : powerOf2Values) {
-            MediatorConfig mediatorConfig = new MediatorConfig(powerOf2Value, null);
+            MediatorConfig mediatorConfig =
+                    new MediatorConfig(powerOf2Value, null, MAX_IN_FLIGHT_BYTES, RELAY_COUNT, RELAY_RING_BUFFER_SIZE);
             assertEquals(powerOf2Value, mediatorConfig.ringBufferSize());
         }
 
         // Test the non-power of 2 values
         for (int powerOf2Value : powerOf2Values) {
-            IllegalArgumentException exception =
-                    assertThrows(IllegalArgumentException.class, () -> new MediatorConfig(powerOf2Value + 1, null));
+            IllegalArgumentException exception = assertThrows(
+                    IllegalArgumentException.class,
+                    () -> new MediatorConfig(
+                            powerOf2Value + 1, null, MAX_IN_FLIGHT_BYTES, RELAY_COUNT, RELAY_RING_BUFFER_SIZE));
             assertEquals("Mediator Ring Buffer Size must be a power of 2", exception.getMessage());
         }
     }
+
+    @Test
+    public void testMediatorConfig_nonPositiveMaxInFlightBytes() {
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> new MediatorConfig(2048, null, 0, RELAY_COUNT, RELAY_RING_BUFFER_SIZE));
+        assertEquals("Mediator Max In Flight Bytes must be positive", exception.getMessage());
+    }
+
+    @Test
+    public void testMediatorConfig_noRelays() {
+        MediatorConfig mediatorConfig = new MediatorConfig(2048, null, MAX_IN_FLIGHT_BYTES, 0, RELAY_RING_BUFFER_SIZE);
+        assertEquals(0, mediatorConfig.relayCount());
+    }
+
+    @Test
+    public void testMediatorConfig_negativeRelayCount() {
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> new MediatorConfig(2048, null, MAX_IN_FLIGHT_BYTES, -1, RELAY_RING_BUFFER_SIZE));
+        assertEquals("Mediator Relay Count must not be negative", exception.getMessage());
+    }
+
+    @Test
+    public void testMediatorConfig_nonPowerOf2RelayRingBufferSize() {
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> new MediatorConfig(2048, null, MAX_IN_FLIGHT_BYTES, RELAY_COUNT, RELAY_RING_BUFFER_SIZE + 1));
+        assertEquals("Mediator Relay Ring Buffer Size must be a power of 2", exception.getMessage());
+    }
 }
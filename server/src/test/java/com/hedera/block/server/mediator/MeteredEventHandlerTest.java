@@ -0,0 +1,123 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.mediator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+
+import com.hedera.block.server.events.ObjectEvent;
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.Sequence;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class MeteredEventHandlerTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Mock
+    private EventHandler<ObjectEvent<String>> handler;
+
+    @Mock
+    private Runnable consumed;
+
+    @Test
+    void testForwardsEvents() throws Exception {
+        final MeteredEventHandler<String> toTest = new MeteredEventHandler<>(handler, "test-1", 0, consumed);
+        final Sequence sequence = new Sequence();
+        toTest.setSequence(sequence);
+        final ObjectEvent<String> event = new ObjectEvent<>();
+        event.set("items", 3, 300);
+        final List<String> received = new ArrayList<>();
+        doAnswer(invocation -> {
+                    final ObjectEvent<String> sent = invocation.getArgument(0);
+                    received.add(sent.get() + ":" + sent.itemCount() + ":" + sent.byteCount());
+                    return null;
+                })
+                .when(handler)
+                .onEvent(any(), eq(0L), eq(true));
+
+        toTest.onStart();
+        toTest.onBatchStart(1, 1);
+        toTest.onEvent(event, 0, true);
+        toTest.onShutdown();
+
+        verify(handler).onStart();
+        verify(handler).onBatchStart(1, 1);
+        verify(handler).onShutdown();
+        assertThat(received).containsExactly("items:3:300");
+        // the batch is passed once the handler returns
+        assertThat(sequence.get()).isZero();
+        verify(consumed).run();
+    }
+
+    @Test
+    void testSendsTheValueReadOnce() throws Exception {
+        final MeteredEventHandler<String> toTest = new MeteredEventHandler<>(handler, "test-1", 0, consumed);
+        toTest.setSequence(new Sequence());
+        final ObjectEvent<String> event = new ObjectEvent<>();
+        event.set("items", 3, 300, 0);
+        final List<String> received = new ArrayList<>();
+        doAnswer(invocation -> {
+                    // the slot is released while the handler runs
+                    event.clear(0);
+                    received.add(invocation.<ObjectEvent<String>>getArgument(0).get());
+                    return null;
+                })
+                .when(handler)
+                .onEvent(any(), eq(0L), eq(false));
+
+        toTest.onEvent(event, 0, false);
+        // a slot already released is not sent
+        toTest.onEvent(event, 0, true);
+
+        assertThat(received).containsExactly("items");
+        verify(consumed).run();
+    }
+
+    @Test
+    void testSample() throws Exception {
+        final long start = System.nanoTime();
+        final MeteredEventHandler<String> toTest = new MeteredEventHandler<>(handler, "test-1", start, consumed);
+        final Sequence sequence = new Sequence();
+        toTest.setSequence(sequence);
+
+        final ObjectEvent<String> event = new ObjectEvent<>();
+        event.set("items", 10, 1_000);
+        toTest.onEvent(event, 0, false);
+        toTest.onEvent(event, 1, true);
+        sequence.set(1);
+
+        final SubscriberStats first = toTest.sample(4 - toTest.sequence(), start + 2 * SECOND);
+        assertThat(first.subscriber()).isEqualTo("test-1");
+        assertThat(first.lag()).isEqualTo(3);
+        assertThat(first.itemsPerSecond()).isEqualTo(10.0);
+        assertThat(first.bytesPerSecond()).isEqualTo(1_000.0);
+
+        // the rates are measured since the previous sample
+        final SubscriberStats second = toTest.sample(4 - toTest.sequence(), start + 3 * SECOND);
+        assertThat(second.itemsPerSecond()).isZero();
+        assertThat(second.bytesPerSecond()).isZero();
+        assertThat(second.millisSinceLastSend()).isGreaterThanOrEqualTo(0);
+    }
+
+    @Test
+    void testSampleBeforeAnyEvent() {
+        final MeteredEventHandler<String> toTest = new MeteredEventHandler<>(handler, "test-1", 0, consumed);
+        toTest.setSequence(new Sequence());
+
+        final SubscriberStats stats = toTest.sample(-1 - toTest.sequence(), 5 * SECOND);
+
+        assertThat(stats.lag()).isZero();
+        assertThat(stats.itemsPerSecond()).isZero();
+        assertThat(stats.millisSinceLastSend()).isEqualTo(5_000);
+    }
+}
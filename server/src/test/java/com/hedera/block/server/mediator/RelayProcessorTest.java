@@ -0,0 +1,195 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.mediator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.hedera.block.server.events.ObjectEvent;
+import com.lmax.disruptor.BatchEventProcessor;
+import com.lmax.disruptor.BlockingWaitStrategy;
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RelayProcessorTest {
+
+    private static final int RING_BUFFER_SIZE = 16;
+    private static final long TEST_TIMEOUT_NANOS = 1_000_000_000L;
+
+    private final List<String> retained = new CopyOnWriteArrayList<>();
+    private final List<String> released = new CopyOnWriteArrayList<>();
+    private final List<BatchEventProcessor<ObjectEvent<String>>> slow = new CopyOnWriteArrayList<>();
+
+    private RingBuffer<ObjectEvent<String>> source;
+    private ExecutorService executor;
+    private RelayProcessor<String> toTest;
+
+    @BeforeEach
+    void setUp() {
+        source = RingBuffer.createSingleProducer(ObjectEvent::new, RING_BUFFER_SIZE, new BlockingWaitStrategy());
+        executor = Executors.newCachedThreadPool(DaemonThreadFactory.INSTANCE);
+        toTest = new RelayProcessor<>(
+                RING_BUFFER_SIZE,
+                value -> {
+                    retained.add(value);
+                    return value;
+                },
+                released::add,
+                processor -> {
+                    slow.add(processor);
+                    processor.halt();
+                    toTest.unsubscribe(processor);
+                });
+        toTest.start(source, executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testRelaysEveryEventToEverySubscriber() {
+        final List<String> received1 = new CopyOnWriteArrayList<>();
+        final List<String> received2 = new CopyOnWriteArrayList<>();
+        executor.execute(toTest.subscribe(receiving(received1)));
+        executor.execute(toTest.subscribe(receiving(received2)));
+        assertThat(toTest.subscriberCount()).isEqualTo(2);
+
+        publish("a", 10);
+        publish("b", 20);
+
+        awaitSize(received1, 2);
+        awaitSize(received2, 2);
+        assertThat(received1).containsExactly("a", "b");
+        assertThat(received2).containsExactly("a", "b");
+        assertThat(retained).containsExactly("a", "b");
+    }
+
+    @Test
+    void testSourceSequenceOfTheSubscribers() {
+        // The source is ahead of the secondary ring buffer, so their sequences are told apart
+        final RingBuffer<ObjectEvent<String>> laterSource =
+                RingBuffer.createSingleProducer(ObjectEvent::new, RING_BUFFER_SIZE, new BlockingWaitStrategy());
+        laterSource.publish(laterSource.next(5));
+        final RelayProcessor<String> relay =
+                new RelayProcessor<>(RING_BUFFER_SIZE, value -> value, value -> {}, processor -> {});
+        relay.start(laterSource, executor);
+        final BatchEventProcessor<ObjectEvent<String>> processor = relay.subscribe(receiving(List.of()));
+        final long before = processor.getSequence().get();
+
+        final long sequence = laterSource.next();
+        laterSource.get(sequence).set("a", 1, 10, sequence);
+        laterSource.publish(sequence);
+        final long deadline = System.nanoTime() + TEST_TIMEOUT_NANOS;
+        while (relay.sourceSequence(before + 1) < sequence && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+
+        // Not yet passed by the subscriber, whose processor is not running
+        assertThat(relay.sourceSequence(before)).isEqualTo(sequence - 1);
+        // Passed once the subscriber catches up with the relay
+        assertThat(relay.sourceSequence(before + 1)).isEqualTo(sequence);
+    }
+
+    @Test
+    void testUnsubscribesTheSubscriberHoldingTheRelayFull() {
+        // Never run, so it holds the slots relayed
+        final BatchEventProcessor<ObjectEvent<String>> stalled = toTest.subscribe(receiving(List.of()));
+        final List<String> received = new CopyOnWriteArrayList<>();
+        final BatchEventProcessor<ObjectEvent<String>> running = toTest.subscribe(receiving(received));
+        executor.execute(running);
+
+        for (int i = 0; i < RING_BUFFER_SIZE; i++) {
+            publish(String.valueOf(i), 10);
+        }
+        // The running subscriber passes every slot, so the stalled one alone holds the relay full
+        final long deadline = System.nanoTime() + TEST_TIMEOUT_NANOS;
+        while (running.getSequence().get() < RING_BUFFER_SIZE - 1 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        publish("last", 10);
+
+        awaitSize(received, RING_BUFFER_SIZE + 1);
+        assertThat(received).hasSize(RING_BUFFER_SIZE + 1);
+        assertThat(slow).containsExactly(stalled);
+        assertThat(toTest.subscriberCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testHaltReleasesTheValuesRelayed() {
+        final BatchEventProcessor<ObjectEvent<String>> processor = toTest.subscribe(receiving(List.of()));
+        publish("a", 10);
+        awaitSize(retained, 1);
+
+        processor.halt();
+        toTest.unsubscribe(processor);
+        toTest.halt();
+
+        final long deadline = System.nanoTime() + TEST_TIMEOUT_NANOS;
+        while (toTest.retainedBytes() > 0 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertThat(released).containsExactly("a");
+        assertThat(toTest.retainedBytes()).isZero();
+        // The source is no longer gated by the relay
+        assertThat(source.getMinimumGatingSequence()).isEqualTo(source.getCursor());
+    }
+
+    @Test
+    void testReleasesTheEventsPassedByEverySubscriber() {
+        final List<String> received = new CopyOnWriteArrayList<>();
+        final BatchEventProcessor<ObjectEvent<String>> processor = toTest.subscribe(receiving(received));
+        executor.execute(processor);
+
+        publish("a", 10);
+        publish("b", 20);
+        awaitSize(received, 2);
+        // The subscriber sequence is moved past its batch once onEvent returns
+        final long deadline = System.nanoTime() + TEST_TIMEOUT_NANOS;
+        while (processor.getSequence().get() < 1 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+
+        toTest.releaseConsumedSlots();
+
+        assertThat(released).containsExactly("a", "b");
+        assertThat(toTest.retainedBytes()).isZero();
+    }
+
+    @Test
+    void testUnsubscribe() {
+        final BatchEventProcessor<ObjectEvent<String>> processor = toTest.subscribe(receiving(List.of()));
+        processor.halt();
+
+        toTest.unsubscribe(processor);
+        assertThat(toTest.subscriberCount()).isZero();
+
+        // Unsubscribing twice only counts once
+        toTest.unsubscribe(processor);
+        assertThat(toTest.subscriberCount()).isZero();
+    }
+
+    private void publish(final String value, final long bytes) {
+        final long sequence = source.next();
+        source.get(sequence).set(value, 1, bytes, sequence);
+        source.publish(sequence);
+    }
+
+    private static EventHandler<ObjectEvent<String>> receiving(final List<String> received) {
+        return (event, sequence, endOfBatch) -> received.add(event.get());
+    }
+
+    private static void awaitSize(final List<String> list, final int size) {
+        final long deadline = System.nanoTime() + TEST_TIMEOUT_NANOS;
+        while (list.size() < size && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class BlockLatencyTrackerTest {
+
+    @Test
+    void testSinceHeader() {
+        final BlockLatencyTracker toTest = new BlockLatencyTracker();
+        toTest.headerReceived(0, 1_000);
+        toTest.headerReceived(7, 2_000);
+
+        assertThat(toTest.sinceHeader(0, 1_500)).isEqualTo(500);
+        assertThat(toTest.sinceHeader(7, 5_000)).isEqualTo(3_000);
+        assertThat(toTest.sinceHeader(8, 5_000)).isEqualTo(-1);
+    }
+
+    @Test
+    void testResentHeaderKeepsTheFirstTime() {
+        final BlockLatencyTracker toTest = new BlockLatencyTracker();
+        toTest.headerReceived(3, 1_000);
+        toTest.headerReceived(3, 4_000);
+
+        assertThat(toTest.sinceHeader(3, 5_000)).isEqualTo(4_000);
+    }
+
+    @Test
+    void testBlockIsNoLongerTrackedOnceItsSlotIsTaken() {
+        final BlockLatencyTracker toTest = new BlockLatencyTracker();
+        toTest.headerReceived(3, 1_000);
+        toTest.headerReceived(3 + BlockLatencyTracker.CAPACITY, 2_000);
+
+        assertThat(toTest.sinceHeader(3, 5_000)).isEqualTo(-1);
+        assertThat(toTest.sinceHeader(3 + BlockLatencyTracker.CAPACITY, 5_000)).isEqualTo(3_000);
+    }
+}
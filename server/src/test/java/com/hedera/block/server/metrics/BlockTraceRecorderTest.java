@@ -0,0 +1,61 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.hedera.block.server.metrics.BlockTraceRecorder.BlockTrace;
+import com.hedera.block.server.metrics.BlockTraceRecorder.StageTrace;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class BlockTraceRecorderTest {
+
+    @Test
+    void testStagesAreTracedInPipelineOrder() {
+        final BlockTraceRecorder toTest = new BlockTraceRecorder();
+        toTest.enter(1, BlockTraceStage.HASHING);
+        toTest.enter(1, BlockTraceStage.MEDIATOR);
+        toTest.exit(1, BlockTraceStage.MEDIATOR);
+
+        final List<BlockTrace> traces = toTest.lastBlocks(10);
+
+        assertThat(traces).hasSize(1);
+        assertThat(traces.getFirst().blockNumber()).isEqualTo(1);
+        final List<StageTrace> stages = traces.getFirst().stages();
+        assertThat(stages)
+                .extracting(StageTrace::stage)
+                .containsExactly(BlockTraceStage.MEDIATOR, BlockTraceStage.HASHING);
+        final StageTrace mediator = stages.getFirst();
+        assertThat(mediator.enterThread()).isEqualTo(Thread.currentThread().getName());
+        assertThat(mediator.exitNanos() - mediator.enterNanos()).isNotNegative();
+        final StageTrace hashing = stages.get(1);
+        assertThat(hashing.enterNanos()).isNotNull();
+        assertThat(hashing.exitNanos()).isNull();
+        assertThat(hashing.exitThread()).isNull();
+    }
+
+    @Test
+    void testLastBlocksAreReturnedHighestFirst() {
+        final BlockTraceRecorder toTest = new BlockTraceRecorder();
+        for (long blockNumber = 0; blockNumber < 10; blockNumber++) {
+            toTest.enter(blockNumber, BlockTraceStage.WRITE);
+        }
+
+        assertThat(toTest.lastBlocks(3)).extracting(BlockTrace::blockNumber).containsExactly(9L, 8L, 7L);
+    }
+
+    @Test
+    void testLaterBlockTakesTheSlotOver() {
+        final BlockTraceRecorder toTest = new BlockTraceRecorder();
+        toTest.enter(5, BlockTraceStage.WRITE);
+        toTest.enter(5 + BlockTraceRecorder.CAPACITY, BlockTraceStage.MEDIATOR);
+        // events of the earlier block are dropped once its slot is taken
+        toTest.exit(5, BlockTraceStage.WRITE);
+
+        final List<BlockTrace> traces = toTest.lastBlocks(BlockTraceRecorder.CAPACITY);
+
+        assertThat(traces).hasSize(1);
+        assertThat(traces.getFirst().blockNumber()).isEqualTo(5 + BlockTraceRecorder.CAPACITY);
+        assertThat(traces.getFirst().stages()).extracting(StageTrace::stage).containsExactly(BlockTraceStage.MEDIATOR);
+    }
+}
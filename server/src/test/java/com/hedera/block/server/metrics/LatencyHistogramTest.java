@@ -0,0 +1,99 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class LatencyHistogramTest {
+
+    @ParameterizedTest
+    @ValueSource(longs = {0L, 1L, 31L, 32L, 33L, 63L, 64L, 1_000L, 123_456_789L, 1L << 40, Long.MAX_VALUE})
+    void testBucketHoldsTheValueWithinThreePercent(final long value) {
+        final int bucket = LatencyHistogram.bucketOf(value);
+        final long highest = LatencyHistogram.highestValueOf(bucket);
+
+        assertThat(highest).isGreaterThanOrEqualTo(value);
+        assertThat(highest - value).isLessThanOrEqualTo(value / 32);
+        if (bucket > 0) {
+            assertThat(LatencyHistogram.highestValueOf(bucket - 1)).isLessThan(value);
+        }
+    }
+
+    @Test
+    void testBucketsAreContiguous() {
+        for (long value = 0; value < 100_000; value++) {
+            final int bucket = LatencyHistogram.bucketOf(value);
+            assertThat(bucket).isEqualTo(LatencyHistogram.bucketOf(value + 1) - (isLastOfBucket(value) ? 1 : 0));
+        }
+    }
+
+    @Test
+    void testPercentiles() {
+        final LatencyHistogram toTest = new LatencyHistogram();
+        for (long value = 1; value <= 1_000; value++) {
+            toTest.record(value * 1_000);
+        }
+
+        final LatencyHistogram.Snapshot snapshot = toTest.flush();
+
+        assertThat(snapshot.count()).isEqualTo(1_000);
+        assertThat(snapshot.valueAtPercentile(50.0)).isBetween(500_000L, 500_000L + 500_000L / 32);
+        assertThat(snapshot.valueAtPercentile(99.0)).isBetween(990_000L, 990_000L + 990_000L / 32);
+        assertThat(snapshot.valueAtPercentile(100.0)).isEqualTo(snapshot.max());
+        assertThat(snapshot.max()).isBetween(1_000_000L, 1_000_000L + 1_000_000L / 32);
+    }
+
+    @Test
+    void testFlushTakesOnlyTheValuesRecordedSinceThePreviousFlush() {
+        final LatencyHistogram toTest = new LatencyHistogram();
+        toTest.record(1_000_000);
+        assertThat(toTest.flush().count()).isEqualTo(1);
+
+        final LatencyHistogram.Snapshot empty = toTest.flush();
+        assertThat(empty.count()).isZero();
+        assertThat(empty.valueAtPercentile(99.0)).isZero();
+        assertThat(empty.max()).isZero();
+
+        toTest.record(10);
+        toTest.record(-5);
+        final LatencyHistogram.Snapshot snapshot = toTest.flush();
+        assertThat(snapshot.count()).isEqualTo(2);
+        assertThat(snapshot.valueAtPercentile(50.0)).isZero();
+        assertThat(snapshot.max()).isEqualTo(10);
+    }
+
+    @Test
+    void testConcurrentRecording() throws Exception {
+        final LatencyHistogram toTest = new LatencyHistogram();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        toTest.record(i);
+                    }
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(toTest.flush().count()).isEqualTo(40_000);
+    }
+
+    private static boolean isLastOfBucket(final long value) {
+        return LatencyHistogram.highestValueOf(LatencyHistogram.bucketOf(value)) == value;
+    }
+}
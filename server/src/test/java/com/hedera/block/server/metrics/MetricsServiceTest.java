@@ -6,11 +6,17 @@ import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Counter.LiveB
 import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Counter.LiveBlockItemsConsumed;
 import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Counter.SingleBlocksRetrieved;
 import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Gauge.Consumers;
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Histogram.BlockAcknowledgedLatency;
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Histogram.BlockPersistedLatency;
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Histogram.VerificationLatency;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.hedera.block.server.config.BlockNodeContext;
 import com.hedera.block.server.util.TestConfigUtil;
 import com.swirlds.config.api.Configuration;
+import com.swirlds.metrics.api.LongGauge;
+import com.swirlds.metrics.api.Metrics;
 import dagger.BindsInstance;
 import dagger.Component;
 import java.io.IOException;
@@ -33,11 +39,12 @@ public class MetricsServiceTest {
     }
 
     private MetricsService metricsService;
+    private Configuration configuration;
 
     @BeforeEach
     public void setUp() throws IOException {
         final BlockNodeContext context = TestConfigUtil.getTestBlockNodeContext();
-        final Configuration configuration = context.configuration();
+        configuration = context.configuration();
         final MetricsServiceTestComponent testComponent =
                 DaggerMetricsServiceTest_MetricsServiceTestComponent.factory().create(configuration);
         this.metricsService = testComponent.getMetricsService();
@@ -122,4 +129,44 @@ public class MetricsServiceTest {
         metricsService.get(Consumers).set(0);
         assertEquals(0, metricsService.get(Consumers).get());
     }
+
+    @Test
+    void MetricsService_verifyHistogramFlushedToGauges() {
+        final Metrics metrics = TestConfigUtil.getTestMetrics(configuration);
+        final MetricsServiceImpl toTest = new MetricsServiceImpl(metrics);
+
+        for (long value = 1; value <= 100; value++) {
+            toTest.get(VerificationLatency).record(value * 1_000);
+        }
+        toTest.flushHistograms();
+
+        assertEquals(50_000, gauge(metrics, VerificationLatency, "_p50").get(), 50_000 / 32.0);
+        assertEquals(99_000, gauge(metrics, VerificationLatency, "_p99").get(), 99_000 / 32.0);
+        assertEquals(100_000, gauge(metrics, VerificationLatency, "_max").get(), 100_000 / 32.0);
+
+        // an interval without latencies keeps the published values
+        toTest.flushHistograms();
+        assertEquals(100_000, gauge(metrics, VerificationLatency, "_max").get(), 100_000 / 32.0);
+    }
+
+    @Test
+    void MetricsService_verifyBlockStageLatencies() throws InterruptedException {
+        final Metrics metrics = TestConfigUtil.getTestMetrics(configuration);
+        final MetricsServiceImpl toTest = new MetricsServiceImpl(metrics);
+
+        toTest.markBlockStage(5, BlockStage.HEADER_RECEIVED);
+        Thread.sleep(2);
+        toTest.markBlockStage(5, BlockStage.PERSISTED);
+        // the header of block 6 was never received
+        toTest.markBlockStage(6, BlockStage.ACKNOWLEDGED);
+        toTest.flushHistograms();
+
+        assertTrue(gauge(metrics, BlockPersistedLatency, "_max").get() >= 2_000_000);
+        assertEquals(0, gauge(metrics, BlockAcknowledgedLatency, "_max").get());
+    }
+
+    private static LongGauge gauge(
+            final Metrics metrics, final BlockNodeMetricTypes.Histogram histogram, final String suffix) {
+        return (LongGauge) metrics.getMetric("hedera_block_node", histogram.grafanaLabel() + suffix);
+    }
 }
@@ -11,7 +11,10 @@ import static org.mockito.Mockito.when;
 
 import com.hedera.block.server.ack.AckHandler;
 import com.hedera.block.server.config.BlockNodeContext;
+import com.hedera.block.server.consumer.ConsumerConfig;
+import com.hedera.block.server.consumer.NoOpHistoricStreamAdmission;
 import com.hedera.block.server.events.BlockNodeEventHandler;
+import com.hedera.block.server.events.LivenessWheel;
 import com.hedera.block.server.events.ObjectEvent;
 import com.hedera.block.server.mediator.LiveStreamMediator;
 import com.hedera.block.server.mediator.LiveStreamMediatorBuilder;
@@ -19,6 +22,7 @@ import com.hedera.block.server.mediator.Publisher;
 import com.hedera.block.server.mediator.SubscriptionHandler;
 import com.hedera.block.server.pbj.PbjBlockStreamService;
 import com.hedera.block.server.pbj.PbjBlockStreamServiceProxy;
+import com.hedera.block.server.pbj.PbjInjectionModule;
 import com.hedera.block.server.persistence.StreamPersistenceHandlerImpl;
 import com.hedera.block.server.persistence.storage.read.BlockReader;
 import com.hedera.block.server.persistence.storage.write.AsyncBlockWriterFactory;
@@ -169,12 +173,18 @@ class NotifierImplTest {
         // Set the serviceStatus to not running
         when(serviceStatus.isRunning()).thenReturn(false);
         final NotifierImpl notifier = new NotifierImpl(mediator, blockNodeContext, serviceStatus);
+        final LivenessWheel livenessWheel = new LivenessWheel(
+                testClock,
+                blockNodeContext
+                        .configuration()
+                        .getConfigData(ConsumerConfig.class)
+                        .timeoutThresholdMillis());
         final ProducerBlockItemObserver concreteObserver1 = new ProducerBlockItemObserver(
-                testClock, publisher, subscriptionHandler, publishStreamObserver1, blockNodeContext, serviceStatus);
+                livenessWheel, publisher, subscriptionHandler, publishStreamObserver1, blockNodeContext, serviceStatus);
         final ProducerBlockItemObserver concreteObserver2 = new ProducerBlockItemObserver(
-                testClock, publisher, subscriptionHandler, publishStreamObserver2, blockNodeContext, serviceStatus);
+                livenessWheel, publisher, subscriptionHandler, publishStreamObserver2, blockNodeContext, serviceStatus);
         final ProducerBlockItemObserver concreteObserver3 = new ProducerBlockItemObserver(
-                testClock, publisher, subscriptionHandler, publishStreamObserver3, blockNodeContext, serviceStatus);
+                livenessWheel, publisher, subscriptionHandler, publishStreamObserver3, blockNodeContext, serviceStatus);
 
         notifier.subscribe(concreteObserver1);
         notifier.subscribe(concreteObserver2);
@@ -223,6 +233,8 @@ class NotifierImplTest {
                 streamVerificationHandler,
                 blockReader,
                 notifier,
+                NoOpHistoricStreamAdmission.newInstance(),
+                PbjInjectionModule.providesLivenessWheel(blockNodeContext),
                 blockNodeContext);
     }
 
@@ -0,0 +1,195 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.pbj;
+
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Counter.RangeBlocksRetrieved;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.hedera.block.server.config.BlockNodeContext;
+import com.hedera.block.server.consumer.HistoricStreamAdmission;
+import com.hedera.block.server.consumer.NoOpHistoricStreamAdmission;
+import com.hedera.block.server.persistence.storage.read.BlockReader;
+import com.hedera.block.server.util.TestConfigUtil;
+import com.hedera.hapi.block.BlockItemUnparsed;
+import com.hedera.hapi.block.BlockRangeRequest;
+import com.hedera.hapi.block.BlockRangeResponseCode;
+import com.hedera.hapi.block.BlockRangeResponseUnparsed;
+import com.hedera.hapi.block.BlockUnparsed;
+import com.hedera.hapi.block.stream.output.BlockHeader;
+import com.hedera.pbj.runtime.ParseException;
+import com.hedera.pbj.runtime.grpc.Pipeline;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class BlockRangeStreamerTest {
+
+    @Mock
+    private BlockReader<BlockUnparsed> blockReader;
+
+    @Mock
+    private Pipeline<? super BlockRangeResponseUnparsed> pipeline;
+
+    @Mock
+    private HistoricStreamAdmission admission;
+
+    private BlockNodeContext blockNodeContext;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        blockNodeContext = TestConfigUtil.getTestBlockNodeContext(Map.of("blockRange.maxBlocks", "10"));
+    }
+
+    @Test
+    void testStreamsTheBlocksInOrder() throws IOException, ParseException {
+        for (long i = 3; i <= 7; i++) {
+            when(blockReader.read(i)).thenReturn(Optional.of(block(i)));
+        }
+
+        newStreamer(2).stream(request(3, 7, 0), pipeline);
+
+        final InOrder inOrder = inOrder(pipeline);
+        for (long i = 3; i <= 7; i++) {
+            inOrder.verify(pipeline).onNext(blockResponse(i));
+        }
+        inOrder.verify(pipeline).onNext(statusResponse(BlockRangeResponseCode.BLOCK_RANGE_SUCCESS));
+        inOrder.verify(pipeline).onComplete();
+        assertEquals(5, blockNodeContext.metricsService().get(RangeBlocksRetrieved).get());
+    }
+
+    @Test
+    void testEndsAtTheFirstMissingBlock() throws IOException, ParseException {
+        when(blockReader.read(1)).thenReturn(Optional.of(block(1)));
+        when(blockReader.read(2)).thenReturn(Optional.empty());
+
+        newStreamer(1).stream(request(1, 4, 0), pipeline);
+
+        final InOrder inOrder = inOrder(pipeline);
+        inOrder.verify(pipeline).onNext(blockResponse(1));
+        inOrder.verify(pipeline).onNext(statusResponse(BlockRangeResponseCode.BLOCK_RANGE_NOT_FOUND));
+        inOrder.verify(pipeline).onComplete();
+        verify(blockReader, never()).read(3);
+    }
+
+    @Test
+    void testEndsWhenTheRequestByteLimitIsReached() throws IOException, ParseException {
+        final long blockSize = BlockUnparsed.PROTOBUF.measureRecord(block(1));
+        when(blockReader.read(1)).thenReturn(Optional.of(block(1)));
+        when(blockReader.read(2)).thenReturn(Optional.of(block(2)));
+
+        // Room for one block and a half
+        newStreamer(1).stream(request(1, 5, blockSize + blockSize / 2), pipeline);
+
+        final InOrder inOrder = inOrder(pipeline);
+        inOrder.verify(pipeline).onNext(blockResponse(1));
+        inOrder.verify(pipeline).onNext(statusResponse(BlockRangeResponseCode.BLOCK_RANGE_BYTE_LIMIT_REACHED));
+        inOrder.verify(pipeline).onComplete();
+        verify(pipeline, never()).onNext(blockResponse(2));
+    }
+
+    @Test
+    void testInvalidRanges() throws IOException, ParseException {
+        newStreamer(1).stream(request(5, 4, 0), pipeline);
+        newStreamer(1).stream(request(-1, 4, 0), pipeline);
+        // More blocks than the configured maximum of 10
+        newStreamer(1).stream(request(0, 10, 0), pipeline);
+
+        verify(pipeline, times(3))
+                .onNext(statusResponse(BlockRangeResponseCode.BLOCK_RANGE_INVALID_RANGE));
+        verify(pipeline, times(3)).onComplete();
+        verify(blockReader, never()).read(anyLong());
+    }
+
+    @Test
+    void testReadErrorEndsTheStreamAsNotAvailable() throws IOException, ParseException {
+        when(blockReader.read(1)).thenThrow(new IOException("Test exception"));
+
+        newStreamer(1).stream(request(1, 2, 0), pipeline);
+
+        final InOrder inOrder = inOrder(pipeline);
+        inOrder.verify(pipeline).onNext(statusResponse(BlockRangeResponseCode.BLOCK_RANGE_NOT_AVAILABLE));
+        inOrder.verify(pipeline).onComplete();
+    }
+
+    @Test
+    void testNotAdmittedRangeIsNotRead() throws IOException, ParseException, InterruptedException {
+        when(admission.enter()).thenReturn(false);
+
+        newStreamer(1, admission).stream(request(1, 2, 0), pipeline);
+
+        final InOrder inOrder = inOrder(pipeline);
+        inOrder.verify(pipeline).onNext(statusResponse(BlockRangeResponseCode.BLOCK_RANGE_NOT_AVAILABLE));
+        inOrder.verify(pipeline).onComplete();
+        verify(blockReader, never()).read(anyLong());
+        verify(admission, never()).exit();
+    }
+
+    @Test
+    void testEachReadIsAdmittedBeforeItStarts() throws IOException, ParseException, InterruptedException {
+        when(admission.enter()).thenReturn(true);
+        // The live path stays degraded once the first block is read
+        when(admission.awaitRead()).thenReturn(true, false);
+        when(blockReader.read(1)).thenReturn(Optional.of(block(1)));
+
+        newStreamer(1, admission).stream(request(1, 2, 0), pipeline);
+
+        final InOrder admitted = inOrder(admission, blockReader);
+        admitted.verify(admission).enter();
+        admitted.verify(admission).awaitRead();
+        admitted.verify(blockReader).read(1);
+        admitted.verify(admission).onRead(BlockUnparsed.PROTOBUF.measureRecord(block(1)));
+        admitted.verify(admission).awaitRead();
+        admitted.verify(admission).exit();
+        verify(blockReader, never()).read(2);
+
+        final InOrder inOrder = inOrder(pipeline);
+        inOrder.verify(pipeline).onNext(blockResponse(1));
+        inOrder.verify(pipeline).onNext(statusResponse(BlockRangeResponseCode.BLOCK_RANGE_NOT_AVAILABLE));
+        inOrder.verify(pipeline).onComplete();
+    }
+
+    private BlockRangeStreamer newStreamer(final int readParallelism) {
+        return newStreamer(readParallelism, NoOpHistoricStreamAdmission.newInstance());
+    }
+
+    private BlockRangeStreamer newStreamer(final int readParallelism, final HistoricStreamAdmission admission) {
+        final BlockRangeConfig config = new BlockRangeConfig(10, 1_073_741_824L, readParallelism, 1);
+        return new BlockRangeStreamer(blockReader, config, Runnable::run, admission, blockNodeContext.metricsService());
+    }
+
+    private static BlockRangeRequest request(final long start, final long end, final long maxBytes) {
+        return BlockRangeRequest.newBuilder()
+                .startBlockNumber(start)
+                .endBlockNumber(end)
+                .maxBytes(maxBytes)
+                .build();
+    }
+
+    private static BlockUnparsed block(final long number) {
+        final BlockItemUnparsed header = BlockItemUnparsed.newBuilder()
+                .blockHeader(BlockHeader.PROTOBUF.toBytes(
+                        BlockHeader.newBuilder().number(number).build()))
+                .build();
+        return BlockUnparsed.newBuilder().blockItems(header).build();
+    }
+
+    private static BlockRangeResponseUnparsed blockResponse(final long number) {
+        return BlockRangeResponseUnparsed.newBuilder().block(block(number)).build();
+    }
+
+    private static BlockRangeResponseUnparsed statusResponse(final BlockRangeResponseCode status) {
+        return BlockRangeResponseUnparsed.newBuilder().status(status).build();
+    }
+}
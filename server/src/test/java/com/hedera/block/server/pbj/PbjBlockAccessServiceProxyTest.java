@@ -5,14 +5,26 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.hedera.block.server.config.BlockNodeContext;
+import com.hedera.block.server.consumer.HistoricStreamAdmission;
+import com.hedera.block.server.consumer.NoOpHistoricStreamAdmission;
+import com.hedera.block.server.persistence.storage.hashtree.HashTreeStore;
 import com.hedera.block.server.persistence.storage.read.BlockReader;
 import com.hedera.block.server.service.ServiceStatus;
 import com.hedera.block.server.util.TestConfigUtil;
+import com.hedera.hapi.block.BlockItemProofRequest;
+import com.hedera.hapi.block.BlockItemProofResponse;
+import com.hedera.hapi.block.BlockItemProofResponseCode;
 import com.hedera.hapi.block.BlockItemUnparsed;
+import com.hedera.hapi.block.BlockRangeRequest;
+import com.hedera.hapi.block.BlockRangeResponseCode;
+import com.hedera.hapi.block.BlockRangeResponseUnparsed;
 import com.hedera.hapi.block.BlockUnparsed;
+import com.hedera.hapi.block.ItemInclusionProof;
+import com.hedera.hapi.block.MerkleSibling;
 import com.hedera.hapi.block.SingleBlockRequest;
 import com.hedera.hapi.block.SingleBlockResponse;
 import com.hedera.hapi.block.SingleBlockResponseCode;
@@ -26,6 +38,7 @@ import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -41,12 +54,17 @@ public class PbjBlockAccessServiceProxyTest {
     @Mock
     private BlockReader<BlockUnparsed> blockReader;
 
+    @Mock
+    private HashTreeStore hashTreeStore;
+
     @Mock
     private ServiceInterface.RequestOptions options;
 
     @Mock
     private Pipeline<? super Bytes> replies;
 
+    private final HistoricStreamAdmission admission = NoOpHistoricStreamAdmission.newInstance();
+
     private BlockNodeContext blockNodeContext;
 
     private static final int testTimeout = 100;
@@ -61,7 +79,7 @@ public class PbjBlockAccessServiceProxyTest {
     public void testOpenWithIncorrectMethod() {
 
         final PbjBlockAccessServiceProxy pbjBlockAccessServiceProxy =
-                new PbjBlockAccessServiceProxy(serviceStatus, blockReader, blockNodeContext);
+                new PbjBlockAccessServiceProxy(serviceStatus, blockReader, blockNodeContext, hashTreeStore, admission);
         Pipeline<? super Bytes> pipeline = pbjBlockAccessServiceProxy.open(
                 PbjBlockStreamService.BlockStreamMethod.publishBlockStream, options, replies);
 
@@ -72,7 +90,7 @@ public class PbjBlockAccessServiceProxyTest {
     @Test
     public void testSingleBlock() throws IOException, ParseException {
         final PbjBlockAccessServiceProxy pbjBlockAccessServiceProxy =
-                new PbjBlockAccessServiceProxy(serviceStatus, blockReader, blockNodeContext);
+                new PbjBlockAccessServiceProxy(serviceStatus, blockReader, blockNodeContext, hashTreeStore, admission);
         final Pipeline<? super Bytes> pipeline =
                 pbjBlockAccessServiceProxy.open(PbjBlockAccessService.BlockAccessMethod.singleBlock, options, replies);
         assertNotNull(pipeline);
@@ -104,7 +122,7 @@ public class PbjBlockAccessServiceProxyTest {
     @Test
     public void testSingleBlockNotFound() throws IOException, ParseException {
         final PbjBlockAccessServiceProxy pbjBlockAccessServiceProxy =
-                new PbjBlockAccessServiceProxy(serviceStatus, blockReader, blockNodeContext);
+                new PbjBlockAccessServiceProxy(serviceStatus, blockReader, blockNodeContext, hashTreeStore, admission);
         final Pipeline<? super Bytes> pipeline =
                 pbjBlockAccessServiceProxy.open(PbjBlockAccessService.BlockAccessMethod.singleBlock, options, replies);
         assertNotNull(pipeline);
@@ -127,7 +145,7 @@ public class PbjBlockAccessServiceProxyTest {
     @Test
     public void testSingleBlockIOException() throws IOException, ParseException {
         final PbjBlockAccessServiceProxy pbjBlockAccessServiceProxy =
-                new PbjBlockAccessServiceProxy(serviceStatus, blockReader, blockNodeContext);
+                new PbjBlockAccessServiceProxy(serviceStatus, blockReader, blockNodeContext, hashTreeStore, admission);
         final Pipeline<? super Bytes> pipeline =
                 pbjBlockAccessServiceProxy.open(PbjBlockAccessService.BlockAccessMethod.singleBlock, options, replies);
         assertNotNull(pipeline);
@@ -146,4 +164,187 @@ public class PbjBlockAccessServiceProxyTest {
         verify(replies, timeout(testTimeout).times(1)).onNext(SingleBlockResponse.PROTOBUF.toBytes(blockNotAvailable));
         verify(replies, timeout(testTimeout).times(1)).onComplete();
     }
+
+    @Test
+    public void testItemProof() throws IOException {
+        final PbjBlockAccessServiceProxy pbjBlockAccessServiceProxy =
+                new PbjBlockAccessServiceProxy(serviceStatus, blockReader, blockNodeContext, hashTreeStore, admission);
+        final Pipeline<? super Bytes> pipeline =
+                pbjBlockAccessServiceProxy.open(PbjBlockAccessService.BlockAccessMethod.itemProof, options, replies);
+        assertNotNull(pipeline);
+
+        when(serviceStatus.isRunning()).thenReturn(true);
+        final BlockItemProofResponse proofResponse = BlockItemProofResponse.newBuilder()
+                .status(BlockItemProofResponseCode.ITEM_PROOF_SUCCESS)
+                .proof(ItemInclusionProof.newBuilder()
+                        .itemHash(Bytes.wrap("item"))
+                        .siblings(MerkleSibling.newBuilder()
+                                .isLeft(true)
+                                .hash(Bytes.wrap("sibling"))
+                                .build())
+                        .blockHash(Bytes.wrap("block"))
+                        .build())
+                .build();
+        when(hashTreeStore.readItemProof(1, 2)).thenReturn(proofResponse);
+
+        final BlockItemProofRequest itemProofRequest =
+                BlockItemProofRequest.newBuilder().blockNumber(1).itemIndex(2).build();
+        pipeline.onNext(BlockItemProofRequest.PROTOBUF.toBytes(itemProofRequest));
+
+        verify(replies, timeout(testTimeout).times(1)).onSubscribe(any());
+        verify(replies, timeout(testTimeout).times(1)).onNext(BlockItemProofResponse.PROTOBUF.toBytes(proofResponse));
+        verify(replies, timeout(testTimeout).times(1)).onComplete();
+    }
+
+    @Test
+    public void testItemProofIOException() throws IOException {
+        final PbjBlockAccessServiceProxy pbjBlockAccessServiceProxy =
+                new PbjBlockAccessServiceProxy(serviceStatus, blockReader, blockNodeContext, hashTreeStore, admission);
+        final Pipeline<? super Bytes> pipeline =
+                pbjBlockAccessServiceProxy.open(PbjBlockAccessService.BlockAccessMethod.itemProof, options, replies);
+        assertNotNull(pipeline);
+
+        when(serviceStatus.isRunning()).thenReturn(true);
+        when(hashTreeStore.readItemProof(1, 2)).thenThrow(new IOException("Test IOException"));
+
+        final BlockItemProofRequest itemProofRequest =
+                BlockItemProofRequest.newBuilder().blockNumber(1).itemIndex(2).build();
+        pipeline.onNext(BlockItemProofRequest.PROTOBUF.toBytes(itemProofRequest));
+
+        final var proofNotAvailable = BlockItemProofResponse.newBuilder()
+                .status(BlockItemProofResponseCode.ITEM_PROOF_NOT_AVAILABLE)
+                .build();
+        verify(replies, timeout(testTimeout).times(1)).onSubscribe(any());
+        verify(replies, timeout(testTimeout).times(1))
+                .onNext(BlockItemProofResponse.PROTOBUF.toBytes(proofNotAvailable));
+        verify(replies, timeout(testTimeout).times(1)).onComplete();
+    }
+
+    @Test
+    public void testBlockRange() throws IOException, ParseException {
+        final PbjBlockAccessServiceProxy pbjBlockAccessServiceProxy =
+                new PbjBlockAccessServiceProxy(serviceStatus, blockReader, blockNodeContext, hashTreeStore, admission);
+        final Pipeline<? super Bytes> pipeline =
+                pbjBlockAccessServiceProxy.open(PbjBlockAccessService.BlockAccessMethod.blockRange, options, replies);
+        assertNotNull(pipeline);
+
+        when(serviceStatus.isRunning()).thenReturn(true);
+
+        final BlockUnparsed block = BlockUnparsed.newBuilder()
+                .blockItems(BlockItemUnparsed.newBuilder()
+                        .blockHeader(BlockHeader.PROTOBUF.toBytes(
+                                BlockHeader.newBuilder().number(1).build()))
+                        .build())
+                .build();
+        when(blockReader.read(1)).thenReturn(Optional.of(block));
+
+        final BlockRangeRequest blockRangeRequest = BlockRangeRequest.newBuilder()
+                .startBlockNumber(1)
+                .endBlockNumber(1)
+                .build();
+        pipeline.onNext(BlockRangeRequest.PROTOBUF.toBytes(blockRangeRequest));
+
+        final var blockResponse =
+                BlockRangeResponseUnparsed.newBuilder().block(block).build();
+        final var successResponse = BlockRangeResponseUnparsed.newBuilder()
+                .status(BlockRangeResponseCode.BLOCK_RANGE_SUCCESS)
+                .build();
+        verify(replies, timeout(testTimeout).times(1))
+                .onNext(BlockRangeResponseUnparsed.PROTOBUF.toBytes(blockResponse));
+        verify(replies, timeout(testTimeout).times(1))
+                .onNext(BlockRangeResponseUnparsed.PROTOBUF.toBytes(successResponse));
+        verify(replies, timeout(testTimeout).times(1)).onComplete();
+    }
+
+    @Test
+    public void testBlockRangeServiceNotRunning() {
+        final PbjBlockAccessServiceProxy pbjBlockAccessServiceProxy =
+                new PbjBlockAccessServiceProxy(serviceStatus, blockReader, blockNodeContext, hashTreeStore, admission);
+        final Pipeline<? super Bytes> pipeline =
+                pbjBlockAccessServiceProxy.open(PbjBlockAccessService.BlockAccessMethod.blockRange, options, replies);
+
+        when(serviceStatus.isRunning()).thenReturn(false);
+
+        final BlockRangeRequest blockRangeRequest = BlockRangeRequest.newBuilder()
+                .startBlockNumber(1)
+                .endBlockNumber(2)
+                .build();
+        pipeline.onNext(BlockRangeRequest.PROTOBUF.toBytes(blockRangeRequest));
+
+        final var notAvailable = BlockRangeResponseUnparsed.newBuilder()
+                .status(BlockRangeResponseCode.BLOCK_RANGE_NOT_AVAILABLE)
+                .build();
+        verify(replies, timeout(testTimeout).times(1))
+                .onNext(BlockRangeResponseUnparsed.PROTOBUF.toBytes(notAvailable));
+        verify(replies, timeout(testTimeout).times(1)).onComplete();
+    }
+
+    @Test
+    public void testBlockRangeOverTheConcurrentLimit() throws IOException, ParseException {
+        blockNodeContext = TestConfigUtil.getTestBlockNodeContext(Map.of("blockRange.maxConcurrentRequests", "1"));
+        final PbjBlockAccessServiceProxy pbjBlockAccessServiceProxy =
+                new PbjBlockAccessServiceProxy(serviceStatus, blockReader, blockNodeContext, hashTreeStore, admission);
+        final Pipeline<? super Bytes> first =
+                pbjBlockAccessServiceProxy.open(PbjBlockAccessService.BlockAccessMethod.blockRange, options, replies);
+        final Pipeline<? super Bytes> second =
+                pbjBlockAccessServiceProxy.open(PbjBlockAccessService.BlockAccessMethod.blockRange, options, replies);
+
+        when(serviceStatus.isRunning()).thenReturn(true);
+
+        // Hold the first request until the second one is answered
+        final CountDownLatch readReleased = new CountDownLatch(1);
+        when(blockReader.read(1)).thenAnswer(invocation -> {
+            readReleased.await();
+            return Optional.empty();
+        });
+
+        final BlockRangeRequest blockRangeRequest = BlockRangeRequest.newBuilder()
+                .startBlockNumber(1)
+                .endBlockNumber(1)
+                .build();
+        first.onNext(BlockRangeRequest.PROTOBUF.toBytes(blockRangeRequest));
+        verify(blockReader, timeout(testTimeout).times(1)).read(1);
+        second.onNext(BlockRangeRequest.PROTOBUF.toBytes(blockRangeRequest));
+
+        final var notAvailable = BlockRangeResponseUnparsed.newBuilder()
+                .status(BlockRangeResponseCode.BLOCK_RANGE_NOT_AVAILABLE)
+                .build();
+        verify(replies, timeout(testTimeout).times(1))
+                .onNext(BlockRangeResponseUnparsed.PROTOBUF.toBytes(notAvailable));
+        verify(replies, timeout(testTimeout).times(1)).onComplete();
+
+        readReleased.countDown();
+
+        final var notFound = BlockRangeResponseUnparsed.newBuilder()
+                .status(BlockRangeResponseCode.BLOCK_RANGE_NOT_FOUND)
+                .build();
+        verify(replies, timeout(testTimeout).times(1)).onNext(BlockRangeResponseUnparsed.PROTOBUF.toBytes(notFound));
+        verify(replies, timeout(testTimeout).times(2)).onComplete();
+    }
+
+    @Test
+    public void testBlockRangeAfterShutdown() {
+        final PbjBlockAccessServiceProxy pbjBlockAccessServiceProxy =
+                new PbjBlockAccessServiceProxy(serviceStatus, blockReader, blockNodeContext, hashTreeStore, admission);
+        final Pipeline<? super Bytes> pipeline =
+                pbjBlockAccessServiceProxy.open(PbjBlockAccessService.BlockAccessMethod.blockRange, options, replies);
+
+        when(serviceStatus.isRunning()).thenReturn(true);
+
+        pbjBlockAccessServiceProxy.shutdown();
+
+        final BlockRangeRequest blockRangeRequest = BlockRangeRequest.newBuilder()
+                .startBlockNumber(1)
+                .endBlockNumber(1)
+                .build();
+        pipeline.onNext(BlockRangeRequest.PROTOBUF.toBytes(blockRangeRequest));
+
+        final var notAvailable = BlockRangeResponseUnparsed.newBuilder()
+                .status(BlockRangeResponseCode.BLOCK_RANGE_NOT_AVAILABLE)
+                .build();
+        verify(replies, timeout(testTimeout).times(1))
+                .onNext(BlockRangeResponseUnparsed.PROTOBUF.toBytes(notAvailable));
+        verify(replies, timeout(testTimeout).times(1)).onComplete();
+        verifyNoInteractions(blockReader);
+    }
 }
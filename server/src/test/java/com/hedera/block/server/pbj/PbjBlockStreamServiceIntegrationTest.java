@@ -16,10 +16,12 @@ import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.hedera.block.server.ack.AckConfig;
 import com.hedera.block.server.ack.AckHandler;
 import com.hedera.block.server.ack.AckHandlerImpl;
 import com.hedera.block.server.block.BlockInfo;
 import com.hedera.block.server.config.BlockNodeContext;
+import com.hedera.block.server.consumer.NoOpHistoricStreamAdmission;
 import com.hedera.block.server.events.BlockNodeEventHandler;
 import com.hedera.block.server.events.ObjectEvent;
 import com.hedera.block.server.mediator.LiveStreamMediator;
@@ -28,6 +30,7 @@ import com.hedera.block.server.notifier.Notifier;
 import com.hedera.block.server.notifier.NotifierImpl;
 import com.hedera.block.server.persistence.StreamPersistenceHandlerImpl;
 import com.hedera.block.server.persistence.storage.PersistenceStorageConfig;
+import com.hedera.block.server.persistence.storage.hashtree.NoOpHashTreeStore;
 import com.hedera.block.server.persistence.storage.read.BlockReader;
 import com.hedera.block.server.persistence.storage.remove.BlockRemover;
 import com.hedera.block.server.persistence.storage.write.AsyncBlockWriterFactory;
@@ -40,6 +43,7 @@ import com.hedera.block.server.verification.VerificationConfig;
 import com.hedera.block.server.verification.service.BlockVerificationService;
 import com.hedera.block.server.verification.service.BlockVerificationServiceImpl;
 import com.hedera.block.server.verification.session.BlockVerificationSessionFactory;
+import com.hedera.block.server.verification.session.VerificationWorkerPool;
 import com.hedera.block.server.verification.signature.SignatureVerifierDummy;
 import com.hedera.hapi.block.BlockItemSetUnparsed;
 import com.hedera.hapi.block.BlockItemUnparsed;
@@ -67,7 +71,6 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
@@ -434,6 +437,8 @@ class PbjBlockStreamServiceIntegrationTest {
                 streamVerificationHandler,
                 blockReaderMock,
                 notifierMock,
+                NoOpHistoricStreamAdmission.newInstance(),
+                PbjInjectionModule.providesLivenessWheel(blockNodeContext),
                 blockNodeContext);
 
         final Pipeline<? super Bytes> producerPipeline = pbjBlockStreamServiceProxy.open(
@@ -589,6 +594,8 @@ class PbjBlockStreamServiceIntegrationTest {
                 streamVerificationHandler,
                 blockReaderMock,
                 notifier,
+                NoOpHistoricStreamAdmission.newInstance(),
+                PbjInjectionModule.providesLivenessWheel(blockNodeContext),
                 blockNodeContext);
 
         // Register a producer
@@ -644,7 +651,12 @@ class PbjBlockStreamServiceIntegrationTest {
                 SingleBlockRequest.newBuilder().blockNumber(1).build();
 
         final PbjBlockAccessServiceProxy pbjBlockAccessServiceProxy =
-                new PbjBlockAccessServiceProxy(serviceStatus, blockReaderMock, blockNodeContext);
+                new PbjBlockAccessServiceProxy(
+                        serviceStatus,
+                        blockReaderMock,
+                        blockNodeContext,
+                        NoOpHashTreeStore.newInstance(),
+                        NoOpHistoricStreamAdmission.newInstance());
 
         // Simulate a consumer attempting to connect to the Block Node after the exception.
         final SingleBlockResponseUnparsed singleBlockResponse =
@@ -730,9 +742,15 @@ class PbjBlockStreamServiceIntegrationTest {
         final VerificationConfig config = blockNodeContext.configuration().getConfigData(VerificationConfig.class);
         final SignatureVerifierDummy signatureVerifier = mock(SignatureVerifierDummy.class);
         when(signatureVerifier.verifySignature(any(), any())).thenReturn(true);
-        final ExecutorService executorService = ForkJoinPool.commonPool();
+        when(signatureVerifier.verifySignatureAsync(any(), any())).thenCallRealMethod();
+        final VerificationWorkerPool workerPool = new VerificationWorkerPool(
+                config.effectiveWorkerThreads(), config.effectiveHashingThreads(), blockNodeContext.metricsService());
         return new BlockVerificationSessionFactory(
-                config, blockNodeContext.metricsService(), signatureVerifier, executorService);
+                config,
+                blockNodeContext.metricsService(),
+                signatureVerifier,
+                NoOpHashTreeStore.newInstance(),
+                workerPool);
     }
 
     private PbjBlockStreamServiceProxy buildBlockStreamService(
@@ -742,11 +760,22 @@ class PbjBlockStreamServiceIntegrationTest {
         serviceStatus.setLatestAckedBlock(new BlockInfo(1L));
         final LiveStreamMediator streamMediator = buildStreamMediator(new ConcurrentHashMap<>(32), serviceStatus);
         final Notifier notifier = new NotifierImpl(streamMediator, blockNodeContext, serviceStatus);
-        final AckHandler blockManager =
-                new AckHandlerImpl(notifier, false, serviceStatus, blockRemover, blockNodeContext.metricsService());
+        final AckHandler blockManager = new AckHandlerImpl(
+                notifier,
+                false,
+                serviceStatus,
+                blockRemover,
+                blockNodeContext.metricsService(),
+                blockNodeContext.configuration().getConfigData(AckConfig.class));
         final BlockVerificationSessionFactory blockVerificationSessionFactory = getBlockVerificationSessionFactory();
         final BlockVerificationService BlockVerificationService = new BlockVerificationServiceImpl(
-                blockNodeContext.metricsService(), blockVerificationSessionFactory, blockManager);
+                blockNodeContext.metricsService(),
+                blockVerificationSessionFactory,
+                blockManager,
+                blockNodeContext
+                        .configuration()
+                        .getConfigData(VerificationConfig.class)
+                        .maxBlocksInFlight());
         final AsyncNoOpWriterFactory writerFactory =
                 new AsyncNoOpWriterFactory(blockManager, blockNodeContext.metricsService());
         final StreamPersistenceHandlerImpl blockNodeEventHandler = new StreamPersistenceHandlerImpl(
@@ -766,6 +795,8 @@ class PbjBlockStreamServiceIntegrationTest {
                 streamVerificationHandler,
                 blockReader,
                 notifier,
+                NoOpHistoricStreamAdmission.newInstance(),
+                PbjInjectionModule.providesLivenessWheel(blockNodeContext),
                 blockNodeContext);
     }
 
@@ -1,19 +1,41 @@
 // SPDX-License-Identifier: Apache-2.0
 package com.hedera.block.server.pbj;
 
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Counter.ServerStatusRequests;
 import static com.hedera.block.server.pbj.PbjBlockStreamServiceProxy.READ_STREAM_INVALID_END_BLOCK_NUMBER_RESPONSE;
 import static com.hedera.block.server.pbj.PbjBlockStreamServiceProxy.READ_STREAM_INVALID_START_BLOCK_NUMBER_RESPONSE;
 import static com.hedera.block.server.pbj.TestUtils.buildSubscribeStreamRequest;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import com.hedera.block.server.config.BlockNodeContext;
+import com.hedera.block.server.consumer.NoOpHistoricStreamAdmission;
+import com.hedera.block.server.events.BlockNodeEventHandler;
+import com.hedera.block.server.events.ObjectEvent;
+import com.hedera.block.server.mediator.LiveStreamMediator;
+import com.hedera.block.server.notifier.Notifier;
+import com.hedera.block.server.persistence.storage.read.BlockReader;
+import com.hedera.block.server.service.ServiceStatus;
+import com.hedera.block.server.service.ServiceStatusImpl;
+import com.hedera.block.server.util.TestConfigUtil;
+import com.hedera.block.server.verification.StreamVerificationHandlerImpl;
+import com.hedera.hapi.block.BlockItemKind;
+import com.hedera.hapi.block.BlockItemUnparsed;
+import com.hedera.hapi.block.BlockUnparsed;
+import com.hedera.hapi.block.FilteredSubscribeStreamRequest;
+import com.hedera.hapi.block.ServerStatusRequest;
+import com.hedera.hapi.block.ServerStatusResponse;
 import com.hedera.hapi.block.SubscribeStreamRequest;
 import com.hedera.hapi.block.SubscribeStreamResponseUnparsed;
 import com.hedera.pbj.runtime.grpc.Pipeline;
+import java.io.IOException;
+import java.util.List;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -29,6 +51,21 @@ public class PbjBlockStreamServiceProxyTest {
     @Mock
     private Pipeline<SubscribeStreamResponseUnparsed> helidonConsumerObserver;
 
+    @Mock
+    private LiveStreamMediator streamMediator;
+
+    @Mock
+    private BlockNodeEventHandler<ObjectEvent<List<BlockItemUnparsed>>> streamPersistenceHandler;
+
+    @Mock
+    private StreamVerificationHandlerImpl streamVerificationHandler;
+
+    @Mock
+    private BlockReader<BlockUnparsed> blockReader;
+
+    @Mock
+    private Notifier notifier;
+
     @Test
     public void testIsValidSubscribeStreamRequest() {
 
@@ -57,6 +94,64 @@ public class PbjBlockStreamServiceProxyTest {
         verify(helidonConsumerObserver, never()).onNext(any());
     }
 
+    @Test
+    public void testServerStatus() throws IOException {
+        final BlockNodeContext blockNodeContext = TestConfigUtil.getTestBlockNodeContext();
+        final ServiceStatus serviceStatus = new ServiceStatusImpl(blockNodeContext);
+        final PbjBlockStreamServiceProxy toTest = new PbjBlockStreamServiceProxy(
+                streamMediator,
+                serviceStatus,
+                streamPersistenceHandler,
+                streamVerificationHandler,
+                blockReader,
+                notifier,
+                NoOpHistoricStreamAdmission.newInstance(),
+                PbjInjectionModule.providesLivenessWheel(blockNodeContext),
+                blockNodeContext);
+        final ServerStatusRequest request = ServerStatusRequest.newBuilder().build();
+
+        // No block is available yet
+        assertFalse(toTest.serverStatus(request).blocksAvailable());
+
+        serviceStatus.addAvailableBlocks(1, 5);
+        final ServerStatusResponse response = toTest.serverStatus(request);
+        assertTrue(response.blocksAvailable());
+        assertEquals(1, response.firstAvailableBlock());
+        assertEquals(5, response.lastAvailableBlock());
+        assertFalse(response.onlyLatestState());
+
+        // The response is reused until the range changes
+        assertSame(response, toTest.serverStatus(request));
+        serviceStatus.addAvailableBlocks(6, 6);
+        assertEquals(6, toTest.serverStatus(request).lastAvailableBlock());
+
+        assertEquals(4, blockNodeContext.metricsService().get(ServerStatusRequests).get());
+    }
+
+    @Test
+    public void testSubscribeFilteredBlockStreamValidatesTheRange() throws IOException {
+        final BlockNodeContext blockNodeContext = TestConfigUtil.getTestBlockNodeContext();
+        final PbjBlockStreamServiceProxy toTest = new PbjBlockStreamServiceProxy(
+                streamMediator,
+                new ServiceStatusImpl(blockNodeContext),
+                streamPersistenceHandler,
+                streamVerificationHandler,
+                blockReader,
+                notifier,
+                NoOpHistoricStreamAdmission.newInstance(),
+                PbjInjectionModule.providesLivenessWheel(blockNodeContext),
+                blockNodeContext);
+        final FilteredSubscribeStreamRequest request = FilteredSubscribeStreamRequest.newBuilder()
+                .request(buildSubscribeStreamRequest(-1, 1))
+                .itemKinds(List.of(BlockItemKind.BLOCK_ITEM_KIND_BLOCK_PROOF))
+                .build();
+
+        toTest.subscribeFilteredBlockStream(request, helidonConsumerObserver);
+
+        verify(helidonConsumerObserver, times(1)).onNext(READ_STREAM_INVALID_START_BLOCK_NUMBER_RESPONSE);
+        verify(helidonConsumerObserver, times(1)).onComplete();
+    }
+
     private static Stream<Arguments> outOfRangeBlockNumbers() {
         return Stream.of(
                 Arguments.of(-1, -1, READ_STREAM_INVALID_START_BLOCK_NUMBER_RESPONSE),
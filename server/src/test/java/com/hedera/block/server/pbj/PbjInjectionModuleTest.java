@@ -0,0 +1,36 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.pbj;
+
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import com.hedera.block.server.config.BlockNodeContext;
+import com.hedera.block.server.consumer.HistoricStreamAdmission;
+import com.hedera.block.server.consumer.HistoricStreamAdmissionImpl;
+import com.hedera.block.server.events.LivenessWheel;
+import com.hedera.block.server.util.TestConfigUtil;
+import java.io.IOException;
+import org.junit.jupiter.api.Test;
+
+class PbjInjectionModuleTest {
+
+    @Test
+    void testProvidesHistoricStreamAdmission() throws IOException {
+        final BlockNodeContext blockNodeContext = TestConfigUtil.getTestBlockNodeContext();
+
+        final HistoricStreamAdmission historicStreamAdmission =
+                PbjInjectionModule.providesHistoricStreamAdmission(blockNodeContext);
+
+        assertInstanceOf(HistoricStreamAdmissionImpl.class, historicStreamAdmission);
+    }
+
+    @Test
+    void testProvidesLivenessWheel() throws IOException {
+        final BlockNodeContext blockNodeContext = TestConfigUtil.getTestBlockNodeContext();
+
+        final LivenessWheel livenessWheel = PbjInjectionModule.providesLivenessWheel(blockNodeContext);
+
+        assertNotNull(livenessWheel);
+        livenessWheel.stop();
+    }
+}
@@ -18,6 +18,10 @@ import com.hedera.block.server.persistence.storage.PersistenceStorageConfig.Stor
 import com.hedera.block.server.persistence.storage.compression.Compression;
 import com.hedera.block.server.persistence.storage.compression.NoOpCompression;
 import com.hedera.block.server.persistence.storage.compression.ZstdCompression;
+import com.hedera.block.server.persistence.storage.hashtree.FileHashTreeStore;
+import com.hedera.block.server.persistence.storage.hashtree.HashTreeConfig;
+import com.hedera.block.server.persistence.storage.hashtree.HashTreeStore;
+import com.hedera.block.server.persistence.storage.hashtree.NoOpHashTreeStore;
 import com.hedera.block.server.persistence.storage.path.BlockAsLocalFilePathResolver;
 import com.hedera.block.server.persistence.storage.path.BlockPathResolver;
 import com.hedera.block.server.persistence.storage.path.NoOpBlockPathResolver;
@@ -27,9 +31,17 @@ import com.hedera.block.server.persistence.storage.read.NoOpBlockReader;
 import com.hedera.block.server.persistence.storage.remove.BlockAsLocalFileRemover;
 import com.hedera.block.server.persistence.storage.remove.BlockRemover;
 import com.hedera.block.server.persistence.storage.remove.NoOpBlockRemover;
+import com.hedera.block.server.persistence.storage.scrub.BlockStorageScrubber;
+import com.hedera.block.server.persistence.storage.scrub.NoOpStorageScrubber;
+import com.hedera.block.server.persistence.storage.scrub.ScrubberConfig;
+import com.hedera.block.server.persistence.storage.scrub.StorageScrubber;
 import com.hedera.block.server.persistence.storage.write.AsyncBlockWriterFactory;
 import com.hedera.block.server.service.ServiceStatus;
 import com.hedera.block.server.util.TestConfigUtil;
+import com.hedera.block.server.verification.VerificationConfig;
+import com.hedera.block.server.verification.VerificationConfig.VerificationServiceType;
+import com.hedera.block.server.verification.session.BlockVerificationSessionType;
+import com.hedera.block.server.verification.signature.SignatureVerifier;
 import com.hedera.hapi.block.BlockItemUnparsed;
 import com.hedera.hapi.block.BlockUnparsed;
 import java.io.IOException;
@@ -73,6 +85,12 @@ class PersistenceInjectionModuleTest {
     @Mock
     private Executor executorMock;
 
+    @Mock
+    private BlockReader<BlockUnparsed> blockReaderMock;
+
+    @Mock
+    private SignatureVerifier signatureVerifierMock;
+
     @TempDir
     private Path testLiveRootPath;
 
@@ -121,8 +139,8 @@ class PersistenceInjectionModuleTest {
     void testProvidesBlockRemover(final StorageType storageType) {
         when(persistenceStorageConfigMock.type()).thenReturn(storageType);
 
-        final BlockRemover actual =
-                PersistenceInjectionModule.providesBlockRemover(persistenceStorageConfigMock, blockPathResolverMock);
+        final BlockRemover actual = PersistenceInjectionModule.providesBlockRemover(
+                persistenceStorageConfigMock, blockPathResolverMock, NoOpHashTreeStore.newInstance());
 
         final Class<?> targetInstanceType =
                 switch (storageType) {
@@ -188,6 +206,83 @@ class PersistenceInjectionModuleTest {
         assertThat(actual).isNotNull().isExactlyInstanceOf(targetInstanceType);
     }
 
+    /**
+     * This test aims to verify that the
+     * {@link PersistenceInjectionModule#providesStorageScrubber} method will
+     * return a {@link BlockStorageScrubber} only if scrubbing is enabled and
+     * blocks are actually stored, otherwise a {@link NoOpStorageScrubber}.
+     *
+     * @param storageType parameterized, the {@link StorageType} to test
+     */
+    @ParameterizedTest
+    @EnumSource(StorageType.class)
+    void testProvidesStorageScrubber(final StorageType storageType) throws IOException {
+        final BlockNodeContext blockNodeContext = TestConfigUtil.getTestBlockNodeContext();
+        lenient().when(persistenceStorageConfigMock.liveRootPath()).thenReturn(testLiveRootPath.toString());
+        when(persistenceStorageConfigMock.type()).thenReturn(storageType);
+        final ScrubberConfig enabledConfig = new ScrubberConfig(
+                true, 1, 1_000_000L, 100, 1, testLiveRootPath.resolve("cursor").toString());
+
+        final StorageScrubber actual = PersistenceInjectionModule.providesStorageScrubber(
+                enabledConfig,
+                persistenceStorageConfigMock,
+                new VerificationConfig(
+                        VerificationServiceType.PRODUCTION, BlockVerificationSessionType.ASYNC, 32, 256, 0, 0, 4),
+                blockReaderMock,
+                blockPathResolverMock,
+                signatureVerifierMock,
+                blockNodeContext);
+
+        final Class<?> targetInstanceType =
+                switch (storageType) {
+                    case BLOCK_AS_LOCAL_FILE -> BlockStorageScrubber.class;
+                    case NO_OP -> NoOpStorageScrubber.class;
+                };
+        assertThat(actual).isNotNull().isExactlyInstanceOf(targetInstanceType);
+    }
+
+    /**
+     * This test aims to verify that the
+     * {@link PersistenceInjectionModule#providesStorageScrubber} method will
+     * return a {@link NoOpStorageScrubber} when scrubbing is disabled.
+     */
+    @Test
+    void testProvidesStorageScrubberDisabled() throws IOException {
+        final BlockNodeContext blockNodeContext = TestConfigUtil.getTestBlockNodeContext();
+        final ScrubberConfig disabledConfig = new ScrubberConfig(false, 1, 1_000_000L, 100, 1, "");
+
+        final StorageScrubber actual = PersistenceInjectionModule.providesStorageScrubber(
+                disabledConfig,
+                persistenceStorageConfigMock,
+                new VerificationConfig(
+                        VerificationServiceType.PRODUCTION, BlockVerificationSessionType.ASYNC, 32, 256, 0, 0, 4),
+                blockReaderMock,
+                blockPathResolverMock,
+                signatureVerifierMock,
+                blockNodeContext);
+
+        assertThat(actual).isNotNull().isExactlyInstanceOf(NoOpStorageScrubber.class);
+    }
+
+    /**
+     * This test aims to verify that the
+     * {@link PersistenceInjectionModule#providesHashTreeStore} method will
+     * return a {@link FileHashTreeStore} only when hash trees are enabled.
+     */
+    @Test
+    void testProvidesHashTreeStore() {
+        final HashTreeStore disabled =
+                PersistenceInjectionModule.providesHashTreeStore(new HashTreeConfig(false, ""), blockPathResolverMock);
+        assertThat(disabled).isNotNull().isExactlyInstanceOf(NoOpHashTreeStore.class);
+        assertThat(disabled.isEnabled()).isFalse();
+
+        final HashTreeStore enabled = PersistenceInjectionModule.providesHashTreeStore(
+                new HashTreeConfig(true, testLiveRootPath.resolve("hashtree").toString()), blockPathResolverMock);
+        assertThat(enabled).isNotNull().isExactlyInstanceOf(FileHashTreeStore.class);
+        assertThat(enabled.isEnabled()).isTrue();
+        ((FileHashTreeStore) enabled).shutdown();
+    }
+
     @Test
     void testProvidesStreamValidatorBuilder() throws IOException {
         final BlockNodeContext blockNodeContext = TestConfigUtil.getTestBlockNodeContext();
@@ -2,8 +2,12 @@
 package com.hedera.block.server.persistence;
 
 import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Counter.StreamPersistenceHandlerError;
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Gauge.PersistenceWriterBacklog;
 import static com.hedera.block.server.util.PersistTestUtils.generateBlockItemsUnparsed;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -14,11 +18,16 @@ import com.hedera.block.server.events.ObjectEvent;
 import com.hedera.block.server.mediator.SubscriptionHandler;
 import com.hedera.block.server.metrics.MetricsService;
 import com.hedera.block.server.notifier.Notifier;
+import com.hedera.block.server.persistence.storage.write.AsyncBlockWriter;
 import com.hedera.block.server.persistence.storage.write.AsyncBlockWriterFactory;
 import com.hedera.block.server.service.ServiceStatus;
+import com.hedera.block.server.util.TestConfigUtil;
 import com.hedera.hapi.block.BlockItemUnparsed;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedTransferQueue;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
@@ -77,4 +86,35 @@ class StreamPersistenceHandlerImplTest {
         verify(notifier, never()).publish(any());
         verify(metricsService, never()).get(StreamPersistenceHandlerError);
     }
+
+    @Test
+    void testWriterBacklogIsUpdatedWhenTheWriterCompletes() throws IOException {
+        final BlockNodeContext testContext = TestConfigUtil.getTestBlockNodeContext();
+        when(serviceStatus.isRunning()).thenReturn(true);
+        final AsyncBlockWriter writer = mock(AsyncBlockWriter.class);
+        when(writer.getQueue()).thenReturn(new LinkedTransferQueue<>());
+        when(asyncBlockWriterFactoryMock.create(anyLong())).thenReturn(writer);
+
+        // Run the writers only when the test says so
+        final List<Runnable> writers = new ArrayList<>();
+        final StreamPersistenceHandlerImpl streamPersistenceHandler = new StreamPersistenceHandlerImpl(
+                subscriptionHandler,
+                notifier,
+                testContext,
+                serviceStatus,
+                ackHandlerMock,
+                asyncBlockWriterFactoryMock,
+                writers::add);
+
+        final ObjectEvent<List<BlockItemUnparsed>> event = new ObjectEvent<>();
+        event.set(generateBlockItemsUnparsed(1));
+        streamPersistenceHandler.onEvent(event, 0, false);
+
+        assertThat(testContext.metricsService().get(PersistenceWriterBacklog).get()).isEqualTo(1);
+
+        // No further event is needed for the backlog to drop
+        writers.forEach(Runnable::run);
+
+        assertThat(testContext.metricsService().get(PersistenceWriterBacklog).get()).isZero();
+    }
 }
@@ -42,6 +42,8 @@ class PersistenceStorageConfigTest {
     // Archiving defaults
     private static final boolean DEFAULT_ARCHIVE_ENABLED = true;
     private static final int DEFAULT_ARCHIVE_BATCH_SIZE = 1000;
+    // Repair defaults
+    private static final String DEFAULT_REPAIR_ROOT_PATH = "";
 
     @AfterEach
     void tearDown() {
@@ -77,7 +79,8 @@ class PersistenceStorageConfigTest {
                 CompressionType.NONE,
                 DEFAULT_COMPRESSION_LEVEL,
                 DEFAULT_ARCHIVE_ENABLED,
-                DEFAULT_ARCHIVE_BATCH_SIZE);
+                DEFAULT_ARCHIVE_BATCH_SIZE,
+                DEFAULT_REPAIR_ROOT_PATH);
         assertThat(actual).returns(storageType, from(PersistenceStorageConfig::type));
     }
 
@@ -105,7 +108,8 @@ class PersistenceStorageConfigTest {
                 CompressionType.NONE,
                 DEFAULT_COMPRESSION_LEVEL,
                 DEFAULT_ARCHIVE_ENABLED,
-                DEFAULT_ARCHIVE_BATCH_SIZE);
+                DEFAULT_ARCHIVE_BATCH_SIZE,
+                DEFAULT_REPAIR_ROOT_PATH);
         assertThat(actual)
                 .returns(expectedLiveRootPathToTest, from(PersistenceStorageConfig::liveRootPath))
                 .returns(expectedArchiveRootPathToTest, from(PersistenceStorageConfig::archiveRootPath));
@@ -133,7 +137,8 @@ class PersistenceStorageConfigTest {
                         CompressionType.NONE,
                         DEFAULT_COMPRESSION_LEVEL,
                         DEFAULT_ARCHIVE_ENABLED,
-                        DEFAULT_ARCHIVE_BATCH_SIZE));
+                        DEFAULT_ARCHIVE_BATCH_SIZE,
+                        DEFAULT_REPAIR_ROOT_PATH));
     }
 
     /**
@@ -153,7 +158,8 @@ class PersistenceStorageConfigTest {
                 compressionType,
                 compressionLevel,
                 DEFAULT_ARCHIVE_ENABLED,
-                DEFAULT_ARCHIVE_BATCH_SIZE);
+                DEFAULT_ARCHIVE_BATCH_SIZE,
+                DEFAULT_REPAIR_ROOT_PATH);
         assertThat(actual).returns(compressionLevel, from(PersistenceStorageConfig::compressionLevel));
     }
 
@@ -176,7 +182,8 @@ class PersistenceStorageConfigTest {
                         compressionType,
                         compressionLevel,
                         DEFAULT_ARCHIVE_ENABLED,
-                        DEFAULT_ARCHIVE_BATCH_SIZE));
+                        DEFAULT_ARCHIVE_BATCH_SIZE,
+                        DEFAULT_REPAIR_ROOT_PATH));
     }
 
     /**
@@ -195,7 +202,8 @@ class PersistenceStorageConfigTest {
                 compressionType,
                 DEFAULT_COMPRESSION_LEVEL,
                 DEFAULT_ARCHIVE_ENABLED,
-                DEFAULT_ARCHIVE_BATCH_SIZE);
+                DEFAULT_ARCHIVE_BATCH_SIZE,
+                DEFAULT_REPAIR_ROOT_PATH);
         assertThat(actual).returns(compressionType, from(PersistenceStorageConfig::compression));
     }
 
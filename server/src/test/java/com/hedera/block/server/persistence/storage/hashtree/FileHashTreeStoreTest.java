@@ -0,0 +1,228 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.persistence.storage.hashtree;
+
+import static com.hedera.block.common.hasher.HashingUtilities.HASH_SIZE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import com.hedera.block.common.hasher.Hashes;
+import com.hedera.block.common.hasher.HashingUtilities;
+import com.hedera.block.common.hasher.NaiveStreamingTreeHasher;
+import com.hedera.block.server.persistence.storage.path.BlockPathResolver;
+import com.hedera.hapi.block.BlockItemProofResponse;
+import com.hedera.hapi.block.BlockItemProofResponseCode;
+import com.hedera.hapi.block.BlockItemUnparsed;
+import com.hedera.hapi.block.ItemInclusionProof;
+import com.hedera.hapi.block.MerkleSibling;
+import com.hedera.hapi.block.stream.BlockProof;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.ZipOutputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Tests for the {@link FileHashTreeStore} class, checking the served proofs against the block
+ * hash computed the way blocks are verified.
+ */
+@ExtendWith(MockitoExtension.class)
+class FileHashTreeStoreTest {
+    private static final BlockProof BLOCK_PROOF = BlockProof.newBuilder()
+            .previousBlockRootHash(HashingUtilities.noThrowSha384HashOf(bytesOf("previous")))
+            .startOfBlockStateRootHash(HashingUtilities.noThrowSha384HashOf(bytesOf("state")))
+            .build();
+
+    @TempDir
+    private Path testTempDir;
+
+    @Mock
+    private BlockPathResolver blockPathResolverMock;
+
+    private FileHashTreeStore toTest;
+
+    @BeforeEach
+    void setUp() {
+        toTest = new FileHashTreeStore(testTempDir, blockPathResolverMock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        toTest.shutdown();
+    }
+
+    /**
+     * This test aims to verify that the proof of every leaf item folds up to
+     * the block hash computed by the tree hashers, for trees of various sizes,
+     * including trees padded with empty leaves.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 3, 5, 8, 100})
+    void testItemProofsFoldToTheBlockHash(final int transactionCount) throws IOException {
+        final List<BlockItemUnparsed> blockItems = blockItems(transactionCount);
+        final Bytes expectedBlockHash = storeBlock(42L, blockItems);
+
+        for (int i = 0; i < blockItems.size(); i++) {
+            final BlockItemProofResponse response = toTest.readItemProof(42L, i);
+            if (blockItems.get(i).item().kind() == BlockItemUnparsed.ItemOneOfType.BLOCK_PROOF) {
+                assertThat(response.status()).isEqualTo(BlockItemProofResponseCode.ITEM_PROOF_NOT_A_LEAF);
+                continue;
+            }
+            assertThat(response.status()).as("item %d", i).isEqualTo(BlockItemProofResponseCode.ITEM_PROOF_SUCCESS);
+            final ItemInclusionProof proof = response.proof();
+            assertThat(proof).isNotNull();
+            assertThat(proof.itemHash())
+                    .isEqualTo(Bytes.wrap(HashingUtilities.getBlockItemHash(blockItems.get(i))
+                            .array()));
+            assertThat(proof.blockHash()).isEqualTo(expectedBlockHash);
+            assertThat(fold(proof)).as("item %d", i).isEqualTo(expectedBlockHash);
+        }
+    }
+
+    @Test
+    void testItemProofsOfSeveralBatches() throws IOException {
+        final List<BlockItemUnparsed> blockItems = blockItems(20);
+        final HashTreeRecorder recorder = new HashTreeRecorder();
+        for (int start = 0; start < blockItems.size(); start += 7) {
+            final List<BlockItemUnparsed> batch = blockItems.subList(start, Math.min(start + 7, blockItems.size()));
+            recorder.record(batch, HashingUtilities.getBlockHashes(batch));
+        }
+        toTest.store(recorder.build(7L, BLOCK_PROOF)).join();
+
+        final Bytes expectedBlockHash = blockHash(HashingUtilities.getBlockHashes(blockItems));
+        for (int i = 0; i < blockItems.size() - 1; i++) {
+            final ItemInclusionProof proof = toTest.readItemProof(7L, i).proof();
+            assertThat(proof).isNotNull();
+            assertThat(fold(proof)).as("item %d", i).isEqualTo(expectedBlockHash);
+        }
+    }
+
+    @Test
+    void testItemProofNotFound() throws IOException {
+        final List<BlockItemUnparsed> blockItems = blockItems(3);
+        storeBlock(1L, blockItems);
+
+        assertThat(toTest.readItemProof(1L, blockItems.size()).status())
+                .isEqualTo(BlockItemProofResponseCode.ITEM_PROOF_NOT_FOUND);
+        assertThat(toTest.readItemProof(1L, -1).status()).isEqualTo(BlockItemProofResponseCode.ITEM_PROOF_NOT_FOUND);
+        assertThat(toTest.readItemProof(2L, 0).status()).isEqualTo(BlockItemProofResponseCode.ITEM_PROOF_NOT_FOUND);
+    }
+
+    @Test
+    void testStoreReplacesThePreviousTree() throws IOException {
+        storeBlock(3L, blockItems(2));
+        final List<BlockItemUnparsed> blockItems = blockItems(9);
+        final Bytes expectedBlockHash = storeBlock(3L, blockItems);
+
+        final ItemInclusionProof proof = toTest.readItemProof(3L, 12).proof();
+        assertThat(proof).isNotNull();
+        assertThat(proof.blockHash()).isEqualTo(expectedBlockHash);
+    }
+
+    /**
+     * This test aims to verify that once the hash tree of a block is written
+     * to the archive of the block and removed, the proofs of its items are
+     * read from the archive.
+     */
+    @Test
+    void testItemProofsOfArchivedBlock() throws IOException {
+        final List<BlockItemUnparsed> blockItems = blockItems(5);
+        final Bytes expectedBlockHash = storeBlock(5L, blockItems);
+        final Path zipFilePath = testTempDir.resolve("archive.zip");
+        try (final ZipOutputStream zipOutputStream = new ZipOutputStream(Files.newOutputStream(zipFilePath))) {
+            assertThat(toTest.archive(5L, zipOutputStream)).isTrue();
+            assertThat(toTest.archive(6L, zipOutputStream)).isFalse();
+        }
+        assertThat(toTest.remove(5L)).isTrue();
+        assertThat(toTest.remove(5L)).isFalse();
+
+        // removed, but the archive of the block is not found
+        assertThat(toTest.readItemProof(5L, 0).status()).isEqualTo(BlockItemProofResponseCode.ITEM_PROOF_NOT_FOUND);
+
+        when(blockPathResolverMock.findArchiveGroup(5L)).thenReturn(Optional.of(zipFilePath));
+        for (int i = 0; i < blockItems.size() - 1; i++) {
+            final BlockItemProofResponse response = toTest.readItemProof(5L, i);
+            assertThat(response.status()).as("item %d", i).isEqualTo(BlockItemProofResponseCode.ITEM_PROOF_SUCCESS);
+            assertThat(fold(response.proof())).as("item %d", i).isEqualTo(expectedBlockHash);
+        }
+        assertThat(toTest.readItemProof(5L, blockItems.size() - 1).status())
+                .isEqualTo(BlockItemProofResponseCode.ITEM_PROOF_NOT_A_LEAF);
+
+        // the archive holds no hash tree of this block
+        when(blockPathResolverMock.findArchiveGroup(6L)).thenReturn(Optional.of(zipFilePath));
+        assertThat(toTest.readItemProof(6L, 0).status()).isEqualTo(BlockItemProofResponseCode.ITEM_PROOF_NOT_FOUND);
+    }
+
+    private Bytes storeBlock(final long blockNumber, final List<BlockItemUnparsed> blockItems) {
+        final Hashes hashes = HashingUtilities.getBlockHashes(blockItems);
+        final HashTreeRecorder recorder = new HashTreeRecorder();
+        recorder.record(blockItems, hashes);
+        toTest.store(recorder.build(blockNumber, BLOCK_PROOF)).join();
+        return blockHash(hashes);
+    }
+
+    private static Bytes blockHash(final Hashes hashes) {
+        return HashingUtilities.computeFinalBlockHash(
+                BLOCK_PROOF, treeHasherOf(hashes.inputHashes()), treeHasherOf(hashes.outputHashes()));
+    }
+
+    private static NaiveStreamingTreeHasher treeHasherOf(final ByteBuffer hashes) {
+        final NaiveStreamingTreeHasher treeHasher = new NaiveStreamingTreeHasher();
+        final ByteBuffer leaves = hashes.duplicate();
+        while (leaves.hasRemaining()) {
+            treeHasher.addLeaf(leaves.slice(leaves.position(), HASH_SIZE));
+            leaves.position(leaves.position() + HASH_SIZE);
+        }
+        return treeHasher;
+    }
+
+    private static Bytes fold(final ItemInclusionProof proof) {
+        Bytes hash = proof.itemHash();
+        for (final MerkleSibling sibling : proof.siblings()) {
+            hash = sibling.isLeft()
+                    ? HashingUtilities.combine(sibling.hash(), hash)
+                    : HashingUtilities.combine(hash, sibling.hash());
+        }
+        return hash;
+    }
+
+    /**
+     * @return a block header, then an event header, an event transaction and a transaction result
+     * for each transaction, then a block proof
+     */
+    private static List<BlockItemUnparsed> blockItems(final int transactionCount) {
+        final List<BlockItemUnparsed> blockItems = new ArrayList<>();
+        blockItems.add(
+                BlockItemUnparsed.newBuilder().blockHeader(bytesOf("header")).build());
+        for (int i = 0; i < transactionCount; i++) {
+            blockItems.add(BlockItemUnparsed.newBuilder()
+                    .eventHeader(bytesOf("event " + i))
+                    .build());
+            blockItems.add(BlockItemUnparsed.newBuilder()
+                    .eventTransaction(bytesOf("transaction " + i))
+                    .build());
+            blockItems.add(BlockItemUnparsed.newBuilder()
+                    .transactionResult(bytesOf("result " + i))
+                    .build());
+        }
+        blockItems.add(BlockItemUnparsed.newBuilder().blockProof(bytesOf("proof")).build());
+        return blockItems;
+    }
+
+    private static Bytes bytesOf(final String value) {
+        return Bytes.wrap(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
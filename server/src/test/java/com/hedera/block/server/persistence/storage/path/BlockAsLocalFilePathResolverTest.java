@@ -10,6 +10,7 @@ import com.hedera.block.server.Constants;
 import com.hedera.block.server.config.BlockNodeContext;
 import com.hedera.block.server.persistence.storage.PersistenceStorageConfig;
 import com.hedera.block.server.persistence.storage.PersistenceStorageConfig.CompressionType;
+import com.hedera.block.server.service.AvailableBlockRange;
 import com.hedera.block.server.util.TestConfigUtil;
 import java.io.IOException;
 import java.io.OutputStream;
@@ -22,6 +23,7 @@ import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
 import org.assertj.core.api.InstanceOfAssertFactories;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -303,6 +305,41 @@ class BlockAsLocalFilePathResolverTest {
         assertThat(actual).isNotNull().isEmpty();
     }
 
+    /**
+     * This test aims to verify that the
+     * {@link BlockAsLocalFilePathResolver#findArchiveGroup(long)} correctly finds
+     * the zip file of the group a block belongs to, and returns an empty
+     * {@link Optional} before the group is archived.
+     *
+     * @param blockNumber parameterized, valid block number
+     */
+    @ParameterizedTest
+    @MethodSource("validBlockNumbers")
+    void testFindArchiveGroup(final long blockNumber) throws IOException {
+        final ArchiveBlockPath archiveBlockPath = toTest.resolveRawArchivePath(blockNumber);
+        final Path expected = archiveBlockPath.dirPath().resolve(archiveBlockPath.zipFileName());
+
+        assertThat(toTest.findArchiveGroup(blockNumber)).isNotNull().isEmpty();
+
+        createTestZipWithEntry(archiveBlockPath);
+
+        assertThat(toTest.findArchiveGroup(blockNumber)).isNotNull().contains(expected);
+    }
+
+    /**
+     * This test aims to verify that the
+     * {@link BlockAsLocalFilePathResolver#findArchiveGroup(long)} correctly throws an
+     * {@link IllegalArgumentException} when an invalid block number
+     * is provided.
+     *
+     * @param blockNumber parameterized, invalid block number
+     */
+    @ParameterizedTest
+    @MethodSource("invalidBlockNumbers")
+    void testInvalidBlockNumberFindArchiveGroup(final long blockNumber) {
+        assertThatIllegalArgumentException().isThrownBy(() -> toTest.findArchiveGroup(blockNumber));
+    }
+
     /**
      * This test aims to verify that the
      * {@link BlockAsLocalFilePathResolver#findArchivedBlock(long)} correctly throws an
@@ -317,6 +354,25 @@ class BlockAsLocalFilePathResolverTest {
         assertThatIllegalArgumentException().isThrownBy(() -> toTest.findArchivedBlock(blockNumber));
     }
 
+    /**
+     * This test aims to verify that the
+     * {@link BlockAsLocalFilePathResolver#findAvailableBlockRange()} finds
+     * the range of the verified and archived blocks, skipping unverified
+     * blocks and sidecar files, and is empty when no block is stored.
+     */
+    @Test
+    void testFindAvailableBlockRange() throws IOException {
+        assertThat(toTest.findAvailableBlockRange()).isEqualTo(AvailableBlockRange.EMPTY);
+
+        createTestZipWithEntry(toTest.resolveRawArchivePath(3L));
+        createTestFile(toTest.resolveLiveRawPathToBlock(15L), CompressionType.ZSTD.getFileExtension());
+        createTestFile(toTest.resolveLiveRawPathToBlock(17L), "");
+        createTestFile(toTest.resolveLiveRawPathToBlock(17L), Constants.CHECKSUM_FILE_EXTENSION);
+        createTestFile(toTest.resolveLiveRawUnverifiedPathToBlock(20L), "");
+
+        assertThat(toTest.findAvailableBlockRange()).isEqualTo(new AvailableBlockRange(3L, 17L));
+    }
+
     /**
      * This test aims to verify that the
      * {@link BlockAsLocalFilePathResolver#existsVerifiedBlock(long)} correctly
@@ -535,6 +591,12 @@ class BlockAsLocalFilePathResolverTest {
          // spotless:on
     }
 
+    private static void createTestFile(final Path rawPath, final String extension) throws IOException {
+        final Path path = rawPath.resolveSibling(rawPath.getFileName() + extension);
+        Files.createDirectories(path.getParent());
+        Files.createFile(path);
+    }
+
     private void createTestZipWithEntry(final ArchiveBlockPath archiveBlockPath) throws IOException {
         Files.createDirectories(archiveBlockPath.dirPath());
         try (final OutputStream zipOutputStream =
@@ -5,9 +5,11 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 
 import com.hedera.block.server.Constants;
+import com.hedera.block.server.service.AvailableBlockRange;
 import java.nio.file.Path;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -85,6 +87,29 @@ class NoOpBlockPathResolverTest {
         assertThat(toTest.findArchivedBlock(toResolve)).isNotNull().isEmpty();
     }
 
+    /**
+     * This test aims to verify that the
+     * {@link NoOpBlockPathResolver#findArchiveGroup(long)} always returns an
+     * empty optional.
+     *
+     * @param toResolve parameterized, block number
+     */
+    @ParameterizedTest
+    @MethodSource({"validBlockNumbers", "invalidBlockNumbers"})
+    void testFindArchiveGroup(final long toResolve) {
+        assertThat(toTest.findArchiveGroup(toResolve)).isNotNull().isEmpty();
+    }
+
+    /**
+     * This test aims to verify that the
+     * {@link NoOpBlockPathResolver#findAvailableBlockRange()} always returns
+     * an empty range.
+     */
+    @Test
+    void testFindAvailableBlockRange() {
+        assertThat(toTest.findAvailableBlockRange()).isEqualTo(AvailableBlockRange.EMPTY);
+    }
+
     /**
      * This test aims to verify that the
      * {@link NoOpBlockPathResolver#existsVerifiedBlock(long)}
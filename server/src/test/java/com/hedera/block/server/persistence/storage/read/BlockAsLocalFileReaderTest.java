@@ -3,12 +3,14 @@ package com.hedera.block.server.persistence.storage.read;
 
 import static com.hedera.block.server.util.PersistTestUtils.PERSISTENCE_STORAGE_LIVE_ROOT_PATH_KEY;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIOException;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.assertj.core.api.Assertions.from;
 import static org.mockito.Mockito.spy;
 
 import com.hedera.block.server.config.BlockNodeContext;
 import com.hedera.block.server.persistence.storage.PersistenceStorageConfig;
+import com.hedera.block.server.persistence.storage.checksum.BlockChecksums;
 import com.hedera.block.server.persistence.storage.compression.Compression;
 import com.hedera.block.server.persistence.storage.compression.NoOpCompression;
 import com.hedera.block.server.persistence.storage.path.BlockAsLocalFilePathResolver;
@@ -149,6 +151,91 @@ class BlockAsLocalFileReaderTest {
         assertThatIllegalArgumentException().isThrownBy(() -> toTest.read(toRead));
     }
 
+    /**
+     * This test aims to verify that the {@link BlockAsLocalFileReader#read(long)} correctly reads a block whose
+     * stored checksum sidecar matches the persisted bytes.
+     */
+    @ParameterizedTest
+    @MethodSource("validBlockNumbers")
+    void testSuccessfulBlockReadWithMatchingChecksum(final long blockNumber) throws IOException, ParseException {
+        final List<BlockItemUnparsed> blockItemUnparsed =
+                PersistTestUtils.generateBlockItemsUnparsedForWithBlockNumber(blockNumber);
+        final Path written = createAndWriteBlockAsFile(blockNumber, blockItemUnparsed);
+        BlockChecksums.writeChecksum(written, BlockChecksums.compute(Files.readAllBytes(written)));
+
+        final Optional<BlockUnparsed> actual = toTest.read(blockNumber);
+        assertThat(actual)
+                .isNotNull()
+                .isPresent()
+                .get(InstanceOfAssertFactories.type(BlockUnparsed.class))
+                .extracting(BlockUnparsed::blockItems)
+                .asInstanceOf(InstanceOfAssertFactories.LIST)
+                .containsExactlyElementsOf(blockItemUnparsed);
+    }
+
+    /**
+     * This test aims to verify that the {@link BlockAsLocalFileReader#read(long)} falls back to the repair source
+     * when the stored checksum does not match the persisted bytes.
+     */
+    @ParameterizedTest
+    @MethodSource("validBlockNumbers")
+    void testChecksumMismatchFallsBackToRepairSource(final long blockNumber) throws IOException, ParseException {
+        final List<BlockItemUnparsed> blockItemUnparsed =
+                PersistTestUtils.generateBlockItemsUnparsedForWithBlockNumber(blockNumber);
+        final Path written = createAndWriteBlockAsFile(blockNumber, blockItemUnparsed);
+        final long validChecksum = BlockChecksums.compute(Files.readAllBytes(written));
+        BlockChecksums.writeChecksum(written, ~validChecksum & 0xFFFFFFFFL);
+
+        final BlockUnparsed repaired =
+                BlockUnparsed.newBuilder().blockItems(blockItemUnparsed).build();
+        final BlockReader<BlockUnparsed> repairSource = n -> Optional.of(repaired);
+        final BlockAsLocalFileReader withRepair =
+                BlockAsLocalFileReader.of(compressionMock, blockPathResolverMock, repairSource);
+
+        assertThat(withRepair.read(blockNumber)).isNotNull().isPresent().containsSame(repaired);
+    }
+
+    /**
+     * This test aims to verify that the {@link BlockAsLocalFileReader#read(long)} falls back to the repair source
+     * when the persisted bytes are corrupted after their checksum was stored.
+     */
+    @ParameterizedTest
+    @MethodSource("validBlockNumbers")
+    void testCorruptedBytesFallBackToRepairSource(final long blockNumber) throws IOException, ParseException {
+        final List<BlockItemUnparsed> blockItemUnparsed =
+                PersistTestUtils.generateBlockItemsUnparsedForWithBlockNumber(blockNumber);
+        final Path written = createAndWriteBlockAsFile(blockNumber, blockItemUnparsed);
+        final byte[] stored = Files.readAllBytes(written);
+        BlockChecksums.writeChecksum(written, BlockChecksums.compute(stored));
+        // corrupt the first tag of the stored bytes
+        stored[0] = (byte) 0xFF;
+        Files.write(written, stored);
+
+        final BlockUnparsed repaired =
+                BlockUnparsed.newBuilder().blockItems(blockItemUnparsed).build();
+        final BlockReader<BlockUnparsed> repairSource = n -> Optional.of(repaired);
+        final BlockAsLocalFileReader withRepair =
+                BlockAsLocalFileReader.of(compressionMock, blockPathResolverMock, repairSource);
+
+        assertThat(withRepair.read(blockNumber)).isNotNull().isPresent().containsSame(repaired);
+    }
+
+    /**
+     * This test aims to verify that the {@link BlockAsLocalFileReader#read(long)} throws an {@link IOException}
+     * when the stored checksum does not match and the repair source cannot provide the block.
+     */
+    @ParameterizedTest
+    @MethodSource("validBlockNumbers")
+    void testChecksumMismatchWithoutRepairThrows(final long blockNumber) throws IOException {
+        final List<BlockItemUnparsed> blockItemUnparsed =
+                PersistTestUtils.generateBlockItemsUnparsedForWithBlockNumber(blockNumber);
+        final Path written = createAndWriteBlockAsFile(blockNumber, blockItemUnparsed);
+        final long validChecksum = BlockChecksums.compute(Files.readAllBytes(written));
+        BlockChecksums.writeChecksum(written, ~validChecksum & 0xFFFFFFFFL);
+
+        assertThatIOException().isThrownBy(() -> toTest.read(blockNumber));
+    }
+
     private Path createAndWriteBlockAsFile(final long blockNumber, final List<BlockItemUnparsed> blockItemUnparsed)
             throws IOException {
         final BlockUnparsed block =
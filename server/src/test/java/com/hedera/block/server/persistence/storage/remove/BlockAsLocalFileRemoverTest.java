@@ -5,11 +5,14 @@ import static com.hedera.block.server.util.PersistTestUtils.PERSISTENCE_STORAGE_
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.hedera.block.server.Constants;
 import com.hedera.block.server.config.BlockNodeContext;
 import com.hedera.block.server.persistence.storage.PersistenceStorageConfig;
+import com.hedera.block.server.persistence.storage.hashtree.HashTreeStore;
 import com.hedera.block.server.persistence.storage.path.BlockPathResolver;
 import com.hedera.block.server.util.TestConfigUtil;
 import java.io.IOException;
@@ -28,6 +31,7 @@ import org.junit.jupiter.params.provider.MethodSource;
  */
 class BlockAsLocalFileRemoverTest {
     private BlockPathResolver blockPathResolverMock;
+    private HashTreeStore hashTreeStoreMock;
     private BlockAsLocalFileRemover toTest;
 
     @TempDir
@@ -44,13 +48,14 @@ class BlockAsLocalFileRemoverTest {
         assertThat(testConfigLiveRootPath).isEqualTo(testLiveRootPath.toString());
 
         blockPathResolverMock = mock(BlockPathResolver.class);
-        toTest = new BlockAsLocalFileRemover(blockPathResolverMock);
+        hashTreeStoreMock = mock(HashTreeStore.class);
+        toTest = new BlockAsLocalFileRemover(blockPathResolverMock, hashTreeStoreMock);
     }
 
     /**
      * This test aims to verify that the
      * {@link BlockAsLocalFileRemover#removeLiveUnverified(long)} correctly
-     * deletes a block with the given block number.
+     * deletes a block with the given block number, along with its hash tree.
      *
      * @param toRemove parameterized, block number
      */
@@ -72,6 +77,7 @@ class BlockAsLocalFileRemoverTest {
         final boolean actual = toTest.removeLiveUnverified(toRemove);
         assertThat(actual).isTrue();
         assertThat(unverifiedPath).doesNotExist();
+        verify(hashTreeStoreMock).remove(toRemove);
     }
 
     /**
@@ -96,6 +102,7 @@ class BlockAsLocalFileRemoverTest {
         final boolean actual = toTest.removeLiveUnverified(toRemove);
         assertThat(actual).isFalse();
         assertThat(unverifiedPath).doesNotExist();
+        verifyNoInteractions(hashTreeStoreMock);
     }
 
     /**
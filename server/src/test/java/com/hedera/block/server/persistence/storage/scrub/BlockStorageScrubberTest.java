@@ -0,0 +1,247 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.persistence.storage.scrub;
+
+import static com.hedera.block.common.utils.FileUtilities.readGzipFileUnsafe;
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Counter.ScrubberBlocksFailed;
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Counter.ScrubberBlocksVerified;
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Counter.ScrubberBytesRead;
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Gauge.ScrubberCursor;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.hedera.block.server.metrics.MetricsService;
+import com.hedera.block.server.persistence.storage.PersistenceStorageConfig.CompressionType;
+import com.hedera.block.server.persistence.storage.path.BlockPathResolver;
+import com.hedera.block.server.persistence.storage.path.LiveBlockPath;
+import com.hedera.block.server.persistence.storage.read.BlockReader;
+import com.hedera.block.server.service.AvailableBlockRange;
+import com.hedera.block.server.util.TestConfigUtil;
+import com.hedera.block.server.verification.signature.SignatureVerifier;
+import com.hedera.hapi.block.BlockUnparsed;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Tests for the {@link BlockStorageScrubber} class.
+ */
+@ExtendWith(MockitoExtension.class)
+class BlockStorageScrubberTest {
+    private static final Bytes HASHING_01_BLOCK_HASH = Bytes.fromHex(
+            "24ec308ac4b552c83fcde20ba443bf7b69ae435f8e74f09086bfb339151f65a7c6f06eb2bdc4c50b69a12685f6168e84");
+
+    @Mock
+    private BlockReader<BlockUnparsed> blockReaderMock;
+
+    @Mock
+    private BlockPathResolver blockPathResolverMock;
+
+    @Mock
+    private SignatureVerifier signatureVerifierMock;
+
+    @TempDir
+    private Path testTempDir;
+
+    private MetricsService metricsService;
+    private Path cursorFile;
+    private Path storedBlock01;
+    private BlockStorageScrubber toTest;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        metricsService = TestConfigUtil.getTestBlockNodeContext().metricsService();
+        cursorFile = testTempDir.resolve("scrubber.cursor");
+        // the test block is block 1, the only one stored, so the pass moves up to it
+        ScrubCursor.START.store(cursorFile);
+        storedBlock01 = Path.of(getClass().getResource("/test-blocks/hashing-01.blk.gz").toURI());
+        final BlockUnparsed block01 = BlockUnparsed.PROTOBUF.parse(Bytes.wrap(readGzipFileUnsafe(storedBlock01)));
+        lenient().when(blockReaderMock.read(anyLong())).thenReturn(Optional.empty());
+        lenient().when(blockReaderMock.read(1L)).thenReturn(Optional.of(block01));
+        lenient().when(blockPathResolverMock.findAvailableBlockRange()).thenReturn(new AvailableBlockRange(1L, 1L));
+        storeBlock(1L);
+        toTest = newScrubber();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        toTest.stop();
+    }
+
+    /**
+     * This test aims to verify that a stored block with a valid proof is
+     * reported as verified and that the cursor advances past it, carrying its
+     * recomputed hash for the chain check of the next block.
+     */
+    @Test
+    void testVerifiesStoredBlock() throws Exception {
+        when(signatureVerifierMock.verifySignature(any(Bytes.class), any(Bytes.class)))
+                .thenReturn(true);
+        final long verifiedBefore = metricsService.get(ScrubberBlocksVerified).get();
+
+        final boolean moreBlocks = toTest.scrubNextWindow();
+
+        assertThat(moreBlocks).isFalse();
+        assertThat(metricsService.get(ScrubberBlocksVerified).get()).isEqualTo(verifiedBefore + 1);
+        assertThat(ScrubCursor.load(cursorFile)).isEqualTo(new ScrubCursor(2L, HASHING_01_BLOCK_HASH));
+        assertThat(metricsService.get(ScrubberCursor).get()).isEqualTo(2L);
+    }
+
+    /**
+     * This test aims to verify that the bytes read are the bytes the block
+     * occupies on disk rather than the size of the decoded block.
+     */
+    @Test
+    void testCountsTheStoredBytesRead() throws Exception {
+        final long bytesReadBefore = metricsService.get(ScrubberBytesRead).get();
+
+        final ScrubResult result = toTest.scrubBlock(1L);
+
+        assertThat(result.storedBytes()).isEqualTo(Files.size(storedBlock01));
+        assertThat(metricsService.get(ScrubberBytesRead).get()).isEqualTo(bytesReadBefore + Files.size(storedBlock01));
+    }
+
+    /**
+     * This test aims to verify that a block that is not stored is not read.
+     */
+    @Test
+    void testSkipsReadingMissingBlock() throws Exception {
+        final long bytesReadBefore = metricsService.get(ScrubberBytesRead).get();
+
+        assertThat(toTest.scrubBlock(2L).status()).isEqualTo(ScrubStatus.MISSING);
+        assertThat(metricsService.get(ScrubberBytesRead).get()).isEqualTo(bytesReadBefore);
+        verify(blockReaderMock, never()).read(2L);
+    }
+
+    /**
+     * This test aims to verify that a stored block whose recomputed hash does
+     * not match the signature in its proof is reported as failed.
+     */
+    @Test
+    void testReportsInvalidSignature() throws Exception {
+        when(signatureVerifierMock.verifySignature(any(Bytes.class), any(Bytes.class)))
+                .thenReturn(false);
+
+        assertThat(toTest.scrubBlock(1L).status()).isEqualTo(ScrubStatus.INVALID_HASH_OR_SIGNATURE);
+
+        final long failedBefore = metricsService.get(ScrubberBlocksFailed).get();
+        toTest.scrubNextWindow();
+        assertThat(metricsService.get(ScrubberBlocksFailed).get()).isEqualTo(failedBefore + 1);
+        assertThat(ScrubCursor.load(cursorFile).nextBlockNumber()).isEqualTo(2L);
+    }
+
+    /**
+     * This test aims to verify that a stored block whose proof does not
+     * reference the hash of the preceding block is reported as failed.
+     */
+    @Test
+    void testReportsBrokenChain() throws Exception {
+        when(signatureVerifierMock.verifySignature(any(Bytes.class), any(Bytes.class)))
+                .thenReturn(true);
+        toTest.stop();
+        new ScrubCursor(1L, HASHING_01_BLOCK_HASH).store(cursorFile);
+        toTest = newScrubber();
+        final long failedBefore = metricsService.get(ScrubberBlocksFailed).get();
+
+        toTest.scrubNextWindow();
+
+        assertThat(metricsService.get(ScrubberBlocksFailed).get()).isEqualTo(failedBefore + 1);
+    }
+
+    /**
+     * This test aims to verify that a block that cannot be read is reported
+     * as failed, the scrubber moves past it and the chain check of the next
+     * block is skipped since the hash is unknown.
+     */
+    @Test
+    void testReportsUnreadableBlock() throws Exception {
+        when(blockReaderMock.read(1L)).thenThrow(new IOException("checksum mismatch"));
+        final long failedBefore = metricsService.get(ScrubberBlocksFailed).get();
+
+        toTest.scrubNextWindow();
+
+        assertThat(metricsService.get(ScrubberBlocksFailed).get()).isEqualTo(failedBefore + 1);
+        assertThat(ScrubCursor.load(cursorFile)).isEqualTo(new ScrubCursor(2L, Bytes.EMPTY));
+    }
+
+    /**
+     * This test aims to verify that a new scrubber resumes from the cursor
+     * persisted by a previous one.
+     */
+    @Test
+    void testResumesFromPersistedCursor() throws Exception {
+        when(signatureVerifierMock.verifySignature(any(Bytes.class), any(Bytes.class)))
+                .thenReturn(true);
+        toTest.scrubNextWindow();
+        toTest.stop();
+
+        toTest = newScrubber();
+
+        assertThat(metricsService.get(ScrubberCursor).get()).isEqualTo(2L);
+        assertThat(toTest.scrubNextWindow()).isFalse();
+        assertThat(ScrubCursor.load(cursorFile)).isEqualTo(new ScrubCursor(2L, HASHING_01_BLOCK_HASH));
+    }
+
+    /**
+     * This test aims to verify that blocks missing between the lowest and the
+     * highest stored blocks are stepped over rather than ending the pass, and
+     * that the chain check of the block after a gap is skipped.
+     */
+    @Test
+    void testStepsOverMissingBlocks() throws Exception {
+        when(signatureVerifierMock.verifySignature(any(Bytes.class), any(Bytes.class)))
+                .thenReturn(true);
+        when(blockPathResolverMock.findAvailableBlockRange()).thenReturn(new AvailableBlockRange(1L, 3L));
+        storeBlock(3L);
+        final long verifiedBefore = metricsService.get(ScrubberBlocksVerified).get();
+
+        // blocks 1 and 2, block 2 is missing
+        assertThat(toTest.scrubNextWindow()).isTrue();
+        assertThat(metricsService.get(ScrubberBlocksVerified).get()).isEqualTo(verifiedBefore + 1);
+        assertThat(ScrubCursor.load(cursorFile)).isEqualTo(new ScrubCursor(3L, Bytes.EMPTY));
+
+        // block 3, the last stored block, ends the pass
+        when(blockReaderMock.read(3L)).thenThrow(new IOException("checksum mismatch"));
+        final long failedBefore = metricsService.get(ScrubberBlocksFailed).get();
+        assertThat(toTest.scrubNextWindow()).isFalse();
+        assertThat(metricsService.get(ScrubberBlocksFailed).get()).isEqualTo(failedBefore + 1);
+        assertThat(ScrubCursor.load(cursorFile)).isEqualTo(new ScrubCursor(4L, Bytes.EMPTY));
+    }
+
+    /**
+     * This test aims to verify that a pass over an empty storage ends at once
+     * without moving the cursor.
+     */
+    @Test
+    void testEmptyStorage() throws Exception {
+        when(blockPathResolverMock.findAvailableBlockRange()).thenReturn(AvailableBlockRange.EMPTY);
+
+        assertThat(toTest.scrubNextWindow()).isFalse();
+        assertThat(ScrubCursor.load(cursorFile)).isEqualTo(ScrubCursor.START);
+    }
+
+    private void storeBlock(final long blockNumber) {
+        final LiveBlockPath stored = new LiveBlockPath(
+                blockNumber, storedBlock01.getParent(), storedBlock01.getFileName().toString(), CompressionType.NONE);
+        lenient().when(blockPathResolverMock.findLiveBlock(blockNumber)).thenReturn(Optional.of(stored));
+    }
+
+    private BlockStorageScrubber newScrubber() {
+        final ScrubberConfig config = new ScrubberConfig(true, 2, 1_000_000_000L, 100, 1, cursorFile.toString());
+        return new BlockStorageScrubber(
+                config, cursorFile, 32, blockReaderMock, blockPathResolverMock, signatureVerifierMock, metricsService);
+    }
+}
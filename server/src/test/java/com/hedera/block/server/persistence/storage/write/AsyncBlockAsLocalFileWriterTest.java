@@ -12,6 +12,8 @@ import static org.mockito.Mockito.when;
 
 import com.hedera.block.server.Constants;
 import com.hedera.block.server.ack.AckHandler;
+import com.hedera.block.server.jfr.CompressionEvent;
+import com.hedera.block.server.jfr.WriterPersistEvent;
 import com.hedera.block.server.metrics.MetricsService;
 import com.hedera.block.server.persistence.storage.compression.Compression;
 import com.hedera.block.server.persistence.storage.path.BlockPathResolver;
@@ -28,6 +30,10 @@ import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TransferQueue;
 import java.util.stream.Stream;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.io.TempDir;
@@ -109,6 +115,64 @@ class AsyncBlockAsLocalFileWriterTest {
         verifySuccessfulPersistencePublish(expectedResult);
     }
 
+    /**
+     * This test aims to verify that the {@link AsyncBlockAsLocalFileWriter#call()}
+     * commits the persist and compression flight recorder events of the block
+     * written, when they are enabled.
+     */
+    @Test
+    void testSuccessfulWriteCommitsFlightRecorderEvents() throws Exception {
+        // setup
+        final long blockNumber = 1L;
+        final List<BlockItemUnparsed> validBlock =
+                PersistTestUtils.generateBlockItemsUnparsedForWithBlockNumber(blockNumber);
+        final AsyncBlockWriter toTest = new AsyncBlockAsLocalFileWriter(
+                blockNumber,
+                blockPathResolverMock,
+                blockRemoverMock,
+                compressionMock,
+                ackHandlerMock,
+                metricsServiceMock);
+        validBlock.forEach(toTest.getQueue()::offer);
+        final Path expectedWrittenBlockFile = testTempDir.resolve(blockNumber + Constants.BLOCK_FILE_EXTENSION);
+        when(blockPathResolverMock.resolveLiveRawPathToBlock(blockNumber)).thenReturn(expectedWrittenBlockFile);
+        when(blockPathResolverMock.existsVerifiedBlock(blockNumber)).thenReturn(false);
+        when(compressionMock.getCompressionFileExtension()).thenReturn("");
+        when(compressionMock.wrap(any(OutputStream.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(metricsServiceMock.get(BlocksPersisted)).thenReturn(counterMock);
+
+        // when
+        final Path recordingFile = testTempDir.resolve("recording.jfr");
+        try (final Recording recording = new Recording()) {
+            recording.enable(WriterPersistEvent.class);
+            recording.enable(CompressionEvent.class);
+            recording.start();
+            toTest.call();
+            recording.stop();
+            recording.dump(recordingFile);
+        }
+
+        // then
+        final long expectedBytes = generateByteArrayOfTestBlock(validBlock).length;
+        final List<RecordedEvent> events = RecordingFile.readAllEvents(recordingFile);
+        assertThat(events)
+                .filteredOn(event -> event.getEventType().getName().equals("com.hedera.block.server.WriterPersist"))
+                .singleElement()
+                .satisfies(event -> {
+                    assertThat(event.getLong("blockNumber")).isEqualTo(blockNumber);
+                    assertThat(event.getInt("itemCount")).isEqualTo(validBlock.size());
+                    assertThat(event.getLong("bytes")).isEqualTo(expectedBytes);
+                });
+        assertThat(events)
+                .filteredOn(event -> event.getEventType().getName().equals("com.hedera.block.server.Compression"))
+                .singleElement()
+                .satisfies(event -> {
+                    assertThat(event.getLong("bytes")).isEqualTo(expectedBytes);
+                    // the compression is mocked to pass the bytes through
+                    assertThat(event.getLong("compressedBytes")).isEqualTo(expectedBytes);
+                });
+    }
+
     /**
      * This test aims to verify that the {@link AsyncBlockAsLocalFileWriter#call()}
      * correctly returns a successful result if the offered block is complete,
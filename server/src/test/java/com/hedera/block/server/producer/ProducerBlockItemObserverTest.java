@@ -11,6 +11,7 @@ import static org.mockito.Mockito.when;
 
 import com.hedera.block.server.block.BlockInfo;
 import com.hedera.block.server.config.BlockNodeContext;
+import com.hedera.block.server.events.LivenessWheel;
 import com.hedera.block.server.events.ObjectEvent;
 import com.hedera.block.server.mediator.Publisher;
 import com.hedera.block.server.mediator.SubscriptionHandler;
@@ -63,17 +64,20 @@ public class ProducerBlockItemObserverTest {
 
     BlockNodeContext testContext;
 
+    private LivenessWheel livenessWheel;
+
     @BeforeEach
     public void setUp() throws IOException {
         this.testContext = TestConfigUtil.getTestBlockNodeContext(
                 Map.of(TestConfigUtil.CONSUMER_TIMEOUT_THRESHOLD_KEY, String.valueOf(TIMEOUT_THRESHOLD_MILLIS)));
+        this.livenessWheel = new LivenessWheel(testClock, TIMEOUT_THRESHOLD_MILLIS);
     }
 
     @Test
     public void testConfirmOnErrorNotCalled() {
 
         final ProducerBlockItemObserver producerBlockItemObserver = new ProducerBlockItemObserver(
-                testClock, publisher, subscriptionHandler, helidonPublishPipeline, testContext, serviceStatus);
+                livenessWheel, publisher, subscriptionHandler, helidonPublishPipeline, testContext, serviceStatus);
 
         // Confirm that onError will call the handler
         // to unsubscribe but make sure onError is never
@@ -88,23 +92,28 @@ public class ProducerBlockItemObserverTest {
     }
 
     @Test
-    public void testOnEventCallsUnsubscribeOnExpiration() {
+    public void testUnsubscribeOnExpiration() {
 
-        when(testClock.millis()).thenReturn(TEST_TIME, TEST_TIME + TIMEOUT_THRESHOLD_MILLIS + 1);
+        // The second call, once the wheel advances, is outside the timeout window rounded up to
+        // the ticks of the wheel
+        when(testClock.millis()).thenReturn(TEST_TIME, TEST_TIME + 2 * TIMEOUT_THRESHOLD_MILLIS);
+        final LivenessWheel testLivenessWheel = new LivenessWheel(testClock, TIMEOUT_THRESHOLD_MILLIS);
         final ProducerBlockItemObserver producerBlockItemObserver = new ProducerBlockItemObserver(
-                testClock, publisher, subscriptionHandler, helidonPublishPipeline, testContext, serviceStatus);
-
-        producerBlockItemObserver.onEvent(objectEvent, 0, true);
-        producerBlockItemObserver.onEvent(objectEvent, 0, true);
+                testLivenessWheel, publisher, subscriptionHandler, helidonPublishPipeline, testContext, serviceStatus);
 
+        testLivenessWheel.advance();
         verify(subscriptionHandler, timeout(testTimeout).times(1)).unsubscribe(producerBlockItemObserver);
+
+        // No response is sent once expired
+        producerBlockItemObserver.onEvent(objectEvent, 0, true);
+        verify(helidonPublishPipeline, never()).onNext(any());
     }
 
     @Test
     public void testOnSubscribe() {
 
         final ProducerBlockItemObserver producerBlockItemObserver = new ProducerBlockItemObserver(
-                testClock, publisher, subscriptionHandler, helidonPublishPipeline, testContext, serviceStatus);
+                livenessWheel, publisher, subscriptionHandler, helidonPublishPipeline, testContext, serviceStatus);
 
         // Currently, our implementation of onSubscribe() is a
         // no-op.
@@ -115,7 +124,7 @@ public class ProducerBlockItemObserverTest {
     public void testEmptyBlockItems() {
 
         final ProducerBlockItemObserver producerBlockItemObserver = new ProducerBlockItemObserver(
-                testClock, publisher, subscriptionHandler, helidonPublishPipeline, testContext, serviceStatus);
+                livenessWheel, publisher, subscriptionHandler, helidonPublishPipeline, testContext, serviceStatus);
 
         producerBlockItemObserver.onNext(List.of());
         verify(publisher, never()).publish(any());
@@ -127,7 +136,7 @@ public class ProducerBlockItemObserverTest {
         final ServiceStatus serviceStatus = new ServiceStatusImpl(testContext);
 
         final ProducerBlockItemObserver producerBlockItemObserver = new ProducerBlockItemObserver(
-                testClock, publisher, subscriptionHandler, helidonPublishPipeline, testContext, serviceStatus);
+                livenessWheel, publisher, subscriptionHandler, helidonPublishPipeline, testContext, serviceStatus);
 
         final List<BlockItemUnparsed> blockItems = generateBlockItemsUnparsed(1);
 
@@ -148,7 +157,7 @@ public class ProducerBlockItemObserverTest {
     public void testClientEndStreamReceived() {
 
         final ProducerBlockItemObserver producerBlockItemObserver = new ProducerBlockItemObserver(
-                testClock, publisher, subscriptionHandler, helidonPublishPipeline, testContext, serviceStatus);
+                livenessWheel, publisher, subscriptionHandler, helidonPublishPipeline, testContext, serviceStatus);
 
         producerBlockItemObserver.clientEndStreamReceived();
 
@@ -171,7 +180,7 @@ public class ProducerBlockItemObserverTest {
 
         final List<BlockItemUnparsed> blockItems = generateBlockItemsUnparsedForWithBlockNumber(10);
         final ProducerBlockItemObserver producerBlockItemObserver = new ProducerBlockItemObserver(
-                testClock, publisher, subscriptionHandler, helidonPublishPipeline, testContext, serviceStatus);
+                livenessWheel, publisher, subscriptionHandler, helidonPublishPipeline, testContext, serviceStatus);
 
         // when
         producerBlockItemObserver.onNext(blockItems);
@@ -209,7 +218,7 @@ public class ProducerBlockItemObserverTest {
         when(serviceStatus.getLatestReceivedBlockNumber()).thenReturn(10L);
         final List<BlockItemUnparsed> blockItems = generateBlockItemsUnparsedForWithBlockNumber(12);
         final ProducerBlockItemObserver producerBlockItemObserver = new ProducerBlockItemObserver(
-                testClock, publisher, subscriptionHandler, helidonPublishPipeline, testContext, serviceStatus);
+                livenessWheel, publisher, subscriptionHandler, helidonPublishPipeline, testContext, serviceStatus);
 
         // when
         producerBlockItemObserver.onNext(blockItems);
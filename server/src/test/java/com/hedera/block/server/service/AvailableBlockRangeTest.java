@@ -0,0 +1,41 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import org.junit.jupiter.api.Test;
+
+class AvailableBlockRangeTest {
+
+    @Test
+    void testExtendEmptyRange() {
+        assertThat(AvailableBlockRange.EMPTY.isEmpty()).isTrue();
+
+        final AvailableBlockRange range = AvailableBlockRange.EMPTY.extend(3, 7);
+
+        assertThat(range.isEmpty()).isFalse();
+        assertThat(range.firstBlockNumber()).isEqualTo(3);
+        assertThat(range.lastBlockNumber()).isEqualTo(7);
+    }
+
+    @Test
+    void testExtendWithFollowingBlocks() {
+        final AvailableBlockRange range = new AvailableBlockRange(3, 7).extend(8, 10);
+
+        assertThat(range).isEqualTo(new AvailableBlockRange(3, 10));
+    }
+
+    @Test
+    void testExtendWithCoveredBlocksKeepsTheRange() {
+        final AvailableBlockRange range = new AvailableBlockRange(3, 7);
+
+        assertThat(range.extend(4, 7)).isSameAs(range);
+    }
+
+    @Test
+    void testInvalidRange() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new AvailableBlockRange(7, 3));
+        assertThatIllegalArgumentException().isThrownBy(() -> new AvailableBlockRange(-2, 3));
+    }
+}
@@ -2,8 +2,11 @@
 package com.hedera.block.server.verification;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 import com.hedera.block.server.ack.AckHandler;
@@ -14,11 +17,15 @@ import com.hedera.block.server.verification.service.BlockVerificationServiceImpl
 import com.hedera.block.server.verification.session.BlockVerificationSession;
 import com.hedera.block.server.verification.session.BlockVerificationSessionFactory;
 import com.hedera.hapi.block.BlockItemUnparsed;
+import com.hedera.hapi.block.stream.BlockProof;
 import com.hedera.hapi.block.stream.output.BlockHeader;
 import com.hedera.pbj.runtime.ParseException;
 import com.hedera.pbj.runtime.io.buffer.Bytes;
 import com.swirlds.metrics.api.Counter;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -64,7 +71,7 @@ class BlockVerificationServiceImplTest {
         List<BlockItemUnparsed> blockItems = List.of(normalItem);
 
         BlockVerificationService service =
-                new BlockVerificationServiceImpl(metricsService, sessionFactory, ackHandlerMock);
+                new BlockVerificationServiceImpl(metricsService, sessionFactory, ackHandlerMock, 2);
 
         // When
         IllegalStateException exception =
@@ -82,7 +89,7 @@ class BlockVerificationServiceImplTest {
         List<BlockItemUnparsed> blockItems = List.of(normalItem);
 
         BlockVerificationServiceImpl service =
-                new BlockVerificationServiceImpl(metricsService, sessionFactory, ackHandlerMock);
+                new BlockVerificationServiceImpl(metricsService, sessionFactory, ackHandlerMock, 2);
         setCurrentSession(service, previousSession);
 
         // When
@@ -93,6 +100,77 @@ class BlockVerificationServiceImplTest {
         verifyNoInteractions(verificationBlocksReceived, verificationBlocksFailed);
     }
 
+    @Test
+    void testVerificationResultIsAcknowledged() throws ParseException {
+        final CompletableFuture<VerificationResult> result = new CompletableFuture<>();
+        when(newSession.getVerificationResult()).thenReturn(result);
+        when(sessionFactory.createSession(any())).thenReturn(newSession);
+
+        BlockVerificationServiceImpl service =
+                new BlockVerificationServiceImpl(metricsService, sessionFactory, ackHandlerMock, 2);
+        service.onBlockItemsReceived(List.of(getBlockHeaderUnparsed(1), getBlockProofUnparsed(1)));
+        verifyNoInteractions(ackHandlerMock);
+
+        result.complete(getVerificationResult(1));
+
+        verify(ackHandlerMock).blockVerified(1, Bytes.wrap("hash1".getBytes()));
+        verify(verificationBlocksReceived).increment();
+    }
+
+    @Test
+    void testNewBlockWaitsForAFreeSlot() throws Exception {
+        final CompletableFuture<VerificationResult> firstResult = new CompletableFuture<>();
+        when(previousSession.getVerificationResult()).thenReturn(firstResult);
+        when(newSession.getVerificationResult()).thenReturn(new CompletableFuture<>());
+        when(sessionFactory.createSession(any())).thenReturn(previousSession, newSession);
+
+        BlockVerificationServiceImpl service =
+                new BlockVerificationServiceImpl(metricsService, sessionFactory, ackHandlerMock, 1);
+        service.onBlockItemsReceived(List.of(getBlockHeaderUnparsed(1), getBlockProofUnparsed(1)));
+
+        final CountDownLatch secondBlockStarted = new CountDownLatch(1);
+        final Thread producer = new Thread(() -> {
+            try {
+                service.onBlockItemsReceived(List.of(getBlockHeaderUnparsed(2)));
+                secondBlockStarted.countDown();
+            } catch (ParseException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        producer.start();
+
+        // the only slot is taken by the first block
+        assertFalse(secondBlockStarted.await(200, TimeUnit.MILLISECONDS));
+        verify(sessionFactory, times(1)).createSession(any());
+
+        firstResult.complete(getVerificationResult(1));
+
+        assertTrue(secondBlockStarted.await(10, TimeUnit.SECONDS));
+        producer.join();
+        verify(sessionFactory, times(2)).createSession(any());
+        verify(newSession).appendBlockItems(any());
+        verify(previousSession, never()).cancel();
+    }
+
+    @Test
+    void testHeaderBeforeProofCancelsPreviousSession() throws ParseException {
+        final CompletableFuture<VerificationResult> firstResult = new CompletableFuture<>();
+        when(previousSession.getVerificationResult()).thenReturn(firstResult);
+        when(newSession.getVerificationResult()).thenReturn(new CompletableFuture<>());
+        doAnswer(invocation -> firstResult.cancel(false)).when(previousSession).cancel();
+        when(sessionFactory.createSession(any())).thenReturn(previousSession, newSession);
+
+        // a single slot, which the abandoned block must release
+        BlockVerificationServiceImpl service =
+                new BlockVerificationServiceImpl(metricsService, sessionFactory, ackHandlerMock, 1);
+        service.onBlockItemsReceived(List.of(getBlockHeaderUnparsed(1)));
+        service.onBlockItemsReceived(List.of(getBlockHeaderUnparsed(2)));
+
+        verify(previousSession).cancel();
+        verify(newSession).appendBlockItems(any());
+        verifyNoInteractions(ackHandlerMock);
+    }
+
     private VerificationResult getVerificationResult(long blockNumber) {
         return new VerificationResult(
                 blockNumber, Bytes.wrap(("hash" + blockNumber).getBytes()), BlockVerificationStatus.VERIFIED);
@@ -113,6 +191,13 @@ class BlockVerificationServiceImplTest {
                 .build();
     }
 
+    private BlockItemUnparsed getBlockProofUnparsed(long blockNumber) {
+        return BlockItemUnparsed.newBuilder()
+                .blockProof(BlockProof.PROTOBUF.toBytes(
+                        BlockProof.newBuilder().block(blockNumber).build()))
+                .build();
+    }
+
     private BlockItemUnparsed getNormalBlockItem() {
         // A block item without a block header
         return BlockItemUnparsed.newBuilder().build();
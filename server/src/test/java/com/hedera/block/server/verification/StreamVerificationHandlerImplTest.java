@@ -87,6 +87,23 @@ public class StreamVerificationHandlerImplTest {
         verify(notifier, never()).notifyUnrecoverableError();
     }
 
+    @Test
+    public void testReleasedEventIsNotVerified() throws ParseException {
+        when(serviceStatus.isRunning()).thenReturn(true);
+
+        final var streamVerificationHandler = new StreamVerificationHandlerImpl(
+                subscriptionHandler, notifier, metricsService, serviceStatus, blockVerificationService);
+
+        final ObjectEvent<List<BlockItemUnparsed>> event = new ObjectEvent<>();
+        event.set(Collections.emptyList(), 0, 0, 0);
+        event.clear(0);
+
+        streamVerificationHandler.onEvent(event, 0, false);
+
+        verify(blockVerificationService, never()).onBlockItemsReceived(any());
+        verify(serviceStatus, never()).stopRunning(any());
+    }
+
     @Test
     public void testExceptionInVerificationTriggersErrorResponse() throws ParseException {
         when(serviceStatus.isRunning()).thenReturn(true);
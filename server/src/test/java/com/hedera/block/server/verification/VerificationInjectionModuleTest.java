@@ -10,6 +10,12 @@ import com.hedera.block.server.verification.service.BlockVerificationService;
 import com.hedera.block.server.verification.service.BlockVerificationServiceImpl;
 import com.hedera.block.server.verification.service.NoOpBlockVerificationService;
 import com.hedera.block.server.verification.session.BlockVerificationSessionFactory;
+import com.hedera.block.server.verification.session.VerificationWorkerPool;
+import com.hedera.block.server.verification.signature.SignatureConfig;
+import com.hedera.block.server.verification.signature.SignatureConfig.SignatureAlgorithm;
+import com.hedera.block.server.verification.signature.SignatureConfig.SignatureVerifierType;
+import com.hedera.block.server.verification.signature.SignatureVerifier;
+import com.hedera.block.server.verification.signature.SignatureVerifierDummy;
 import java.io.IOException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -32,7 +38,7 @@ class VerificationInjectionModuleTest {
     @Test
     void testProvideBlockVerificationService_enabled() throws IOException {
         // given
-        VerificationConfig verificationConfig = new VerificationConfig(null, ASYNC, 32);
+        VerificationConfig verificationConfig = new VerificationConfig(null, ASYNC, 32, 256, 0, 0, 4);
         // when
         BlockVerificationService blockVerificationService = VerificationInjectionModule.provideBlockVerificationService(
                 verificationConfig, metricsService, sessionFactory, ackHandlerMock);
@@ -43,7 +49,7 @@ class VerificationInjectionModuleTest {
     @Test
     void testProvideBlockVerificationService_no_op() throws IOException {
         // given
-        VerificationConfig verificationConfig = new VerificationConfig(NO_OP, ASYNC, 32);
+        VerificationConfig verificationConfig = new VerificationConfig(NO_OP, ASYNC, 32, 256, 0, 0, 4);
         // when
         BlockVerificationService blockVerificationService = VerificationInjectionModule.provideBlockVerificationService(
                 verificationConfig, metricsService, sessionFactory, ackHandlerMock);
@@ -54,11 +60,35 @@ class VerificationInjectionModuleTest {
     @Test
     void testProvidesBlockVerificationSessionFactory() {
         // given
-        VerificationConfig verificationConfig = new VerificationConfig(null, ASYNC, 32);
+        VerificationConfig verificationConfig = new VerificationConfig(null, ASYNC, 32, 256, 0, 0, 4);
         // when
         BlockVerificationService blockVerificationService = VerificationInjectionModule.provideBlockVerificationService(
                 verificationConfig, metricsService, sessionFactory, ackHandlerMock);
         // then
         Assertions.assertEquals(BlockVerificationServiceImpl.class, blockVerificationService.getClass());
     }
+
+    @Test
+    void testProvideVerificationWorkerPool() {
+        // given
+        VerificationConfig verificationConfig = new VerificationConfig(null, ASYNC, 32, 256, 2, 0, 4);
+        // when
+        VerificationWorkerPool workerPool =
+                VerificationInjectionModule.provideVerificationWorkerPool(verificationConfig, metricsService);
+        // then
+        Assertions.assertNotNull(workerPool);
+        Assertions.assertNotNull(workerPool.hashingExecutor());
+        workerPool.shutdown();
+    }
+
+    @Test
+    void testProvideSignatureVerifier_dummy() {
+        // given
+        SignatureConfig signatureConfig =
+                new SignatureConfig(SignatureVerifierType.DUMMY, SignatureAlgorithm.ED25519, "", 0);
+        // when
+        SignatureVerifier signatureVerifier = VerificationInjectionModule.provideSignatureVerifier(signatureConfig);
+        // then
+        Assertions.assertEquals(SignatureVerifierDummy.class, signatureVerifier.getClass());
+    }
 }
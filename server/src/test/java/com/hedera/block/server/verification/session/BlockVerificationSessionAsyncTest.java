@@ -1,14 +1,33 @@
 // SPDX-License-Identifier: Apache-2.0
 package com.hedera.block.server.verification.session;
 
+import com.hedera.block.server.util.TestConfigUtil;
 import com.hedera.hapi.block.stream.output.BlockHeader;
-import java.util.concurrent.Executors;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import org.junit.jupiter.api.AfterEach;
 
 class BlockVerificationSessionAsyncTest extends BlockVerificationSessionBaseTest {
 
+    private VerificationWorkerPool workerPool;
+
+    @AfterEach
+    void tearDown() {
+        if (workerPool != null) {
+            workerPool.shutdown();
+        }
+    }
+
+    // a small leaf batch size makes every batch of block items be hashed in parallel
     @Override
     protected BlockVerificationSession createSession(BlockHeader blockHeader) {
+        try {
+            workerPool = new VerificationWorkerPool(
+                    2, 2, TestConfigUtil.getTestBlockNodeContext().metricsService());
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
         return new BlockVerificationSessionAsync(
-                blockHeader, metricsService, signatureVerifier, Executors.newSingleThreadExecutor(), 32);
+                blockHeader, metricsService, signatureVerifier, hashTreeStore, workerPool, 32, 2);
     }
 }
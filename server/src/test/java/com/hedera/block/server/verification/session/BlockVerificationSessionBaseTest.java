@@ -11,15 +11,23 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import com.hedera.block.server.metrics.MetricsService;
+import com.hedera.block.server.persistence.storage.hashtree.BlockHashTree;
+import com.hedera.block.server.persistence.storage.hashtree.FileHashTreeStore;
+import com.hedera.block.server.persistence.storage.hashtree.HashTreeStore;
+import com.hedera.block.server.persistence.storage.hashtree.NoOpHashTreeStore;
+import com.hedera.block.server.persistence.storage.path.NoOpBlockPathResolver;
 import com.hedera.block.server.verification.BlockVerificationStatus;
 import com.hedera.block.server.verification.VerificationResult;
 import com.hedera.block.server.verification.signature.SignatureVerifier;
+import com.hedera.hapi.block.BlockItemProofResponse;
+import com.hedera.hapi.block.BlockItemProofResponseCode;
 import com.hedera.hapi.block.BlockItemUnparsed;
 import com.hedera.hapi.block.BlockUnparsed;
 import com.hedera.hapi.block.stream.output.BlockHeader;
@@ -34,6 +42,8 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
@@ -57,6 +67,8 @@ public abstract class BlockVerificationSessionBaseTest {
     @Mock
     protected Counter verificationBlocksError;
 
+    protected HashTreeStore hashTreeStore;
+
     protected final Bytes hashing01BlockHash = Bytes.fromHex(
             "24ec308ac4b552c83fcde20ba443bf7b69ae435f8e74f09086bfb339151f65a7c6f06eb2bdc4c50b69a12685f6168e84");
 
@@ -67,6 +79,9 @@ public abstract class BlockVerificationSessionBaseTest {
         when(metricsService.get(VerificationBlocksFailed)).thenReturn(verificationBlocksFailed);
         when(metricsService.get(VerificationBlockTime)).thenReturn(verificationBlockTime);
         when(metricsService.get(VerificationBlocksError)).thenReturn(verificationBlocksError);
+        when(signatureVerifier.verifySignatureAsync(any(Bytes.class), any(Bytes.class)))
+                .thenCallRealMethod();
+        hashTreeStore = NoOpHashTreeStore.newInstance();
     }
 
     protected abstract BlockVerificationSession createSession(BlockHeader blockHeader);
@@ -105,6 +120,46 @@ public abstract class BlockVerificationSessionBaseTest {
         verifyNoMoreInteractions(verificationBlocksFailed);
     }
 
+    /**
+     * This test aims to verify that the hash tree of a verified block is
+     * stored, and serves proofs of the block hash.
+     */
+    @Test
+    void testSuccessfulVerification_storesHashTree(@TempDir final Path tempDir) throws Exception {
+        // Given
+        List<BlockItemUnparsed> blockItems = getTestBlock1Items();
+        BlockHeader blockHeader =
+                BlockHeader.PROTOBUF.parse(blockItems.getFirst().blockHeader());
+        hashTreeStore = mock(HashTreeStore.class);
+        when(hashTreeStore.isEnabled()).thenReturn(true);
+        when(hashTreeStore.store(any())).thenReturn(CompletableFuture.completedFuture(null));
+        BlockVerificationSession session = createSession(blockHeader);
+        when(signatureVerifier.verifySignature(any(Bytes.class), any(Bytes.class)))
+                .thenReturn(true);
+
+        // When
+        session.appendBlockItems(blockItems.subList(0, 3));
+        session.appendBlockItems(blockItems.subList(3, blockItems.size()));
+        VerificationResult result = session.getVerificationResult().get();
+
+        // Then
+        assertEquals(BlockVerificationStatus.VERIFIED, result.status());
+        ArgumentCaptor<BlockHashTree> hashTree = ArgumentCaptor.forClass(BlockHashTree.class);
+        verify(hashTreeStore, times(1)).store(hashTree.capture());
+        assertEquals(1L, hashTree.getValue().blockNumber());
+        assertEquals(blockItems.size(), hashTree.getValue().itemCount());
+
+        FileHashTreeStore fileHashTreeStore = new FileHashTreeStore(tempDir, NoOpBlockPathResolver.newInstance());
+        try {
+            fileHashTreeStore.store(hashTree.getValue()).join();
+            BlockItemProofResponse response = fileHashTreeStore.readItemProof(1L, 0);
+            assertEquals(BlockItemProofResponseCode.ITEM_PROOF_SUCCESS, response.status());
+            assertEquals(hashing01BlockHash, response.proof().blockHash());
+        } finally {
+            fileHashTreeStore.shutdown();
+        }
+    }
+
     @Test
     void testSuccessfulVerification_multipleAppends() throws Exception {
         // Given
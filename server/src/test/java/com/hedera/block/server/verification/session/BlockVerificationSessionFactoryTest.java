@@ -3,11 +3,14 @@ package com.hedera.block.server.verification.session;
 
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.when;
 
 import com.hedera.block.server.metrics.MetricsService;
+import com.hedera.block.server.persistence.storage.hashtree.NoOpHashTreeStore;
 import com.hedera.block.server.verification.VerificationConfig;
 import com.hedera.block.server.verification.signature.SignatureVerifier;
 import com.hedera.hapi.block.stream.output.BlockHeader;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -25,21 +28,28 @@ class BlockVerificationSessionFactoryTest {
     @Mock
     private ExecutorService mockExecutorService;
 
+    @Mock
+    private Executor mockSessionExecutor;
+
+    @Mock
+    private VerificationWorkerPool mockWorkerPool;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
         // Default configuration stubs
-
+        when(mockWorkerPool.hashingExecutor()).thenReturn(mockExecutorService);
+        when(mockWorkerPool.newSessionExecutor()).thenReturn(mockSessionExecutor);
     }
 
     @Test
     void createSession_whenSessionTypeIsAsync_returnsBlockVerificationSessionAsync() {
         // Given
-        VerificationConfig config = new VerificationConfig(null, BlockVerificationSessionType.ASYNC, 32);
+        VerificationConfig config = new VerificationConfig(null, BlockVerificationSessionType.ASYNC, 32, 256, 0, 0, 4);
         BlockHeader blockHeader = BlockHeader.newBuilder().number(1L).build();
 
         BlockVerificationSessionFactory sessionFactory = new BlockVerificationSessionFactory(
-                config, mockMetricsService, mockSignatureVerifier, mockExecutorService);
+                config, mockMetricsService, mockSignatureVerifier, NoOpHashTreeStore.newInstance(), mockWorkerPool);
 
         // When
         var session = sessionFactory.createSession(blockHeader);
@@ -55,11 +65,11 @@ class BlockVerificationSessionFactoryTest {
     @Test
     void createSession_whenSessionTypeIsSync_returnsBlockVerificationSessionSync() {
         // Given
-        VerificationConfig config = new VerificationConfig(null, BlockVerificationSessionType.SYNC, 32);
+        VerificationConfig config = new VerificationConfig(null, BlockVerificationSessionType.SYNC, 32, 256, 0, 0, 4);
         BlockHeader blockHeader = BlockHeader.newBuilder().number(1L).build();
 
         BlockVerificationSessionFactory sessionFactory = new BlockVerificationSessionFactory(
-                config, mockMetricsService, mockSignatureVerifier, mockExecutorService);
+                config, mockMetricsService, mockSignatureVerifier, NoOpHashTreeStore.newInstance(), mockWorkerPool);
 
         // When
         var session = sessionFactory.createSession(blockHeader);
@@ -7,6 +7,6 @@ class BlockVerificationSessionSyncTest extends BlockVerificationSessionBaseTest
 
     @Override
     protected BlockVerificationSession createSession(BlockHeader blockHeader) {
-        return new BlockVerificationSessionSync(blockHeader, metricsService, signatureVerifier);
+        return new BlockVerificationSessionSync(blockHeader, metricsService, signatureVerifier, hashTreeStore);
     }
 }
@@ -0,0 +1,113 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.verification.session;
+
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Gauge.VerificationActiveSessions;
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Gauge.VerificationBlockLatency;
+import static com.hedera.block.server.metrics.BlockNodeMetricTypes.Gauge.VerificationQueueDepth;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import com.hedera.block.server.metrics.MetricsService;
+import com.hedera.block.server.util.TestConfigUtil;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the {@link VerificationWorkerPool} class.
+ */
+class VerificationWorkerPoolTest {
+    private MetricsService metricsService;
+    private VerificationWorkerPool toTest;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        metricsService = TestConfigUtil.getTestBlockNodeContext().metricsService();
+        toTest = new VerificationWorkerPool(4, 2, metricsService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        toTest.shutdown();
+    }
+
+    /**
+     * This test aims to verify that the tasks of each session run in the
+     * order they were submitted, even though sessions share the workers.
+     */
+    @Test
+    void testPreservesPerSessionOrder() throws InterruptedException {
+        final int sessions = 8;
+        final int tasksPerSession = 500;
+        final List<List<Integer>> executionOrders = new ArrayList<>();
+        final CountDownLatch done = new CountDownLatch(sessions * tasksPerSession);
+        final List<Executor> executors = new ArrayList<>();
+        for (int s = 0; s < sessions; s++) {
+            executionOrders.add(Collections.synchronizedList(new ArrayList<>()));
+            executors.add(toTest.newSessionExecutor());
+        }
+
+        for (int i = 0; i < tasksPerSession; i++) {
+            for (int s = 0; s < sessions; s++) {
+                final int task = i;
+                final List<Integer> executionOrder = executionOrders.get(s);
+                executors.get(s).execute(() -> {
+                    executionOrder.add(task);
+                    done.countDown();
+                });
+            }
+        }
+
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        for (final List<Integer> executionOrder : executionOrders) {
+            assertThat(executionOrder).hasSize(tasksPerSession).isSorted();
+        }
+        assertThat(metricsService.get(VerificationQueueDepth).get()).isZero();
+    }
+
+    /**
+     * This test aims to verify that a failing task does not prevent the next
+     * tasks of the same session from running.
+     */
+    @Test
+    void testContinuesAfterFailingTask() throws InterruptedException {
+        final Executor executor = toTest.newSessionExecutor();
+        final CountDownLatch done = new CountDownLatch(1);
+
+        executor.execute(() -> {
+            throw new IllegalStateException("expected");
+        });
+        executor.execute(done::countDown);
+
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    /**
+     * This test aims to verify that active sessions and the latency of the
+     * last block are exported.
+     */
+    @Test
+    void testExportsSessionMetrics() {
+        final long activeBefore = metricsService.get(VerificationActiveSessions).get();
+
+        toTest.newSessionExecutor();
+        toTest.newSessionExecutor();
+        assertThat(metricsService.get(VerificationActiveSessions).get()).isEqualTo(activeBefore + 2);
+
+        toTest.sessionEnded(1_234L);
+        assertThat(metricsService.get(VerificationActiveSessions).get()).isEqualTo(activeBefore + 1);
+        assertThat(metricsService.get(VerificationBlockLatency).get()).isEqualTo(1_234L);
+    }
+
+    @Test
+    void testRejectsNonPositiveThreadCounts() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new VerificationWorkerPool(0, 1, metricsService));
+        assertThatIllegalArgumentException().isThrownBy(() -> new VerificationWorkerPool(1, 0, metricsService));
+    }
+}
@@ -0,0 +1,214 @@
+// SPDX-License-Identifier: Apache-2.0
+package com.hedera.block.server.verification.signature;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import com.hedera.block.common.hasher.HashingUtilities;
+import com.hedera.block.server.verification.signature.SignatureConfig.SignatureAlgorithm;
+import com.hedera.block.server.verification.signature.SignatureConfig.SignatureVerifierType;
+import com.hedera.pbj.runtime.io.buffer.Bytes;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.spec.ECGenParameterSpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+/**
+ * Tests for the {@link PublicKeySignatureVerifier} class, using freshly
+ * generated keys.
+ */
+class PublicKeySignatureVerifierTest {
+    @TempDir
+    private Path tempDir;
+
+    private final List<PublicKeySignatureVerifier> verifiers = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        verifiers.forEach(PublicKeySignatureVerifier::shutdown);
+    }
+
+    @ParameterizedTest
+    @EnumSource(SignatureAlgorithm.class)
+    void testVerifySignature(final SignatureAlgorithm algorithm) throws GeneralSecurityException {
+        final KeyPair keyPair = generateKeyPair(algorithm);
+        final PublicKeySignatureVerifier toTest = newVerifier(keyPair, algorithm, 2);
+        final Bytes hash = hashOf(1);
+
+        assertThat(toTest.verifySignature(hash, sign(keyPair.getPrivate(), algorithm, hash)))
+                .isTrue();
+        assertThat(toTest.verifySignature(hashOf(2), sign(keyPair.getPrivate(), algorithm, hash)))
+                .isFalse();
+    }
+
+    @Test
+    void testRejectsSignatureOfAnotherKey() throws GeneralSecurityException {
+        final KeyPair ledgerKeyPair = generateKeyPair(SignatureAlgorithm.ED25519);
+        final KeyPair otherKeyPair = generateKeyPair(SignatureAlgorithm.ED25519);
+        final PublicKeySignatureVerifier toTest = newVerifier(ledgerKeyPair, SignatureAlgorithm.ED25519, 2);
+        final Bytes hash = hashOf(1);
+
+        assertThat(toTest.verifySignature(hash, sign(otherKeyPair.getPrivate(), SignatureAlgorithm.ED25519, hash)))
+                .isFalse();
+    }
+
+    @Test
+    void testMalformedSignatureDoesNotBreakTheVerifier() throws GeneralSecurityException {
+        final KeyPair keyPair = generateKeyPair(SignatureAlgorithm.ECDSA_SHA384);
+        final PublicKeySignatureVerifier toTest = newVerifier(keyPair, SignatureAlgorithm.ECDSA_SHA384, 1);
+        final Bytes hash = hashOf(1);
+
+        assertThat(toTest.verifySignatureAsync(hash, Bytes.fromHex("cafebabe")).join())
+                .isFalse();
+        assertThat(toTest.verifySignatureAsync(hash, sign(keyPair.getPrivate(), SignatureAlgorithm.ECDSA_SHA384, hash))
+                        .join())
+                .isTrue();
+    }
+
+    /**
+     * This test aims to verify that many signatures submitted concurrently,
+     * a few of them invalid, are all verified, each with its own result.
+     */
+    @Test
+    void testVerifySignatureAsyncConcurrently() throws Exception {
+        final KeyPair keyPair = generateKeyPair(SignatureAlgorithm.ED25519);
+        final PublicKeySignatureVerifier toTest = newVerifier(keyPair, SignatureAlgorithm.ED25519, 3);
+        final int count = 500;
+        final List<Bytes> hashes = new ArrayList<>();
+        final List<Bytes> signatures = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            final Bytes hash = hashOf(i);
+            hashes.add(hash);
+            // every tenth signature is for the wrong hash
+            signatures.add(sign(keyPair.getPrivate(), SignatureAlgorithm.ED25519, i % 10 == 0 ? hashOf(-i - 1) : hash));
+        }
+
+        final int submitters = 4;
+        final List<List<CompletableFuture<Boolean>>> partialResults = new ArrayList<>();
+        final List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < submitters; t++) {
+            final int first = t * (count / submitters);
+            final List<CompletableFuture<Boolean>> partial = new ArrayList<>();
+            partialResults.add(partial);
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = first; i < first + count / submitters; i++) {
+                    partial.add(toTest.verifySignatureAsync(hashes.get(i), signatures.get(i)));
+                }
+            }));
+        }
+        final List<CompletableFuture<Boolean>> results = new ArrayList<>();
+        for (int t = 0; t < submitters; t++) {
+            threads.get(t).join();
+            results.addAll(partialResults.get(t));
+        }
+
+        for (int i = 0; i < count; i++) {
+            assertThat(results.get(i).get()).as("signature %d", i).isEqualTo(i % 10 != 0);
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(SignatureAlgorithm.class)
+    void testCreateFromPemAndDerKeyFiles(final SignatureAlgorithm algorithm) throws Exception {
+        final KeyPair keyPair = generateKeyPair(algorithm);
+        final byte[] der = keyPair.getPublic().getEncoded();
+        final String pem = "-----BEGIN PUBLIC KEY-----\n"
+                + Base64.getMimeEncoder(64, "\n".getBytes(StandardCharsets.US_ASCII)).encodeToString(der)
+                + "\n-----END PUBLIC KEY-----\n";
+        final Path pemFile = Files.writeString(tempDir.resolve("ledger.pem"), pem);
+        final Path derFile = Files.write(tempDir.resolve("ledger.der"), der);
+        final Bytes hash = hashOf(7);
+        final Bytes signature = sign(keyPair.getPrivate(), algorithm, hash);
+
+        for (final Path keyFile : List.of(pemFile, derFile)) {
+            final PublicKeySignatureVerifier toTest = PublicKeySignatureVerifier.create(
+                    new SignatureConfig(SignatureVerifierType.PUBLIC_KEY, algorithm, keyFile.toString(), 1));
+            verifiers.add(toTest);
+            assertThat(toTest.verifySignature(hash, signature)).isTrue();
+        }
+    }
+
+    @Test
+    void testCreateFailsForMissingOrInvalidKeyFile() throws Exception {
+        final Path missing = tempDir.resolve("missing.pem");
+        assertThatExceptionOfType(UncheckedIOException.class)
+                .isThrownBy(() -> PublicKeySignatureVerifier.create(new SignatureConfig(
+                        SignatureVerifierType.PUBLIC_KEY, SignatureAlgorithm.ED25519, missing.toString(), 1)));
+
+        final Path invalid = Files.writeString(tempDir.resolve("invalid.der"), "not a key");
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> PublicKeySignatureVerifier.create(new SignatureConfig(
+                        SignatureVerifierType.PUBLIC_KEY, SignatureAlgorithm.ED25519, invalid.toString(), 1)));
+    }
+
+    @Test
+    void testConfigRequiresLedgerKeyPathForPublicKeyVerifier() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() ->
+                        new SignatureConfig(SignatureVerifierType.PUBLIC_KEY, SignatureAlgorithm.ED25519, " ", 1));
+        assertThat(new SignatureConfig(SignatureVerifierType.DUMMY, SignatureAlgorithm.ED25519, "", 1).threads())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void testRejectsKeyOfAnotherAlgorithm() throws GeneralSecurityException {
+        final KeyPair ecKeyPair = generateKeyPair(SignatureAlgorithm.ECDSA_SHA384);
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new PublicKeySignatureVerifier(ecKeyPair.getPublic(), SignatureAlgorithm.ED25519, 1));
+    }
+
+    @Test
+    void testPendingSignaturesFailAfterShutdown() throws GeneralSecurityException {
+        final KeyPair keyPair = generateKeyPair(SignatureAlgorithm.ED25519);
+        final PublicKeySignatureVerifier toTest = newVerifier(keyPair, SignatureAlgorithm.ED25519, 1);
+        toTest.shutdown();
+
+        assertThat(toTest.verifySignatureAsync(hashOf(1), Bytes.fromHex("cafebabe")))
+                .isCompletedExceptionally();
+    }
+
+    private PublicKeySignatureVerifier newVerifier(
+            final KeyPair keyPair, final SignatureAlgorithm algorithm, final int threads) {
+        final PublicKeySignatureVerifier verifier =
+                new PublicKeySignatureVerifier(keyPair.getPublic(), algorithm, threads);
+        verifiers.add(verifier);
+        return verifier;
+    }
+
+    private static KeyPair generateKeyPair(final SignatureAlgorithm algorithm) throws GeneralSecurityException {
+        final KeyPairGenerator generator = KeyPairGenerator.getInstance(algorithm.keyAlgorithm());
+        if (algorithm == SignatureAlgorithm.ECDSA_SHA384) {
+            generator.initialize(new ECGenParameterSpec("secp384r1"));
+        }
+        return generator.generateKeyPair();
+    }
+
+    private static Bytes sign(final PrivateKey privateKey, final SignatureAlgorithm algorithm, final Bytes hash)
+            throws GeneralSecurityException {
+        final Signature signer = Signature.getInstance(algorithm.signatureAlgorithm());
+        signer.initSign(privateKey);
+        signer.update(hash.toByteArray());
+        return Bytes.wrap(signer.sign());
+    }
+
+    private static Bytes hashOf(final int value) {
+        return HashingUtilities.noThrowSha384HashOf(
+                Bytes.wrap(Integer.toString(value).getBytes(StandardCharsets.UTF_8)));
+    }
+}